@@ -0,0 +1,167 @@
+package rhsm.base;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+/**
+ * Runs the named steps of a setup (e.g. setupBeforeSuite) concurrently while honoring the explicit
+ * dependencies between them.  Each step starts as soon as all of the steps it depends on have
+ * finished; a step whose dependency failed is not run.  A per step timing report is logged when all
+ * of the steps are done.
+ * <br>Example:
+ * <pre>
+ *	BootstrapGraph bootstrap = new BootstrapGraph("setupBeforeSuite");
+ *	bootstrap.add("deployServer", new BootstrapGraph.Step() {public void run() throws Exception {servertasks.deploy();}});
+ *	bootstrap.add("connectToDatabase", new BootstrapGraph.Step() {public void run() throws Exception {dbConnection = connectToDatabase();}}, "deployServer");
+ *	bootstrap.run();
+ * </pre>
+ * Note: steps that share an SSHCommandRunner must depend on each other since the runner can only run
+ * one command at a time.
+ */
+public class BootstrapGraph {
+
+	protected static Logger log = Logger.getLogger(BootstrapGraph.class.getName());
+	protected final String name;
+	protected final Map<String,Node> nodes = new LinkedHashMap<String,Node>();	// in the order they were added
+
+	/**
+	 * Work to perform in one step.
+	 */
+	public interface Step {
+		public void run() throws Exception;
+	}
+
+	protected static class Node {
+		final String name;
+		final Step step;
+		final List<String> dependencies;
+		Future<Void> future = null;
+		long startMillis = -1;
+		long finishMillis = -1;
+		String status = "NOT RUN";
+		Node(String name, Step step, List<String> dependencies) {
+			this.name = name;
+			this.step = step;
+			this.dependencies = dependencies;
+		}
+	}
+
+	public BootstrapGraph(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * @param stepName - unique name of the step
+	 * @param step
+	 * @param dependencies - the names of the previously added steps that must finish before this step can start (names of steps that were not added are ignored so that optional steps can be skipped)
+	 */
+	public void add(String stepName, Step step, String... dependencies) {
+		if (nodes.containsKey(stepName)) throw new IllegalArgumentException("Step '"+stepName+"' has already been added to "+name+".");
+		List<String> addedDependencies = new ArrayList<String>();
+		for (String dependency : dependencies) if (nodes.containsKey(dependency)) addedDependencies.add(dependency);	// only earlier steps, so the graph can not have a cycle
+		nodes.put(stepName, new Node(stepName, step, addedDependencies));
+	}
+
+	public boolean contains(String stepName) {
+		return nodes.containsKey(stepName);
+	}
+
+	/**
+	 * Run all of the steps and wait for them to finish.
+	 * The first failure (in the order the steps were added) is rethrown after all of the runnable steps have finished.
+	 */
+	public void run() {
+		if (nodes.isEmpty()) return;
+		final long startMillis = System.currentTimeMillis();
+		// one thread per step; a step blocks its thread while waiting for its dependencies
+		ExecutorService executor = Executors.newFixedThreadPool(nodes.size());
+		try {
+			for (final Node node : nodes.values()) {
+				node.future = executor.submit(new Callable<Void>() {
+					public Void call() throws Exception {
+						Thread.currentThread().setName(name+"-"+node.name);
+						for (String dependency : node.dependencies) {
+							try {
+								nodes.get(dependency).future.get();
+							} catch (ExecutionException e) {
+								node.status = "SKIPPED";
+								throw new SkippedStepException("Step '"+node.name+"' was not run because step '"+dependency+"' did not complete.");
+							}
+						}
+						node.status = "RUNNING";
+						node.startMillis = System.currentTimeMillis();
+						log.fine("Starting "+name+" step '"+node.name+"'...");
+						try {
+							node.step.run();
+							node.status = "PASSED";
+						} catch (Exception e) {
+							node.status = "FAILED";
+							throw e;
+						} catch (Error e) {
+							node.status = "FAILED";
+							throw e;
+						} finally {
+							node.finishMillis = System.currentTimeMillis();
+						}
+						log.fine("Finished "+name+" step '"+node.name+"' in "+(node.finishMillis-node.startMillis)/1000.0+" seconds.");
+						return null;
+					}
+				});
+			}
+			Throwable failure = null;
+			for (Node node : nodes.values()) {
+				try {
+					node.future.get();
+				} catch (InterruptedException e) {
+					if (failure==null) failure = e;
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof SkippedStepException) {
+						log.warning(e.getCause().getMessage());
+						continue;
+					}
+					log.warning(name+" step '"+node.name+"' failed: "+e.getCause());
+					if (failure==null) failure = e.getCause();
+				}
+			}
+			log.info(getTimingReport(startMillis, System.currentTimeMillis()));
+			if (failure instanceof Error) throw (Error)failure;
+			if (failure instanceof RuntimeException) throw (RuntimeException)failure;
+			if (failure!=null) throw new RuntimeException(failure);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * @return a table of when each step started (relative to the start of the run), how long it ran, and its status
+	 */
+	protected String getTimingReport(long startMillis, long finishMillis) {
+		int width = "step".length();
+		for (String stepName : nodes.keySet()) width = Math.max(width, stepName.length());
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("Timing of the %s steps (%.1f seconds in total):%n", name, (finishMillis-startMillis)/1000.0));
+		report.append(String.format("  %-"+width+"s  %9s  %9s  %-8s  %s%n", "step", "start (s)", "took (s)", "status", "depends on"));
+		for (Node node : nodes.values()) {
+			String start = node.startMillis<0? "-":String.format("%.1f", (node.startMillis-startMillis)/1000.0);
+			String took = node.startMillis<0 || node.finishMillis<0? "-":String.format("%.1f", (node.finishMillis-node.startMillis)/1000.0);
+			report.append(String.format("  %-"+width+"s  %9s  %9s  %-8s  %s%n", node.name, start, took, node.status, node.dependencies.isEmpty()? "":Arrays.toString(node.dependencies.toArray())));
+		}
+		return report.toString().trim();
+	}
+
+	protected static class SkippedStepException extends Exception {
+		private static final long serialVersionUID = 1L;
+		SkippedStepException(String message) {
+			super(message);
+		}
+	}
+}
@@ -0,0 +1,294 @@
+package rhsm.base;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.apache.commons.httpclient.HttpClient;
+import org.apache.commons.httpclient.HttpStatus;
+import org.apache.commons.httpclient.methods.PostMethod;
+import org.apache.commons.httpclient.methods.StringRequestEntity;
+import org.apache.xmlrpc.XmlRpcException;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.testng.ITestNGMethod;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import com.redhat.qe.auto.bugzilla.BzChecker;
+
+/**
+ * A drop-in replacement for the BzChecker.getInstance().isBugOpen(bugId) and
+ * BzChecker.getInstance().getBugState(bugId) lookups made by the TEMPORARY WORKAROUND blocks.
+ * The states of all the bugs that the suite is likely to ask about (the blockedByBug-* groups of
+ * the suite's test methods plus every bug looked up by a previous run) are prefetched in one batched
+ * Bug.get XML-RPC query at the start of the suite, persisted to a local JSON file with a TTL, and
+ * served from memory.  A bug that was not prefetched falls back to BzChecker once and is remembered.
+ *
+ * Properties:
+ * <br>sm.bugzilla.cacheFile - the JSON file of persisted states
+ * <br>sm.bugzilla.cacheTtlHours - persisted states older than this are fetched again (default 12)
+ * <br>sm.bugzilla.offlineFixture - a JSON file of states (same format as the cacheFile); when set, Bugzilla is never contacted and a bug missing from the fixture is reported as open (its workaround is invoked)
+ */
+public class BugzillaStateCache {
+
+	protected static Logger log = Logger.getLogger(BugzillaStateCache.class.getName());
+	protected static BugzillaStateCache instance = null;
+	protected static final Pattern blockedByBugPattern = Pattern.compile("blockedByBug-(\\d+)");
+	protected static final int batchSize = 200;
+
+	protected final File cacheFile;
+	protected final long ttlMillis;
+	protected final File offlineFixture;
+	protected final List<String> fixedBugStates;
+	protected final Map<String,Entry> entries = new HashMap<String,Entry>();	// bugId => state
+
+	protected static class Entry {
+		final String state;
+		final boolean open;
+		final long fetched;
+		Entry(String state, boolean open, long fetched) {
+			this.state = state;
+			this.open = open;
+			this.fetched = fetched;
+		}
+	}
+
+	public static synchronized BugzillaStateCache getInstance() {
+		if (instance==null) instance = new BugzillaStateCache();
+		return instance;
+	}
+
+	protected BugzillaStateCache() {
+		cacheFile = new File(SubscriptionManagerBaseTestScript.getProperty("sm.bugzilla.cacheFile", System.getProperty("java.io.tmpdir")+File.separator+"rhsm-qe-bugzilla-states.json"));
+		ttlMillis = (long)(Double.valueOf(SubscriptionManagerBaseTestScript.getProperty("sm.bugzilla.cacheTtlHours", "12"))*60*60*1000);
+		String fixture = SubscriptionManagerBaseTestScript.getProperty("sm.bugzilla.offlineFixture", "");
+		offlineFixture = fixture.equals("")? null:new File(fixture);
+		fixedBugStates = Arrays.asList(SubscriptionManagerBaseTestScript.getProperty("bugzilla.fixedBugStates", "ON_QA,VERIFIED,RELEASE_PENDING,POST,CLOSED,MODIFIED").trim().split(" *, *"));
+		if (offlineFixture!=null) {
+			log.info("Bugzilla states will be read from offline fixture '"+offlineFixture+"'.");
+			load(offlineFixture, false);
+		} else {
+			load(cacheFile, true);
+		}
+	}
+
+	public boolean isOffline() {
+		return offlineFixture!=null;
+	}
+
+	/**
+	 * @param bugId
+	 * @return true when the bug's state is not one of the bugzilla.fixedBugStates
+	 * @throws XmlRpcException when the state is not cached and BzChecker fails to fetch it
+	 */
+	public boolean isBugOpen(String bugId) throws XmlRpcException {
+		return getEntry(bugId).open;
+	}
+
+	/**
+	 * @param bugId
+	 * @return the bug's state (e.g. NEW, ON_QA, CLOSED)
+	 * @throws XmlRpcException when the state is not cached and BzChecker fails to fetch it
+	 */
+	public String getBugState(String bugId) throws XmlRpcException {
+		return getEntry(bugId).state;
+	}
+
+	protected synchronized Entry getEntry(String bugId) throws XmlRpcException {
+		Entry entry = entries.get(bugId);
+		if (entry!=null && (isOffline() || !isExpired(entry))) return entry;
+		if (isOffline()) {
+			log.warning("Bugzilla "+bugId+" is not in offline fixture '"+offlineFixture+"'; assuming it is open.");
+			entry = new Entry("UNKNOWN", true, System.currentTimeMillis());
+			entries.put(bugId, entry);
+			return entry;
+		}
+		BzChecker bzChecker = BzChecker.getInstance();
+		boolean open = bzChecker.isBugOpen(bugId);
+		entry = new Entry(String.valueOf(bzChecker.getBugState(bugId)), open, System.currentTimeMillis());
+		entries.put(bugId, entry);
+		save();
+		return entry;
+	}
+
+	protected boolean isExpired(Entry entry) {
+		return System.currentTimeMillis()-entry.fetched > ttlMillis;
+	}
+
+	/**
+	 * @param testMethods - e.g. ITestContext.getSuite().getAllMethods()
+	 * @return the bug ids referenced by the blockedByBug-* groups of the test methods
+	 */
+	public static Set<String> getBlockedByBugIds(Collection<ITestNGMethod> testMethods) {
+		Set<String> bugIds = new LinkedHashSet<String>();
+		for (ITestNGMethod testMethod : testMethods) {
+			for (String group : testMethod.getGroups()) {
+				Matcher matcher = blockedByBugPattern.matcher(group);
+				if (matcher.matches()) bugIds.add(matcher.group(1));
+			}
+		}
+		return bugIds;
+	}
+
+	/**
+	 * Fetch the states of the given bugs and of every expired bug already known to the cache in one batched query.
+	 * A failure is logged and otherwise ignored (lookups will fall back to BzChecker).
+	 * @param bugIds
+	 */
+	public synchronized void prefetch(Collection<String> bugIds) {
+		if (isOffline()) return;
+		Set<String> staleBugIds = new LinkedHashSet<String>();
+		for (String bugId : bugIds) {
+			if (!entries.containsKey(bugId) || isExpired(entries.get(bugId))) staleBugIds.add(bugId);
+		}
+		for (String bugId : entries.keySet()) {
+			if (isExpired(entries.get(bugId))) staleBugIds.add(bugId);
+		}
+		if (staleBugIds.isEmpty()) return;
+		log.info("Prefetching the states of "+staleBugIds.size()+" bugs from Bugzilla...");
+		try {
+			List<String> batch = new ArrayList<String>();
+			for (Iterator<String> i = staleBugIds.iterator(); i.hasNext();) {
+				batch.add(i.next());
+				if (batch.size()==batchSize || !i.hasNext()) {
+					long now = System.currentTimeMillis();
+					Map<String,String> states = getBugStatesUsingXmlRpc(batch);
+					for (String bugId : states.keySet()) {
+						entries.put(bugId, new Entry(states.get(bugId), !fixedBugStates.contains(states.get(bugId)), now));
+					}
+					batch.clear();
+				}
+			}
+			save();
+		} catch (Exception e) {
+			log.warning("Failed to prefetch bug states from Bugzilla (each lookup will be made individually): "+e);
+		}
+	}
+
+	/**
+	 * @param bugIds
+	 * @return bugId => state from one Bug.get query (inaccessible bugs are omitted)
+	 */
+	protected Map<String,String> getBugStatesUsingXmlRpc(List<String> bugIds) throws Exception {
+		StringBuilder ids = new StringBuilder();
+		for (String bugId : bugIds) ids.append("<value><int>").append(Integer.valueOf(bugId)).append("</int></value>");
+		String request =
+			"<?xml version=\"1.0\"?><methodCall><methodName>Bug.get</methodName><params><param><value><struct>"+
+			"<member><name>ids</name><value><array><data>"+ids+"</data></array></value></member>"+
+			"<member><name>include_fields</name><value><array><data><value><string>id</string></value><value><string>status</string></value></data></array></value></member>"+
+			"<member><name>permissive</name><value><boolean>1</boolean></value></member>"+
+			"<member><name>Bugzilla_login</name><value><string>"+escape(SubscriptionManagerBaseTestScript.getProperty("bugzilla.login", ""))+"</string></value></member>"+
+			"<member><name>Bugzilla_password</name><value><string>"+escape(SubscriptionManagerBaseTestScript.getProperty("bugzilla.password", ""))+"</string></value></member>"+
+			"</struct></value></param></params></methodCall>";
+		PostMethod post = new PostMethod(SubscriptionManagerBaseTestScript.getProperty("bugzilla.url", "https://bugzilla.redhat.com/xmlrpc.cgi"));
+		try {
+			post.setRequestEntity(new StringRequestEntity(request, "text/xml", "UTF-8"));
+			int status = new HttpClient().executeMethod(post);
+			if (status!=HttpStatus.SC_OK) throw new IOException("Bugzilla Bug.get returned HTTP status "+status);
+			return parseBugStates(post.getResponseBody());
+		} finally {
+			post.releaseConnection();
+		}
+	}
+
+	protected static Map<String,String> parseBugStates(byte[] response) throws Exception {
+		Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(response));
+		if (document.getElementsByTagName("fault").getLength()>0) throw new IOException("Bugzilla Bug.get returned a fault: "+document.getDocumentElement().getTextContent().trim());
+		Map<String,String> states = new HashMap<String,String>();
+		NodeList structs = document.getElementsByTagName("struct");
+		for (int i=0; i<structs.getLength(); i++) {
+			String id = null, status = null;
+			for (Node member = structs.item(i).getFirstChild(); member!=null; member = member.getNextSibling()) {
+				if (!(member instanceof Element) || !member.getNodeName().equals("member")) continue;
+				String name = ((Element)member).getElementsByTagName("name").item(0).getTextContent().trim();
+				String value = ((Element)member).getElementsByTagName("value").item(0).getTextContent().trim();
+				if (name.equals("id")) id = value;
+				if (name.equals("status")) status = value;
+			}
+			if (id!=null && status!=null) states.put(id, status);
+		}
+		return states;
+	}
+
+	protected static String escape(String text) {
+		return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+	}
+
+	/**
+	 * The persisted "open" is ignored; it is recomputed from the "state" and the current bugzilla.fixedBugStates.
+	 * @param file - {"bugId":{"state":"CLOSED","open":false,"fetched":1400000000000}, ...}
+	 * @param timestamped - false for an offline fixture (whose "fetched" is optional)
+	 */
+	protected synchronized void load(File file, boolean timestamped) {
+		if (!file.exists()) return;
+		try {
+			Reader reader = new FileReader(file);
+			StringBuilder json = new StringBuilder();
+			char[] buffer = new char[4096];
+			for (int n; (n = reader.read(buffer)) != -1;) json.append(buffer, 0, n);
+			reader.close();
+			JSONObject jsonBugs = new JSONObject(json.toString());
+			for (Iterator<?> i = jsonBugs.keys(); i.hasNext();) {
+				String bugId = (String) i.next();
+				JSONObject jsonBug = jsonBugs.getJSONObject(bugId);
+				String state = jsonBug.getString("state");
+				boolean open = !fixedBugStates.contains(state);	// not the persisted "open", which reflects the fixedBugStates of the run that saved it
+				long fetched = timestamped? jsonBug.getLong("fetched") : System.currentTimeMillis();
+				entries.put(bugId, new Entry(state, open, fetched));
+			}
+			log.fine("Loaded the states of "+entries.size()+" bugs from '"+file+"'.");
+		} catch (IOException e) {
+			log.warning("Failed to read bug states from '"+file+"': "+e);
+		} catch (JSONException e) {
+			log.warning("Failed to parse bug states from '"+file+"': "+e);
+		}
+	}
+
+	protected synchronized void save() {
+		if (isOffline()) return;
+		try {
+			JSONObject jsonBugs = new JSONObject();
+			for (String bugId : entries.keySet()) {
+				Entry entry = entries.get(bugId);
+				JSONObject jsonBug = new JSONObject();
+				jsonBug.put("state", entry.state);
+				jsonBug.put("open", entry.open);
+				jsonBug.put("fetched", entry.fetched);
+				jsonBugs.put(bugId, jsonBug);
+			}
+			File tmpFile = new File(cacheFile.getPath()+".tmp");
+			Writer writer = new FileWriter(tmpFile);
+			writer.write(jsonBugs.toString(1));
+			writer.close();
+			if (!tmpFile.renameTo(cacheFile)) {
+				cacheFile.delete();
+				tmpFile.renameTo(cacheFile);
+			}
+		} catch (IOException e) {
+			log.warning("Failed to write bug states to '"+cacheFile+"': "+e);
+		} catch (JSONException e) {
+			log.warning("Failed to write bug states to '"+cacheFile+"': "+e);
+		}
+	}
+}
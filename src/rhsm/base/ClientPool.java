@@ -0,0 +1,84 @@
+package rhsm.base;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import rhsm.cli.tasks.SubscriptionManagerTasks;
+
+/**
+ * The subscription-manager clients of the suite (client1 and client2 when configured).
+ * runConcurrently(...) performs the same work (e.g. provisioning with setupClient) on every client at
+ * the same time.
+ */
+public class ClientPool {
+
+	protected static Logger log = Logger.getLogger(ClientPool.class.getName());
+	protected final List<SubscriptionManagerTasks> clients;
+
+	/**
+	 * Work to perform on one client.
+	 */
+	public interface ClientTask {
+		public void run(SubscriptionManagerTasks clienttasks) throws Exception;
+	}
+
+	public ClientPool(List<SubscriptionManagerTasks> clients) {
+		this.clients = Collections.unmodifiableList(new ArrayList<SubscriptionManagerTasks>(clients));
+	}
+
+	public List<SubscriptionManagerTasks> getClients() {
+		return clients;
+	}
+
+	public int size() {
+		return clients.size();
+	}
+
+	/**
+	 * Run the task on every client at the same time and wait for all of them to finish.
+	 * The first failure (in client order) is rethrown after all of the clients have finished.
+	 * @param task
+	 */
+	public void runConcurrently(final ClientTask task) {
+		if (clients.isEmpty()) return;
+		ExecutorService executor = Executors.newFixedThreadPool(clients.size());
+		try {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for (final SubscriptionManagerTasks clienttasks : clients) {
+				futures.add(executor.submit(new Callable<Void>() {
+					public Void call() throws Exception {
+						String hostname = clienttasks.sshCommandRunner.getConnection().getHostname();
+						Thread.currentThread().setName("ClientPool-"+hostname);
+						long start = System.currentTimeMillis();
+						task.run(clienttasks);
+						log.info("Finished client task on '"+hostname+"' in "+(System.currentTimeMillis()-start)/1000+" seconds.");
+						return null;
+					}
+				}));
+			}
+			Throwable failure = null;
+			for (int i=0; i<futures.size(); i++) {
+				try {
+					futures.get(i).get();
+				} catch (InterruptedException e) {
+					if (failure==null) failure = e;
+				} catch (ExecutionException e) {
+					log.warning("Client task failed on '"+clients.get(i).sshCommandRunner.getConnection().getHostname()+"': "+e.getCause());
+					if (failure==null) failure = e.getCause();
+				}
+			}
+			if (failure instanceof Error) throw (Error)failure;
+			if (failure instanceof RuntimeException) throw (RuntimeException)failure;
+			if (failure!=null) throw new RuntimeException(failure);
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
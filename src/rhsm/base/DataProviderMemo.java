@@ -0,0 +1,122 @@
+package rhsm.base;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import rhsm.cli.tasks.CandlepinTasks;
+
+/**
+ * Suite level memoization of the rows built by the expensive data providers of SubscriptionManagerCLITestScript
+ * (e.g. getAllFutureJSONPoolsDataAsListOfLists(...) which re-lists the owner's subscriptions and pools) so that
+ * the test classes that share a data provider do not each rebuild the same rows.
+ * <br>
+ * The rows are keyed by the provider name plus the inputs that determine them (e.g. server url, owner,
+ * consumer type, release, arch) and are reused for as long as the server state generation they were built
+ * from is current.  The generation is bumped by CandlepinTasks.serverStateChanged(url) which is called when
+ * pools are refreshed, subscriptions are created or deleted, the subscription dates are edited in the
+ * database (updateSubscriptionPoolDatesOnDatabase), and after any other PUT, POST, or DELETE request.
+ * Rows that also contain the consumed quantities of the pools depend on Dependency.CONSUMPTION and are
+ * rebuilt after any entitlement is consumed or returned.
+ * <br>
+ * Each call returns new lists of new rows, but the row elements (e.g. a JSONObject pool) are shared; do not modify them.
+ * <br>
+ * Properties:
+ * <br>sm.dataProviders.memoize - false rebuilds the rows on every call (default true)
+ * <br>sm.dataProviders.memoizeTimeToLive - milliseconds that memoized rows are reused (default 600000); bounds the staleness of rows that depend on the current time (e.g. future subscriptions that have since started)
+ * <br>Example:
+ * <pre>
+ *	return DataProviderMemo.get("getAllFutureJSONPoolsData", Arrays.asList(sm_serverUrl, ownerKey, consumerType), DataProviderMemo.Dependency.SERVER_STATE, new DataProviderMemo.Builder() {
+ *		public List&lt;List&lt;Object&gt;&gt; build() throws Exception {
+ *			...
+ *		}
+ *	});
+ * </pre>
+ */
+public class DataProviderMemo {
+
+	protected static Logger log = Logger.getLogger(DataProviderMemo.class.getName());
+	protected static final boolean enabled = Boolean.valueOf(SubscriptionManagerCLITestScript.getProperty("sm.dataProviders.memoize","true"));
+	protected static final long ttlMillis = Long.valueOf(SubscriptionManagerCLITestScript.getProperty("sm.dataProviders.memoizeTimeToLive","600000"));
+	protected static final Map<String,Entry> entries = new HashMap<String,Entry>();	// providerName+inputs => Entry
+
+	/**
+	 * Builds the rows of a data provider when they are not memoized.
+	 */
+	public interface Builder {
+		public List<List<Object>> build() throws Exception;
+	}
+
+	/**
+	 * What invalidates the memoized rows.
+	 */
+	public enum Dependency {
+		SERVER_STATE,	// the subscriptions and pools on the server (CandlepinTasks.getServerStateGeneration())
+		CONSUMPTION		// also the consumed quantities of the pools (CandlepinTasks.getResourceCacheGeneration())
+	}
+
+	protected static class Entry {
+		final List<List<Object>> rows;
+		final Dependency dependency;
+		final long generation;
+		final long built;
+		Entry(List<List<Object>> rows, Dependency dependency, long generation, long built) {
+			this.rows = rows;
+			this.dependency = dependency;
+			this.generation = generation;
+			this.built = built;
+		}
+	}
+
+	/**
+	 * @param providerName - e.g. "getAllJSONPoolsData"
+	 * @param inputs - everything besides the server state that determines the rows (e.g. server url, owner, consumer type, release, arch)
+	 * @param dependency
+	 * @param builder - builds the rows when they are not memoized or are stale
+	 * @return the memoized rows (or the newly built rows)
+	 * @throws Exception from the builder
+	 */
+	public static List<List<Object>> get(String providerName, List<?> inputs, Dependency dependency, Builder builder) throws Exception {
+		if (!enabled) return builder.build();
+		String key = providerName+inputs;
+		long generation = getGeneration(dependency);	// before building so that a change during the build leaves the rows stale
+		synchronized (entries) {
+			Entry entry = entries.get(key);
+			if (entry!=null && entry.dependency==dependency && entry.generation==generation && System.currentTimeMillis()-entry.built<ttlMillis) {
+				log.fine("Reusing the "+entry.rows.size()+" memoized rows of data provider "+key+" (generation "+generation+").");
+				return copy(entry.rows);
+			}
+		}
+		long start = System.currentTimeMillis();
+		List<List<Object>> rows = builder.build();
+		log.fine(String.format("Built the %d rows of data provider %s in %.1f seconds.", rows.size(), key, (System.currentTimeMillis()-start)/1000.0));
+		synchronized (entries) {
+			entries.put(key, new Entry(copy(rows), dependency, generation, start));
+		}
+		return rows;
+	}
+
+	/**
+	 * Discard all of the memoized rows.  Called by CandlepinTasks.deploy() since the deploy regenerates the server's database.
+	 */
+	public static void invalidate() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	protected static long getGeneration(Dependency dependency) {
+		switch (dependency) {
+			case CONSUMPTION:	return CandlepinTasks.getResourceCacheGeneration();
+			default:			return CandlepinTasks.getServerStateGeneration();
+		}
+	}
+
+	protected static List<List<Object>> copy(List<List<Object>> rows) {
+		List<List<Object>> ll = new ArrayList<List<Object>>(rows.size());
+		for (List<Object> row : rows) ll.add(new ArrayList<Object>(row));
+		return ll;
+	}
+}
@@ -17,6 +17,7 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -32,6 +33,7 @@ import org.apache.xmlrpc.XmlRpcException;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.testng.ITestContext;
 import org.testng.SkipException;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterSuite;
@@ -41,12 +43,16 @@ import org.testng.annotations.DataProvider;
 
 import com.redhat.qe.Assert;
 import com.redhat.qe.auto.bugzilla.BlockedByBzBug;
-import com.redhat.qe.auto.bugzilla.BzChecker;
 import com.redhat.qe.auto.testng.TestNGUtils;
 import rhsm.cli.tasks.CandlepinTasks;
+import rhsm.cli.tasks.JSONArrayReader;
+import rhsm.cli.tasks.RemoteLogCursor;
+import rhsm.cli.tasks.SSHCommandExecutor;
 import rhsm.cli.tasks.SubscriptionManagerTasks;
+import rhsm.cli.tasks.TarTransfer;
 import rhsm.data.ContentNamespace;
 import rhsm.data.EntitlementCert;
+import rhsm.data.MoFileReader;
 import rhsm.data.Org;
 import rhsm.data.ProductCert;
 import rhsm.data.ProductSubscription;
@@ -71,6 +77,7 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 	protected static SubscriptionManagerTasks clienttasks	= null;
 	protected static SubscriptionManagerTasks client1tasks	= null;	// client1 subscription manager tasks
 	protected static SubscriptionManagerTasks client2tasks	= null;	// client2 subscription manager tasks
+	protected static ClientPool clientPool					= null;	// client1 and client2 subscription manager tasks
 	
 	public static Random randomGenerator = new Random(System.currentTimeMillis());
 	
@@ -106,12 +113,11 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 			log.info("Multi-client testing will be skipped.");
 		}
 		
-		// unregister clients in case they are still registered from prior run (DO THIS BEFORE SETTING UP A NEW CANDLEPIN)
-		unregisterClientsAfterSuite();
-		
-		
-		File serverCaCertFile = null;
-		List<File> generatedProductCertFiles = new ArrayList<File>();
+		// create the pool of all clients
+		List<SubscriptionManagerTasks> clients = new ArrayList<SubscriptionManagerTasks>();
+		clients.add(client1tasks);
+		if (client2tasks!=null) clients.add(client2tasks);
+		clientPool = new ClientPool(clients);
 		
 		// can we create an SSHCommandRunner to connect to the candlepin server ?
 		if (!sm_serverHostname.equals("") && !sm_serverType.equals(CandlepinType.hosted)) {
@@ -123,57 +129,199 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 			servertasks = new rhsm.cli.tasks.CandlepinTasks(null,null,null,sm_serverType,sm_serverBranch);
 		}
 		
+		// the steps below run concurrently as soon as the steps they depend on have finished (the steps that use the server SSHCommandRunner are chained since it runs one command at a time)
+		final File serverCaCertFile = server!=null? new File((getProperty("automation.dir", "/tmp")+"/tmp/"+servertasks.candlepinCACertFile.getName()).replace("tmp/tmp", "tmp")) : null;
+		final List<File> generatedProductCertFiles = Collections.synchronizedList(new ArrayList<File>());
+		final List<String> versions = Collections.synchronizedList(new ArrayList<String>());
+		BootstrapGraph bootstrap = new BootstrapGraph("setupBeforeSuite");
+		
+		// unregister clients in case they are still registered from prior run (DO THIS BEFORE SETTING UP A NEW CANDLEPIN)
+		bootstrap.add("unregisterClients", new BootstrapGraph.Step() {public void run() throws Exception {
+			clientPool.runConcurrently(new ClientPool.ClientTask() {
+				public void run(SubscriptionManagerTasks smt) throws Exception {
+					smt.unregister_(null, null, null);	// release the entitlements consumed by the current registration
+					smt.clean_(null, null, null);	// in case the unregister fails, also clean the client
+				}
+			});
+		}});
+		
 		// setup the candlepin server (only when the candlepin server is standalone)
 		if (server!=null && sm_serverType.equals(CandlepinType.standalone)) {
 			
 			// NOTE: After updating the candlepin.conf file, the server needs to be restarted, therefore this will not work against the Hosted IT server which we don't want to restart or deploy
 			//       I suggest manually setting this on hosted and asking calfanso to restart
-			servertasks.updateConfigFileParameter("pinsetter.org.fedoraproject.candlepin.pinsetter.tasks.CertificateRevocationListTask.schedule","0 0\\/2 * * * ?");  // every 2 minutes
-			servertasks.cleanOutCRL();
-			servertasks.deploy();
-			server.runCommandAndWait("df -h");server.runCommandAndWait("ls -Slh /var/log/tomcat6 | head");	// log candlepin's starting disk usage (for debugging information only)
-			servertasks.setupTranslateToolkit(sm_translateToolkitGitRepository);
-			servertasks.reportAPI();
+			bootstrap.add("configureServer", new BootstrapGraph.Step() {public void run() throws Exception {
+				servertasks.updateConfigFileParameter("pinsetter.org.fedoraproject.candlepin.pinsetter.tasks.CertificateRevocationListTask.schedule","0 0\\/2 * * * ?");  // every 2 minutes
+				servertasks.cleanOutCRL();
+			}});
+			bootstrap.add("deployServer", new BootstrapGraph.Step() {public void run() throws Exception {
+				servertasks.deploy();
+				server.runCommandAndWait("df -h");server.runCommandAndWait("ls -Slh /var/log/tomcat6 | head");	// log candlepin's starting disk usage (for debugging information only)
+			}}, "unregisterClients", "configureServer");
+			bootstrap.add("setupServerTranslateToolkit", new BootstrapGraph.Step() {public void run() throws Exception {
+				servertasks.setupTranslateToolkit(sm_translateToolkitGitRepository);
+			}}, "deployServer");
+			bootstrap.add("reportServerAPI", new BootstrapGraph.Step() {public void run() throws Exception {
+				servertasks.reportAPI();
+			}}, "setupServerTranslateToolkit");
 			
 			// also connect to the candlepin server database
-			dbConnection = connectToDatabase();  // do this after the call to deploy since deploy will restart postgresql
+			bootstrap.add("connectToDatabase", new BootstrapGraph.Step() {public void run() throws Exception {
+				dbConnection = connectToDatabase();  // do this after the call to deploy since deploy will restart postgresql
+			}}, "deployServer");
 			
 			// fetch the generated Product Certs
 			if (Boolean.valueOf(getProperty("sm.debug.fetchProductCerts","true"))) {
-			log.info("Fetching the generated product certs...");
-			//SSHCommandResult result = RemoteFileTasks.runCommandAndAssert(server, "find "+serverInstallDir+servertasks.generatedProductsDir+" -name '*.pem'", 0);
-			SSHCommandResult result = server.runCommandAndWait("find "+sm_serverInstallDir+servertasks.generatedProductsDir+" -name '*.pem'");
-			String[] remoteFilesAsString = result.getStdout().trim().split("\\n");
-			if (remoteFilesAsString.length==1 && remoteFilesAsString[0].equals("")) remoteFilesAsString = new String[]{};
-			if (remoteFilesAsString.length==0) log.warning("No generated product certs were found on the candlpin server for use in testing.");
-			for (String remoteFileAsString : remoteFilesAsString) {
-				File remoteFile = new File(remoteFileAsString);
-				File localFile = new File((getProperty("automation.dir", "/tmp")+"/tmp/"+remoteFile.getName()).replace("tmp/tmp", "tmp"));
-				File localFileRenamed = new File(localFile.getPath().replace(".pem", "_.pem")); // rename the generated productCertFile to help distinguish it from a true RHEL productCertFiles
-				RemoteFileTasks.getFile(server.getConnection(), localFile.getParent(),remoteFile.getPath());
-				localFile.renameTo(localFileRenamed);
-				generatedProductCertFiles.add(localFileRenamed);
-			}
+				bootstrap.add("fetchProductCerts", new BootstrapGraph.Step() {public void run() throws Exception {
+					generatedProductCertFiles.addAll(fetchGeneratedProductCerts());
+				}}, "deployServer");
 			}
 		}
 		
 		// fetch the candlepin CA Cert (only when the candlepin server is not hosted)
 		if (server!=null && !sm_serverType.equals(CandlepinType.hosted)) {
-			log.info("Fetching Candlepin CA cert...");
-			serverCaCertFile = new File((getProperty("automation.dir", "/tmp")+"/tmp/"+servertasks.candlepinCACertFile.getName()).replace("tmp/tmp", "tmp"));
-			RemoteFileTasks.getFile(server.getConnection(), serverCaCertFile.getParent(), servertasks.candlepinCACertFile.getPath());
+			bootstrap.add("fetchServerCaCert", new BootstrapGraph.Step() {public void run() throws Exception {
+				log.info("Fetching Candlepin CA cert...");
+				RemoteFileTasks.getFile(server.getConnection(), serverCaCertFile.getParent(), servertasks.candlepinCACertFile.getPath());
+			}}, "deployServer");
 		}
 		
-		// setup the client(s) (with the fetched candlepin CA Cert and the generated product certs)
-		for (SubscriptionManagerTasks smt : new SubscriptionManagerTasks[]{client2tasks, client1tasks}) {
-			if (smt != null) setupClient(smt, serverCaCertFile, generatedProductCertFiles);
+		// setup the client(s) concurrently (does not need the candlepin server)
+		bootstrap.add("setupClients", new BootstrapGraph.Step() {public void run() throws Exception {
+			clientPool.runConcurrently(new ClientPool.ClientTask() {
+				public void run(SubscriptionManagerTasks smt) throws Exception {
+					setupClient(smt);
+				}
+			});
+		}}, "unregisterClients");
+		
+		// install the fetched candlepin CA Cert and the generated product certs on the client(s)
+		bootstrap.add("installServerCertsOnClients", new BootstrapGraph.Step() {public void run() throws Exception {
+			clientPool.runConcurrently(new ClientPool.ClientTask() {
+				public void run(SubscriptionManagerTasks smt) throws Exception {
+					installServerCertsOnClient(smt, serverCaCertFile, generatedProductCertFiles);
+				}
+			});
+		}}, "setupClients", "fetchServerCaCert", "fetchProductCerts");
+		
+		// determine the server URL that will be used for candlepin API calls and get the installed version of candlepin
+		// (after installServerCertsOnClients since both run commands on client1's SSHCommandRunner)
+		bootstrap.add("getServerStatus", new BootstrapGraph.Step() {public void run() throws Exception {
+			if (sm_serverUrl.equals("")) {
+				Map<String,String> conf = clienttasks.getConfFileParameters(clienttasks.rhsmConfFile, "hostname", "port", "prefix");
+				sm_serverUrl = getServerUrl(conf.get("hostname"), conf.get("port"), conf.get("prefix"));
+			}
+			getServerStatus();
+		}}, "installServerCertsOnClients", "setupClients", "deployServer");
+		
+		// probe the installed versions on the client(s) (after the other steps that run commands on the clients' SSHCommandRunners)
+		bootstrap.add("probeClientVersions", new BootstrapGraph.Step() {public void run() throws Exception {
+			if (client1tasks!=null) versions.addAll(probeClientVersions("Client1", sm_client1Hostname, client1tasks));
+			if (client2tasks!=null) versions.addAll(probeClientVersions("Client2", sm_client2Hostname, client2tasks));
+		}}, "setupClients", "installServerCertsOnClients", "getServerStatus");
+		
+		bootstrap.run();
+		
+	    File file = new File("test-output/version.txt"); // this will be in the automation.dir directory on hudson (workspace/automatjon/sm)
+    	Writer output = new BufferedWriter(new FileWriter(file));
+    	String infoMsg = "Installed versions...";
+		log.info(infoMsg); output.write(infoMsg+"\n");
+		for (String version : versions) {
+			log.info(version); output.write(version+"\n");
 		}
+		output.close();
+		
+		isSetupBeforeSuiteComplete = true;
+	}
+	
+	public void setupClient(SubscriptionManagerTasks smt, File serverCaCertFile, List<File> generatedProductCertFiles) throws IOException, JSONException{		
+		setupClient(smt);
+		installServerCertsOnClient(smt, serverCaCertFile, generatedProductCertFiles);
+	}
+	
+	/**
+	 * The part of the client setup that does not need anything from the candlepin server.
+	 */
+	public void setupClient(SubscriptionManagerTasks smt) throws IOException, JSONException{		
+		smt.installSubscriptionManagerRPMs(sm_yumInstallOptions);
+		if (sm_yumInstallZStreamUpdates)				smt.installZStreamUpdates(sm_yumInstallOptions, sm_yumInstallZStreamUpdatePackages);
+		smt.installSubscriptionManagerRPMs(sm_rpmInstallUrls,sm_rpmUpdateUrls,sm_yumInstallOptions);
 		
-		// determine the server URL that will be used for candlepin API calls
-		if (sm_serverUrl.equals("")) {
-			sm_serverUrl = getServerUrl(clienttasks.getConfFileParameter(clienttasks.rhsmConfFile,"hostname"), clienttasks.getConfFileParameter(clienttasks.rhsmConfFile,"port"), clienttasks.getConfFileParameter(clienttasks.rhsmConfFile,"prefix"));
+		// the rhsm.conf [server] and [rhsm] configurations are shared by all of the clients (the first client to get here wins for blank properties)
+		synchronized (SubscriptionManagerCLITestScript.class) {
+			// rewrite rhsmcertd.certFrequency -> rhsmcertd.certCheckInterval   see bug 882459
+			String certFrequency = smt.getConfFileParameter(smt.rhsmConfFile, "rhsmcertd", "certFrequency");
+			if (certFrequency!=null) {
+				smt.commentConfFileParameter(smt.rhsmConfFile, "certFrequency");
+				//smt.config(null, null, true, new String[]{"rhsmcertd","certCheckInterval".toLowerCase(),certFrequency});
+				smt.addConfFileParameter(smt.rhsmConfFile, "rhsmcertd", "certCheckInterval", certFrequency);
+			}
+			// rewrite rhsmcertd.healFrequency -> rhsmcertd.autoAttachInterval   see bug 882459
+			String healFrequency = smt.getConfFileParameter(smt.rhsmConfFile, "rhsmcertd", "healFrequency");
+			if (healFrequency!=null) {
+				smt.commentConfFileParameter(smt.rhsmConfFile, "healFrequency");
+				//smt.config(null, null, true, new String[]{"rhsmcertd","autoAttachInterval".toLowerCase(),healFrequency});
+				smt.addConfFileParameter(smt.rhsmConfFile, "rhsmcertd", "autoAttachInterval", healFrequency);
+			}
+		
+			// fetch the current rhsm.conf values in one round trip after the rewrites above (each value is only read by the else branch of its own parameter, i.e. when that parameter is not being updated)
+			Map<String,String> conf = smt.getConfFileParameters(smt.rhsmConfFile, "hostname", "prefix", "port", "insecure", "ssl_verify_depth", "ca_cert_dir", "baseurl", "repo_ca_cert", "productCertDir", "entitlementCertDir", "consumerCertDir", "certCheckInterval", "autoAttachInterval");
+		
+			// rhsm.conf [server] configurations
+			if (!sm_serverHostname.equals(""))				smt.updateConfFileParameter(smt.rhsmConfFile, "hostname", sm_serverHostname);							else sm_serverHostname = conf.get("hostname");
+			if (!sm_serverPrefix.equals(""))				smt.updateConfFileParameter(smt.rhsmConfFile, "prefix", sm_serverPrefix);								else sm_serverPrefix = conf.get("prefix");
+			if (!sm_serverPort.equals(""))					smt.updateConfFileParameter(smt.rhsmConfFile, "port", sm_serverPort);									else sm_serverPort = conf.get("port");
+			if (!sm_serverInsecure.equals(""))				smt.updateConfFileParameter(smt.rhsmConfFile, "insecure", sm_serverInsecure);							else sm_serverInsecure = conf.get("insecure");
+			if (!sm_serverSslVerifyDepth.equals(""))		smt.updateConfFileParameter(smt.rhsmConfFile, "ssl_verify_depth", sm_serverSslVerifyDepth);							else if (conf.get("ssl_verify_depth")!=null) sm_serverSslVerifyDepth = conf.get("ssl_verify_depth");	// older rhsm.conf files have no ssl_verify_depth
+			if (!sm_serverCaCertDir.equals(""))				smt.updateConfFileParameter(smt.rhsmConfFile, "ca_cert_dir", sm_serverCaCertDir);						else sm_serverCaCertDir = conf.get("ca_cert_dir");
+	
+			// rhsm.conf [rhsm] configurations
+			if (!sm_rhsmBaseUrl.equals(""))					smt.updateConfFileParameter(smt.rhsmConfFile, "baseurl", sm_rhsmBaseUrl);								else sm_rhsmBaseUrl = conf.get("baseurl");
+			if (!sm_rhsmRepoCaCert.equals(""))				smt.updateConfFileParameter(smt.rhsmConfFile, "repo_ca_cert", sm_rhsmRepoCaCert);						else sm_rhsmRepoCaCert = conf.get("repo_ca_cert");
+			//if (!rhsmShowIncompatiblePools.equals(""))	smt.updateConfFileParameter(smt.rhsmConfFile, "showIncompatiblePools", rhsmShowIncompatiblePools);		else rhsmShowIncompatiblePools = smt.getConfFileParameter(smt.rhsmConfFile, "showIncompatiblePools");
+			if (!sm_rhsmProductCertDir.equals(""))			smt.updateConfFileParameter(smt.rhsmConfFile, "productCertDir", sm_rhsmProductCertDir);					else sm_rhsmProductCertDir = conf.get("productCertDir");
+			if (!sm_rhsmEntitlementCertDir.equals(""))		smt.updateConfFileParameter(smt.rhsmConfFile, "entitlementCertDir", sm_rhsmEntitlementCertDir);			else sm_rhsmEntitlementCertDir = conf.get("entitlementCertDir");
+			if (!sm_rhsmConsumerCertDir.equals(""))			smt.updateConfFileParameter(smt.rhsmConfFile, "consumerCertDir", sm_rhsmConsumerCertDir);				else sm_rhsmConsumerCertDir = conf.get("consumerCertDir");
+	
+			// rhsm.conf [rhsmcertd] configurations
+			if (!sm_rhsmcertdCertFrequency.equals(""))		smt.updateConfFileParameter(smt.rhsmConfFile, /*"certFrequency" CHANGED BY BUG 882459 TO*/"certCheckInterval",	sm_rhsmcertdCertFrequency);				else sm_rhsmcertdCertFrequency = conf.get(/*"certFrequency" CHANGED BY BUG 882459 TO*/"certCheckInterval");
+			if (!sm_rhsmcertdHealFrequency.equals(""))		smt.updateConfFileParameter(smt.rhsmConfFile, /*"healFrequency" CHANGED BY BUG 882459 TO*/"autoAttachInterval",	sm_rhsmcertdHealFrequency);				else sm_rhsmcertdHealFrequency = conf.get(/*"healFrequency" CHANGED BY BUG 882459 TO*/"autoAttachInterval");
 		}
 		
+		smt.initializeFieldsFromConfigFile();
+		smt.removeAllCerts(true,true, false);
+		smt.removeAllFacts();
+		smt.initializeSystemComplianceAttributes();
+		smt.removeRhnSystemIdFile();
+		smt.installRepoCaCerts(sm_repoCaCertUrls);
+		smt.setupRhnDefinitions(sm_rhnDefinitionsGitRepository);
+		smt.setupTranslateToolkit(sm_translateToolkitGitRepository);
+
+		// create a facts file that will tell candlepin what version of x509 entitlement certificates this client understands;  removeAllFacts() should be called before this block of code!
+		if (sm_clientCertificateVersion!=null) {
+			Map<String,String> map = new HashMap<String,String>();
+			map.put("system.certificate_version",sm_clientCertificateVersion);
+			smt.createFactsFileWithOverridingValues(smt.certVersionFactsFilename, map);
+		}
+	}
+	
+	/**
+	 * Install the candlepin CA Cert and the generated product certs fetched from the candlepin server on the client.
+	 */
+	public void installServerCertsOnClient(SubscriptionManagerTasks smt, File serverCaCertFile, List<File> generatedProductCertFiles) throws IOException {
+		// transfer a copy of the candlepin CA Cert from the candlepin server to the clients so we can test in secure mode
+		log.info("Copying Candlepin cert onto client to enable certificate validation...");
+		smt.installRepoCaCert(serverCaCertFile, sm_serverHostname.split("\\.")[0]+".pem");
+		
+		// transfer copies of all the generated product certs from the candlepin server to the clients
+		log.info("Copying Candlepin generated product certs onto client to simulate installed products...");
+		smt.installProductCerts(generatedProductCertFiles);
+	}
+	
+	/**
+	 * Get the installed version of candlepin from the /status api (sm_serverUrl must already be known).
+	 */
+	protected void getServerStatus() {
 		log.info("Installed version of candlepin...");
 		JSONObject jsonStatus =null;
 		try {
@@ -237,108 +385,67 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 		} catch (Exception e) {
 			// Bug 843649 - subscription-manager server version reports Unknown against prod/stage candlepin
 			log.warning("Ecountered exception while getting the Candlepin server '"+sm_serverHostname+"' version from the /status api: "+e);
-		} 
-		
-	    File file = new File("test-output/version.txt"); // this will be in the automation.dir directory on hudson (workspace/automatjon/sm)
-    	Writer output = new BufferedWriter(new FileWriter(file));
-    	String infoMsg = "Installed versions...";
-		log.info(infoMsg); output.write(infoMsg+"\n");
-		if (client1 != null) {
-			infoMsg = "Client1 '"+sm_client1Hostname+"' is running version: ";
-			log.info(infoMsg); output.write(infoMsg+"\n");
-			infoMsg = client1.runCommandAndWait("rpm -qa | egrep ^subscription-manager").getStdout();	// subscription-manager-0.63-1.el6.i686
-			log.info(infoMsg); output.write(infoMsg+"\n");
-			infoMsg = client1.runCommandAndWait("rpm -q python-rhsm").getStdout();	// python-rhsm-0.63-1.el6.i686
-			log.info(infoMsg); output.write(infoMsg+"\n");
-			infoMsg = client1.runCommandAndWait("cat /etc/redhat-release").getStdout();	// Red Hat Enterprise Linux Server release 6.1 Beta (Santiago)
-			log.info(infoMsg); output.write(infoMsg+"\n");
-			infoMsg = client1.runCommandAndWait("uname -a").getStdout();	// Linux jsefler-onprem-server.usersys.redhat.com 2.6.32-122.el6.x86_64 #1 SMP Wed Mar 9 23:54:34 EST 2011 x86_64 x86_64 x86_64 GNU/Linux
-			log.info(infoMsg); output.write(infoMsg+"\n");
-		}
-		if (client2 != null) {
-			infoMsg = "Client2 '"+sm_client2Hostname+"' is running version: ";
-			log.info(infoMsg); output.write(infoMsg+"\n");
-			infoMsg = client2.runCommandAndWait("rpm -qa | egrep ^subscription-manager").getStdout();	// subscription-manager-0.63-1.el6.i686
-			log.info(infoMsg); output.write(infoMsg+"\n");
-			infoMsg = client2.runCommandAndWait("rpm -q python-rhsm").getStdout();	// python-rhsm-0.63-1.el6.i686
-			log.info(infoMsg); output.write(infoMsg+"\n");
-			infoMsg = client2.runCommandAndWait("cat /etc/redhat-release").getStdout();	// Red Hat Enterprise Linux Server release 6.1 Beta (Santiago)
-			log.info(infoMsg); output.write(infoMsg+"\n");
-			infoMsg = client2.runCommandAndWait("uname -a").getStdout();	// Linux jsefler-onprem-server.usersys.redhat.com 2.6.32-122.el6.x86_64 #1 SMP Wed Mar 9 23:54:34 EST 2011 x86_64 x86_64 x86_64 GNU/Linux
-			log.info(infoMsg); output.write(infoMsg+"\n");
 		}
-		output.close();
-		
-		isSetupBeforeSuiteComplete = true;
 	}
 	
-	public void setupClient(SubscriptionManagerTasks smt, File serverCaCertFile, List<File> generatedProductCertFiles) throws IOException, JSONException{		
-		smt.installSubscriptionManagerRPMs(sm_yumInstallOptions);
-		if (sm_yumInstallZStreamUpdates)				smt.installZStreamUpdates(sm_yumInstallOptions, sm_yumInstallZStreamUpdatePackages);
-		smt.installSubscriptionManagerRPMs(sm_rpmInstallUrls,sm_rpmUpdateUrls,sm_yumInstallOptions);
-		
-		// rewrite rhsmcertd.certFrequency -> rhsmcertd.certCheckInterval   see bug 882459
-		String certFrequency = smt.getConfFileParameter(smt.rhsmConfFile, "rhsmcertd", "certFrequency");
-		if (certFrequency!=null) {
-			smt.commentConfFileParameter(smt.rhsmConfFile, "certFrequency");
-			//smt.config(null, null, true, new String[]{"rhsmcertd","certCheckInterval".toLowerCase(),certFrequency});
-			smt.addConfFileParameter(smt.rhsmConfFile, "rhsmcertd", "certCheckInterval", certFrequency);
-		}
-		// rewrite rhsmcertd.healFrequency -> rhsmcertd.autoAttachInterval   see bug 882459
-		String healFrequency = smt.getConfFileParameter(smt.rhsmConfFile, "rhsmcertd", "healFrequency");
-		if (healFrequency!=null) {
-			smt.commentConfFileParameter(smt.rhsmConfFile, "healFrequency");
-			//smt.config(null, null, true, new String[]{"rhsmcertd","autoAttachInterval".toLowerCase(),healFrequency});
-			smt.addConfFileParameter(smt.rhsmConfFile, "rhsmcertd", "autoAttachInterval", healFrequency);
-		}
-		
-		// rhsm.conf [server] configurations
-		if (!sm_serverHostname.equals(""))				smt.updateConfFileParameter(smt.rhsmConfFile, "hostname", sm_serverHostname);							else sm_serverHostname = smt.getConfFileParameter(smt.rhsmConfFile, "hostname");
-		if (!sm_serverPrefix.equals(""))				smt.updateConfFileParameter(smt.rhsmConfFile, "prefix", sm_serverPrefix);								else sm_serverPrefix = smt.getConfFileParameter(smt.rhsmConfFile, "prefix");
-		if (!sm_serverPort.equals(""))					smt.updateConfFileParameter(smt.rhsmConfFile, "port", sm_serverPort);									else sm_serverPort = smt.getConfFileParameter(smt.rhsmConfFile, "port");
-		if (!sm_serverInsecure.equals(""))				smt.updateConfFileParameter(smt.rhsmConfFile, "insecure", sm_serverInsecure);							else sm_serverInsecure = smt.getConfFileParameter(smt.rhsmConfFile, "insecure");
-		if (!sm_serverSslVerifyDepth.equals(""))		smt.updateConfFileParameter(smt.rhsmConfFile, "ssl_verify_depth", sm_serverSslVerifyDepth);							else sm_serverInsecure = smt.getConfFileParameter(smt.rhsmConfFile, "insecure");
-		if (!sm_serverCaCertDir.equals(""))				smt.updateConfFileParameter(smt.rhsmConfFile, "ca_cert_dir", sm_serverCaCertDir);						else sm_serverCaCertDir = smt.getConfFileParameter(smt.rhsmConfFile, "ca_cert_dir");
-	
-		// rhsm.conf [rhsm] configurations
-		if (!sm_rhsmBaseUrl.equals(""))					smt.updateConfFileParameter(smt.rhsmConfFile, "baseurl", sm_rhsmBaseUrl);								else sm_rhsmBaseUrl = smt.getConfFileParameter(smt.rhsmConfFile, "baseurl");
-		if (!sm_rhsmRepoCaCert.equals(""))				smt.updateConfFileParameter(smt.rhsmConfFile, "repo_ca_cert", sm_rhsmRepoCaCert);						else sm_rhsmRepoCaCert = smt.getConfFileParameter(smt.rhsmConfFile, "repo_ca_cert");
-		//if (!rhsmShowIncompatiblePools.equals(""))	smt.updateConfFileParameter(smt.rhsmConfFile, "showIncompatiblePools", rhsmShowIncompatiblePools);		else rhsmShowIncompatiblePools = smt.getConfFileParameter(smt.rhsmConfFile, "showIncompatiblePools");
-		if (!sm_rhsmProductCertDir.equals(""))			smt.updateConfFileParameter(smt.rhsmConfFile, "productCertDir", sm_rhsmProductCertDir);					else sm_rhsmProductCertDir = smt.getConfFileParameter(smt.rhsmConfFile, "productCertDir");
-		if (!sm_rhsmEntitlementCertDir.equals(""))		smt.updateConfFileParameter(smt.rhsmConfFile, "entitlementCertDir", sm_rhsmEntitlementCertDir);			else sm_rhsmEntitlementCertDir = smt.getConfFileParameter(smt.rhsmConfFile, "entitlementCertDir");
-		if (!sm_rhsmConsumerCertDir.equals(""))			smt.updateConfFileParameter(smt.rhsmConfFile, "consumerCertDir", sm_rhsmConsumerCertDir);				else sm_rhsmConsumerCertDir = smt.getConfFileParameter(smt.rhsmConfFile, "consumerCertDir");
-	
-		// rhsm.conf [rhsmcertd] configurations
-		if (!sm_rhsmcertdCertFrequency.equals(""))		smt.updateConfFileParameter(smt.rhsmConfFile, /*"certFrequency" CHANGED BY BUG 882459 TO*/"certCheckInterval",	sm_rhsmcertdCertFrequency);				else sm_rhsmcertdCertFrequency = smt.getConfFileParameter(smt.rhsmConfFile, /*"certFrequency" CHANGED BY BUG 882459 TO*/"certCheckInterval");
-		if (!sm_rhsmcertdHealFrequency.equals(""))		smt.updateConfFileParameter(smt.rhsmConfFile, /*"healFrequency" CHANGED BY BUG 882459 TO*/"autoAttachInterval",	sm_rhsmcertdHealFrequency);				else sm_rhsmcertdHealFrequency = smt.getConfFileParameter(smt.rhsmConfFile, /*"healFrequency" CHANGED BY BUG 882459 TO*/"autoAttachInterval");
+	/**
+	 * Fetch the product certs generated by the candlepin deploy from the server as one tar stream
+	 * rather than one scp per file.
+	 * @return the local copies (renamed with a "_" suffix to distinguish them from true RHEL product certs)
+	 * @throws IOException
+	 */
+	protected List<File> fetchGeneratedProductCerts() throws IOException {
+		log.info("Fetching the generated product certs...");
+		String generatedProductsDir = sm_serverInstallDir+servertasks.generatedProductsDir;
 		
-		smt.initializeFieldsFromConfigFile();
-		smt.removeAllCerts(true,true, false);
-		smt.removeAllFacts();
-		smt.initializeSystemComplianceAttributes();
-		smt.removeRhnSystemIdFile();
-		smt.installRepoCaCerts(sm_repoCaCertUrls);
-		smt.setupRhnDefinitions(sm_rhnDefinitionsGitRepository);
-		smt.setupTranslateToolkit(sm_translateToolkitGitRepository);
-
-		// create a facts file that will tell candlepin what version of x509 entitlement certificates this client understands;  removeAllFacts() should be called before this block of code!
-		if (sm_clientCertificateVersion!=null) {
-			Map<String,String> map = new HashMap<String,String>();
-			map.put("system.certificate_version",sm_clientCertificateVersion);
-			smt.createFactsFileWithOverridingValues(smt.certVersionFactsFilename, map);
+		// a missing directory is not a failure; there are simply no generated product certs to test with
+		// (checked on its own channel since the server SSHCommandRunner is busy with the concurrent setup steps)
+		SSHCommandExecutor serverExecutor = new SSHCommandExecutor(server.getConnection(), 1, 60*1000);
+		try {
+			SSHCommandResult result = serverExecutor.runCommandsAndWait(Arrays.asList("test -d "+generatedProductsDir)).get(0);
+			if (!Integer.valueOf(0).equals(result.getExitCode())) {
+				log.warning("No generated product certs were found on the candlpin server for use in testing.");
+				return new ArrayList<File>();
+			}
+		} finally {
+			serverExecutor.shutdown();
 		}
-
-		// transfer a copy of the candlepin CA Cert from the candlepin server to the clients so we can test in secure mode
-		log.info("Copying Candlepin cert onto client to enable certificate validation...");
-		smt.installRepoCaCert(serverCaCertFile, sm_serverHostname.split("\\.")[0]+".pem");
 		
-		// transfer copies of all the generated product certs from the candlepin server to the clients
-		log.info("Copying Candlepin generated product certs onto client to simulate installed products...");
-		smt.installProductCerts(generatedProductCertFiles);
+		File localDir = new File((getProperty("automation.dir", "/tmp")+"/tmp").replace("tmp/tmp", "tmp"));
+		TarTransfer.Report report = TarTransfer.get(server.getConnection(), generatedProductsDir, "-name '*.pem'", localDir, new TarTransfer.Renamer() {
+			public String rename(String name) {
+				return new File(name).getName().replace(".pem", "_.pem"); // rename the generated productCertFile to help distinguish it from a true RHEL productCertFiles
+			}
+		});
+		if (report.files.isEmpty()) log.warning("No generated product certs were found on the candlpin server for use in testing.");
+		return report.files;
+	}
+	
+	/**
+	 * @return the log lines describing the installed versions on a client
+	 */
+	protected List<String> probeClientVersions(String clientName, String hostname, SubscriptionManagerTasks smt) {
+		List<String> versions = new ArrayList<String>();
+		versions.add(clientName+" '"+hostname+"' is running version: ");
+		for (SSHCommandResult result : smt.sshCommandExecutor.runCommandsAndWait(Arrays.asList(new String[]{
+				"rpm -qa | egrep ^subscription-manager",	// subscription-manager-0.63-1.el6.i686
+				"rpm -q python-rhsm",						// python-rhsm-0.63-1.el6.i686
+				"cat /etc/redhat-release",					// Red Hat Enterprise Linux Server release 6.1 Beta (Santiago)
+				"uname -a"})))								// Linux jsefler-onprem-server.usersys.redhat.com 2.6.32-122.el6.x86_64 #1 SMP Wed Mar 9 23:54:34 EST 2011 x86_64 x86_64 x86_64 GNU/Linux
+			versions.add(result.getStdout());
+		return versions;
 	}
 	
 	protected static boolean isSetupBeforeSuiteComplete = false;
 	
+	/**
+	 * @return client1tasks and client2tasks (when configured)
+	 */
+	protected static List<SubscriptionManagerTasks> getAllClientTasks() {
+		if (clientPool!=null) return clientPool.getClients();
+		return Arrays.asList(client1tasks,client2tasks);
+	}
+	
 //	@BeforeSuite(groups={"gui-setup"},dependsOnMethods={"setupBeforeSuite"}, description="subscription manager gui set up")
 //	public void setupGUIBeforeSuite() throws IOException {
 //		// 201104251443:55.877 - FINE: ssh root@jsefler-onprem-workstation.usersys.redhat.com service vncserver restart (com.redhat.qe.tools.SSHCommandRunner.run)
@@ -356,9 +463,10 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 	
 	protected String selinuxSuiteMarker = "SM TestSuite marker";	// do not use a timestamp on the whole suite marker
 	protected String selinuxClassMarker = "SM TestClass marker "+String.valueOf(System.currentTimeMillis());	// using a timestamp on the class marker will help identify the test class during which a denial is logged
+	protected Map<SubscriptionManagerTasks,RemoteLogCursor> selinuxClassAuditLogCursors = new HashMap<SubscriptionManagerTasks,RemoteLogCursor>();
 	@BeforeSuite(groups={"setup"},dependsOnMethods={"setupBeforeSuite"}, description="Ensure SELinux is Enforcing before running the test suite.")
 	public void ensureSELinuxIsEnforcingBeforeSuite() {
-		for (SubscriptionManagerTasks clienttasks : Arrays.asList(client1tasks,client2tasks)) {
+		for (SubscriptionManagerTasks clienttasks : getAllClientTasks()) {
 			if (clienttasks!=null) {
 				Assert.assertEquals(clienttasks.sshCommandRunner.runCommandAndWait("getenforce").getStdout().trim(), "Enforcing", "SELinux mode is set to enforcing on client "+clienttasks.sshCommandRunner.getConnection().getHostname());
 				RemoteFileTasks.markFile(clienttasks.sshCommandRunner, clienttasks.auditLogFile, selinuxSuiteMarker);
@@ -369,17 +477,21 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 	
 	@BeforeClass(groups={"setup"}, description="Mark the SELinux audit log before running the current class of tests so it can be searched for denials after the test class has run.")
 	public void MarkSELinuxAuditLogBeforeClass() {
-		for (SubscriptionManagerTasks clienttasks : Arrays.asList(client1tasks,client2tasks)) {
+		for (SubscriptionManagerTasks clienttasks : getAllClientTasks()) {
 			if (clienttasks!=null) {
-				RemoteFileTasks.markFile(clienttasks.sshCommandRunner, clienttasks.auditLogFile, selinuxClassMarker);
+				RemoteLogCursor auditLogCursor = new RemoteLogCursor(clienttasks.sshCommandRunner, clienttasks.auditLogFile);
+				auditLogCursor.mark(selinuxClassMarker);
+				selinuxClassAuditLogCursors.put(clienttasks, auditLogCursor);
 			}
 		}
 	}
 	@AfterClass(groups={"setup"}, description="Search the SELinux audit log for denials after running the current class of tests")
 	public void verifyNoSELinuxDenialsWereLoggedAfterClass() {
-		for (SubscriptionManagerTasks clienttasks : Arrays.asList(client1tasks,client2tasks)) {
+		for (SubscriptionManagerTasks clienttasks : getAllClientTasks()) {
 			if (clienttasks!=null) {
-				Assert.assertTrue(RemoteFileTasks.getTailFromMarkedFile(clienttasks.sshCommandRunner, clienttasks.auditLogFile, selinuxClassMarker, "denied").trim().equals(""), "No SELinux denials found in the audit log '"+clienttasks.auditLogFile+"' on client "+clienttasks.sshCommandRunner.getConnection().getHostname()+" while executing this test class.");
+				RemoteLogCursor auditLogCursor = selinuxClassAuditLogCursors.get(clienttasks);
+				String denials = auditLogCursor!=null? auditLogCursor.getTail("denied") : RemoteFileTasks.getTailFromMarkedFile(clienttasks.sshCommandRunner, clienttasks.auditLogFile, selinuxClassMarker, "denied");
+				Assert.assertTrue(denials.trim().equals(""), "No SELinux denials found in the audit log '"+clienttasks.auditLogFile+"' on client "+clienttasks.sshCommandRunner.getConnection().getHostname()+" while executing this test class.");
 			}
 		}
 	}
@@ -387,7 +499,7 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 	public static String allRegisteredConsumerCertsDir = "/tmp/sm-allRegisteredConsumerCerts";
 	@BeforeSuite(groups={"setup"},dependsOnMethods={"setupBeforeSuite"}, description="Prepare a temporary consumer cert directory where we can track all of the consumers created so we can return their entitlements after the suite.")
 	public void prepareRegisteredConsumerCertsDirectoryBeforeSuite() {
-		for (SubscriptionManagerTasks clienttasks : Arrays.asList(client1tasks,client2tasks)) {
+		for (SubscriptionManagerTasks clienttasks : getAllClientTasks()) {
 			if (clienttasks!=null) {
 				clienttasks.sshCommandRunner.runCommandAndWait("rm -rf "+allRegisteredConsumerCertsDir);
 				clienttasks.sshCommandRunner.runCommandAndWait("mkdir -p "+allRegisteredConsumerCertsDir);
@@ -407,7 +519,7 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 	}
 	@AfterSuite(groups={"cleanup"},description="attempt to delete any abandoned entitlements granted during the run of this suite")
 	public void deleteAllRegisteredConsumerEntitlementsAfterSuite() {
-		for (SubscriptionManagerTasks clienttasks : Arrays.asList(client1tasks,client2tasks)) {
+		for (SubscriptionManagerTasks clienttasks : getAllClientTasks()) {
 			if (clienttasks!=null) {
 				// determine the url to the server
 				String url = "https://"+clienttasks.getConfFileParameter(clienttasks.rhsmConfFile, "server", "hostname")+":"+clienttasks.getConfFileParameter(clienttasks.rhsmConfFile, "server", "port")+clienttasks.getConfFileParameter(clienttasks.rhsmConfFile, "server", "prefix");
@@ -427,7 +539,7 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 	
 	@AfterSuite(groups={"cleanup"},description="subscription manager tear down")
 	public void unregisterClientsAfterSuite() {
-		for (SubscriptionManagerTasks clienttasks : Arrays.asList(client1tasks,client2tasks)) {
+		for (SubscriptionManagerTasks clienttasks : getAllClientTasks()) {
 			if (clienttasks!=null) {
 				clienttasks.unregister_(null, null, null);	// release the entitlements consumed by the current registration
 				clienttasks.clean_(null, null, null);	// in case the unregister fails, also clean the client
@@ -470,7 +582,7 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 	@BeforeSuite(groups={"setup"},dependsOnMethods={"setupBeforeSuite"}, description="delete selected secondary/duplicate subscriptions to reduce the number of available pools against a standalone candlepin server")
 	public void deleteSomeSecondarySubscriptionsBeforeSuite() throws JSONException, Exception {
 		Set<String> secondarySkusSkipped = new HashSet<String>();
-		Set<String> secondarySkusToDelete = new HashSet<String>(Arrays.asList(new String[]{
+		final Set<String> secondarySkusToDelete = new HashSet<String>(Arrays.asList(new String[]{
 		//	[root@jsefler-5 ~]# subscription-manager register --username admin --password admin --org admin --type system
 		//	The system has been registered with ID: 9581087a-1b3a-483e-9756-c94142119d22 
 		//	[root@jsefler-5 ~]# subscription-manager list --all --avail | egrep "SKU" | sort | wc -l
@@ -568,19 +680,17 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 		if (!CandlepinType.standalone.equals(sm_serverType)) return;
 		
 		// process all of the pools belonging to ownerKey
-		JSONArray jsonPools = new JSONArray(CandlepinTasks.getResourceUsingRESTfulAPI(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,"/owners/"+sm_clientOrg+"/pools?listall=true"));	
+		// skip pools that were generated from consumption of a parent pool and pools that we do not want to delete
+		List<JSONObject> jsonPools = CandlepinTasks.getResourceElementsUsingRESTfulAPI(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,"/owners/"+sm_clientOrg+"/pools?listall=true",new String[]{"productId","subscriptionId"},new JSONArrayReader.Predicate() {
+			public boolean accept(JSONObject jsonPool) throws JSONException {
+				return jsonPool.isNull("sourceEntitlement") && secondarySkusToDelete.contains(jsonPool.getString("productId"));
+			}
+		});
 		List<String> secondarySubscriptionIdsDeleted = new ArrayList<String>();
-		for (int i = 0; i < jsonPools.length(); i++) {
-			JSONObject jsonPool = (JSONObject) jsonPools.get(i);
+		for (JSONObject jsonPool : jsonPools) {
 			String productId = jsonPool.getString("productId");
 			String subscriptionId = jsonPool.getString("subscriptionId");
 			
-			// skip pools that were generated from consumption of a parent pool
-			if (!jsonPool.isNull("sourceEntitlement")) continue;
-			
-			// skip pools that we do not want to delete
-			if (!secondarySkusToDelete.contains(productId)) continue;
-			
 			// skip the first secondarySkusToDelete encountered
 			if (!secondarySkusSkipped.contains(productId)) {
 				secondarySkusSkipped.add(productId);
@@ -599,6 +709,12 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 		}
 	}
 	
+	@BeforeSuite(groups={"setup"}, description="Prefetch the states of the bugs referenced by this suite from Bugzilla in one batched query.")
+	public void prefetchBugzillaStatesBeforeSuite(ITestContext context) {
+		// the blockedByBug-* groups of this suite plus the workaround bugs remembered from previous runs (see BugzillaStateCache)
+		BugzillaStateCache.getInstance().prefetch(BugzillaStateCache.getBlockedByBugIds(context.getSuite().getAllMethods()));
+	}
+	
 	protected static ArrayList<String> invokedWorkaroundBugs = new ArrayList<String>();;
 	@AfterSuite(groups={"cleanup"},description="log all the invoked bugzilla workarounds")
 	public void logInvokedWorkaroundsAfterSuite() {
@@ -1002,6 +1118,7 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 			Assert.assertEquals(sql.executeUpdate(updateSubscriptionPoolStartDateSql), 1, "Updated one row of the cp_subscription table with sql: "+updateSubscriptionPoolStartDateSql);
 		}
 		sql.close();
+		CandlepinTasks.serverStateChanged(sm_serverUrl);	// the cached pools no longer reflect the database
 	}
 	
 	protected void updateSubscriptionDatesOnDatabase(String subscriptionId, Calendar startDate, Calendar endDate) throws SQLException {
@@ -1027,6 +1144,7 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 			Assert.assertEquals(sql.executeUpdate(updateSubscriptionStartDateSql), 1, "Updated one row of the cp_subscription table with sql: "+updateSubscriptionStartDateSql);
 		}
 		sql.close();
+		CandlepinTasks.serverStateChanged(sm_serverUrl);	// the cached pools no longer reflect the database
 	}
 	
 
@@ -1078,24 +1196,57 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 	}
 	
 	
+	protected static Map<String,Map<File,List<Translation>>> translationFileMapsForSubscriptionManager = new HashMap<String,Map<File,List<Translation>>>();	// "hostname subscription-manager-version" => translationFileMap
+	/**
+	 * The rhsm.mo files are fetched from the client in one tar stream and decoded locally by MoFileReader.
+	 * The result is cached by client and subscription-manager version so that every class that needs it
+	 * (e.g. TranslationTests and PofilterTranslationTests) reuses it.
+	 * @return map of each rhsm.mo file on the client to its translations
+	 */
 	protected Map<File,List<Translation>> buildTranslationFileMapForSubscriptionManager() {
 		Map<File,List<Translation>> translationFileMapForSubscriptionManager = new HashMap<File, List<Translation>>();
 		if (client==null) return translationFileMapForSubscriptionManager;
 		
-		SSHCommandResult translationFileListingResult = client.runCommandAndWait("rpm -ql subscription-manager | grep rhsm.mo");
-		for (String translationFilePath : translationFileListingResult.getStdout().trim().split("\\n")) {
-			if (translationFilePath.isEmpty()) continue; // skip empty lines
-			
-			File translationFile = new File(translationFilePath);
+		SSHCommandResult translationFileListingResult = client.runCommandAndWait("rpm -q subscription-manager && rpm -ql subscription-manager | grep rhsm.mo");
+		List<String> translationFilePaths = new ArrayList<String>(Arrays.asList(translationFileListingResult.getStdout().trim().split("\\n")));
+		String version = translationFilePaths.remove(0).trim();	// subscription-manager-1.9.11-1.el6.x86_64
+		translationFilePaths.removeAll(Arrays.asList(""));	// skip empty lines
+		String key = client.getConnection().getHostname()+" "+version;
+		
+		synchronized (translationFileMapsForSubscriptionManager) {
+			if (translationFileMapsForSubscriptionManager.containsKey(key)) {
+				log.info("Reusing the translations that were already decoded from the rhsm.mo files of "+version+" on "+client.getConnection().getHostname()+".");
+				translationFileMapForSubscriptionManager.putAll(translationFileMapsForSubscriptionManager.get(key));
+				return translationFileMapForSubscriptionManager;
+			}
+			if (translationFilePaths.isEmpty()) return translationFileMapForSubscriptionManager;
 			
-			// decompile the rhsm.mo file into its original-like rhsm.po file
-			log.info("Decompiling the rhsm.mo file...");
-			File translationPoFile = new File(translationFile.getPath().replaceFirst(".mo$", ".po"));
-			RemoteFileTasks.runCommandAndAssert(client,"msgunfmt --no-wrap "+translationFile+ " -o "+translationPoFile,new Integer(0));
+			// decompile the rhsm.mo files into their original-like rhsm.po files (these are used by the pofilter tests)
+			log.info("Decompiling the rhsm.mo files...");
+			RemoteFileTasks.runCommandAndAssert(client,"for f in "+joinListToString(translationFilePaths, " ")+"; do msgunfmt --no-wrap $f -o ${f%.mo}.po || exit 1; done",new Integer(0));
 			
-			// parse the translations from the rhsm.mo into the translationFileMap
-			SSHCommandResult msgunfmtListingResult = client.runCommandAndWaitWithoutLogging("msgunfmt --no-wrap "+translationFilePath);
-			translationFileMapForSubscriptionManager.put(translationFile, Translation.parse(msgunfmtListingResult.getStdout()));
+			// fetch all of the rhsm.mo files in one tar stream (the find is rooted at their common parent directory)
+			String translationDir = new File(translationFilePaths.get(0)).getParent();
+			for (String translationFilePath : translationFilePaths) while (!translationFilePath.startsWith(translationDir+"/") && !translationDir.equals("/")) translationDir = new File(translationDir).getParent();
+			final Set<String> translationFileNames = new HashSet<String>();	// relative to translationDir
+			for (String translationFilePath : translationFilePaths) translationFileNames.add(translationFilePath.substring(translationDir.length()).replaceFirst("^/", ""));
+			File localDir = new File((getProperty("automation.dir", "/tmp")+"/tmp/"+client.getConnection().getHostname()+translationDir).replace("tmp/tmp", "tmp"));
+			try {
+				TarTransfer.Report report = TarTransfer.get(client.getConnection(), translationDir, "-name '"+new File(translationFilePaths.get(0)).getName()+"'", localDir, new TarTransfer.Renamer() {
+					public String rename(String name) {
+						return translationFileNames.contains(name)? name:null;	// only the files that belong to the subscription-manager package
+					}
+				});
+				
+				// parse the translations from the rhsm.mo files into the translationFileMap
+				for (File localFile : report.files) {
+					File translationFile = new File(translationDir, localFile.getPath().substring(localDir.getPath().length()+1));
+					translationFileMapForSubscriptionManager.put(translationFile, Collections.unmodifiableList(MoFileReader.read(localFile)));
+				}
+			} catch (IOException e) {
+				Assert.fail("Failed to fetch and decode the rhsm.mo files from "+client.getConnection().getHostname()+": "+e);
+			}
+			translationFileMapsForSubscriptionManager.put(key, new HashMap<File,List<Translation>>(translationFileMapForSubscriptionManager));
 		}
 		return translationFileMapForSubscriptionManager;
 	}
@@ -1225,6 +1376,7 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 		}
 
 		// populate a list of all available SubscriptionPools
+		// Note: not memoized by DataProviderMemo since the unregister and register above change the consumption on every call
 		List<SubscriptionPool> pools = all? clienttasks.getCurrentlyAllAvailableSubscriptionPools():clienttasks.getCurrentlyAvailableSubscriptionPools();
 		for (SubscriptionPool pool : pools) {
 			ll.add(Arrays.asList(new Object[]{pool}));
@@ -1248,6 +1400,15 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 		
 		return ll;
 	}
+	
+	/**
+	 * @param smt
+	 * @return a checksum of the client's facts override files and installed product certs; it changes when a test overrides a fact or installs/removes a product cert (part of the DataProviderMemo inputs)
+	 */
+	protected String getClientStateFingerprint(SubscriptionManagerTasks smt) {
+		SSHCommandResult result = smt.sshCommandRunner.runCommandAndWait("(cat "+smt.factsDir+"/*.facts; ls -l --full-time "+smt.productCertDir+") 2>/dev/null | md5sum");
+		return result.getStdout().trim();
+	}
 
 	
 // DELETEME
@@ -1371,7 +1532,7 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 			if (username.equals("anonymous")) {
 				boolean invokeWorkaroundWhileBugIsOpen = true;
 				String bugId="741961"; 
-				try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+				try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 				if (invokeWorkaroundWhileBugIsOpen) {
 					log.warning("Ignoring the presence of user '"+username+"'.  No automated testing with this user will be executed.");
 					continue;
@@ -1487,17 +1648,33 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 	 * @param matchSystemSoftware TODO
 	 * @return List of [String productId, JSONArray bundledProductDataAsJSONArray]
 	 */
-	protected List<List<Object>> getSystemSubscriptionPoolProductDataAsListOfLists(boolean matchSystemHardware, boolean matchSystemSoftware) throws Exception {
+	protected List<List<Object>> getSystemSubscriptionPoolProductDataAsListOfLists(final boolean matchSystemHardware, final boolean matchSystemSoftware) throws Exception {
 		List<List<Object>> ll = new ArrayList<List<Object>>(); if (!isSetupBeforeSuiteComplete) return ll;
-		List <String> productIdsAddedToSystemSubscriptionPoolProductData = new ArrayList<String>();
 
 		// get the owner key for clientusername, clientpassword
 		String consumerId = clienttasks.getCurrentConsumerId();
 		if (consumerId==null) consumerId = clienttasks.getCurrentConsumerId(clienttasks.register(sm_clientUsername, sm_clientPassword, sm_clientOrg, null, null, null, null, null, null, null, (String)null, null, null, null, Boolean.TRUE, false, null, null, null));
-		String ownerKey = CandlepinTasks.getOwnerKeyOfConsumerId(sm_clientUsername, sm_clientPassword, sm_serverUrl, consumerId);
+		final String ownerKey = CandlepinTasks.getOwnerKeyOfConsumerId(sm_clientUsername, sm_clientPassword, sm_serverUrl, consumerId);
 		// java.lang.RuntimeException: org.json.JSONException: JSONObject["owner"] not found.
 		// ^^^ this will be thrown when the consumerId has been deleted at the server, but the client does not know it.
 
+		// reuse the rows from the last call until the subscriptions (or the installed product certs when matching system software) change
+		return DataProviderMemo.get("getSystemSubscriptionPoolProductData", Arrays.asList(sm_serverUrl, ownerKey, matchSystemHardware, matchSystemSoftware, clienttasks.releasever, clienttasks.arch, clienttasks.sockets, matchSystemSoftware? getClientStateFingerprint(clienttasks):null), DataProviderMemo.Dependency.SERVER_STATE, new DataProviderMemo.Builder() {
+			public List<List<Object>> build() throws Exception {
+				return buildSystemSubscriptionPoolProductDataAsListOfLists(ownerKey, matchSystemHardware, matchSystemSoftware);
+			}
+		});
+	}
+	/**
+	 * @param ownerKey
+	 * @param matchSystemHardware
+	 * @param matchSystemSoftware
+	 * @return List of [String productId, JSONArray bundledProductDataAsJSONArray]
+	 */
+	protected List<List<Object>> buildSystemSubscriptionPoolProductDataAsListOfLists(String ownerKey, boolean matchSystemHardware, boolean matchSystemSoftware) throws Exception {
+		List<List<Object>> ll = new ArrayList<List<Object>>();
+		List <String> productIdsAddedToSystemSubscriptionPoolProductData = new ArrayList<String>();
+
 		Calendar now = new GregorianCalendar();
 		now.setTimeInMillis(System.currentTimeMillis());
 		
@@ -2525,6 +2702,15 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 	*/
 	
 	
+	/**
+	 * accepts the jsonPools that were not generated from consumption of a parent pool
+	 */
+	protected static final JSONArrayReader.Predicate notSubPoolPredicate = new JSONArrayReader.Predicate() {
+		public boolean accept(JSONObject jsonPool) throws JSONException {
+			return jsonPool.isNull("sourceEntitlement");
+		}
+	};
+	
 	@DataProvider(name="getAllJSONPoolsData")
 	public Object[][] getAllJSONPoolsDataAs2dArray() throws Exception {
 		return TestNGUtils.convertListOfListsTo2dArray(getAllJSONPoolsDataAsListOfLists());
@@ -2544,18 +2730,19 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 		}
 		
 		// process all of the pools belonging to ownerKey
-		JSONArray jsonPools = new JSONArray(CandlepinTasks.getResourceUsingRESTfulAPI(sm_clientUsername,sm_clientPassword,sm_serverUrl,"/owners/"+clientOrg+"/pools?listall=true"));	
-		for (int i = 0; i < jsonPools.length(); i++) {
-			JSONObject jsonPool = (JSONObject) jsonPools.get(i);
-			
-			// exclude sub pools that were generated from consumption of a parent pool
-			// including these has cause tests to mysteriously fail because the pool can be deleted if the source entitlement is revoked which can happen if the current consumer who has generated this subpool unregisters before the test that uses this data provider is executed. 
-			if (!jsonPool.isNull("sourceEntitlement")) continue;
-			
-			ll.add(Arrays.asList(new Object[]{jsonPool}));
-		}
-		
-		return ll;
+		// exclude sub pools that were generated from consumption of a parent pool
+		// including these has cause tests to mysteriously fail because the pool can be deleted if the source entitlement is revoked which can happen if the current consumer who has generated this subpool unregisters before the test that uses this data provider is executed. 
+		// the pools include their consumed quantities, so the rows are reused only until an entitlement is consumed or returned
+		final String ownerKey = clientOrg;
+		return DataProviderMemo.get("getAllJSONPoolsData", Arrays.asList(sm_serverUrl, sm_clientUsername, ownerKey), DataProviderMemo.Dependency.CONSUMPTION, new DataProviderMemo.Builder() {
+			public List<List<Object>> build() throws Exception {
+				List<List<Object>> ll = new ArrayList<List<Object>>();
+				for (JSONObject jsonPool : CandlepinTasks.getResourceElementsUsingRESTfulAPI(sm_clientUsername,sm_clientPassword,sm_serverUrl,"/owners/"+ownerKey+"/pools?listall=true",null,notSubPoolPredicate)) {
+					ll.add(Arrays.asList(new Object[]{jsonPool}));
+				}
+				return ll;
+			}
+		});
 	}
 
 	
@@ -2596,14 +2783,29 @@ public class SubscriptionManagerCLITestScript extends SubscriptionManagerBaseTes
 	/**
 	 * @return List of [JSONObject jsonPool]
 	 */
-	protected List<List<Object>> getAllFutureJSONPoolsDataAsListOfLists(ConsumerType consumerType) throws Exception {
+	protected List<List<Object>> getAllFutureJSONPoolsDataAsListOfLists(final ConsumerType consumerType) throws Exception {
 		List<List<Object>> ll = new ArrayList<List<Object>>(); if (!isSetupBeforeSuiteComplete) return ll;
 		
 		// get the owner key for clientusername, clientpassword
 		String consumerId = clienttasks.getCurrentConsumerId();
 		if (consumerId==null) consumerId = clienttasks.getCurrentConsumerId(clienttasks.register(sm_clientUsername, sm_clientPassword, sm_clientOrg, null, null, null, null, null, null, null, (String)null, null, null, null, Boolean.TRUE, false, null, null, null));
-		String ownerKey = CandlepinTasks.getOwnerKeyOfConsumerId(sm_clientUsername, sm_clientPassword, sm_serverUrl, consumerId);
+		final String ownerKey = CandlepinTasks.getOwnerKeyOfConsumerId(sm_clientUsername, sm_clientPassword, sm_serverUrl, consumerId);
 
+		// reuse the rows from the last call until the subscriptions change
+		return DataProviderMemo.get("getAllFutureJSONPoolsData", Arrays.asList(sm_serverUrl, sm_clientUsername, ownerKey, consumerType), DataProviderMemo.Dependency.SERVER_STATE, new DataProviderMemo.Builder() {
+			public List<List<Object>> build() throws Exception {
+				return buildAllFutureJSONPoolsDataAsListOfLists(ownerKey, consumerType);
+			}
+		});
+	}
+	/**
+	 * @param ownerKey
+	 * @param consumerType
+	 * @return List of [JSONObject jsonPool]
+	 */
+	protected List<List<Object>> buildAllFutureJSONPoolsDataAsListOfLists(String ownerKey, ConsumerType consumerType) throws Exception {
+		List<List<Object>> ll = new ArrayList<List<Object>>();
+		
 		for (List<Object> l : getAllFutureJSONSubscriptionsDataAsListOfLists(consumerType)) {
 			JSONObject jsonSubscription = (JSONObject) l.get(0);
 			String subscriptionId = jsonSubscription.getString("id");			
@@ -0,0 +1,134 @@
+package rhsm.cli.tasks;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * A bounded read-through cache of candlepin RESTful GET responses keyed by (serverUrl, authenticator, path).
+ * Entries expire after a time to live and the least recently used entry is evicted when the cache is full.
+ * Data providers ask for the same /pools/{id} and /products/{id} many times per row; since a pool's
+ * attributes and a product's content do not change unless the test changes them, the repeated requests
+ * can be answered locally.  Any request that can modify the server state must call invalidate().
+ *
+ * All methods are synchronized so that the cache can be shared by concurrent test threads.
+ */
+public class CandlepinResourceCache {
+
+	protected static Logger log = Logger.getLogger(CandlepinResourceCache.class.getName());
+	protected final int maxEntries;
+	protected final long timeToLiveMillis;
+	protected final Map<String,Entry> entries;
+	protected long hits = 0;
+	protected long misses = 0;
+	protected long evictions = 0;
+	protected long invalidations = 0;
+
+	protected static class Entry {
+		final String url;
+		final String response;
+		final long expiresMillis;
+		Entry(String url, String response, long expiresMillis) {
+			this.url = url;
+			this.response = response;
+			this.expiresMillis = expiresMillis;
+		}
+	}
+
+	/**
+	 * @param maxEntries - the least recently used response is evicted beyond this many entries; 0 disables the cache
+	 * @param timeToLiveMillis - a cached response is discarded this many milliseconds after it was fetched
+	 */
+	public CandlepinResourceCache(final int maxEntries, long timeToLiveMillis) {
+		this.maxEntries = maxEntries;
+		this.timeToLiveMillis = timeToLiveMillis;
+		this.entries = new LinkedHashMap<String,Entry>(16, 0.75f, true/*access order*/) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String,Entry> eldest) {
+				if (size()>maxEntries) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	protected static String key(String url, String authenticator, String path) {
+		return url+" "+authenticator+" "+path;
+	}
+
+	public boolean isEnabled() {
+		return maxEntries>0 && timeToLiveMillis>0;
+	}
+
+	/**
+	 * @return the cached response or null when the resource is not cached (or has expired)
+	 */
+	public synchronized String get(String url, String authenticator, String path) {
+		if (!isEnabled()) return null;
+		String key = key(url, authenticator, path);
+		Entry entry = entries.get(key);
+		if (entry!=null && entry.expiresMillis<System.currentTimeMillis()) {
+			entries.remove(key);
+			entry = null;
+		}
+		if (entry==null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.response;
+	}
+
+	public synchronized void put(String url, String authenticator, String path, String response) {
+		if (!isEnabled()) return;
+		entries.put(key(url, authenticator, path), new Entry(url, response, System.currentTimeMillis()+timeToLiveMillis));
+	}
+
+	/**
+	 * Discard all of the cached responses.
+	 */
+	public synchronized void invalidate() {
+		if (!entries.isEmpty()) invalidations++;
+		entries.clear();
+	}
+
+	/**
+	 * Discard all of the cached responses from one server.
+	 * @param url - candlepin server url (e.g. https://jsefler-onprem-62candlepin.usersys.redhat.com:8443/candlepin)
+	 */
+	public synchronized void invalidate(String url) {
+		boolean invalidated = false;
+		for (Iterator<Entry> i = entries.values().iterator(); i.hasNext();) {
+			if (i.next().url.equals(url)) {
+				i.remove();
+				invalidated = true;
+			}
+		}
+		if (invalidated) invalidations++;
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format("CandlepinResourceCache: size=%d/%d hits=%d misses=%d evictions=%d invalidations=%d", entries.size(), maxEntries, hits, misses, evictions, invalidations);
+	}
+}
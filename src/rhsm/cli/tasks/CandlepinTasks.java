@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.math.BigInteger;
 import java.net.URL;
 import java.net.URLConnection;
@@ -23,15 +24,21 @@ import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.zip.ZipFile;
 
+import org.apache.commons.httpclient.HostConfiguration;
 import org.apache.commons.httpclient.HttpClient;
 import org.apache.commons.httpclient.HttpMethod;
+import org.apache.commons.httpclient.HttpState;
+import org.apache.commons.httpclient.HttpStatus;
 import org.apache.commons.httpclient.MultiThreadedHttpConnectionManager;
+import org.apache.commons.httpclient.URI;
+import org.apache.commons.httpclient.URIException;
 import org.apache.commons.httpclient.UsernamePasswordCredentials;
 import org.apache.commons.httpclient.auth.AuthScope;
 import org.apache.commons.httpclient.methods.DeleteMethod;
@@ -43,6 +50,9 @@ import org.apache.commons.httpclient.methods.StringRequestEntity;
 import org.apache.commons.httpclient.methods.multipart.FilePart;
 import org.apache.commons.httpclient.methods.multipart.MultipartRequestEntity;
 import org.apache.commons.httpclient.methods.multipart.Part;
+import org.apache.commons.httpclient.protocol.Protocol;
+import org.apache.commons.httpclient.protocol.ProtocolSocketFactory;
+import org.apache.commons.httpclient.util.IdleConnectionTimeoutThread;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -53,6 +63,7 @@ import com.redhat.qe.auto.selenium.Base64;
 import com.redhat.qe.jul.TestRecords;
 import rhsm.base.CandlepinType;
 import rhsm.base.ConsumerType;
+import rhsm.base.DataProviderMemo;
 import rhsm.base.SubscriptionManagerCLITestScript;
 import rhsm.data.RevokedCert;
 import com.redhat.qe.tools.RemoteFileTasks;
@@ -96,17 +107,54 @@ public class CandlepinTasks {
 	public boolean statusStandalone = false;	// default to false since /status on stage is not readable and is expected to be false
 	public String statusTimeUTC = "";
 	
+	public static MultiThreadedHttpConnectionManager connectionManager;
+	protected static IdleConnectionTimeoutThread idleConnectionTimeoutThread;
+	public static CandlepinResourceCache resourceCache;
+	protected static final AtomicLong serverStateGeneration = new AtomicLong();	// bumped by serverStateChanged(url)
+	protected static final AtomicLong resourceCacheGeneration = new AtomicLong();	// bumped by invalidateResourceCache(url)
 	static {
-		MultiThreadedHttpConnectionManager connectionManager = new MultiThreadedHttpConnectionManager();
-      	client = new HttpClient(connectionManager);
-      	client.getParams().setAuthenticationPreemptive(true);
+		// pool keep-alive connections to the candlepin server(s) so that REST calls from many threads reuse open connections
+		connectionManager = new MultiThreadedHttpConnectionManager();
+		connectionManager.getParams().setDefaultMaxConnectionsPerHost(Integer.valueOf(SubscriptionManagerCLITestScript.getProperty("sm.server.http.maxConnectionsPerHost","20")));
+		connectionManager.getParams().setMaxTotalConnections(Integer.valueOf(SubscriptionManagerCLITestScript.getProperty("sm.server.http.maxTotalConnections","100")));
+		connectionManager.getParams().setConnectionTimeout(Integer.valueOf(SubscriptionManagerCLITestScript.getProperty("sm.server.http.connectionTimeout","60000")));	// milliseconds
+		connectionManager.getParams().setStaleCheckingEnabled(true);	// a pooled connection may have been closed by the server while idle
+		client = new HttpClient(connectionManager);
+		client.getParams().setAuthenticationPreemptive(true);
 		//client = new HttpClient();
+		
+		// close pooled connections that have been idle longer than the server is likely to keep them alive
+		idleConnectionTimeoutThread = new IdleConnectionTimeoutThread();
+		idleConnectionTimeoutThread.setName("CandlepinTasks-IdleConnectionTimeoutThread");
+		idleConnectionTimeoutThread.addConnectionManager(connectionManager);
+		idleConnectionTimeoutThread.setConnectionTimeout(Integer.valueOf(SubscriptionManagerCLITestScript.getProperty("sm.server.http.idleConnectionTimeout","30000")));	// milliseconds
+		idleConnectionTimeoutThread.setTimeoutInterval(10000);
+		idleConnectionTimeoutThread.start();	// is a daemon thread
+		
+		// cache the GET responses for pools and products which are repeatedly requested by the data providers
+		resourceCache = new CandlepinResourceCache(
+				Integer.valueOf(SubscriptionManagerCLITestScript.getProperty("sm.server.http.cacheMaxEntries","1000")),
+				Long.valueOf(SubscriptionManagerCLITestScript.getProperty("sm.server.http.cacheTimeToLive","300000")));	// milliseconds
+		
 		try {
-			SSLCertificateTruster.trustAllCertsForApacheHttp();
+			//SSLCertificateTruster.trustAllCertsForApacheHttp();	// replaced by a socket factory that shares one SSLContext so that TLS sessions are resumed across pooled connections
+			Protocol.registerProtocol("https", new Protocol("https", (ProtocolSocketFactory) new TrustAllSSLProtocolSocketFactory(), 443));
 		}catch(Exception e) {
 			log.log(Level.SEVERE, "Failed to trust all certificates for Apache HTTP Client", e);
 		}
 	}
+	
+	/**
+	 * Override the default limit of pooled connections (sm.server.http.maxConnectionsPerHost) for one server
+	 * @param url - candlepin server url (e.g. https://jsefler-onprem-62candlepin.usersys.redhat.com:8443/candlepin)
+	 * @param maxConnections
+	 */
+	public static void setMaxConnectionsForServer(String url, int maxConnections) throws URIException {
+		URI uri = new URI(url, false);
+		HostConfiguration hostConfiguration = new HostConfiguration();
+		hostConfiguration.setHost(uri.getHost(), uri.getPort(), uri.getScheme());
+		connectionManager.getParams().setMaxConnectionsPerHost(hostConfiguration, maxConnections);
+	}
 	public CandlepinTasks() {
 		super();
 		
@@ -244,6 +292,10 @@ public class CandlepinTasks {
 		//RemoteFileTasks.runCommandAndAssert(sshCommandRunner, "export TESTDATA=1 && export FORCECERT=1 && export GENDB=1 && export HOSTNAME="+hostname+" && export IMPORTDIR="+serverImportDir+" && cd "+serverInstallDir+"/proxy && buildconf/scripts/deploy", Integer.valueOf(0), "Initialized!", null);
 		//RemoteFileTasks.runCommandAndAssert(sshCommandRunner, "export TESTDATA=1 && export FORCECERT=1 && export GENDB=1 && export HOSTNAME="+hostname+" && export IMPORTDIR="+serverImportDir+" && cd "+serverInstallDir+" && buildconf/scripts/deploy", Integer.valueOf(0), "Initialized!", null);
 		RemoteFileTasks.runCommandAndAssert(sshCommandRunner, "export TESTDATA=1 && export FORCECERT=1 && export GENDB=1 && export HOSTNAME="+hostname+" && export IMPORTDIR="+serverImportDir+" && cd "+serverInstallDir+" && bundle exec buildconf/scripts/deploy", Integer.valueOf(0), "Initialized!", null);	// prepended "bundle exec" to avoid: You have already activated rjb 1.4.8, but your Gemfile requires rjb 1.4.0. Prepending `bundle exec` to your command may solve this.
+		
+		// the deploy regenerated the database (GENDB=1); discard the cached responses and the data provider rows that were built from the old one
+		serverStateChanged(null);
+		DataProviderMemo.invalidate();
 		// Update 1/21/2011                                    ^^^^^^ TESTDATA is new for master branch                                             ^^^^^^ IMPORTDIR applies to branches <= BETA
 
 		/* attempt to use live logging
@@ -386,6 +438,100 @@ schema generation failed
 		return getHTTPResponseAsString(client, get, authenticator, password);
 	}
 	
+	/**
+	 * Same as getResourceUsingRESTfulAPI(...) except that a successful response is remembered in the resourceCache
+	 * and returned by subsequent calls for the same path until it expires or the cache is invalidated.
+	 * Only use this for resources whose content does not change unless this automation changes it (e.g. /pools/{id} and /products/{id}).
+	 */
+	static public String getCachedResourceUsingRESTfulAPI(String authenticator, String password, String url, String path) throws Exception {
+		String response = resourceCache.get(url, authenticator, path);
+		if (response!=null) {
+			log.finer("Using cached response to HTTP request: GET "+url+path);
+			return response;
+		}
+		
+		GetMethod get = new GetMethod(url+path);
+		String user		= (authenticator.equals(""))? "":"--user "+authenticator+":"+password+" ";
+		String request	= "--request "+get.getName()+" ";
+		log.info("SSH alternative to HTTP request: curl --stderr /dev/null --insecure "+user+request+get.getURI()+" | python -m simplejson/tool");
+		
+		response = getHTTPResponseAsString(client, get, authenticator, password);
+		if (get.getStatusCode()==HttpStatus.SC_OK) resourceCache.put(url, authenticator, path, response);	// do not cache error responses
+		return response;
+	}
+	
+	/**
+	 * Stream a JSONArray resource (e.g. /owners/admin/pools?listall=true) from the server and parse it one element at a time
+	 * so that the response is never held in memory as a String or as a whole JSONArray.
+	 * @param projection - names of the values to keep from each accepted element; null keeps the whole element
+	 * @param predicate - elements that are not accepted by the predicate are discarded; null accepts all elements
+	 * @return the accepted (and projected) elements in the order returned by the server
+	 */
+	static public List<JSONObject> getResourceElementsUsingRESTfulAPI(String authenticator, String password, String url, String path, String[] projection, JSONArrayReader.Predicate predicate) throws Exception {
+		GetMethod get = new GetMethod(url+path);
+		String user		= (authenticator.equals(""))? "":"--user "+authenticator+":"+password+" ";
+		String request	= "--request "+get.getName()+" ";
+		log.info("SSH alternative to HTTP request: curl --stderr /dev/null --insecure "+user+request+get.getURI()+" | python -m simplejson/tool");
+		
+		List<JSONObject> elements = new ArrayList<JSONObject>();
+		doHTTPRequest(client, get, authenticator, password);
+		try {
+			if (get.getStatusCode()!=HttpStatus.SC_OK) {
+				String response = get.getResponseBodyAsString();
+				log.finer("HTTP server returned content: " + response);
+				if (get.getStatusText().equalsIgnoreCase("Unauthorized")) {
+					throw new SkipException("Not authorized make HTTP request to '"+get.getURI()+"' with credentials: username='"+authenticator+"' password='"+password+"'");
+				}
+				throw new JSONException("Expected a JSONArray from '"+get.getURI()+"' but the server returned "+get.getStatusCode()+": "+response);
+			}
+			JSONArrayReader reader = new JSONArrayReader(new InputStreamReader(get.getResponseBodyAsStream(), get.getResponseCharSet()));
+			while (reader.hasNext()) {
+				JSONObject jsonObject = reader.next();
+				if (predicate==null || predicate.accept(jsonObject)) elements.add(JSONArrayReader.project(jsonObject, projection));
+			}
+		} finally {
+			get.releaseConnection();
+		}
+		log.finer("HTTP server returned "+elements.size()+" accepted elements.");
+		return elements;
+	}
+	
+	/**
+	 * Discard the cached GET responses and PoolIndexes for a server.  Called automatically by every PUT, POST, and DELETE request (via serverStateChanged(url))
+	 * and by subscription-manager commands that consume or return entitlements.
+	 * @param url - candlepin server url; null will discard the cached responses for all servers
+	 */
+	static public void invalidateResourceCache(String url) {
+		if (url==null) resourceCache.invalidate(); else resourceCache.invalidate(url);
+		PoolIndex.invalidate(url);
+		resourceCacheGeneration.incrementAndGet();
+	}
+	
+	/**
+	 * Same as invalidateResourceCache(url) and also bumps the server state generation.  Call this after anything
+	 * that can create, delete, refresh, or edit the subscriptions and pools on the server (e.g. a PUT, POST, or DELETE
+	 * request, a cpc command, or an update to the candlepin database) as opposed to merely consuming or returning entitlements.
+	 * @param url - candlepin server url; null for all servers
+	 */
+	static public void serverStateChanged(String url) {
+		serverStateGeneration.incrementAndGet();
+		invalidateResourceCache(url);
+	}
+	
+	/**
+	 * @return a number that changes whenever serverStateChanged(...) is called (see DataProviderMemo)
+	 */
+	static public long getServerStateGeneration() {
+		return serverStateGeneration.get();
+	}
+	
+	/**
+	 * @return a number that changes whenever invalidateResourceCache(...) is called, including when entitlements are consumed or returned (see DataProviderMemo)
+	 */
+	static public long getResourceCacheGeneration() {
+		return resourceCacheGeneration.get();
+	}
+	
 	static public String putResourceUsingRESTfulAPI(String authenticator, String password, String url, String path) throws Exception {
 		return putResourceUsingRESTfulAPI(authenticator,password,url,path,null);
 	}
@@ -405,7 +551,9 @@ schema generation failed
 		String headers	= ""; if (jsonData != null) for (org.apache.commons.httpclient.Header header : put.getRequestHeaders()) headers+= "--header '"+header.toString().trim()+"' ";
 		log.info("SSH alternative to HTTP request: curl --stderr /dev/null --insecure "+user+request+data+headers+put.getURI());
 
-		return getHTTPResponseAsString(client, put, authenticator, password);
+		String response = getHTTPResponseAsString(client, put, authenticator, password);
+		serverStateChanged(url);	// the request may have modified a cached resource
+		return response;
 	}
 	
 	static public String deleteResourceUsingRESTfulAPI(String authenticator, String password, String url, String path) throws Exception {
@@ -417,7 +565,9 @@ schema generation failed
 		String request	= "--request "+delete.getName()+" ";
 		log.info("SSH alternative to HTTP request: curl --stderr /dev/null --insecure "+user+request+delete.getURI()/*+" | python -m simplejson/tool"*/);
 
-		return getHTTPResponseAsString(client, delete, authenticator, password);
+		String response = getHTTPResponseAsString(client, delete, authenticator, password);
+		serverStateChanged(url);	// the request may have modified a cached resource
+		return response;
 	}
 	
 	static public String postResourceUsingRESTfulAPI(String authenticator, String password, String url, String path, String requestBody) throws Exception {
@@ -436,7 +586,9 @@ schema generation failed
 		String headers	= ""; if (requestBody != null) for (org.apache.commons.httpclient.Header header : post.getRequestHeaders()) headers+= "--header '"+header.toString().trim()+"' ";
 		log.info("SSH alternative to HTTP request: curl --stderr /dev/null --insecure "+user+request+data+headers+post.getURI());
 
-		return getHTTPResponseAsString(client, post, authenticator, password);
+		String response = getHTTPResponseAsString(client, post, authenticator, password);
+		serverStateChanged(url);	// the request may have modified a cached resource
+		return response;
 	}
 	
 	static public JSONObject getEntitlementUsingRESTfulAPI(String authenticator, String password, String url, String dbid) throws Exception {
@@ -482,14 +634,16 @@ schema generation failed
 		String server = method.getURI().getHost();
 		int port = method.getURI().getPort();
 	
-		setCredentials(client, server, port, username, password);
+		// scope the credentials to this request rather than setting them on the shared client state which is used by concurrent requests
+		HttpState state = new HttpState();
+		setCredentials(state, server, port, username, password);
 		log.finer("Running HTTP request: " + method.getName() + " on " + method.getURI() + " with credentials for '"+username+"' on server '"+server+"'...");
 		if (method instanceof PostMethod){
 			RequestEntity entity =  ((PostMethod)method).getRequestEntity();
 			log.finer("HTTP Request entity: " + (entity==null?"":((StringRequestEntity)entity).getContent()));
 		}
 		log.finer("HTTP Request Headers: " + interpose(", ", (Object[])method.getRequestHeaders()));
-		int responseCode = client.executeMethod(method);
+		int responseCode = client.executeMethod(null, method, state);
 		log.finer("HTTP server returned: " + responseCode) ;
 		return method;
 	}
@@ -503,9 +657,9 @@ schema generation failed
 		}
 		return sb.toString();
 	}	
-	protected static void setCredentials(HttpClient client, String server, int port, String username, String password) {
+	protected static void setCredentials(HttpState state, String server, int port, String username, String password) {
 		if (!username.equals(""))
-			client.getState().setCredentials(
+			state.setCredentials(
 	            new AuthScope(server, port, AuthScope.ANY_REALM),
 	            new UsernamePasswordCredentials(username, password)
 	        );
@@ -665,7 +819,9 @@ schema generation failed
 			      new FilePart(f.getName(), f)
 			  };
 		post.setRequestEntity(new MultipartRequestEntity(parts, post.getParams()));
-		int status = client.executeMethod(post);
+		int status = doHTTPRequest(client, post, owner, password).getStatusCode();
+		post.releaseConnection();
+		serverStateChanged(url);	// the import creates subscriptions and pools
 		//Assert.assertEquals(status, 204);	// TODO TEMPORARILY COMMENTED OUT TO DEBUG FAILING EventTests.ImportCreated_Test
 		if (status==204) {
 			log.info("HTTP status: "+status);
@@ -768,10 +924,8 @@ schema generation failed
 	}
 	
 	public static void dropAllConsumers(final String owner, final String password, final String url) throws Exception{
-		JSONArray consumers = new JSONArray(getResourceUsingRESTfulAPI(owner, password, url, "consumers"));
 		List<String> consumerRefs = new ArrayList<String>();
-		for (int i=0;i<consumers.length();i++) {
-			JSONObject o = consumers.getJSONObject(i);
+		for (JSONObject o : getResourceElementsUsingRESTfulAPI(owner, password, url, "consumers", new String[]{"href"}, null)) {
 			consumerRefs.add(o.getString("href"));
 		}
 		final ExecutorService service = Executors.newFixedThreadPool(4);  //run 4 concurrent deletes
@@ -791,6 +945,7 @@ schema generation failed
 		
 		service.shutdown();
 		service.awaitTermination(6, TimeUnit.HOURS);
+		invalidateResourceCache(url);	// the deleted consumers returned their entitlements
 	}
 	
 	
@@ -849,14 +1004,8 @@ schema generation failed
 			    "created": "2011-02-18T16:17:42.008+0000"
 			  }
 		*/
-		JSONArray jsonPools = new JSONArray(CandlepinTasks.getResourceUsingRESTfulAPI(authenticator,password,url,"/owners/"+ownerKey+"/pools"));	
-		for (int i = 0; i < jsonPools.length(); i++) {
-			JSONObject jsonPool = (JSONObject) jsonPools.get(i);
-			String poolId = jsonPool.getString("id");
-			String subscriptionId = jsonPool.getString("subscriptionId");
-			if (forSubscriptionId.equals(subscriptionId)) {
-				poolIds.add(poolId);
-			}
+		for (JSONObject jsonPool : PoolIndex.getPoolIndex(authenticator,password,url,ownerKey).getPoolsForSubscriptionId(forSubscriptionId)) {
+			poolIds.add(jsonPool.getString("id"));
 		}
 		return poolIds;
 	}
@@ -916,14 +1065,8 @@ schema generation failed
 			    "created": "2011-02-18T16:17:42.008+0000"
 			  }
 		*/
-		JSONArray jsonPools = new JSONArray(CandlepinTasks.getResourceUsingRESTfulAPI(authenticator,password,url,"/owners/"+ownerKey+"/pools"));	
-		for (int i = 0; i < jsonPools.length(); i++) {
-			JSONObject jsonPool = (JSONObject) jsonPools.get(i);
-			String poolId = jsonPool.getString("id");
-			String productId = jsonPool.getString("productId");
-			if (forProductId.equals(productId)) {
-				poolIds.add(poolId);
-			}
+		for (JSONObject jsonPool : PoolIndex.getPoolIndex(authenticator,password,url,ownerKey).getPoolsForProductId(forProductId)) {
+			poolIds.add(jsonPool.getString("id"));
 		}
 		return poolIds;
 	}
@@ -931,24 +1074,24 @@ schema generation failed
 	public static List<JSONObject> getPoolsForSubscriptionId(String authenticator, String password, String url, String ownerKey, String forSubscriptionId) throws JSONException, Exception{
 		List<JSONObject> pools = new ArrayList<JSONObject>();
 
-		JSONArray jsonPools = new JSONArray(CandlepinTasks.getResourceUsingRESTfulAPI(authenticator,password,url,"/owners/"+ownerKey+"/pools"));	
-		for (int i = 0; i < jsonPools.length(); i++) {
-			JSONObject jsonPool = (JSONObject) jsonPools.get(i);
-			String poolId = jsonPool.getString("id");
-			String subscriptionId = jsonPool.getString("subscriptionId");
-			if (forSubscriptionId.equals(subscriptionId)) {
-				pools.add(jsonPool);
-			}
-		}
+		pools.addAll(PoolIndex.getPoolIndex(authenticator,password,url,ownerKey).getPoolsForSubscriptionId(forSubscriptionId));
 		return pools;
 	}
 	
 	public static String getSubscriptionIdForPoolId(String authenticator, String password, String url, String forPoolId) throws JSONException, Exception{
-		JSONObject jsonPool = new JSONObject(CandlepinTasks.getResourceUsingRESTfulAPI(authenticator,password,url,"/pools/"+forPoolId));
+		JSONObject jsonPool = new JSONObject(CandlepinTasks.getCachedResourceUsingRESTfulAPI(authenticator,password,url,"/pools/"+forPoolId));
 		return jsonPool.getString("subscriptionId");
 	}
 	
 	public static String getSubscriptionIdFromProductName(String authenticator, String password, String url, String ownerKey, String fromProductName) throws JSONException, Exception{
+		// first look for an indexed pool of the product
+		for (JSONObject jsonPool : PoolIndex.getPoolIndex(authenticator,password,url,ownerKey).getPoolsForProductName(fromProductName)) {
+			if (!jsonPool.isNull("subscriptionId")) {
+				return jsonPool.getString("subscriptionId");
+			}
+		}
+		
+		// otherwise the subscription may not have an active pool (e.g. a future subscription)
 		// get the owner's subscriptions for the authenticator
 		// # curl -k -u testuser1:password --request GET https://jsefler-onprem-62candlepin.usersys.redhat.com:8443/candlepin/owners/admin/subscriptions | python -mjson.tool
 		JSONArray jsonSubscriptions = new JSONArray(CandlepinTasks.getResourceUsingRESTfulAPI(authenticator,password,url,"/owners/"+ownerKey+"/subscriptions"));	
@@ -1648,10 +1791,9 @@ schema generation failed
 	
 	public static String getPoolIdFromProductNameAndContractNumber(String authenticator, String password, String url, String ownerKey, String fromProductName, String fromContractNumber) throws JSONException, Exception{
 
-		// get the owner's pools for the authenticator
+		// get the owner's pools for the authenticator indexed by contract number
 		// # curl -k -u testuser1:password --request GET https://jsefler-onprem-62candlepin.usersys.redhat.com:8443/candlepin/owners/admin/pools | python -mjson.tool
-		JSONArray jsonPools = new JSONArray(CandlepinTasks.getResourceUsingRESTfulAPI(authenticator,password,url,"/owners/"+ownerKey+"/pools"));	
-		for (int i = 0; i < jsonPools.length(); i++) {
+		for (JSONObject jsonPool : PoolIndex.getPoolIndex(authenticator,password,url,ownerKey).getPoolsForContractNumber(fromContractNumber)) {
 			/*
 		    {
 		        "accountNumber": "12331131231", 
@@ -1753,11 +1895,9 @@ schema generation failed
 		    }
 		    */
 			
-			JSONObject jsonPool = (JSONObject) jsonPools.get(i);
 			String poolId = jsonPool.getString("id");
 			String productName = jsonPool.getString("productName");
-			String contractNumber = jsonPool.getString("contractNumber");
-			if (productName.equals(fromProductName) && contractNumber.equals(fromContractNumber)) {
+			if (productName.equals(fromProductName)) {
 				return poolId;
 			}
 		}
@@ -1766,6 +1906,18 @@ schema generation failed
 	}
 	
 	
+	/**
+	 * @param poolId
+	 * @return a predicate for getResourceElementsUsingRESTfulAPI(...) that accepts the jsonEntitlements from poolId
+	 */
+	protected static JSONArrayReader.Predicate getEntitlementsFromPoolPredicate(final String poolId) {
+		return new JSONArrayReader.Predicate() {
+			public boolean accept(JSONObject jsonEntitlement) throws JSONException {
+				return poolId.equals(jsonEntitlement.getJSONObject("pool").getString("id"));
+			}
+		};
+	}
+	
 	/**
 	 * Search through all of the entitlements granted to any consumer created with credentials authenticator:password 
 	 * under the specified ownerKey and return the newest entitlement's serial.
@@ -1785,9 +1937,8 @@ schema generation failed
 
 		// get the org's entitlements for the authenticator
 		// curl -k -u testuser1:password https://jsefler-onprem-62candlepin.usersys.redhat.com:8443/candlepin/owners/admin/entitlements | python -mjson.tool
-		JSONArray jsonEntitlements = new JSONArray(CandlepinTasks.getResourceUsingRESTfulAPI(authenticator,password,url,"/owners/"+ownerKey+"/entitlements"));	
-		for (int i = 0; i < jsonEntitlements.length(); i++) {
-			JSONObject jsonEntitlement = (JSONObject) jsonEntitlements.get(i);
+		// stream the entitlements keeping only the pool and certificates of those from poolId
+		for (JSONObject jsonEntitlement : getResourceElementsUsingRESTfulAPI(authenticator,password,url,"/owners/"+ownerKey+"/entitlements",new String[]{"pool","certificates"},getEntitlementsFromPoolPredicate(poolId))) {
 			/*  
 		    {
 		        "accountNumber": "12331131231", 
@@ -1874,9 +2025,8 @@ schema generation failed
 
 		// get the consumerId's entitlements using authenticator credentials
 		// curl --insecure --user testuser1:password --request GET https://jsefler-f14-5candlepin.usersys.redhat.com:8443/candlepin/consumers/1809416d-b0ee-4b00-ae8a-7a747728e9bc/entitlements | python -m simplejson/tool
-		JSONArray jsonEntitlements = new JSONArray(CandlepinTasks.getResourceUsingRESTfulAPI(authenticator,password,url,"/consumers/"+consumerId+"/entitlements"));	
-		for (int i = 0; i < jsonEntitlements.length(); i++) {
-			JSONObject jsonEntitlement = (JSONObject) jsonEntitlements.get(i);
+		// stream the entitlements keeping only the pool and certificates of those from poolId
+		for (JSONObject jsonEntitlement : getResourceElementsUsingRESTfulAPI(authenticator,password,url,"/consumers/"+consumerId+"/entitlements",new String[]{"pool","certificates"},getEntitlementsFromPoolPredicate(poolId))) {
 			/*  
 		    {
 		        "accountNumber": "12331131231", 
@@ -2119,7 +2269,7 @@ schema generation failed
 		*/
 		
 		Boolean virt_only = null;	// indicates that the pool does not specify virt_only attribute
-		JSONObject jsonPool = new JSONObject(CandlepinTasks.getResourceUsingRESTfulAPI(authenticator,password,url,"/pools/"+poolId));	
+		JSONObject jsonPool = new JSONObject(CandlepinTasks.getCachedResourceUsingRESTfulAPI(authenticator,password,url,"/pools/"+poolId));	
 		JSONArray jsonAttributes = jsonPool.getJSONArray("attributes");
 		// loop through the attributes of this pool looking for the "virt_only" attribute
 		for (int j = 0; j < jsonAttributes.length(); j++) {
@@ -2427,7 +2577,7 @@ schema generation failed
 
 		// get the pool for the authenticator
 		// # curl -k --request GET --user testuser1:password  --header 'accept: application/json' --header 'content-type: application/json'  https://jsefler-onprem-62candlepin.usersys.redhat.com:8443/candlepin/pools/8a90f8c63196bb20013196bc7d120281 | python -mjson.tool
-		JSONObject jsonPool = new JSONObject(CandlepinTasks.getResourceUsingRESTfulAPI(authenticator,password,url,"/pools/"+poolId));	
+		JSONObject jsonPool = new JSONObject(CandlepinTasks.getCachedResourceUsingRESTfulAPI(authenticator,password,url,"/pools/"+poolId));	
 		
 		// return the value for the named derivedProductAttribute
 		return getPoolDerivedProductAttributeValue(jsonPool,derivedProductAttributeName);
@@ -2437,7 +2587,7 @@ schema generation failed
 
 		// get the pool for the authenticator
 		// # curl -k --request GET --user testuser1:password  --header 'accept: application/json' --header 'content-type: application/json'  https://jsefler-onprem-62candlepin.usersys.redhat.com:8443/candlepin/pools/8a90f8c63196bb20013196bc7d120281 | python -mjson.tool
-		JSONObject jsonPool = new JSONObject(CandlepinTasks.getResourceUsingRESTfulAPI(authenticator,password,url,"/pools/"+poolId));	
+		JSONObject jsonPool = new JSONObject(CandlepinTasks.getCachedResourceUsingRESTfulAPI(authenticator,password,url,"/pools/"+poolId));	
 		
 		// return the value for the named productAttribute
 		return getPoolProductAttributeValue(jsonPool,productAttributeName);
@@ -2448,7 +2598,7 @@ schema generation failed
 		
 		// get the pool for the authenticator
 		// # curl -k --request GET --user testuser1:password  --header 'accept: application/json' --header 'content-type: application/json'  https://jsefler-onprem-62candlepin.usersys.redhat.com:8443/candlepin/pools/8a90f8c63196bb20013196bc7d120281 | python -mjson.tool
-		JSONObject jsonPool = new JSONObject(CandlepinTasks.getResourceUsingRESTfulAPI(authenticator,password,url,"/pools/"+poolId));	
+		JSONObject jsonPool = new JSONObject(CandlepinTasks.getCachedResourceUsingRESTfulAPI(authenticator,password,url,"/pools/"+poolId));	
 		
 		// loop through all of the derivedProvidedProducts for this jsonPool
 		JSONArray jsonDerivedProvidedProducts = jsonPool.getJSONArray("derivedProvidedProducts");
@@ -2468,7 +2618,7 @@ schema generation failed
 		
 		// get the pool for the authenticator
 		// # curl -k --request GET --user testuser1:password  --header 'accept: application/json' --header 'content-type: application/json'  https://jsefler-onprem-62candlepin.usersys.redhat.com:8443/candlepin/pools/8a90f8c63196bb20013196bc7d120281 | python -mjson.tool
-		JSONObject jsonPool = new JSONObject(CandlepinTasks.getResourceUsingRESTfulAPI(authenticator,password,url,"/pools/"+poolId));	
+		JSONObject jsonPool = new JSONObject(CandlepinTasks.getCachedResourceUsingRESTfulAPI(authenticator,password,url,"/pools/"+poolId));	
 		
 		// loop through all of the providedProducts for this jsonPool
 		JSONArray jsonProvidedProducts = jsonPool.getJSONArray("providedProducts");
@@ -2489,7 +2639,7 @@ schema generation failed
 		for (String providedProductId : getPoolProvidedProductIds(authenticator,password,url,poolId)) {
 			
 			// get the productContents
-			JSONObject jsonProduct = new JSONObject(getResourceUsingRESTfulAPI(authenticator,password,url,"/products/"+providedProductId));	
+			JSONObject jsonProduct = new JSONObject(getCachedResourceUsingRESTfulAPI(authenticator,password,url,"/products/"+providedProductId));	
 			JSONArray jsonProductContents = jsonProduct.getJSONArray("productContent");
 			for (int j = 0; j < jsonProductContents.length(); j++) {
 				JSONObject jsonProductContent = (JSONObject) jsonProductContents.get(j);
@@ -2512,7 +2662,7 @@ schema generation failed
 
 		// get the pool for the authenticator
 		// # curl -k --request GET --user testuser1:password  --header 'accept: application/json' --header 'content-type: application/json'  https://jsefler-onprem-62candlepin.usersys.redhat.com:8443/candlepin/pools/8a90f8c63196bb20013196bc7d120281 | python -mjson.tool
-		JSONObject jsonPool = new JSONObject(CandlepinTasks.getResourceUsingRESTfulAPI(authenticator,password,url,"/pools/"+poolId));	
+		JSONObject jsonPool = new JSONObject(CandlepinTasks.getCachedResourceUsingRESTfulAPI(authenticator,password,url,"/pools/"+poolId));	
 		
 		// return the value for the named productAttribute
 		return getPoolAttributeValue(jsonPool,attributeName);
@@ -2522,7 +2672,7 @@ schema generation failed
 
 		// get the pool for the authenticator
 		// # curl -k --request GET --user testuser1:password  --header 'accept: application/json' --header 'content-type: application/json'  https://jsefler-onprem-62candlepin.usersys.redhat.com:8443/candlepin/pools/8a90f8c63196bb20013196bc7d120281 | python -mjson.tool
-		JSONObject jsonPool = new JSONObject(CandlepinTasks.getResourceUsingRESTfulAPI(authenticator,password,url,"/pools/"+poolId));	
+		JSONObject jsonPool = new JSONObject(CandlepinTasks.getCachedResourceUsingRESTfulAPI(authenticator,password,url,"/pools/"+poolId));	
 		
 		// return the value for the named json parameter
 		return getPoolValue(jsonPool,jsonName);
@@ -2939,6 +3089,7 @@ schema generation failed
 		// call the ruby client
 		String command = String.format("cd %s; ./cpc create_owner \"%s\"", serverInstallDir+rubyClientDir, owner_name);
 		SSHCommandResult sshCommandResult = RemoteFileTasks.runCommandAndAssert(sshCommandRunner, command, 0);
+		serverStateChanged(null);
 
 		return new JSONObject(sshCommandResult.getStdout().replaceAll("=>", ":"));
 		
@@ -2958,7 +3109,9 @@ schema generation failed
 		
 		// call the ruby client
 		String command = String.format("cd %s; ./cpc delete_owner \"%s\"", serverInstallDir+rubyClientDir, owner_name);
-		return RemoteFileTasks.runCommandAndAssert(sshCommandRunner, command, 0);
+		SSHCommandResult sshCommandResult = RemoteFileTasks.runCommandAndAssert(sshCommandRunner, command, 0);
+		serverStateChanged(null);
+		return sshCommandResult;
 	}
 	
 	public JSONObject createProductUsingCPC(String id, String name) throws JSONException {
@@ -2968,6 +3121,7 @@ schema generation failed
 		// call the ruby client
 		String command = String.format("cd %s; ./cpc create_product \"%s\" \"%s\"", serverInstallDir+rubyClientDir, id, name);
 		SSHCommandResult sshCommandResult = RemoteFileTasks.runCommandAndAssert(sshCommandRunner, command, 0);
+		serverStateChanged(null);
 		
 		return new JSONObject(sshCommandResult.getStdout().replaceAll("=>", ":"));
 	}
@@ -2979,6 +3133,7 @@ schema generation failed
 		// call the ruby client
 		String command = String.format("cd %s; ./cpc create_subscription \"%s\" \"%s\"", serverInstallDir+rubyClientDir, ownerKey, productId);
 		SSHCommandResult sshCommandResult = RemoteFileTasks.runCommandAndAssert(sshCommandRunner, command, 0);
+		serverStateChanged(null);
 		
 		return new JSONObject(sshCommandResult.getStdout().replaceAll("=>", ":"));
 	}
@@ -2990,6 +3145,7 @@ schema generation failed
 		// call the ruby client
 		String command = String.format("cd %s; ./cpc create_pool \"%s\" \"%s\" \"%s\" \"%s\"", serverInstallDir+rubyClientDir, productId, productName, ownerId, quantity);
 		SSHCommandResult sshCommandResult = RemoteFileTasks.runCommandAndAssert(sshCommandRunner, command, 0);
+		serverStateChanged(null);
 		
 		return new JSONObject(sshCommandResult.getStdout().replaceAll("=>", ":"));
 	}
@@ -3000,7 +3156,9 @@ schema generation failed
 		
 		// call the ruby client
 		String command = String.format("cd %s; ./cpc delete_pool \"%s\"", serverInstallDir+rubyClientDir, id);
-		return RemoteFileTasks.runCommandAndAssert(sshCommandRunner, command, 0);
+		SSHCommandResult sshCommandResult = RemoteFileTasks.runCommandAndAssert(sshCommandRunner, command, 0);
+		serverStateChanged(null);
+		return sshCommandResult;
 	}
 	
 	public SSHCommandResult deleteSubscriptionUsingCPC(String id) {
@@ -3009,7 +3167,9 @@ schema generation failed
 		
 		// call the ruby client
 		String command = String.format("cd %s; ./cpc delete_subscription \"%s\"", serverInstallDir+rubyClientDir, id);
-		return RemoteFileTasks.runCommandAndAssert(sshCommandRunner, command, 0);
+		SSHCommandResult sshCommandResult = RemoteFileTasks.runCommandAndAssert(sshCommandRunner, command, 0);
+		serverStateChanged(null);
+		return sshCommandResult;
 	}
 	
 	public JSONObject refreshPoolsUsingCPC(String ownerKey, boolean immediate) throws JSONException {
@@ -3019,6 +3179,7 @@ schema generation failed
 		// call the ruby client
 		String command = String.format("cd %s; ./cpc refresh_pools \"%s\" %s", serverInstallDir+rubyClientDir, ownerKey, Boolean.toString(immediate));
 		SSHCommandResult sshCommandResult = RemoteFileTasks.runCommandAndAssert(sshCommandRunner, command, 0);
+		serverStateChanged(null);
 		
 		return new JSONObject(sshCommandResult.getStdout().replaceAll("=>", ":"));
 	}
@@ -0,0 +1,248 @@
+package rhsm.cli.tasks;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.redhat.qe.tools.SSHCommandResult;
+import com.redhat.qe.tools.SSHCommandRunner;
+
+/**
+ * A parsed, section aware, in-memory copy of the active (uncommented) lines of a remote config file
+ * such as /etc/rhsm/rhsm.conf.  The file is fetched once and then only re-fetched when a cheap cksum
+ * probe of the remote file no longer matches the cksum taken when the snapshot was loaded, so reading
+ * a parameter (or a batch of parameters with getParameters(String...)) costs one tiny round trip and no regex
+ * parsing of the whole file.
+ *
+ * The tasks that modify the file (update/comment/add of a parameter and subscription-manager config)
+ * apply the same change to the snapshot (write-through) and then call sign() so that the snapshot
+ * remains valid.  A change that cannot be mirrored (e.g. uncommenting a parameter whose value is only
+ * in the comment) should call invalidate() instead.  The write-through only mirrors the parsed parameters;
+ * the raw text returned by getContents() is discarded and re-fetched on its next read.
+ */
+public class ConfFileSnapshot {
+
+	protected static Logger log = Logger.getLogger(ConfFileSnapshot.class.getName());
+	protected static final Pattern sectionPattern = Pattern.compile("^\\[(.*)\\]\\s*$");
+	protected static final Pattern parameterPattern = Pattern.compile("^([^\\s\\[#;=:][^=:]*?)\\s*[=:](.*)$");
+	protected final SSHCommandRunner sshCommandRunner;
+	public final String confFile;
+	protected String checksum = null;	// null when the snapshot has not been loaded
+	protected String contents = null;	// null when not loaded or discarded by a write-through
+	// section => list of {name, value} in the order they appear in the file; parameters above the first section belong to section ""
+	protected final Map<String,List<String[]>> sections = new LinkedHashMap<String,List<String[]>>();
+
+	public ConfFileSnapshot(SSHCommandRunner sshCommandRunner, String confFile) {
+		this.sshCommandRunner = sshCommandRunner;
+		this.confFile = confFile;
+	}
+
+	protected String getChecksumCommand() {
+		return "cksum "+confFile+" | cut -d' ' -f1,2";
+	}
+
+	/**
+	 * Probe the remote file and reload the snapshot when it has changed since it was loaded (or last signed).
+	 */
+	protected synchronized void refresh() {
+		if (checksum!=null) {
+			SSHCommandResult result = sshCommandRunner.runCommandAndWaitWithoutLogging(getChecksumCommand());
+			if (result.getExitCode()!=null && result.getExitCode()==0 && result.getStdout().trim().equals(checksum)) return;
+		}
+		load();
+	}
+
+	protected void load() {
+		// one round trip for both the checksum and the active lines
+		SSHCommandResult result = sshCommandRunner.runCommandAndWaitWithoutLogging(getChecksumCommand()+" && egrep -v \"^\\s*(#|$)\" "+confFile+"; true");
+		String[] checksumAndContents = result.getStdout().split("\\n", 2);
+		sections.clear();
+		if (checksumAndContents[0].trim().equals("")) {
+			log.warning("Config file '"+confFile+"' does not exist.");
+			checksum = null;
+			contents = "";
+			return;
+		}
+		checksum = checksumAndContents[0].trim();
+		contents = checksumAndContents.length>1? checksumAndContents[1]:"";
+		parse(contents);
+	}
+
+	protected void parse(String contents) {
+		List<String[]> section = getSection("", true);
+		for (String line : contents.split("\\n")) {
+			Matcher matcher = sectionPattern.matcher(line);
+			if (matcher.matches()) {
+				section = getSection(matcher.group(1), true);
+				continue;
+			}
+			matcher = parameterPattern.matcher(line);
+			if (matcher.matches()) section.add(new String[]{matcher.group(1), matcher.group(2).trim()});
+		}
+	}
+
+	protected List<String[]> getSection(String section, boolean create) {
+		List<String[]> parameters = sections.get(section);
+		if (parameters==null && create) {
+			parameters = new ArrayList<String[]>();
+			sections.put(section, parameters);
+		}
+		return parameters;
+	}
+
+	/**
+	 * Call before modifying the remote file so that the write-through starts from the file's current contents (a stale snapshot is reloaded).
+	 */
+	public synchronized void validate() {
+		if (checksum!=null) refresh();
+	}
+
+	/**
+	 * Record the current checksum of the remote file after the caller has applied its own change to both the file and this snapshot.
+	 */
+	public synchronized void sign() {
+		if (checksum==null) return;	// not loaded; nothing to keep valid
+		SSHCommandResult result = sshCommandRunner.runCommandAndWaitWithoutLogging(getChecksumCommand());
+		if (result.getExitCode()!=null && result.getExitCode()==0) checksum = result.getStdout().trim();
+		else invalidate();
+	}
+
+	/**
+	 * Discard the snapshot so that it is reloaded on the next read.
+	 */
+	public synchronized void invalidate() {
+		checksum = null;
+		contents = null;
+		sections.clear();
+	}
+
+	/**
+	 * @return the active lines of the file (equivalent to the stdout from egrep -v "^\s*(#|$)" confFile)
+	 */
+	public synchronized String getContents() {
+		refresh();
+		if (contents==null) load();	// discarded by a write-through
+		return contents;
+	}
+
+	/**
+	 * @param section
+	 * @param parameter - case insensitive matching will be used
+	 * @return value of the first section.parameter (null when not found)
+	 */
+	public synchronized String get(String section, String parameter) {
+		refresh();
+		List<String[]> parameters = getSection(section, false);
+		if (parameters==null) return null;
+		for (String[] name_value : parameters) {
+			if (name_value[0].equalsIgnoreCase(parameter)) return name_value[1];
+		}
+		return null;
+	}
+
+	/**
+	 * @param parameter - case insensitive matching will be used
+	 * @return value of the first parameter from any section (null when not found)
+	 */
+	public synchronized String get(String parameter) {
+		refresh();
+		return find(parameter);
+	}
+
+	/**
+	 * Same as get(parameter) for several parameters with only one probe of the remote file.
+	 * @param parameters - case insensitive matching will be used
+	 * @return map of each parameter to the value of the first parameter from any section (null when not found)
+	 */
+	public synchronized Map<String,String> getParameters(String... parameters) {
+		refresh();
+		Map<String,String> values = new LinkedHashMap<String,String>();
+		for (String parameter : parameters) values.put(parameter, find(parameter));
+		return values;
+	}
+
+	protected String find(String parameter) {
+		for (List<String[]> parameters : sections.values()) {
+			for (String[] name_value : parameters) {
+				if (name_value[0].equalsIgnoreCase(parameter)) return name_value[1];
+			}
+		}
+		return null;
+	}
+
+	// write-through methods; each mirrors the edit made to the remote file and does not probe the remote file (the raw contents are discarded)
+
+	/**
+	 * Mirrors a sed of "^parameter\s*=.*$" to "parameter=value" (every section, case sensitive).
+	 * @return false when the parameter is not in the snapshot
+	 */
+	public synchronized boolean update(String parameter, String value) {
+		boolean updated = false;
+		for (List<String[]> parameters : sections.values()) {
+			for (String[] name_value : parameters) {
+				if (name_value[0].equals(parameter)) {
+					name_value[1] = value.trim();
+					updated = true;
+				}
+			}
+		}
+		contents = null;
+		return updated;
+	}
+
+	/**
+	 * Mirrors subscription-manager config --section.parameter=value (case insensitive; appended to the section when not already set).
+	 */
+	public synchronized void set(String section, String parameter, String value) {
+		List<String[]> parameters = getSection(section, true);
+		boolean set = false;
+		for (String[] name_value : parameters) {
+			if (name_value[0].equalsIgnoreCase(parameter)) {
+				name_value[1] = value.trim();
+				set = true;
+			}
+		}
+		if (!set) parameters.add(new String[]{parameter.toLowerCase(), value.trim()});
+		contents = null;
+	}
+
+	/**
+	 * Mirrors a sed of "^parameter\s*=" to "#parameter=" (every section, case sensitive).
+	 */
+	public synchronized void comment(String parameter) {
+		for (List<String[]> parameters : sections.values()) {
+			for (Iterator<String[]> i = parameters.iterator(); i.hasNext();) {
+				if (i.next()[0].equals(parameter)) i.remove();
+			}
+		}
+		contents = null;
+	}
+
+	/**
+	 * Mirrors inserting "parameter=value" after every "[section]" header.
+	 */
+	public synchronized void add(String section, String parameter, String value) {
+		List<String[]> parameters = getSection(section, false);
+		if (parameters!=null) parameters.add(0, new String[]{parameter, value.trim()});
+		contents = null;
+	}
+
+	/**
+	 * Mirrors appending "parameter=value" to the end of the file.
+	 */
+	public synchronized void add(String parameter, String value) {
+		List<String> names = new ArrayList<String>(sections.keySet());
+		getSection(names.isEmpty()? "":names.get(names.size()-1), true).add(new String[]{parameter, value.trim()});
+		contents = null;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "ConfFileSnapshot: "+confFile+" ("+(checksum==null? "not loaded":"cksum "+checksum)+")";
+	}
+}
@@ -0,0 +1,109 @@
+package rhsm.cli.tasks;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import rhsm.data.EntitlementCert;
+
+/**
+ * A per-client store of the parsed EntitlementCerts in the entitlementCertDir keyed by serial number.
+ * Each refresh lists the path, size, and modification time of every entitlement cert file in one
+ * cheap find command and only fetches and parses the files that were added or changed since the
+ * previous refresh (in one more round trip); the certs of removed files are dropped.  So repeated
+ * calls to getCurrentEntitlementCerts() after a subscribe cost one listing plus one decode of the
+ * new cert instead of a re-parse of every cert.
+ */
+public class EntitlementCertStore {
+
+	protected static Logger log = Logger.getLogger(EntitlementCertStore.class.getName());
+	protected final SubscriptionManagerTasks clienttasks;
+	protected String entitlementCertDir = null;	// the directory the entries were listed from
+	protected Map<BigInteger,Entry> entries = new LinkedHashMap<BigInteger,Entry>();	// in the order they were listed
+
+	protected static class Entry {
+		final File file;
+		final String sizeAndMtime;
+		final EntitlementCert entitlementCert;
+		Entry(File file, String sizeAndMtime, EntitlementCert entitlementCert) {
+			this.file = file;
+			this.sizeAndMtime = sizeAndMtime;
+			this.entitlementCert = entitlementCert;
+		}
+	}
+
+	public EntitlementCertStore(SubscriptionManagerTasks clienttasks) {
+		this.clienttasks = clienttasks;
+	}
+
+	/**
+	 * @return the command that lists "path size mtime" for every entitlement cert file in the entitlementCertDir
+	 */
+	protected String getListingCommand(String entitlementCertDir) {
+		return "find "+entitlementCertDir+" -regex \"/.+/[0-9]+.pem\" -printf '%p %s %T@\\n'";
+	}
+
+	/**
+	 * Bring the store up to date with the files in the client's current entitlementCertDir.
+	 */
+	protected synchronized void refresh() {
+		if (clienttasks.entitlementCertDir==null) {log.warning("The entitlementCertDir has not yet been defined."); entries.clear(); return;}
+		if (!clienttasks.entitlementCertDir.equals(entitlementCertDir)) {
+			entries.clear();
+			entitlementCertDir = clienttasks.entitlementCertDir;
+		}
+
+		// list the files
+		Map<BigInteger,String[]> listing = new LinkedHashMap<BigInteger,String[]>();	// serial => {path, "size mtime"}
+		clienttasks.sshCommandRunner.runCommandAndWaitWithoutLogging(getListingCommand(entitlementCertDir));
+		for (String line : clienttasks.sshCommandRunner.getStdout().trim().split("\\n")) {
+			String[] path_sizeAndMtime = line.trim().split(" ", 2);
+			if (path_sizeAndMtime.length<2) continue;
+			File file = new File(path_sizeAndMtime[0]);
+			listing.put(clienttasks.getSerialNumberFromEntitlementCertFile(file), path_sizeAndMtime);
+		}
+
+		// find the added or changed files
+		List<File> changedFiles = new ArrayList<File>();
+		for (BigInteger serial : listing.keySet()) {
+			Entry entry = entries.get(serial);
+			if (entry==null || !entry.file.getPath().equals(listing.get(serial)[0]) || !entry.sizeAndMtime.equals(listing.get(serial)[1])) {
+				changedFiles.add(new File(listing.get(serial)[0]));
+			}
+		}
+		Map<String,EntitlementCert> changedEntitlementCerts = new LinkedHashMap<String,EntitlementCert>();
+		if (!changedFiles.isEmpty()) {
+			log.fine("Parsing "+changedFiles.size()+" of "+listing.size()+" entitlement cert files: "+changedFiles);
+			List<EntitlementCert> entitlementCerts = clienttasks.getEntitlementCertsFromEntitlementCertFiles(changedFiles);
+			for (int i=0; i<changedFiles.size(); i++) changedEntitlementCerts.put(changedFiles.get(i).getPath(), entitlementCerts.get(i));
+		}
+
+		// rebuild the entries in listing order; the entries of removed files are dropped
+		Map<BigInteger,Entry> refreshedEntries = new LinkedHashMap<BigInteger,Entry>();
+		for (BigInteger serial : listing.keySet()) {
+			String path = listing.get(serial)[0];
+			Entry entry = changedEntitlementCerts.containsKey(path)? new Entry(new File(path), listing.get(serial)[1], changedEntitlementCerts.get(path)) : entries.get(serial);
+			refreshedEntries.put(serial, entry);
+		}
+		entries = refreshedEntries;
+	}
+
+	/**
+	 * @return the current EntitlementCerts (equivalent to parsing every cert in the entitlementCertDir)
+	 */
+	public synchronized List<EntitlementCert> getEntitlementCerts() {
+		refresh();
+		List<EntitlementCert> entitlementCerts = new ArrayList<EntitlementCert>();
+		for (Entry entry : entries.values()) entitlementCerts.add(entry.entitlementCert);
+		return entitlementCerts;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "EntitlementCertStore: "+entitlementCertDir+" ("+entries.size()+" parsed certs)";
+	}
+}
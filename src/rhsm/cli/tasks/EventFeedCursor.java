@@ -0,0 +1,229 @@
+package rhsm.cli.tasks;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.redhat.qe.auto.selenium.Base64;
+import com.redhat.qe.tools.SSLCertificateTruster;
+
+/**
+ * Reads only the entries that were pushed onto a candlepin atom event feed since the feed was marked.
+ * <br>
+ * The feed lists the newest event first.  mark() remembers the newest few entries of the feed, and
+ * getNewEntries() stream parses the feed (StAX) and stops reading as soon as it reaches one of
+ * the remembered entries.  Only the new entries are parsed, instead of building the whole feed
+ * (up to the candlepin feedLimit of 1000 entries) with ROME twice and diffing the two.
+ * <br>
+ * Note: the candlepin atom resources have no "since" parameter, so the server still renders the
+ * whole feed; the connection is dropped as soon as the remembered entry is reached.
+ * <br>Example:
+ * <pre>
+ *	EventFeedCursor ownerFeed = EventFeedCursor.forOwner(ownerKey, sm_serverAdminUsername, sm_serverAdminPassword, sm_serverUrl);
+ *	clienttasks.register(...);
+ *	List&lt;EventFeedCursor.Entry&gt; newEntries = ownerFeed.getNewEntries();	// newest first
+ * </pre>
+ */
+public class EventFeedCursor {
+
+	protected static Logger log = Logger.getLogger(EventFeedCursor.class.getName());
+	protected static final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+	protected static final int markDepth = 10;	// the number of newest entries remembered by mark() in case the newest one is removed from the feed
+	protected final String username;
+	protected final String password;
+	protected final String feedUrl;
+	protected final Set<String> markedKeys = new LinkedHashSet<String>();
+	protected String title = null;
+
+	/**
+	 * An entry of the atom feed (the same values that ROME returns from SyndEntry getTitle() and getDescription().getValue()).
+	 */
+	public static class Entry {
+		public final String id;
+		public final String title;
+		public final String description;	// the atom summary; "null" when there is none
+		public final String updated;
+
+		Entry(String id, String title, String description, String updated) {
+			this.id = id;
+			this.title = title;
+			this.description = description;
+			this.updated = updated;
+		}
+
+		/**
+		 * @return what identifies this entry in the feed (the atom id when candlepin provides one)
+		 */
+		protected String getKey() {
+			return id+"|"+updated+"|"+title+"|"+description;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("title='%s'  description='%s'", title, description);
+		}
+	}
+
+	/**
+	 * An unmarked cursor; its getNewEntries() returns all of the entries in the feed until mark() is called.
+	 * @param candlepinUsername
+	 * @param candlepinPassword
+	 * @param url - the candlepin url (e.g. sm_serverUrl)
+	 * @param path - "" for the feed of all events, "/owners/KEY" or "/consumers/UUID"
+	 */
+	public EventFeedCursor(String candlepinUsername, String candlepinPassword, String url, String path) {
+		this.username = candlepinUsername;
+		this.password = candlepinPassword;
+		this.feedUrl = url+path+"/atom";
+	}
+
+	/**
+	 * @return a cursor on the feed of all events that is marked at its newest entry
+	 */
+	public static EventFeedCursor forFeed(String candlepinUsername, String candlepinPassword, String url) throws IOException {
+		return new EventFeedCursor(candlepinUsername, candlepinPassword, url, "").mark();
+	}
+
+	/**
+	 * @return a cursor on the feed of the owner's events that is marked at its newest entry
+	 */
+	public static EventFeedCursor forOwner(String org, String candlepinUsername, String candlepinPassword, String url) throws IOException {
+		return new EventFeedCursor(candlepinUsername, candlepinPassword, url, "/owners/"+org).mark();
+	}
+
+	/**
+	 * @return a cursor on the feed of the consumer's events that is marked at its newest entry
+	 */
+	public static EventFeedCursor forConsumer(String uuid, String candlepinUsername, String candlepinPassword, String url) throws IOException {
+		return new EventFeedCursor(candlepinUsername, candlepinPassword, url, "/consumers/"+uuid).mark();
+	}
+
+	/**
+	 * Remember the newest entries of the feed so that getNewEntries() will only return the entries pushed after them.
+	 * @return this cursor
+	 * @throws IOException
+	 */
+	public EventFeedCursor mark() throws IOException {
+		List<Entry> newestEntries = read(null, markDepth);
+		markedKeys.clear();
+		for (Entry entry : newestEntries) markedKeys.add(entry.getKey());
+		log.fine("Marked "+feedUrl+(newestEntries.isEmpty()? " (no entries)":" at its newest entry: "+newestEntries.get(0)));
+		return this;
+	}
+
+	/**
+	 * Does not move the mark, so the result keeps growing as more events are pushed onto the feed.
+	 * @return the entries pushed onto the feed since mark() (newest first); all of the entries when the feed was not marked (or was empty)
+	 * @throws IOException
+	 */
+	public List<Entry> getNewEntries() throws IOException {
+		List<Entry> newEntries = read(markedKeys, -1);
+
+		// log the newest feed entries pushed onto the stack
+		for (int i=0; i<newEntries.size(); i++) {
+			log.info(String.format("Newest %s entries[%d]: %s", title, i, newEntries.get(i)));
+		}
+		return newEntries;
+	}
+
+	/**
+	 * @return the title of the feed (e.g. "Event Feed") as of the last mark() or getNewEntries()
+	 */
+	public String getTitle() {
+		return title;
+	}
+
+	/**
+	 * @param stopKeys - stop reading at the first entry with one of these keys; null for none
+	 * @param limit - stop reading after this many entries; -1 for no limit
+	 * @return the entries (newest first) before the first stop key
+	 */
+	protected List<Entry> read(Set<String> stopKeys, int limit) throws IOException {
+		SSLCertificateTruster.trustAllCerts();
+		log.fine("EventFeedUrl: "+feedUrl);
+		URLConnection urlConnection = new URL(feedUrl).openConnection();
+		urlConnection.setRequestProperty("Authorization", "Basic "+new String(Base64.encodeBytesToBytes((username+":"+password).getBytes())));
+		List<Entry> entries = new ArrayList<Entry>();
+		InputStream in = new BufferedInputStream(urlConnection.getInputStream());	// throws IOException "Server returned HTTP response code: 401" like ROME's XmlReader
+		boolean stoppedEarly = false;
+		try {
+			XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(in);
+			try {
+				title = null;
+				int depth = 0;	// 1 is the <feed>, 2 is an <entry> (or other child of the feed)
+				while (reader.hasNext()) {
+					int event = reader.next();
+					if (event==XMLStreamConstants.END_ELEMENT) {depth--; continue;}
+					if (event!=XMLStreamConstants.START_ELEMENT) continue;
+					depth++;
+					if (depth==2 && reader.getLocalName().equals("title")) {
+						title = readText(reader); depth--;
+					} else if (depth==2 && reader.getLocalName().equals("entry")) {
+						Entry entry = readEntry(reader); depth--;
+						if (stopKeys!=null && stopKeys.contains(entry.getKey())) {stoppedEarly = true; break;}
+						entries.add(entry);
+						if (limit>=0 && entries.size()>=limit) {stoppedEarly = true; break;}
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			throw new IOException("Failed to parse the atom feed from "+feedUrl+": "+e.getMessage(), e);
+		} finally {
+			// drop the connection rather than draining the rest of the feed
+			if (stoppedEarly && urlConnection instanceof HttpURLConnection) ((HttpURLConnection)urlConnection).disconnect();
+			else in.close();
+		}
+		return entries;
+	}
+
+	/**
+	 * @param reader - positioned on the START_ELEMENT of an entry
+	 * @return the entry; the reader is left on its END_ELEMENT
+	 */
+	protected static Entry readEntry(XMLStreamReader reader) throws XMLStreamException {
+		String id = null, title = null, summary = null, updated = null;
+		while (reader.hasNext()) {
+			int event = reader.next();
+			if (event==XMLStreamConstants.END_ELEMENT) break;	// the end of the entry
+			if (event!=XMLStreamConstants.START_ELEMENT) continue;
+			String name = reader.getLocalName();
+			String text = readText(reader);	// also skips the children of the other elements (e.g. the <content>)
+			if (name.equals("id")) id = text;
+			else if (name.equals("title")) title = text;
+			else if (name.equals("summary")) summary = text;
+			else if (name.equals("updated")) updated = text;
+		}
+		return new Entry(id, title, summary==null? "null":summary, updated);
+	}
+
+	/**
+	 * @param reader - positioned on a START_ELEMENT
+	 * @return the concatenated text within the element (including its descendants); the reader is left on its END_ELEMENT
+	 */
+	protected static String readText(XMLStreamReader reader) throws XMLStreamException {
+		StringBuilder text = new StringBuilder();
+		int depth = 1;
+		while (depth>0 && reader.hasNext()) {
+			int event = reader.next();
+			if (event==XMLStreamConstants.START_ELEMENT) depth++;
+			else if (event==XMLStreamConstants.END_ELEMENT) depth--;
+			else if (event==XMLStreamConstants.CHARACTERS || event==XMLStreamConstants.CDATA || event==XMLStreamConstants.SPACE) text.append(reader.getText());
+		}
+		return text.toString().trim();
+	}
+}
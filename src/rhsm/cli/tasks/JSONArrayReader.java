@@ -0,0 +1,64 @@
+package rhsm.cli.tasks;
+
+import java.io.Reader;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+/**
+ * A pull parser for a JSON array of objects such as the /owners/{key}/pools, /consumers, and
+ * /owners/{key}/entitlements responses from candlepin.  The elements are parsed one at a time from
+ * the Reader so that only the current element (and whatever the caller decides to keep) is held in
+ * memory rather than the whole response String plus the whole JSONArray.
+ */
+public class JSONArrayReader {
+
+	/**
+	 * Decides which elements of the array to keep.
+	 */
+	public interface Predicate {
+		public boolean accept(JSONObject jsonObject) throws JSONException;
+	}
+
+	protected final JSONTokener tokener;
+	protected boolean hasNext;
+
+	public JSONArrayReader(Reader reader) throws JSONException {
+		tokener = new JSONTokener(reader);
+		if (tokener.nextClean()!='[') throw tokener.syntaxError("A JSONArray text must start with '['");
+		hasNext = tokener.nextClean()!=']';
+		if (hasNext) tokener.back();
+	}
+
+	public boolean hasNext() {
+		return hasNext;
+	}
+
+	/**
+	 * @return the next element of the array
+	 * @throws JSONException when the array is exhausted or malformed
+	 */
+	public JSONObject next() throws JSONException {
+		if (!hasNext) throw new JSONException("There are no more elements in the JSONArray");
+		JSONObject jsonObject = new JSONObject(tokener);
+		char c = tokener.nextClean();
+		if (c==']') hasNext = false;
+		else if (c!=',') throw tokener.syntaxError("Expected a ',' or ']'");
+		return jsonObject;
+	}
+
+	/**
+	 * @param jsonObject
+	 * @param names - the names to keep; null keeps them all
+	 * @return a shallow copy of jsonObject with only the named values (names that jsonObject does not have are omitted)
+	 */
+	public static JSONObject project(JSONObject jsonObject, String[] names) throws JSONException {
+		if (names==null) return jsonObject;
+		JSONObject projection = new JSONObject();
+		for (String name : names) {
+			if (jsonObject.has(name)) projection.put(name, jsonObject.get(name));
+		}
+		return projection;
+	}
+}
@@ -0,0 +1,166 @@
+package rhsm.cli.tasks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import com.trilead.ssh2.Connection;
+import com.trilead.ssh2.Session;
+
+/**
+ * Follows a remote log file (e.g. rhsmcertd.log, rhsm.log, a proxy's access.log) over one long lived
+ * "tail -F" channel of an already authenticated ssh Connection and keeps the most recent lines in a
+ * bounded in-memory ring buffer.  Callers take a mark() before the action that should cause a log
+ * line and then awaitMatch(...) which returns as soon as a matching line arrives instead of sleeping
+ * for a whole polling interval between tails of the file.
+ * <br>Example:
+ * <pre>
+ *	LogWatcher rhsmcertdLogWatcher = clienttasks.getLogWatcher(clienttasks.rhsmcertdLogFile);
+ *	long mark = rhsmcertdLogWatcher.mark();
+ *	clienttasks.run_rhsmcertd_worker(false);
+ *	Assert.assertNotNull(rhsmcertdLogWatcher.awaitMatch(".*Certificates updated.*", mark, 60*1000));
+ * </pre>
+ */
+public class LogWatcher {
+
+	protected static Logger log = Logger.getLogger(LogWatcher.class.getName());
+	protected static final String readyMarker = "__LogWatcher_READY__";
+	protected final Connection connection;
+	public final String logFile;
+	protected final int capacity;
+	protected final ArrayDeque<String> lines = new ArrayDeque<String>();	// the most recent lines (at most capacity)
+	protected long count = 0;	// the total number of lines received; the sequence number of the next line
+	protected Session session = null;
+	protected Thread reader = null;
+
+	/**
+	 * @param connection - an authenticated ssh connection to the host of the logFile
+	 * @param logFile
+	 * @param capacity - the maximum number of recent lines to keep
+	 */
+	public LogWatcher(Connection connection, String logFile, int capacity) {
+		this.connection = connection;
+		this.logFile = logFile;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Open the tail -F channel (when it is not already open) and wait until the end of the file has been recorded;
+	 * every line written after this returns is delivered, including one written before tail has opened the file.
+	 */
+	public synchronized void start() {
+		if (isRunning()) return;
+		try {
+			session = connection.openSession();
+			// record the size of the file before the marker and have tail start from the byte after it, so a line
+			// written after the marker is never skipped even when it lands before tail has opened the file;
+			// -F survives log rotation (and waits for a file that does not exist yet, reading it from its start)
+			session.execCommand("size=$(stat -c %s "+logFile+" 2>/dev/null) || size=0; echo "+readyMarker+"; exec tail -c +$((size+1)) -F "+logFile+" 2>/dev/null");
+			final BufferedReader stdout = new BufferedReader(new InputStreamReader(session.getStdout()));
+			String ready = stdout.readLine();
+			if (!readyMarker.equals(ready)) throw new IOException("Unexpected output '"+ready+"' while starting to follow "+logFile);
+			reader = new Thread(new Runnable() {
+				public void run() {
+					try {
+						for (String line; (line = stdout.readLine()) != null;) add(line);
+					} catch (IOException e) {
+						log.fine("Stopped following '"+logFile+"' on '"+connection.getHostname()+"': "+e.getMessage());
+					}
+					synchronized (LogWatcher.this) {
+						LogWatcher.this.notifyAll();
+					}
+				}
+			}, "LogWatcher-"+connection.getHostname()+":"+logFile);
+			reader.setDaemon(true);
+			reader.start();
+			log.fine("Following '"+logFile+"' on '"+connection.getHostname()+"'.");
+		} catch (IOException e) {
+			stop();
+			throw new RuntimeException("Failed to follow log file '"+logFile+"' on '"+connection.getHostname()+"'.", e);
+		}
+	}
+
+	public synchronized void stop() {
+		if (session!=null) session.close();
+		session = null;
+		reader = null;
+		notifyAll();
+	}
+
+	public synchronized boolean isRunning() {
+		return reader!=null && reader.isAlive();
+	}
+
+	protected synchronized void add(String line) {
+		lines.addLast(line);
+		if (lines.size()>capacity) lines.removeFirst();
+		count++;
+		notifyAll();
+	}
+
+	/**
+	 * @return a mark for the lines that will arrive after now (starts following the log when not already)
+	 */
+	public synchronized long mark() {
+		start();
+		return count;
+	}
+
+	/**
+	 * @param mark - from mark()
+	 * @return the lines (still in the ring buffer) that arrived after the mark
+	 */
+	public synchronized List<String> getLinesSince(long mark) {
+		List<String> linesSince = new ArrayList<String>();
+		long sequence = count-lines.size();	// the sequence number of the oldest line in the buffer
+		if (mark<sequence) log.warning("The "+(sequence-mark)+" oldest lines since the mark have already been dropped from the '"+logFile+"' ring buffer.");
+		for (Iterator<String> i = lines.iterator(); i.hasNext(); sequence++) {
+			String line = i.next();
+			if (sequence>=mark) linesSince.add(line);
+		}
+		return linesSince;
+	}
+
+	/**
+	 * Wait for a line that arrived after the mark to match the regex.
+	 * @param regex - matched against one whole line
+	 * @param mark - from mark()
+	 * @param timeoutMillis
+	 * @return the first matching line or null when no line matched within timeoutMillis
+	 */
+	public synchronized String awaitMatch(String regex, long mark, long timeoutMillis) {
+		Pattern pattern = Pattern.compile(regex);
+		long deadline = System.currentTimeMillis()+timeoutMillis;
+		long checked = mark;	// lines before this sequence number have already been checked
+		while (true) {
+			long sequence = count-lines.size();
+			for (String line : lines) {
+				if (sequence++<checked) continue;
+				if (pattern.matcher(line).matches()) return line;
+			}
+			checked = count;
+			long remaining = deadline-System.currentTimeMillis();
+			if (remaining<=0) return null;
+			if (!isRunning()) {
+				log.warning("No longer following '"+logFile+"' on '"+connection.getHostname()+"'.");
+				return null;
+			}
+			try {
+				wait(remaining);
+			} catch (InterruptedException e) {
+				throw new RuntimeException("Interrupted while waiting for '"+regex+"' in "+logFile, e);
+			}
+		}
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "LogWatcher: "+connection.getHostname()+":"+logFile+" ("+(isRunning()? "following":"stopped")+", "+count+" lines)";
+	}
+}
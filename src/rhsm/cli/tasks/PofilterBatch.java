@@ -0,0 +1,140 @@
+package rhsm.cli.tasks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import com.redhat.qe.tools.SSHCommandResult;
+import com.redhat.qe.tools.SSHCommandRunner;
+
+/**
+ * Runs many "pofilter --gnome -t TEST FILE.po" commands on a remote host in one invocation instead
+ * of one ssh round trip per command.  The commands are fed to xargs which runs a bounded number of
+ * them in parallel; each one writes its stdout, stderr, and exit code to its own file in a remote
+ * work directory which is then transferred back in one tar stream (see TarTransfer) and split into
+ * one SSHCommandResult per command.
+ * <br>
+ * Each (pofilter test, .po file) pair still runs in its own pofilter process because pofilter skips
+ * some tests when a precondition test fails (e.g. untranslated); combining the -t options into one
+ * process would change the results.
+ * <br>Example:
+ * <pre>
+ *	PofilterBatch batch = new PofilterBatch(client, 0);
+ *	batch.add("accelerators", new File("/usr/share/locale/de/LC_MESSAGES/rhsm.po"));
+ *	batch.add("newlines", new File("/usr/share/locale/de/LC_MESSAGES/rhsm.po"));
+ *	Map&lt;String,SSHCommandResult&gt; results = batch.runAndWait(new File("/tmp/pofilter"));
+ *	SSHCommandResult result = results.get(PofilterBatch.key("newlines", new File("/usr/share/locale/de/LC_MESSAGES/rhsm.po")));
+ * </pre>
+ */
+public class PofilterBatch {
+
+	protected static Logger log = Logger.getLogger(PofilterBatch.class.getName());
+	protected final SSHCommandRunner sshCommandRunner;
+	protected final int parallelism;
+	protected final Map<String,List<String>> commands = new LinkedHashMap<String,List<String>>();	// key => {pofilterTest, translationPoFile, options...}
+	protected final String remoteDir = "/tmp/pofilterBatch";
+
+	/**
+	 * @param sshCommandRunner - the host with pofilter and the .po files
+	 * @param parallelism - the maximum number of pofilter processes at once; 0 for the number of processors on the host
+	 */
+	public PofilterBatch(SSHCommandRunner sshCommandRunner, int parallelism) {
+		this.sshCommandRunner = sshCommandRunner;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * @return the key of the SSHCommandResult for this pair in the Map returned by runAndWait(...)
+	 */
+	public static String key(String pofilterTest, File translationPoFile) {
+		return pofilterTest+" "+translationPoFile.getPath();
+	}
+
+	/**
+	 * @param pofilterTest - e.g. "accelerators"
+	 * @param translationPoFile - a remote .po file (the path must not contain white space)
+	 * @param options - additional pofilter options (e.g. "--notranslatefile=/tmp/notranslatefile")
+	 */
+	public void add(String pofilterTest, File translationPoFile, String... options) {
+		List<String> command = new ArrayList<String>();
+		command.add(pofilterTest);
+		command.add(translationPoFile.getPath());
+		command.addAll(Arrays.asList(options));
+		commands.put(key(pofilterTest, translationPoFile), command);
+	}
+
+	public int size() {
+		return commands.size();
+	}
+
+	/**
+	 * @return the command that runs all of the queued pofilter tests on the remote host
+	 */
+	protected String getCommand() {
+		StringBuilder lines = new StringBuilder();
+		for (List<String> command : commands.values()) {
+			lines.append(" '");
+			for (String arg : command) lines.append(arg.replace("'", "'\\''")).append(" ");
+			lines.setLength(lines.length()-1);
+			lines.append("'");
+		}
+		// xargs invokes: sh -c SCRIPT pofilterTest translationPoFile options...  (so $0 is the pofilterTest)
+		String script = "t=$0; f=$1; shift; o=./$t$f; mkdir -p \"${o%/*}\"; pofilter --gnome -t \"$t\" \"$@\" \"$f\" >\"$o.out\" 2>\"$o.err\"; echo $? >\"$o.rc\"";
+		String maxProcs = parallelism>0? String.valueOf(parallelism):"$(getconf _NPROCESSORS_ONLN)";
+		return "rm -rf "+remoteDir+" && mkdir -p "+remoteDir+" && cd "+remoteDir+" && printf '%s\\n'"+lines+" | xargs -L 1 -P "+maxProcs+" sh -c '"+script+"'";
+	}
+
+	/**
+	 * Run all of the queued pofilter tests and fetch their results.
+	 * @param localDir - where the results are transferred to
+	 * @return key(pofilterTest, translationPoFile) => the result of that pofilter command (a command that did not run has a null exit code)
+	 * @throws IOException when the results could not be transferred
+	 */
+	public Map<String,SSHCommandResult> runAndWait(File localDir) throws IOException {
+		Map<String,SSHCommandResult> results = new LinkedHashMap<String,SSHCommandResult>();
+		if (commands.isEmpty()) return results;
+		for (List<String> command : commands.values()) log.fine("Batching command: pofilter --gnome -t "+command.get(0)+" "+command.subList(2, command.size())+" "+command.get(1));
+
+		long start = System.currentTimeMillis();
+		SSHCommandResult batchResult = sshCommandRunner.runCommandAndWaitWithoutLogging(getCommand());
+		if (batchResult.getExitCode()==null || batchResult.getExitCode()!=0) log.warning("The batch of "+commands.size()+" pofilter commands on "+sshCommandRunner.getConnection().getHostname()+" exited with "+batchResult.getExitCode()+": "+batchResult.getStderr());
+		for (List<String> command : commands.values()) {	// so that a result left over from a previous batch is not mistaken for this one
+			for (String suffix : Arrays.asList(".out",".err",".rc")) new File(localDir, command.get(0)+command.get(1)+suffix).delete();
+		}
+		TarTransfer.get(sshCommandRunner.getConnection(), remoteDir, null, localDir, null);
+		log.info(String.format("Ran %d pofilter commands on %s in %.1f seconds.", commands.size(), sshCommandRunner.getConnection().getHostname(), (System.currentTimeMillis()-start)/1000.0));
+
+		for (String key : commands.keySet()) {
+			List<String> command = commands.get(key);
+			File output = new File(localDir, command.get(0)+command.get(1));
+			String rc = read(new File(output.getPath()+".rc"));
+			Integer exitCode = rc.trim().matches("\\d+")? Integer.valueOf(rc.trim()):null;
+			results.put(key, new SSHCommandResult(exitCode, read(new File(output.getPath()+".out")), read(new File(output.getPath()+".err"))));
+		}
+		return results;
+	}
+
+	/**
+	 * @return the contents of the file; "" when it does not exist
+	 */
+	protected static String read(File file) throws IOException {
+		if (!file.exists()) return "";
+		InputStream in = new FileInputStream(file);
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream((int)file.length());
+			byte[] buffer = new byte[8192];
+			for (int n; (n = in.read(buffer)) != -1;) bytes.write(buffer, 0, n);
+			return bytes.toString("UTF-8");
+		} finally {
+			in.close();
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package rhsm.cli.tasks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * An in-memory index of all the pools belonging to one owner.  The owner's /owners/{key}/pools
+ * array is fetched once and parsed one pool at a time straight from the HTTP response stream
+ * (see CandlepinTasks.getResourceElementsUsingRESTfulAPI), and then hashed by pool id,
+ * subscription id, product id, product name, provided product id, and contract number.
+ *
+ * An index is an immutable snapshot.  CandlepinTasks.invalidateResourceCache(url) discards the
+ * snapshots for a server after any request that can create, delete, or consume pools; the next call
+ * to getPoolIndex(...) will fetch a fresh one.
+ */
+public class PoolIndex {
+
+	protected static Logger log = Logger.getLogger(PoolIndex.class.getName());
+
+	// "url authenticator ownerKey" => PoolIndex
+	protected static final Map<String,PoolIndex> poolIndexes = new ConcurrentHashMap<String,PoolIndex>();
+
+	public final String url;
+	public final String ownerKey;
+	protected final List<JSONObject> pools = new ArrayList<JSONObject>();
+	protected final Map<String,JSONObject> poolsById = new HashMap<String,JSONObject>();
+	protected final Map<String,List<JSONObject>> poolsBySubscriptionId = new HashMap<String,List<JSONObject>>();
+	protected final Map<String,List<JSONObject>> poolsByProductId = new HashMap<String,List<JSONObject>>();
+	protected final Map<String,List<JSONObject>> poolsByProductName = new HashMap<String,List<JSONObject>>();
+	protected final Map<String,List<JSONObject>> poolsByProvidedProductId = new HashMap<String,List<JSONObject>>();
+	protected final Map<String,List<JSONObject>> poolsByContractNumber = new HashMap<String,List<JSONObject>>();
+
+	/**
+	 * @return the PoolIndex for the owner's pools; fetched from the server on first use and after invalidate(url)
+	 */
+	public static PoolIndex getPoolIndex(String authenticator, String password, String url, String ownerKey) throws Exception {
+		String key = url+" "+authenticator+" "+ownerKey;
+		PoolIndex poolIndex = poolIndexes.get(key);
+		if (poolIndex==null) {
+			poolIndex = new PoolIndex(authenticator, password, url, ownerKey);
+			poolIndexes.put(key, poolIndex);
+		}
+		return poolIndex;
+	}
+
+	/**
+	 * Discard the PoolIndexes for a server so that they are rebuilt on next use.
+	 * @param url - candlepin server url; null will discard the PoolIndexes for all servers
+	 */
+	public static void invalidate(String url) {
+		if (url==null) {poolIndexes.clear(); return;}
+		for (Iterator<PoolIndex> i = poolIndexes.values().iterator(); i.hasNext();) {
+			if (i.next().url.equals(url)) i.remove();
+		}
+	}
+
+	protected PoolIndex(String authenticator, String password, String url, String ownerKey) throws Exception {
+		this.url = url;
+		this.ownerKey = ownerKey;
+
+		// get the owner's pools for the authenticator
+		// # curl -k -u testuser1:password --request GET https://jsefler-onprem-62candlepin.usersys.redhat.com:8443/candlepin/owners/admin/pools | python -mjson.tool
+		for (JSONObject jsonPool : CandlepinTasks.getResourceElementsUsingRESTfulAPI(authenticator, password, url, "/owners/"+ownerKey+"/pools", null, null)) {
+			index(jsonPool);
+		}
+		log.fine("Indexed "+pools.size()+" pools belonging to owner '"+ownerKey+"'.");
+	}
+
+	protected void index(JSONObject jsonPool) throws JSONException {
+		// poolsById is the set of indexed pool ids; a pool is indexed (and added to each list) at most once
+		if (poolsById.containsKey(jsonPool.getString("id"))) return;
+		pools.add(jsonPool);
+		poolsById.put(jsonPool.getString("id"), jsonPool);
+		add(poolsBySubscriptionId, jsonPool.optString("subscriptionId", null), jsonPool);
+		add(poolsByProductId, jsonPool.optString("productId", null), jsonPool);
+		add(poolsByProductName, jsonPool.optString("productName", null), jsonPool);
+		add(poolsByContractNumber, jsonPool.optString("contractNumber", null), jsonPool);
+		JSONArray jsonProvidedProducts = jsonPool.optJSONArray("providedProducts");
+		if (jsonProvidedProducts!=null) {
+			Set<String> providedProductIds = new HashSet<String>();	// a pool may list the same provided product more than once
+			for (int j = 0; j < jsonProvidedProducts.length(); j++) {
+				JSONObject jsonProvidedProduct = (JSONObject) jsonProvidedProducts.get(j);
+				String providedProductId = jsonProvidedProduct.optString("productId", null);
+				if (providedProductIds.add(providedProductId)) add(poolsByProvidedProductId, providedProductId, jsonPool);
+			}
+		}
+	}
+
+	protected static void add(Map<String,List<JSONObject>> index, String key, JSONObject jsonPool) {
+		if (key==null) return;
+		List<JSONObject> list = index.get(key);
+		if (list==null) {
+			list = new ArrayList<JSONObject>();
+			index.put(key, list);
+		}
+		list.add(jsonPool);
+	}
+
+	protected static List<JSONObject> get(Map<String,List<JSONObject>> index, String key) {
+		List<JSONObject> list = index.get(key);
+		if (list==null) return Collections.emptyList();
+		return Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * @return all of the owner's pools in the order returned by the server
+	 */
+	public List<JSONObject> getPools() {
+		return Collections.unmodifiableList(pools);
+	}
+
+	/**
+	 * @return the pool with this id or null when the owner has no such pool
+	 */
+	public JSONObject getPool(String poolId) {
+		return poolsById.get(poolId);
+	}
+
+	public List<JSONObject> getPoolsForSubscriptionId(String subscriptionId) {
+		return get(poolsBySubscriptionId, subscriptionId);
+	}
+
+	public List<JSONObject> getPoolsForProductId(String productId) {
+		return get(poolsByProductId, productId);
+	}
+
+	public List<JSONObject> getPoolsForProductName(String productName) {
+		return get(poolsByProductName, productName);
+	}
+
+	public List<JSONObject> getPoolsForProvidedProductId(String providedProductId) {
+		return get(poolsByProvidedProductId, providedProductId);
+	}
+
+	public List<JSONObject> getPoolsForContractNumber(String contractNumber) {
+		return get(poolsByContractNumber, contractNumber);
+	}
+}
@@ -0,0 +1,140 @@
+package rhsm.cli.tasks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import com.redhat.qe.tools.SSHCommandResult;
+import com.redhat.qe.tools.SSHCommandRunner;
+
+/**
+ * A faster alternative to RemoteFileTasks.markFile(...) followed by repeated calls to
+ * RemoteFileTasks.getTailFromMarkedFile(...) which re-read the whole log file backwards looking for
+ * the marker on every call.  mark(...) records the byte offset of the marker when it is appended to
+ * the log file, and each getTail(...) fetches only the bytes that were appended since the previous
+ * fetch (tail -c +N) and keeps them in memory, so searching the tail for many patterns costs
+ * O(new bytes) instead of O(log size).
+ * <br>Example:
+ * <pre>
+ *	RemoteLogCursor proxyLogCursor = new RemoteLogCursor(proxyRunner, proxyLog);
+ *	proxyLogCursor.mark(proxyLogMarker);
+ *	clienttasks.register_(...);
+ *	Assert.assertTrue(proxyLogCursor.getTail(clienttasks.ipaddr).contains(proxyLogGrepPattern));
+ * </pre>
+ */
+public class RemoteLogCursor {
+
+	protected static Logger log = Logger.getLogger(RemoteLogCursor.class.getName());
+	protected final SSHCommandRunner sshCommandRunner;
+	public final String logFile;
+	protected String marker = null;
+	protected long position = -1;	// byte offset in logFile of the next byte to fetch (-1 when not marked)
+	protected String inode = null;	// inode of logFile when position was recorded ("-" when logFile did not exist)
+	protected final StringBuilder tail = new StringBuilder();	// the fetched bytes
+
+	public RemoteLogCursor(SSHCommandRunner sshCommandRunner, String logFile) {
+		this.sshCommandRunner = sshCommandRunner;
+		this.logFile = logFile;
+	}
+
+	/**
+	 * Append the marker to the log file and remember where it was written.
+	 * @param marker - a unique line of text (e.g. System.currentTimeMillis()+" Testing ...")
+	 */
+	public synchronized void mark(String marker) {
+		// record the size before appending so that nothing written by another process between the two commands is skipped
+		SSHCommandResult result = sshCommandRunner.runCommandAndWaitWithoutLogging("S=$("+getStatCommand()+"); echo '"+marker+"' >> "+logFile+"; echo $S");
+		String[] inode_size = result.getStdout().trim().split("\\s+");
+		this.marker = marker;
+		this.inode = inode_size[0];
+		this.position = Long.valueOf(inode_size[1]);
+		this.tail.setLength(0);
+		log.fine("Marked "+logFile+" at byte "+position+" with '"+marker+"'.");
+	}
+
+	/**
+	 * Fetch the bytes appended to the log file since the previous fetch.
+	 */
+	protected void fetch() {
+		if (position<0) throw new IllegalStateException("Log file '"+logFile+"' has not been marked.");
+		long from = position;
+		// the size is measured once and used to bound the read so that the number of bytes fetched is exact
+		SSHCommandResult result = sshCommandRunner.runCommandAndWaitWithoutLogging("set -- $("+getStatCommand()+"); echo $1 $2; if [ $2 -gt "+from+" ]; then tail -c +"+(from+1)+" "+logFile+" | head -c $(($2-"+from+")); fi");
+		String[] stat_bytes = result.getStdout().split("\\n", 2);
+		String[] inode_size = stat_bytes[0].trim().split("\\s+");
+		long size = Long.valueOf(inode_size[1]);
+		if (!inode_size[0].equals(inode) && !inode.equals("-")) {
+			// a log rotated by moving it aside (e.g. logrotate without copytruncate) is replaced by a new file that may already be larger than the old position
+			log.warning("Log file '"+logFile+"' was replaced (inode "+inode+" is now "+inode_size[0]+") since the last fetch; assuming it was rotated and fetching it from the beginning.");
+			inode = inode_size[0];
+			position = 0;
+			fetch();
+			return;
+		}
+		inode = inode_size[0];
+		if (size<from) {
+			// everything in a rotated (or truncated) log file was written after the marker
+			log.warning("Log file '"+logFile+"' shrank from "+from+" to "+size+" bytes since the last fetch; assuming it was rotated and fetching it from the beginning.");
+			position = 0;
+			fetch();
+			return;
+		}
+		if (size>from) {
+			tail.append(stat_bytes.length>1? stat_bytes[1]:"");
+			position = size;
+		}
+	}
+
+	/**
+	 * @return a command that prints the inode and byte size of the logFile ("- 0" when it does not exist)
+	 */
+	protected String getStatCommand() {
+		return "stat -c '%i %s' "+logFile+" 2>/dev/null || echo '- 0'";
+	}
+
+	/**
+	 * @return all of the lines appended to the log file after the marker line
+	 */
+	public synchronized String getTail() {
+		fetch();
+		String text = tail.toString();
+		// skip through the marker line
+		int m = text.indexOf(marker+"\n");
+		if (m>=0) text = text.substring(m+marker.length()+1);
+		return text;
+	}
+
+	/**
+	 * @param grepPattern - regex (null for all lines)
+	 * @return the lines appended to the log file after the marker line that contain a match of the grepPattern (the same as RemoteFileTasks.getTailFromMarkedFile(...))
+	 */
+	public synchronized String getTail(String grepPattern) {
+		String text = getTail();
+		if (grepPattern==null) return text;
+		Pattern pattern = Pattern.compile(grepPattern);
+		StringBuilder lines = new StringBuilder();
+		for (String line : text.split("\\n")) {
+			if (pattern.matcher(line).find()) lines.append(line).append("\n");
+		}
+		return lines.toString();
+	}
+
+	/**
+	 * @param regex - matched against each whole line
+	 * @return the lines appended after the marker that match the regex
+	 */
+	public synchronized List<String> getMatchingLines(String regex) {
+		Pattern pattern = Pattern.compile(regex);
+		List<String> lines = new ArrayList<String>();
+		for (String line : getTail().split("\\n")) {
+			if (pattern.matcher(line).matches()) lines.add(line);
+		}
+		return lines;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "RemoteLogCursor: "+logFile+" (inode="+inode+", position="+position+", fetched="+tail.length()+" chars)";
+	}
+}
@@ -0,0 +1,114 @@
+package rhsm.cli.tasks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import com.redhat.qe.tools.SSHCommandResult;
+import com.redhat.qe.tools.SSHCommandRunner;
+
+/**
+ * Queues many small independent commands and sends them to the remote host as one shell script
+ * so that N commands cost one ssh round trip instead of N.  Each command runs in its own subshell
+ * and its stdout, stderr, and exit code are framed by unique sentinel lines which are used to split
+ * the combined output back into one SSHCommandResult per command.
+ * <br>Example:
+ * <pre>
+ *	SSHCommandBatch batch = new SSHCommandBatch(sshCommandRunner);
+ *	batch.add("rpm -q subscription-manager");
+ *	batch.add("grep -iE \"^baseurl *(=|:)\" /etc/rhsm/rhsm.conf");
+ *	List&lt;SSHCommandResult&gt; results = batch.runAndWait();
+ * </pre>
+ */
+public class SSHCommandBatch {
+
+	protected static Logger log = Logger.getLogger(SSHCommandBatch.class.getName());
+	protected final SSHCommandRunner sshCommandRunner;
+	protected final List<String> commands = new ArrayList<String>();
+	protected final String sentinel = "__SSHCommandBatch_"+UUID.randomUUID().toString().replace("-", "")+"__";
+
+	public SSHCommandBatch(SSHCommandRunner sshCommandRunner) {
+		this.sshCommandRunner = sshCommandRunner;
+	}
+
+	/**
+	 * @param command
+	 * @return the index of this command's SSHCommandResult in the List returned by runAndWait()
+	 */
+	public int add(String command) {
+		commands.add(command);
+		return commands.size()-1;
+	}
+
+	public int size() {
+		return commands.size();
+	}
+
+	/**
+	 * @return the shell script that will run all of the queued commands
+	 */
+	protected String getScript() {
+		StringBuilder script = new StringBuilder();
+		for (int i=0; i<commands.size(); i++) {
+			String id = sentinel+i;
+			script.append("echo "+id+":BEGIN; echo "+id+":BEGIN >&2; ");
+			script.append("(\n"+commands.get(i)+"\n); ");
+			// the leading newline guarantees the sentinel starts its own line; it is removed again by split(...)
+			script.append("rc=$?; printf '\\n%s\\n' "+id+":END:$rc; printf '\\n%s\\n' "+id+":END >&2\n");
+		}
+		return script.toString();
+	}
+
+	/**
+	 * Run all of the queued commands in one round trip.
+	 * @return one SSHCommandResult per queued command in the order they were added (a command that did not run will have a null exit code)
+	 */
+	public List<SSHCommandResult> runAndWait() {
+		return runAndWait(true);
+	}
+
+	/**
+	 * @param withLogging - false is useful when the combined output is large (e.g. rct cat-cert of many certs)
+	 */
+	public List<SSHCommandResult> runAndWait(boolean withLogging) {
+		List<SSHCommandResult> results = new ArrayList<SSHCommandResult>();
+		if (commands.isEmpty()) return results;
+		for (String command : commands) log.fine("Batching command: "+command);
+
+		String script = getScript();
+		SSHCommandResult batchResult = withLogging? sshCommandRunner.runCommandAndWait(script) : sshCommandRunner.runCommandAndWaitWithoutLogging(script);
+		String stdout = batchResult.getStdout()==null? "":batchResult.getStdout();
+		String stderr = batchResult.getStderr()==null? "":batchResult.getStderr();
+
+		for (int i=0; i<commands.size(); i++) {
+			String id = sentinel+i;
+			String[] out = split(stdout, id+":BEGIN\n", "\n"+id+":END:");
+			String[] err = split(stderr, id+":BEGIN\n", "\n"+id+":END");
+			Integer exitCode = null;
+			if (out[1]!=null) {
+				String rc = out[1].split("\n", 2)[0].trim();
+				if (rc.matches("\\d+")) exitCode = Integer.valueOf(rc);
+			}
+			results.add(new SSHCommandResult(exitCode, out[0]==null? "":out[0], err[0]==null? "":err[0]));
+		}
+		return results;
+	}
+
+	/**
+	 * @return {the text between begin and end, the text after end} or nulls when the markers are not found
+	 */
+	protected static String[] split(String output, String begin, String end) {
+		int b;
+		if (output.startsWith(begin)) {
+			b = begin.length();
+		} else {
+			b = output.indexOf("\n"+begin);
+			if (b<0) return new String[]{null,null};
+			b += 1+begin.length();
+		}
+		int e = output.indexOf(end, b);
+		if (e<0) return new String[]{null,null};
+		return new String[]{output.substring(b, e), output.substring(e+end.length())};
+	}
+}
@@ -0,0 +1,126 @@
+package rhsm.cli.tasks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Logger;
+
+import com.redhat.qe.tools.SSHCommandResult;
+import com.trilead.ssh2.ChannelCondition;
+import com.trilead.ssh2.Connection;
+import com.trilead.ssh2.Session;
+import com.trilead.ssh2.StreamGobbler;
+
+/**
+ * Runs independent commands concurrently on several channels (sessions) of one already authenticated
+ * ssh Connection (e.g. sshCommandRunner.getConnection()).  SSHCommandRunner runs one blocking command
+ * at a time, so a sequence of unrelated read-only probes (rpm -q, cat /etc/redhat-release, uname, ls,
+ * grep of a conf file, ...) pays the channel open/exec/close round trips one after the other.
+ * Submitting them here overlaps those round trips.
+ *
+ * Only submit commands that do not depend on each other's side effects; commands that change the
+ * state of the client should continue to run serially through the SSHCommandRunner.
+ * Note that sshd limits the number of open sessions per connection (MaxSessions defaults to 10).
+ */
+public class SSHCommandExecutor {
+
+	protected static Logger log = Logger.getLogger(SSHCommandExecutor.class.getName());
+	protected final Connection connection;
+	protected final ExecutorService executor;
+	protected final long timeoutMillis;
+
+	/**
+	 * @param connection - an authenticated ssh connection
+	 * @param maxChannels - the maximum number of commands to run at the same time
+	 * @param timeoutMillis - a command that has not exited after this many milliseconds is abandoned (its SSHCommandResult will have a null exit code); 0 waits forever
+	 */
+	public SSHCommandExecutor(Connection connection, int maxChannels, long timeoutMillis) {
+		this.connection = connection;
+		this.timeoutMillis = timeoutMillis;
+		this.executor = Executors.newFixedThreadPool(maxChannels, new ThreadFactory() {
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "SSHCommandExecutor-"+SSHCommandExecutor.this.connection.getHostname());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * @param command
+	 * @return a Future of the command's result; the command runs on its own channel as soon as one is available
+	 */
+	public Future<SSHCommandResult> submit(final String command) {
+		return executor.submit(new Callable<SSHCommandResult>() {
+			public SSHCommandResult call() throws IOException {
+				return execute(command);
+			}
+		});
+	}
+
+	/**
+	 * Run the commands concurrently and wait for all of them to finish.
+	 * @param commands
+	 * @return the results in the same order as the commands
+	 */
+	public List<SSHCommandResult> runCommandsAndWait(List<String> commands) {
+		List<Future<SSHCommandResult>> futures = new ArrayList<Future<SSHCommandResult>>();
+		for (String command : commands) futures.add(submit(command));
+		List<SSHCommandResult> results = new ArrayList<SSHCommandResult>();
+		for (int i=0; i<futures.size(); i++) {
+			try {
+				results.add(futures.get(i).get());
+			} catch (InterruptedException e) {
+				throw new RuntimeException("Interrupted while waiting for ssh command: "+commands.get(i), e);
+			} catch (ExecutionException e) {
+				throw new RuntimeException("Failed to run ssh command: "+commands.get(i), e.getCause());
+			}
+		}
+		return results;
+	}
+
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	protected SSHCommandResult execute(String command) throws IOException {
+		log.info("ssh "+connection.getHostname()+" "+command);
+		Session session = connection.openSession();
+		try {
+			session.execCommand(command);
+
+			// drain stdout and stderr in the background so that a chatty command cannot fill the channel window
+			InputStream stdout = new StreamGobbler(session.getStdout());
+			InputStream stderr = new StreamGobbler(session.getStderr());
+			int conditions = session.waitForCondition(ChannelCondition.EXIT_STATUS, timeoutMillis);
+			if ((conditions & ChannelCondition.TIMEOUT) != 0) {
+				log.warning("Abandoning ssh command after "+timeoutMillis+" milliseconds: "+command);
+				session.close();
+			}
+			Integer exitCode = session.getExitStatus();
+			SSHCommandResult result = new SSHCommandResult(exitCode, read(stdout), read(stderr));
+			log.fine("ExitCode: "+exitCode+" from: "+command);
+			return result;
+		} finally {
+			session.close();
+		}
+	}
+
+	protected static String read(InputStream stream) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		Reader reader = new InputStreamReader(stream);
+		char[] buffer = new char[4096];
+		for (int n; (n = reader.read(buffer)) != -1;) sb.append(buffer, 0, n);
+		reader.close();
+		return sb.toString();
+	}
+}
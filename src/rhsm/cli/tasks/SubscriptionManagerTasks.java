@@ -11,12 +11,16 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -28,13 +32,14 @@ import org.json.JSONObject;
 import org.testng.SkipException;
 
 import com.redhat.qe.Assert;
-import com.redhat.qe.auto.bugzilla.BzChecker;
+import rhsm.base.BugzillaStateCache;
 import com.redhat.qe.jul.TestRecords;
 
 import rhsm.base.CandlepinType;
 import rhsm.base.ConsumerType;
 import rhsm.base.SubscriptionManagerBaseTestScript;
 import rhsm.base.SubscriptionManagerCLITestScript;
+import rhsm.data.CertDecoder;
 import rhsm.data.CertStatistics;
 import rhsm.data.ConsumerCert;
 import rhsm.data.ContentNamespace;
@@ -44,6 +49,7 @@ import rhsm.data.Org;
 import rhsm.data.ProductCert;
 import rhsm.data.ProductNamespace;
 import rhsm.data.ProductSubscription;
+import rhsm.data.ProvidedTagIndex;
 import rhsm.data.Repo;
 import rhsm.data.SubscriptionPool;
 import rhsm.data.YumRepo;
@@ -59,9 +65,14 @@ public class SubscriptionManagerTasks {
 
 	protected static Logger log = Logger.getLogger(SubscriptionManagerTasks.class.getName());
 	public SSHCommandRunner sshCommandRunner = null;
+	public SSHCommandExecutor sshCommandExecutor = null;	// for running independent read-only commands concurrently
 	public final String command				= "subscription-manager";
 	public final String redhatRepoFile		= "/etc/yum.repos.d/redhat.repo";
 	public final String rhsmConfFile		= "/etc/rhsm/rhsm.conf";
+	public ConfFileSnapshot rhsmConfFileSnapshot = null;	// parsed copy of rhsmConfFile; kept current by the conf file tasks below
+	public EntitlementCertStore entitlementCertStore = null;	// parsed certs in entitlementCertDir; only added or changed files are parsed on each refresh
+	public String certDecoder				= "rct";	// how entitlement/product certs are decoded: rct (rct cat-cert on the client), java (CertDecoder), or diff (both; asserts they agree)
+	protected final Map<String,LogWatcher> logWatchers = new HashMap<String,LogWatcher>();	// logFile => tail -F follower
 	public final String factsDir			= "/etc/rhsm/facts";
 	public final String rhsmUpdateFile		= "/var/run/rhsm/update";
 	public final String rhsmPluginConfFile	= "/etc/yum/pluginconf.d/subscription-manager.conf"; // "/etc/yum/pluginconf.d/rhsmplugin.conf"; renamed by dev on 11/24/2010
@@ -129,19 +140,30 @@ public class SubscriptionManagerTasks {
 	public SubscriptionManagerTasks(SSHCommandRunner runner) {
 		super();
 		sshCommandRunner = runner;
-		hostname		= sshCommandRunner.runCommandAndWait("hostname").getStdout().trim();
+		rhsmConfFileSnapshot = new ConfFileSnapshot(sshCommandRunner, rhsmConfFile);
+		entitlementCertStore = new EntitlementCertStore(this);
+		sshCommandExecutor = new SSHCommandExecutor(sshCommandRunner.getConnection(), Integer.valueOf(SubscriptionManagerCLITestScript.getProperty("sm.client.sshMaxChannels","4")), 5*60*1000);
+		certDecoder = SubscriptionManagerCLITestScript.getProperty("sm.client.certDecoder","rct");
+		
+		// run the independent read-only probes of the client concurrently
+		List<SSHCommandResult> probes = sshCommandExecutor.runCommandsAndWait(Arrays.asList(new String[]{
+				"hostname",
+				"ip addr show $(ip route | awk '$1 == \"default\" {print $5}' | uniq) | egrep 'inet [[:digit:]]+\\.[[:digit:]]+\\.[[:digit:]]+\\.[[:digit:]]+.* scope global' | awk '{print $2}' | cut -d'/' -f1",
+				"uname --machine",
+				"rpm -q --qf \"%{VERSION}\\n\" --whatprovides /etc/redhat-release",
+				"cat /etc/redhat-release"}));
+		hostname		= probes.get(0).getStdout().trim();
 		//ipaddr			= sshCommandRunner.runCommandAndWait("ip addr show | egrep 'scope global (dynamic )?eth' | cut -d/ -f1 | sed s/inet//g").getStdout().trim();
 		//ipaddr			= sshCommandRunner.runCommandAndWait("ip addr show | egrep 'scope global (dynamic )?e' | cut -d/ -f1 | sed s/inet//g").getStdout().trim();
 		//ipaddr			= sshCommandRunner.runCommandAndWait("for DEVICE in $(ip addr show | egrep 'state (UP|UNKNOWN)' | cut -f2 -d':' | sed 's/ //'); do ip addr show $DEVICE | egrep 'scope global .*'$DEVICE | cut -d'/' -f1 | sed 's/ *inet *//g'; done;").getStdout().trim();	// state is UNKNOWN on ppc64	// does not know how to choose when you have a physical system with two active ip devices - default and bridge
-		ipaddr			= sshCommandRunner.runCommandAndWait("ip addr show $(ip route | awk '$1 == \"default\" {print $5}' | uniq) | egrep 'inet [[:digit:]]+\\.[[:digit:]]+\\.[[:digit:]]+\\.[[:digit:]]+.* scope global' | awk '{print $2}' | cut -d'/' -f1").getStdout().trim();
-		arch			= sshCommandRunner.runCommandAndWait("uname --machine").getStdout().trim();  // uname -i --hardware-platform :print the hardware platform or "unknown"	// uname -m --machine :print the machine hardware name
-		releasever		= sshCommandRunner.runCommandAndWait("rpm -q --qf \"%{VERSION}\\n\" --whatprovides /etc/redhat-release").getStdout().trim();  // e.g. 5Server		// cut -f 5 -d : /etc/system-release-cpe	// rpm -q --qf "%{VERSION}\n" --whatprovides system-release		// rpm -q --qf "%{VERSION}\n" --whatprovides /etc/redhat-release
+		ipaddr			= probes.get(1).getStdout().trim();
+		arch			= probes.get(2).getStdout().trim();  // uname -i --hardware-platform :print the hardware platform or "unknown"	// uname -m --machine :print the machine hardware name
+		releasever		= probes.get(3).getStdout().trim();  // e.g. 5Server		// cut -f 5 -d : /etc/system-release-cpe	// rpm -q --qf "%{VERSION}\n" --whatprovides system-release		// rpm -q --qf "%{VERSION}\n" --whatprovides /etc/redhat-release
 
 		// TODO NOTES: on rhel7 releasever is 7.0, we may need to use info in cat /etc/system-release-cpe or cat /etc/os-release  see: rpm -ql redhat-release-server
 		
 		//		rhsmComplianceD	= sshCommandRunner.runCommandAndWait("rpm -ql subscription-manager | grep libexec/rhsm").getStdout().trim();
-		redhatRelease	= sshCommandRunner.runCommandAndWait("cat /etc/redhat-release").getStdout().trim();
-		redhatReleaseXY = sshCommandRunner.runCommandAndWait("cat /etc/redhat-release").getStdout().trim();
+		redhatRelease	= probes.get(4).getStdout().trim();
 		if (redhatRelease.contains("Server")) variant = "Server";	//69.pem
 		if (redhatRelease.contains("Client")) variant = "Client";	//68.pem   (aka Desktop)
 		if (redhatRelease.contains("Workstation")) variant = "Workstation";	//71.pem
@@ -218,11 +240,12 @@ public class SubscriptionManagerTasks {
 	 */
 	public void initializeFieldsFromConfigFile() {
 		if (RemoteFileTasks.testExists(sshCommandRunner, rhsmConfFile)) {
-			this.consumerCertDir	= getConfFileParameter(rhsmConfFile, "consumerCertDir").replaceFirst("/$", "");
-			this.entitlementCertDir	= getConfFileParameter(rhsmConfFile, "entitlementCertDir").replaceFirst("/$", "");
-			this.productCertDir		= getConfFileParameter(rhsmConfFile, "productCertDir").replaceFirst("/$", "");
-			this.caCertDir			= getConfFileParameter(rhsmConfFile, "ca_cert_dir").replaceFirst("/$", "");
-			this.baseurl			= getConfFileParameter(rhsmConfFile, "baseurl").replaceFirst("/$", "");
+			Map<String,String> conf = getConfFileParameters(rhsmConfFile, "consumerCertDir", "entitlementCertDir", "productCertDir", "ca_cert_dir", "baseurl");
+			this.consumerCertDir	= conf.get("consumerCertDir").replaceFirst("/$", "");
+			this.entitlementCertDir	= conf.get("entitlementCertDir").replaceFirst("/$", "");
+			this.productCertDir		= conf.get("productCertDir").replaceFirst("/$", "");
+			this.caCertDir			= conf.get("ca_cert_dir").replaceFirst("/$", "");
+			this.baseurl			= conf.get("baseurl").replaceFirst("/$", "");
 			log.info(this.getClass().getSimpleName()+".initializeFieldsFromConfigFile() succeeded on '"+sshCommandRunner.getConnection().getHostname()+"'.");
 		} else {
 			log.warning("Cannot "+this.getClass().getSimpleName()+".initializeFieldsFromConfigFile() on '"+sshCommandRunner.getConnection().getHostname()+"' until file exists: "+rhsmConfFile);
@@ -267,14 +290,10 @@ public class SubscriptionManagerTasks {
 	 * @throws IOException
 	 */
 	public void installProductCerts(List <File> productCerts) throws IOException {
-		if (productCerts.size() > 0) {
-			// directory must exist otherwise the copy will fail
-			sshCommandRunner.runCommandAndWait("mkdir -p "+productCertDir);
-		}
-
-		for (File file : productCerts) {
-			RemoteFileTasks.putFile(sshCommandRunner.getConnection(), file.getPath(), productCertDir+"/", "0644");
-		}
+		if (productCerts.isEmpty()) return;
+		
+		// transfer all of the files in one tar stream (also creates the productCertDir when it does not exist)
+		TarTransfer.put(sshCommandRunner.getConnection(), productCerts, productCertDir, "0644", null);
 	}
 
 	public void installZStreamUpdates(String installOptions, List<String> updatePackages) throws IOException {
@@ -384,7 +403,7 @@ public class SubscriptionManagerTasks {
 		
 		// TEMPORARY WORKAROUND FOR BUG
 		String bugId = "790116"; boolean invokeWorkaroundWhileBugIsOpen = true;
-		try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			String pkg = "subscription-manager-migration-data";
 			log.warning("Skipping the install of "+pkg+".");
@@ -659,9 +678,11 @@ public class SubscriptionManagerTasks {
 	
 	public void updateConfFileParameter(String confFile, String parameter, String value){
 		log.info("Updating config file '"+confFile+"' parameter '"+parameter+"' value to: "+value);
+		if (confFile.equals(this.rhsmConfFile)) rhsmConfFileSnapshot.validate();
 		Assert.assertEquals(
 				RemoteFileTasks.searchReplaceFile(sshCommandRunner, confFile, "^"+parameter+"\\s*=.*$", parameter+"="+value.replaceAll("\\/", "\\\\/")),
 				0,"Updated '"+confFile+"' parameter '"+parameter+"' to value '"+value+"'.");
+		if (confFile.equals(this.rhsmConfFile)) {rhsmConfFileSnapshot.update(parameter, value); rhsmConfFileSnapshot.sign();}
 		
 		// catch the case when the config file parameter is not defined and therefore cannot be updated
 		if (getConfFileParameter(confFile, parameter)==null) {
@@ -681,9 +702,11 @@ public class SubscriptionManagerTasks {
 	
 	public void commentConfFileParameter(String confFile, String parameter){
 		log.info("Commenting out config file '"+confFile+"' parameter: "+parameter);
+		if (confFile.equals(this.rhsmConfFile)) rhsmConfFileSnapshot.validate();
 		Assert.assertEquals(
 				RemoteFileTasks.searchReplaceFile(sshCommandRunner, confFile, "^"+parameter+"\\s*=", "#"+parameter+"="),
 				0,"Commented '"+confFile+"' parameter: "+parameter);
+		if (confFile.equals(this.rhsmConfFile)) {rhsmConfFileSnapshot.comment(parameter); rhsmConfFileSnapshot.sign();}
 	}
 	
 	public void uncommentConfFileParameter(String confFile, String parameter){
@@ -691,19 +714,22 @@ public class SubscriptionManagerTasks {
 		Assert.assertEquals(
 				RemoteFileTasks.searchReplaceFile(sshCommandRunner, confFile, "^#\\s*"+parameter+"\\s*=", parameter+"="),
 				0,"Uncommented '"+confFile+"' parameter: "+parameter);
+		if (confFile.equals(this.rhsmConfFile)) rhsmConfFileSnapshot.invalidate();	// the uncommented value is not in the snapshot
 	}
 	
 	public void addConfFileParameter(String confFile, String section, String parameter, String value){
 		log.info("Adding config file '"+confFile+"' section '"+section+"' parameter: "+parameter+"="+value);
-		
+		if (confFile.equals(this.rhsmConfFile)) rhsmConfFileSnapshot.validate();
 		Assert.assertEquals(
 				RemoteFileTasks.searchReplaceFile(sshCommandRunner, confFile, "\\["+section+"\\]", "\\["+section+"\\]\\n"+parameter+"="+value),
 				0,"Added config file '"+confFile+"' section '"+section+"' parameter '"+parameter+"' value '"+value+"'");
+		if (confFile.equals(this.rhsmConfFile)) {rhsmConfFileSnapshot.add(section, parameter, value); rhsmConfFileSnapshot.sign();}
 	}
 	public void addConfFileParameter(String confFile, String parameter, String value){
 		log.info("Adding config file '"+confFile+"' parameter: "+parameter+"="+value);
-		
+		if (confFile.equals(this.rhsmConfFile)) rhsmConfFileSnapshot.validate();
 		RemoteFileTasks.runCommandAndAssert(sshCommandRunner, String.format("echo '%s=%s' >> %s", parameter, value, confFile), 0);
+		if (confFile.equals(this.rhsmConfFile)) {rhsmConfFileSnapshot.add(parameter, value); rhsmConfFileSnapshot.sign();}
 	}
 	
 	/**
@@ -713,9 +739,31 @@ public class SubscriptionManagerTasks {
 	 * @return
 	 */
 	public String getConfFileParameter(String confFile, String parameter){
+		if (confFile.equals(this.rhsmConfFile)) return rhsmConfFileSnapshot.get(parameter);
+		SSHCommandResult result = sshCommandRunner.runCommandAndWait(getConfFileParameterCommand(confFile, parameter));
+		return getConfFileParameterFromResult(result);
+	}
+	/**
+	 * Same as getConfFileParameter(confFile, parameter) for several parameters in one ssh round trip.
+	 * @param confFile
+	 * @param parameters
+	 * @return map of each parameter to its value (null when not found)
+	 */
+	public Map<String,String> getConfFileParameters(String confFile, String... parameters){
+		if (confFile.equals(this.rhsmConfFile)) return rhsmConfFileSnapshot.getParameters(parameters);	// one cksum probe for the whole batch
+		SSHCommandBatch batch = new SSHCommandBatch(sshCommandRunner);
+		for (String parameter : parameters) batch.add(getConfFileParameterCommand(confFile, parameter));
+		List<SSHCommandResult> results = batch.runAndWait();
+		Map<String,String> values = new LinkedHashMap<String,String>();
+		for (int i=0; i<parameters.length; i++) values.put(parameters[i], getConfFileParameterFromResult(results.get(i)));
+		return values;
+	}
+	protected String getConfFileParameterCommand(String confFile, String parameter){
 		// Note: parameter can be case insensitive
-		SSHCommandResult result = sshCommandRunner.runCommandAndWait(String.format("grep -iE \"^%s *(=|:)\" %s",parameter,confFile));	// tolerates = or : assignment character
-		if (result.getExitCode()!=0) return null;
+		return String.format("grep -iE \"^%s *(=|:)\" %s",parameter,confFile);	// tolerates = or : assignment character
+	}
+	protected String getConfFileParameterFromResult(SSHCommandResult result){
+		if (result.getExitCode()==null || result.getExitCode()!=0) return null;
 		String value = result.getStdout().split("=|:",2)[1];
 		return value.trim();
 	}
@@ -726,8 +774,13 @@ public class SubscriptionManagerTasks {
 	 * @return value of the section.parameter config (null when not found)
 	 */
 	public String getConfFileParameter(String confFile, String section, String parameter){
-		String confFileContents = RemoteFileTasks.runCommandAndAssert(sshCommandRunner, "egrep -v  \"^\\s*(#|$)\" "+confFile, 0).getStdout();
-		String value = getSectionParameterFromConfigFileContents(section, parameter, confFileContents);
+		String value;
+		if (confFile.equals(this.rhsmConfFile)) {
+			value = rhsmConfFileSnapshot.get(section, parameter);
+		} else {
+			String confFileContents = RemoteFileTasks.runCommandAndAssert(sshCommandRunner, "egrep -v  \"^\\s*(#|$)\" "+confFile, 0).getStdout();
+			value = getSectionParameterFromConfigFileContents(section, parameter, confFileContents);
+		}
 		if (value==null) log.warning("Did not find section '"+section+"' parameter '"+parameter+"' in conf file '"+confFile+"'.");
 		return value;
 	}
@@ -828,12 +881,15 @@ public class SubscriptionManagerTasks {
 		
 		// mark the rhsmcertd log file before restarting the deamon
 		String rhsmcertdLogMarker = System.currentTimeMillis()+" Testing service rhsmcertd restart...";
-		RemoteFileTasks.markFile(sshCommandRunner, rhsmcertdLogFile, rhsmcertdLogMarker);
+		LogWatcher rhsmcertdLogWatcher = getLogWatcher(rhsmcertdLogFile);
+		long rhsmcertdLogWatcherMark = rhsmcertdLogWatcher.mark();
+		RemoteLogCursor rhsmcertdLogCursor = new RemoteLogCursor(sshCommandRunner, rhsmcertdLogFile);
+		rhsmcertdLogCursor.mark(rhsmcertdLogMarker);
 		
 		// TEMPORARY WORKAROUND FOR BUG
 		String bugId="804227"; //  Status: 	CLOSED ERRATA
 		boolean invokeWorkaroundWhileBugIsOpen = false;
-		try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			throw new SkipException("Restart rhsmcertd has no workaround for Bugzilla "+bugId+".");
 		}
@@ -847,7 +903,7 @@ public class SubscriptionManagerTasks {
 		if (this.arch.equals("s390x") || this.arch.equals("ppc64")) {
 			bugId="691137";	// Status: 	CLOSED ERRATA
 			invokeWorkaroundWhileBugIsOpen = false;
-			try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+			try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 			if (invokeWorkaroundWhileBugIsOpen) {
 				RemoteFileTasks.runCommandAndWait(sshCommandRunner,"service rhsmcertd restart", TestRecords.action());
 			} else {
@@ -892,7 +948,7 @@ public class SubscriptionManagerTasks {
 		String bugId1="752572";	// Status: 	CLOSED ERRATA
 		String bugId2="759199";	// Status: 	CLOSED ERRATA
 		invokeWorkaroundWhileBugIsOpen = false;
-		try {if (invokeWorkaroundWhileBugIsOpen&&(BzChecker.getInstance().isBugOpen(bugId1)||BzChecker.getInstance().isBugOpen(bugId2))) {log.fine("Invoking workaround for Bugzillas:  https://bugzilla.redhat.com/show_bug.cgi?id="+bugId1+" https://bugzilla.redhat.com/show_bug.cgi?id="+bugId2);SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId1);SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId2);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {if (invokeWorkaroundWhileBugIsOpen&&(BugzillaStateCache.getInstance().isBugOpen(bugId1)||BugzillaStateCache.getInstance().isBugOpen(bugId2))) {log.fine("Invoking workaround for Bugzillas:  https://bugzilla.redhat.com/show_bug.cgi?id="+bugId1+" https://bugzilla.redhat.com/show_bug.cgi?id="+bugId2);SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId1);SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId2);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			log.warning("Skipping assert of the rhsmcertd logging of the started: interval certFrequency and healFrequency while bug "+bugId1+" or "+bugId2+" is open.");
 		} else {
@@ -960,7 +1016,7 @@ public class SubscriptionManagerTasks {
 		//	Mon Jul 16 14:32:29 2012 [INFO] (Cert Check) Certificates updated.
 		//	Mon Jul 16 14:34:22 2012 [INFO] (Cert Check) Certificates updated.
 
-		String rhsmcertdLogResult = RemoteFileTasks.getTailFromMarkedFile(sshCommandRunner, rhsmcertdLogFile, rhsmcertdLogMarker, null).trim();
+		String rhsmcertdLogResult = rhsmcertdLogCursor.getTail().trim();
 		Integer hardWaitForFirstUpdateCheck = 120; // this is a dev hard coded wait (seconds) before the first check for updates is attempted  REFERENCE BUG 818978#c2
 		String rhsmcertdLogResultExpected;
 		rhsmcertdLogResultExpected = String.format(" Starting rhsmcertd...");																										Assert.assertTrue(rhsmcertdLogResult.contains(rhsmcertdLogResultExpected),"Tail of rhsmcertd log contains the expected restart message '"+rhsmcertdLogResultExpected+"'.");
@@ -977,24 +1033,24 @@ public class SubscriptionManagerTasks {
 		
 		// assert the rhsmcertd log for messages stating the cert and heal frequencies have be logged
 		if (assertCertificatesUpdate!=null) {
-			// Waiting 120 second(s) [2.0 minute(s)] before running updates.
-			SubscriptionManagerCLITestScript.sleep(hardWaitForFirstUpdateCheck*1000);
-			
 			// assert these cert and heal update/fail messages are logged (but give the system up to a minute to do it)
 			//String healMsg = assertCertificatesUpdate? "(Healing) Certificates updated.":"(Healing) Update failed (255), retry will occur on next run.";	// msg was changed by bug 882459
 			String healMsg = assertCertificatesUpdate? "(Auto-attach) Certificates updated.":"(Auto-attach) Update failed (255), retry will occur on next run.";
 			String certMsg = assertCertificatesUpdate? "(Cert Check) Certificates updated.":"(Cert Check) Update failed (255), retry will occur on next run.";
-			int i=0, delay=10;
-			do {	// retry every 10 seconds (up to a 90 seconds) for the expected update messages in the rhsmcertd log
-				SubscriptionManagerCLITestScript.sleep(delay*1000);i++;	// wait a few seconds before trying again
-				rhsmcertdLogResult = RemoteFileTasks.getTailFromMarkedFile(sshCommandRunner, rhsmcertdLogFile, rhsmcertdLogMarker, null).trim();
-				if (rhsmcertdLogResult.contains(healMsg) && rhsmcertdLogResult.contains(certMsg)) break;
-			} while (delay*i < 90);	// Note: should wait at least 60+ additional seconds because auto-attach can timeout after 60 seconds.  see bug https://bugzilla.redhat.com/show_bug.cgi?id=964332#c6
+			// Waiting 120 second(s) [2.0 minute(s)] before running updates.
+			// Note: should wait at least 60+ additional seconds because auto-attach can timeout after 60 seconds.  see bug https://bugzilla.redhat.com/show_bug.cgi?id=964332#c6
+			// return as soon as both messages have been logged instead of sleeping through the whole wait
+			// Note: these waits only replace the sleep; the assertions below are made on the tail of the log (not on the matched lines) so that the workaround for bug 861443 can still skip the healMsg assertion
+			long deadline = System.currentTimeMillis()+(hardWaitForFirstUpdateCheck+90)*1000;
+			String healLine = rhsmcertdLogWatcher.awaitMatch(".*"+Pattern.quote(healMsg)+".*", rhsmcertdLogWatcherMark, Math.max(0, deadline-System.currentTimeMillis()));
+			String certLine = rhsmcertdLogWatcher.awaitMatch(".*"+Pattern.quote(certMsg)+".*", rhsmcertdLogWatcherMark, Math.max(0, deadline-System.currentTimeMillis()));
+			if (healLine==null || certLine==null) log.warning("Timed out waiting for rhsmcertd to log '"+(healLine==null?healMsg:certMsg)+"'.  Asserting on the tail of the rhsmcertd log anyway.");
+			rhsmcertdLogResult = rhsmcertdLogCursor.getTail().trim();
 			
 			// TEMPORARY WORKAROUND FOR BUG
 			bugId="861443"; // Bug 861443 - rhsmcertd logging of Healing shows "Certificates updated." when it should fail.
 			invokeWorkaroundWhileBugIsOpen = true;
-			try {if (!assertCertificatesUpdate&&invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+			try {if (!assertCertificatesUpdate&&invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 			if (!assertCertificatesUpdate&&invokeWorkaroundWhileBugIsOpen) {
 				log.warning("Skipping assertion: "+"Tail of rhsmcertd log contains the expected restart message '"+healMsg+"'.");
 			} else
@@ -1031,19 +1087,43 @@ public class SubscriptionManagerTasks {
 		return sshCommandResult;
 	}
 	
+	/**
+	 * Wait for the rhsmcertd log to match logRegex.  Unlike the original polling of "tail -1" once per certCheckInterval,
+	 * which only passed when the regex matched whichever line happened to be last at a poll, this passes when the current
+	 * last line matches or when ANY line logged after the call matches (e.g. a matching line that rhsmcertd immediately
+	 * follows with another line no longer goes unnoticed).
+	 * @param logRegex - matched against one whole line
+	 * @param timeoutMinutes
+	 */
 	public void waitForRegexInRhsmcertdLog(String logRegex, int timeoutMinutes) {
-		RemoteFileTasks.runCommandAndAssert(sshCommandRunner,"tail -1 "+rhsmcertdLogFile,Integer.valueOf(0));
-		int retryMilliseconds = Integer.valueOf(getConfFileParameter(rhsmConfFile, /*"certFrequency" CHANGED BY BUG 882459 TO*/"certCheckInterval"))*60*1000;  // certFrequency is in minutes
-		int t = 0;
+		LogWatcher rhsmcertdLogWatcher = getLogWatcher(rhsmcertdLogFile);
+		long mark = rhsmcertdLogWatcher.mark();	// before the tail so that a line logged in between is not missed
+		long start = System.currentTimeMillis();
 		
-		while(!sshCommandRunner.runCommandAndWait("tail -1 "+rhsmcertdLogFile).getStdout().trim().matches(logRegex) && (t*retryMilliseconds < timeoutMinutes*60*1000)) {
-			// pause for the sleep interval
-			SubscriptionManagerCLITestScript.sleep(retryMilliseconds); t++;	
-		}
-		if (t*retryMilliseconds > timeoutMinutes*60*1000) sshCommandRunner.runCommandAndWait("tail -24 "+rhsmLogFile);
+		// the last line may already match; otherwise wait for a new line to match
+		boolean matched = RemoteFileTasks.runCommandAndAssert(sshCommandRunner,"tail -1 "+rhsmcertdLogFile,Integer.valueOf(0)).getStdout().trim().matches(logRegex);
+		if (!matched) matched = rhsmcertdLogWatcher.awaitMatch(logRegex, mark, timeoutMinutes*60*1000L)!=null;
+		long t = System.currentTimeMillis()-start;
+		if (!matched) sshCommandRunner.runCommandAndWait("tail -24 "+rhsmLogFile);
 		
 		// assert that the state was achieved within the timeout
-		Assert.assertFalse((t*retryMilliseconds > timeoutMinutes*60*1000), "The rhsmcertd log matches '"+logRegex+"' within '"+t*retryMilliseconds+"' milliseconds (timeout="+timeoutMinutes+" min)");
+		Assert.assertTrue(matched, "The rhsmcertd log matches '"+logRegex+"' within '"+t+"' milliseconds (timeout="+timeoutMinutes+" min)");
+	}
+	
+	/**
+	 * @param logFile - e.g. rhsmcertdLogFile or rhsmLogFile
+	 * @return the tail -F follower of the logFile on this client (started on first use); see LogWatcher
+	 */
+	public LogWatcher getLogWatcher(String logFile) {
+		synchronized (logWatchers) {
+			LogWatcher logWatcher = logWatchers.get(logFile);
+			if (logWatcher==null) {
+				logWatcher = new LogWatcher(sshCommandRunner.getConnection(), logFile, Integer.valueOf(SubscriptionManagerCLITestScript.getProperty("sm.client.logWatcherCapacity","10000")));
+				logWatchers.put(logFile, logWatcher);
+			}
+			logWatcher.start();
+			return logWatcher;
+		}
 	}
 		
 	
@@ -1306,7 +1386,7 @@ public class SubscriptionManagerTasks {
 		// TEMPORARY WORKAROUND
 		boolean invokeWorkaroundWhileBugIsOpen = true;
 		String bugId="1008016";	// Bug 1008016 - The redhat.repo file should be refreshed after a successful subscription
-		try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			// trigger a yum transaction so that subscription-manager plugin will refresh redhat.repo
 			//sshCommandRunner.runCommandAndWait("killall -9 yum"); // is this needed?
@@ -1348,9 +1428,38 @@ public class SubscriptionManagerTasks {
 		return EntitlementCert.parseStdoutFromOpensslX509(certificates);
 	}
 	public List<EntitlementCert> getCurrentEntitlementCerts() {
-		sshCommandRunner.runCommandAndWaitWithoutLogging("find "+entitlementCertDir+" -regex \"/.+/[0-9]+.pem\" -exec rct cat-cert {} \\;");
-		String certificates = sshCommandRunner.getStdout();
-		return EntitlementCert.parse(certificates);
+		return entitlementCertStore.getEntitlementCerts();
+	}
+	/**
+	 * @param findArguments - the directory and filter arguments to find the entitlement cert files
+	 * @return the EntitlementCerts decoded according to certDecoder
+	 */
+	protected List<EntitlementCert> getEntitlementCertsFound(String findArguments) {
+		List<EntitlementCert> rctEntitlementCerts = null;
+		if (!certDecoder.equals("java")) {
+			sshCommandRunner.runCommandAndWaitWithoutLogging("find "+findArguments+" -exec rct cat-cert {} \\;");
+			rctEntitlementCerts = EntitlementCert.parse(sshCommandRunner.getStdout());
+			if (certDecoder.equals("rct")) return rctEntitlementCerts;
+		}
+		
+		// decode the PEM files locally after fetching all of them in one round trip
+		sshCommandRunner.runCommandAndWaitWithoutLogging(CertDecoder.getCatPemFilesCommand(findArguments));
+		List<EntitlementCert> javaEntitlementCerts;
+		try {
+			javaEntitlementCerts = CertDecoder.decodeEntitlementCerts(sshCommandRunner.getStdout());
+		} catch (Exception e) {
+			Assert.fail("Failed to decode entitlement certs found by: find "+findArguments+": "+e);
+			return null;
+		}
+		if (rctEntitlementCerts==null) return javaEntitlementCerts;
+		
+		// diff mode
+		List<String> rctDescriptions = new ArrayList<String>(), javaDescriptions = new ArrayList<String>();
+		for (EntitlementCert entitlementCert : rctEntitlementCerts) rctDescriptions.add(CertDecoder.describe(entitlementCert));
+		for (EntitlementCert entitlementCert : javaEntitlementCerts) javaDescriptions.add(CertDecoder.describe(entitlementCert));
+		Collections.sort(rctDescriptions); Collections.sort(javaDescriptions);
+		Assert.assertEquals(javaDescriptions, rctDescriptions, "The entitlement certs decoded by CertDecoder match the entitlement certs from rct cat-cert.");
+		return rctEntitlementCerts;
 	}
 	
 	public List<ProductCert> getCurrentProductCerts() {
@@ -1375,10 +1484,38 @@ public class SubscriptionManagerTasks {
 		
 	}
 	public List<ProductCert> getProductCerts(String fromProductCertDir) {
-		sshCommandRunner.runCommandAndWaitWithoutLogging("find "+fromProductCertDir+" -name '*.pem' -exec rct cat-cert {} \\;");
-		String certificates = sshCommandRunner.getStdout();
-		return ProductCert.parse(certificates);
+		return getProductCertsFound(fromProductCertDir+" -name '*.pem'");
+	}
+	/**
+	 * @param findArguments - the directory and filter arguments to find the product cert files
+	 * @return the ProductCerts decoded according to certDecoder
+	 */
+	protected List<ProductCert> getProductCertsFound(String findArguments) {
+		List<ProductCert> rctProductCerts = null;
+		if (!certDecoder.equals("java")) {
+			sshCommandRunner.runCommandAndWaitWithoutLogging("find "+findArguments+" -exec rct cat-cert {} \\;");
+			rctProductCerts = ProductCert.parse(sshCommandRunner.getStdout());
+			if (certDecoder.equals("rct")) return rctProductCerts;
+		}
+		
+		// decode the PEM files locally after fetching all of them in one round trip
+		sshCommandRunner.runCommandAndWaitWithoutLogging(CertDecoder.getCatPemFilesCommand(findArguments));
+		List<ProductCert> javaProductCerts;
+		try {
+			javaProductCerts = CertDecoder.decodeProductCerts(sshCommandRunner.getStdout());
+		} catch (Exception e) {
+			Assert.fail("Failed to decode product certs found by: find "+findArguments+": "+e);
+			return null;
+		}
+		if (rctProductCerts==null) return javaProductCerts;
 		
+		// diff mode
+		List<String> rctDescriptions = new ArrayList<String>(), javaDescriptions = new ArrayList<String>();
+		for (ProductCert productCert : rctProductCerts) rctDescriptions.add(CertDecoder.describe(productCert));
+		for (ProductCert productCert : javaProductCerts) javaDescriptions.add(CertDecoder.describe(productCert));
+		Collections.sort(rctDescriptions); Collections.sort(javaDescriptions);
+		Assert.assertEquals(javaDescriptions, rctDescriptions, "The product certs decoded by CertDecoder match the product certs from rct cat-cert.");
+		return rctProductCerts;
 	}
 	
 	/**
@@ -1386,18 +1523,14 @@ public class SubscriptionManagerTasks {
 	 * @return a list of ProductCert that provide the given tag (in the case of rhel7, a regex is useful)
 	 */
 	public List<ProductCert> getCurrentProductCerts(String providingTagRegex) {
-		List<ProductCert> prodctCertsProvidingTag = new ArrayList<ProductCert>();
-		for (ProductCert productCert : getCurrentProductCerts()) {
-			if (productCert.productNamespace.providedTags==null) continue;
-			List<String> providedTags = Arrays.asList(productCert.productNamespace.providedTags.split("\\s*,\\s*"));
-			for (String providedTag : providedTags) {
-				if (providedTag.matches(providingTagRegex)) {
-					prodctCertsProvidingTag.add(productCert);
-					break;
-				}
-			}
-		}
-		return prodctCertsProvidingTag;
+		return getCurrentProvidedTagIndex().getProductCertsProvidingTag(providingTagRegex);
+	}
+	
+	/**
+	 * @return an index of the tags provided by the currently installed product certs; reuse it when checking the requiredTags of many ContentNamespaces
+	 */
+	public ProvidedTagIndex getCurrentProvidedTagIndex() {
+		return new ProvidedTagIndex(getCurrentProductCerts());
 	}
 
 	/**
@@ -1870,7 +2003,7 @@ public class SubscriptionManagerTasks {
 				if (lsFile.matches(".*\\(\\d+\\)\\.pem")) {
 					boolean invokeWorkaroundWhileBugIsOpen = true;
 					String bugId="640338"; 
-					try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+					try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 					if (invokeWorkaroundWhileBugIsOpen) {
 						continue;
 					}
@@ -2286,8 +2419,7 @@ public class SubscriptionManagerTasks {
 //		String port = getConfFileParameter(rhsmConfFile, "port");
 //		String prefix = getConfFileParameter(rhsmConfFile, "prefix");
 		
-		for (File entitlementCertFile : getCurrentEntitlementCertFiles("-t")) {
-			EntitlementCert entitlementCert = getEntitlementCertFromEntitlementCertFile(entitlementCertFile);
+		for (EntitlementCert entitlementCert : getEntitlementCertsFromEntitlementCertFiles(getCurrentEntitlementCertFiles("-t"))) {
 			try {
 				JSONObject jsonEntitlement = CandlepinTasks.getEntitlementUsingRESTfulAPI(this.currentlyRegisteredUsername,this.currentlyRegisteredPassword,SubscriptionManagerBaseTestScript.sm_serverUrl,entitlementCert.id);
 				JSONObject jsonPool = new JSONObject(CandlepinTasks.getResourceUsingRESTfulAPI(this.currentlyRegisteredUsername,this.currentlyRegisteredPassword,SubscriptionManagerBaseTestScript.sm_serverUrl,jsonEntitlement.getJSONObject("pool").getString("href")));
@@ -2344,14 +2476,59 @@ public class SubscriptionManagerTasks {
 		return entitlementCerts.get(0);
 	}
 	public EntitlementCert getEntitlementCertFromEntitlementCertFile(File serialPemFile) {
-		sshCommandRunner.runCommandAndWaitWithoutLogging("rct cat-cert "+serialPemFile);
-		String certificates = sshCommandRunner.getStdout();
-		List<EntitlementCert> entitlementCerts = EntitlementCert.parse(certificates);
+		List<EntitlementCert> entitlementCerts;
+		if (certDecoder.equals("rct")) {
+			sshCommandRunner.runCommandAndWaitWithoutLogging("rct cat-cert "+serialPemFile);
+			String certificates = sshCommandRunner.getStdout();
+			entitlementCerts = EntitlementCert.parse(certificates);
+		} else {
+			entitlementCerts = getEntitlementCertsFound(serialPemFile.getPath());
+		}
 		
 		// assert that only one EntitlementCert was parsed and return it
 		Assert.assertEquals(entitlementCerts.size(), 1, "Entitlement cert file '"+serialPemFile+"' parsed only one EntitlementCert.");
 		return entitlementCerts.get(0);
 	}
+	/**
+	 * Same as getEntitlementCertFromEntitlementCertFile(serialPemFile) for several files in one ssh round trip.
+	 * @param serialPemFiles
+	 * @return the EntitlementCerts in the same order as the files
+	 */
+	public List<EntitlementCert> getEntitlementCertsFromEntitlementCertFiles(List<File> serialPemFiles) {
+		if (!certDecoder.equals("rct")) {
+			List<EntitlementCert> entitlementCerts = new ArrayList<EntitlementCert>();
+			if (serialPemFiles.isEmpty()) return entitlementCerts;
+			StringBuilder findArguments = new StringBuilder();
+			for (File serialPemFile : serialPemFiles) findArguments.append(serialPemFile.getPath()).append(" ");
+			List<EntitlementCert> foundEntitlementCerts = getEntitlementCertsFound(findArguments.toString().trim());
+			
+			// assert that only one EntitlementCert was parsed from each file and return them in the same order as the files
+			for (File serialPemFile : serialPemFiles) {
+				EntitlementCert entitlementCert = null;
+				for (EntitlementCert foundEntitlementCert : foundEntitlementCerts) {
+					if (foundEntitlementCert.file.equals(serialPemFile)) {
+						Assert.assertNull(entitlementCert, "Entitlement cert file '"+serialPemFile+"' parsed only one EntitlementCert.");
+						entitlementCert = foundEntitlementCert;
+					}
+				}
+				Assert.assertNotNull(entitlementCert, "Entitlement cert file '"+serialPemFile+"' parsed only one EntitlementCert.");
+				entitlementCerts.add(entitlementCert);
+			}
+			return entitlementCerts;
+		}
+		SSHCommandBatch batch = new SSHCommandBatch(sshCommandRunner);
+		for (File serialPemFile : serialPemFiles) batch.add("rct cat-cert "+serialPemFile);
+		List<SSHCommandResult> results = batch.runAndWait(false);
+		List<EntitlementCert> entitlementCerts = new ArrayList<EntitlementCert>();
+		for (int i=0; i<serialPemFiles.size(); i++) {
+			List<EntitlementCert> parsedEntitlementCerts = EntitlementCert.parse(results.get(i).getStdout());
+			
+			// assert that only one EntitlementCert was parsed from each file
+			Assert.assertEquals(parsedEntitlementCerts.size(), 1, "Entitlement cert file '"+serialPemFiles.get(i)+"' parsed only one EntitlementCert.");
+			entitlementCerts.add(parsedEntitlementCerts.get(0));
+		}
+		return entitlementCerts;
+	}
 	
 	public BigInteger getSerialNumberFromEntitlementCertFile(File serialPemFile) {
 		// example serialPemFile: /etc/pki/entitlement/196.pem
@@ -2394,9 +2571,14 @@ public class SubscriptionManagerTasks {
 		return productCerts.get(0);
 	}
 	public ProductCert getProductCertFromProductCertFile(File productPemFile) {
-		sshCommandRunner.runCommandAndWaitWithoutLogging("rct cat-cert "+productPemFile.getPath());
-		String certificates = sshCommandRunner.getStdout();
-		List<ProductCert> productCerts = ProductCert.parse(certificates);
+		List<ProductCert> productCerts;
+		if (certDecoder.equals("rct")) {
+			sshCommandRunner.runCommandAndWaitWithoutLogging("rct cat-cert "+productPemFile.getPath());
+			String certificates = sshCommandRunner.getStdout();
+			productCerts = ProductCert.parse(certificates);
+		} else {
+			productCerts = getProductCertsFound(productPemFile.getPath());
+		}
 		
 		// assert that only one ProductCert was parsed and return it
 		Assert.assertEquals(productCerts.size(), 1, "Product cert file '"+productPemFile+"' parsed only one ProductCert.");
@@ -2478,6 +2660,7 @@ public class SubscriptionManagerTasks {
 		
 		// run command without asserting results
 		SSHCommandResult sshCommandResult = sshCommandRunner.runCommandAndWait(command);
+		CandlepinTasks.invalidateResourceCache(null);	// the consumed quantities of the cached pools may have changed
 		
 		// copy the current consumer cert and key to allRegisteredConsumerCertsDir for recollection by deleteAllRegisteredConsumerEntitlementsAfterSuite()
 		ConsumerCert consumerCert = getCurrentConsumerCert();
@@ -2622,7 +2805,7 @@ public class SubscriptionManagerTasks {
 		// TEMPORARY WORKAROUND FOR BUG: https://bugzilla.redhat.com/show_bug.cgi?id=639417 - jsefler 10/1/2010
 		boolean invokeWorkaroundWhileBugIsOpen = false;	// Status: 	CLOSED CURRENTRELEASE
 		String bugId="639417"; 
-		try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			restart_rhsmcertd(Integer.valueOf(getConfFileParameter(rhsmConfFile, "certFrequency")), null, false, null);
 		}
@@ -2631,7 +2814,7 @@ public class SubscriptionManagerTasks {
 		// TEMPORARY WORKAROUND FOR Bug 797243 - manual changes to redhat.repo are too sticky
 		invokeWorkaroundWhileBugIsOpen = true;
 		bugId="797243"; 
-		try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			log.warning("Triggering a yum transaction to insure the redhat.repo file is wiped clean");
 			sshCommandRunner.runCommandAndWait("yum repolist --disableplugin=rhnplugin"); // --disableplugin=rhnplugin helps avoid: up2date_client.up2dateErrors.AbuseError
@@ -2948,7 +3131,7 @@ public class SubscriptionManagerTasks {
 		// TEMPORARY WORKAROUND FOR BUG: https://bugzilla.redhat.com/show_bug.cgi?id=719109 - jsefler 7/05/2011
 		boolean invokeWorkaroundWhileBugIsOpen = true;
 		String bugId="719109"; 
-		try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			// skip the assertion of user feedback in stdout
 			return sshCommandResult;
@@ -3136,7 +3319,7 @@ public class SubscriptionManagerTasks {
 		} else {
 			// TEMPORARY WORKAROUND FOR BUG
 			boolean invokeWorkaroundWhileBugIsOpen = true;
-			try {String bugId="835050"; if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+			try {String bugId="835050"; if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 			if (invokeWorkaroundWhileBugIsOpen) {
 				log.warning("Skipping service-level unset feedback message while this bug is open.");
 			} else
@@ -3289,7 +3472,19 @@ public class SubscriptionManagerTasks {
 		}
 		
 		// run command without asserting results
-		return sshCommandRunner.runCommandAndWait(command);
+		if ((remove!=null && remove) || (set!=null && set)) rhsmConfFileSnapshot.validate();
+		SSHCommandResult sshCommandResult = sshCommandRunner.runCommandAndWait(command);
+		
+		// write-through the set values to the rhsmConfFileSnapshot
+		if ((remove!=null && remove) || sshCommandResult.getExitCode()==null || sshCommandResult.getExitCode()!=0) {
+			rhsmConfFileSnapshot.invalidate();	// a removed value may be replaced by its default
+		} else if (set!=null && set && listOfSectionNameValues!=null) {
+			for (String[] section_name_value : listOfSectionNameValues) {
+				if (section_name_value.length>2) rhsmConfFileSnapshot.set(section_name_value[0], section_name_value[1], section_name_value[2].replaceFirst("^\"(.*)\"$", "$1"));
+			}
+			rhsmConfFileSnapshot.sign();
+		}
+		return sshCommandResult;
 	}
 	
 	/**
@@ -3307,7 +3502,7 @@ public class SubscriptionManagerTasks {
 	public SSHCommandResult config(Boolean list, Boolean remove, Boolean set, List<String[]> listOfSectionNameValues) {
 		
 		// store what is currently configured to assist during assertion of remove stdout
-		String rhsmConfFileContents = sshCommandRunner.runCommandAndWaitWithoutLogging("egrep -v  \"^\\s*(#|$)\" "+rhsmConfFile).getStdout();
+		String rhsmConfFileContents = rhsmConfFileSnapshot.getContents();
 		
 		SSHCommandResult sshCommandResult = config_(list, remove, set, listOfSectionNameValues);
 		
@@ -3674,6 +3869,7 @@ public class SubscriptionManagerTasks {
 		
 		// run command without asserting results
 		SSHCommandResult sshCommandResult = sshCommandRunner.runCommandAndWait(command);
+		CandlepinTasks.invalidateResourceCache(null);	// the consumed quantities of the cached pools may have changed
 		
 		// reset this.currentlyRegistered values
 		if (sshCommandResult.getExitCode().equals(Integer.valueOf(0))) {			// success
@@ -3704,13 +3900,13 @@ public class SubscriptionManagerTasks {
 			
 			// TEMPORARY WORKAROUND FOR BUG
 			boolean invokeWorkaroundWhileBugIsOpen = false;	// Status: 	VERIFIED
-			try {String bugId="878657"; if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+			try {String bugId="878657"; if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 			if (invokeWorkaroundWhileBugIsOpen) unregisterSuccessMsg = "System has been un-registered.";
 			// END OF WORKAROUND
 			
 			// TEMPORARY WORKAROUND FOR BUG
 			invokeWorkaroundWhileBugIsOpen = false;	// Status: 	CLOSED ERRATA
-			try {String bugId="800121"; if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+			try {String bugId="800121"; if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 			if (invokeWorkaroundWhileBugIsOpen) {
 				log.warning("If 'NoneType' object message was thrown to stdout during unregister, we will ignore it while this bug is open.");
 				Assert.assertTrue(sshCommandResult.getStdout().trim().contains(unregisterSuccessMsg), "The unregister command was a success.");
@@ -3826,7 +4022,7 @@ public class SubscriptionManagerTasks {
 		// TEMPORARY WORKAROUND FOR BUG: https://bugzilla.redhat.com/show_bug.cgi?id=638266 - jsefler 9/28/2010
 		boolean invokeWorkaroundWhileBugIsOpen = false;
 		String bugId="638266"; 
-		try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			return list_(Boolean.FALSE,Boolean.TRUE,null, null, null, null, null, null, null, null, null);
 		}
@@ -4232,13 +4428,14 @@ public class SubscriptionManagerTasks {
 		
 		// run command without asserting results
 		SSHCommandResult sshCommandResult = sshCommandRunner.runCommandAndWait(command);
+		CandlepinTasks.invalidateResourceCache(null);	// the consumed quantities of the cached pools may have changed
 		
 		// TEMPORARY WORKAROUND FOR BUG
 		String bugId = "981689"; // 'SubscribeCommand' object has no attribute 'sorter'
 		boolean invokeWorkaroundWhileBugIsOpen = true;
 		if (sshCommandResult.getStderr().trim().equals("'SubscribeCommand' object has no attribute 'sorter'") ||
 			sshCommandResult.getStderr().trim().equals("'AttachCommand' object has no attribute 'sorter'")	) {
-			try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+			try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 			if (invokeWorkaroundWhileBugIsOpen) {
 				throw new SkipException("All tests that attempt to subscribe are blockedByBug '"+bugId+"'.");
 			}
@@ -4476,20 +4673,24 @@ public class SubscriptionManagerTasks {
 		File newCertFile = null;
 		List<File> afterEntitlementCertFiles = getCurrentEntitlementCertFiles("-t");
 		if (authenticator!=null && password!=null && serverUrl!=null) {
+			List<File> newEntitlementCertFiles = new ArrayList<File>();
 			for (File entitlementCertFile : afterEntitlementCertFiles) {
-				if (!beforeEntitlementCertFiles.contains(entitlementCertFile)) {
-					EntitlementCert entitlementCert = getEntitlementCertFromEntitlementCertFile(entitlementCertFile);
-					try {
-						//JSONObject jsonEntitlement = CandlepinTasks.getEntitlementUsingRESTfulAPI(authenticator,password,serverUrl,entitlementCert.id);	// is throwing a 500 in stage, but only for qa@redhat.com credentials - I don't know why
-						JSONObject jsonEntitlement = CandlepinTasks.getEntitlementUsingRESTfulAPI(currentlyRegisteredUsername,currentlyRegisteredPassword,serverUrl,entitlementCert.id);
-						JSONObject jsonPool = new JSONObject(CandlepinTasks.getResourceUsingRESTfulAPI(authenticator,password,serverUrl,jsonEntitlement.getJSONObject("pool").getString("href")));
-						if (jsonPool.getString("id").equals(pool.poolId)) {
-							newCertFile = entitlementCertFile; break;
-						}
-					} catch (Exception e) {
-						e.printStackTrace();
-						Assert.fail(e.getMessage());
+				if (!beforeEntitlementCertFiles.contains(entitlementCertFile)) newEntitlementCertFiles.add(entitlementCertFile);
+			}
+			List<EntitlementCert> newEntitlementCerts = getEntitlementCertsFromEntitlementCertFiles(newEntitlementCertFiles);
+			for (int i=0; i<newEntitlementCertFiles.size(); i++) {
+				File entitlementCertFile = newEntitlementCertFiles.get(i);
+				EntitlementCert entitlementCert = newEntitlementCerts.get(i);
+				try {
+					//JSONObject jsonEntitlement = CandlepinTasks.getEntitlementUsingRESTfulAPI(authenticator,password,serverUrl,entitlementCert.id);	// is throwing a 500 in stage, but only for qa@redhat.com credentials - I don't know why
+					JSONObject jsonEntitlement = CandlepinTasks.getEntitlementUsingRESTfulAPI(currentlyRegisteredUsername,currentlyRegisteredPassword,serverUrl,entitlementCert.id);
+					JSONObject jsonPool = new JSONObject(CandlepinTasks.getResourceUsingRESTfulAPI(authenticator,password,serverUrl,jsonEntitlement.getJSONObject("pool").getString("href")));
+					if (jsonPool.getString("id").equals(pool.poolId)) {
+						newCertFile = entitlementCertFile; break;
 					}
+				} catch (Exception e) {
+					e.printStackTrace();
+					Assert.fail(e.getMessage());
 				}
 			}
 		}
@@ -4587,7 +4788,7 @@ public class SubscriptionManagerTasks {
 				boolean invokeWorkaroundWhileBugIsOpen = true;
 				String bugId1="650278"; 
 				String bugId2="806986"; 
-				try {if (invokeWorkaroundWhileBugIsOpen&&(BzChecker.getInstance().isBugOpen(bugId1)||BzChecker.getInstance().isBugOpen(bugId2))) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId1).toString()+" Bugzilla "+bugId1+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId1+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId1); log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId2).toString()+" Bugzilla "+bugId2+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId2+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId2);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+				try {if (invokeWorkaroundWhileBugIsOpen&&(BugzillaStateCache.getInstance().isBugOpen(bugId1)||BugzillaStateCache.getInstance().isBugOpen(bugId2))) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId1).toString()+" Bugzilla "+bugId1+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId1+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId1); log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId2).toString()+" Bugzilla "+bugId2+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId2+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId2);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 				if (invokeWorkaroundWhileBugIsOpen) {
 					log.warning("Skipping assert that the productId from the pool matches the entitlement productId");
 				} else {
@@ -4799,7 +5000,7 @@ public class SubscriptionManagerTasks {
 		
 		// TEMPORARY WORKAROUND FOR BUG
 		invokeWorkaroundWhileBugIsOpen = false; // true;	// Status: CLOSED ERRATA	// Bug 613635 - “connection.UEPConnection instance “ displays while availability check
-		try {String bugId="613635"; if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {String bugId="613635"; if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			Assert.assertContainsMatch(listAvailableSubscriptionPools().getStdout(),"^No available subscription pools to list$",assertMsg);
 			return;
@@ -4808,7 +5009,7 @@ public class SubscriptionManagerTasks {
 		
 		// TEMPORARY WORKAROUND FOR BUG
 		invokeWorkaroundWhileBugIsOpen = false; // true;	// Status: CLOSED ERRATA	// Bug 622839 - extraneous user hash code appears in stdout after executing list --available
-		try {String bugId="622839"; if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {String bugId="622839"; if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			Assert.assertContainsMatch(listAvailableSubscriptionPools().getStdout(),"^No available subscription pools to list$",assertMsg);
 			return;
@@ -4817,7 +5018,7 @@ public class SubscriptionManagerTasks {
 		
 		// TEMPORARY WORKAROUND FOR BUG
 		invokeWorkaroundWhileBugIsOpen = false; // true;	// Status: CLOSED DUPLICATE of bug 623481	// Bug 623657 - extraneous self.conn output appears in stdout after executing list --available
-		try {String bugId="623657"; if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {String bugId="623657"; if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			Assert.assertContainsMatch(listAvailableSubscriptionPools().getStdout(),"^No available subscription pools to list$",assertMsg);
 			return;
@@ -4873,7 +5074,9 @@ public class SubscriptionManagerTasks {
 		if (all!=null && all && serials==null) workaroundForBug844455();
 		
 		// run command without asserting results
-		return sshCommandRunner.runCommandAndWait(command);
+		SSHCommandResult sshCommandResult = sshCommandRunner.runCommandAndWait(command);
+		CandlepinTasks.invalidateResourceCache(null);	// the consumed quantities of the cached pools may have changed
+		return sshCommandResult;
 	}
 	/**
 	 * unsubscribe without asserting results
@@ -4933,7 +5136,7 @@ public class SubscriptionManagerTasks {
 			// TEMPORARY WORKAROUND FOR BUG: https://bugzilla.redhat.com/show_bug.cgi?id=639320 - jsefler 10/1/2010
 			boolean invokeWorkaroundWhileBugIsOpen = true;
 			String bugId="639320"; 
-			try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+			try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 			if (invokeWorkaroundWhileBugIsOpen) {
 				regexForSerialNumber = "[\\d,]*";
 			}
@@ -4964,7 +5167,7 @@ public class SubscriptionManagerTasks {
 		// TEMPORARY WORKAROUND FOR BUG: https://bugzilla.redhat.com/show_bug.cgi?id=708362 - jsefler 08/25/2011
 		boolean invokeWorkaroundWhileBugIsOpen = true;
 		String bugId="708362"; 
-		try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		boolean assertCertKeyFilePathIsRemoved = true;
 		if (invokeWorkaroundWhileBugIsOpen) log.warning("Skipping the assertion that the Entitlement Certificate key with serial '"+serialNumber+"' ("+certKeyFilePath+") has been removed while bug is open."); else
 		// END OF WORKAROUND
@@ -5215,30 +5418,15 @@ public class SubscriptionManagerTasks {
 		return areAllRequiredTagsProvidedByProductCerts(contentNamespace.requiredTags, productCerts);
 	}
 	
+	/**
+	 * Note: when checking many ContentNamespaces against the same product certs, build a ProvidedTagIndex once and call its areAllRequiredTagsProvided(...) instead.
+	 */
 	public boolean areAllRequiredTagsProvidedByProductCerts(String requiredTagsAsString, List<ProductCert> productCerts) {
 		// same some time...  if requiredTagsAsString is null, then effectively the requiredTags are provided by any list of product certs
 		if (requiredTagsAsString==null) return true;
 		
-		// get all of the provided tags from the productCerts
-		List<String> providedTags = new ArrayList<String>();
-		for (ProductCert productCert : productCerts) {
-			if (productCert.productNamespace.providedTags!=null) {
-				for (String providedTag : productCert.productNamespace.providedTags.split("\\s*,\\s*")) {
-					providedTags.add(providedTag);
-				}
-			}
-		}
-		
-		// get all of the required tags from the contentNamespace
-		List<String> requiredTags = new ArrayList<String>();
-		if (requiredTagsAsString!=null) {
-			for (String requiredTag : requiredTagsAsString.split("\\s*,\\s*")) {
-				if (!requiredTag.isEmpty()) requiredTags.add(requiredTag);
-			}
-		}
-		
 		// are ALL of the requiredTags provided?  Note: true is returned (and should be) when requiredTags.isEmpty()
-		return providedTags.containsAll(requiredTags);
+		return new ProvidedTagIndex(productCerts).areAllRequiredTagsProvided(requiredTagsAsString);
 	}
 	
 	public boolean isPackageInstalled(String pkg) {
@@ -5309,24 +5497,24 @@ public class SubscriptionManagerTasks {
 		//	red-hat-enterprise-linux-6-entitlement-alpha-supplementary-source-rpms-updates Red Hat Enterprise Linux 6 Entitlement Alpha - Supp disabled
 		//	repolist: 3,394
 		
-		List<ProductCert> currentProductCerts = this.getCurrentProductCerts();
+		ProvidedTagIndex currentProvidedTagIndex = this.getCurrentProvidedTagIndex();
 		
 		// TEMPORARY WORKAROUND FOR BUG: https://bugzilla.redhat.com/show_bug.cgi?id=697087 - jsefler 04/27/2011
 		if (this.redhatRelease.contains("release 5")) {
 			boolean invokeWorkaroundWhileBugIsOpen = true;
 			String bugId="697087"; 
 			// NOTE: LET'S MAKE THIS A PERMANENT WORKAROUND FOR THIS METHOD
-			// try {if (invokeWorkaroundWhileBugIsOpen/*&&BzChecker.getInstance().isBugOpen(bugId)*/) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+			// try {if (invokeWorkaroundWhileBugIsOpen/*&&BugzillaStateCache.getInstance().isBugOpen(bugId)*/) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 			if (invokeWorkaroundWhileBugIsOpen) {
 				
-				List<String> yumRepoListAll			= this.getYumRepolist("all");
-				List<String> yumRepoListEnabled		= this.getYumRepolist("enabled");
-				List<String> yumRepoListDisabled	= this.getYumRepolist("disabled");
+				Set<String> yumRepoListAll			= this.getYumRepolistAsSet("all");
+				Set<String> yumRepoListEnabled		= this.getYumRepolistAsSet("enabled");
+				Set<String> yumRepoListDisabled		= this.getYumRepolistAsSet("disabled");
 				
 		 		for (EntitlementCert entitlementCert : entitlementCerts) {
 		 			for (ContentNamespace contentNamespace : entitlementCert.contentNamespaces) {
 		 				if (!contentNamespace.type.equalsIgnoreCase("yum")) continue;
-		 				if (areReported && areAllRequiredTagsInContentNamespaceProvidedByProductCerts(contentNamespace,currentProductCerts)) {
+		 				if (areReported && currentProvidedTagIndex.areAllRequiredTagsProvided(contentNamespace)) {
 							if (contentNamespace.enabled) {
 								Assert.assertTrue(yumRepoListEnabled.contains(contentNamespace.label),
 										"Yum repolist enabled includes repo id/label '"+contentNamespace.label+"' that comes from entitlement cert "+entitlementCert.id+"'s content namespace: "+contentNamespace);
@@ -5348,14 +5536,14 @@ public class SubscriptionManagerTasks {
 		
 		// assert all of the entitlement certs are reported in the stdout from "yum repolist all"
 		sshCommandRunner.runCommandAndWait("killall -9 yum");
-		List<String> yumRepolistAll = getYumRepolist("all");
+		Set<String> yumRepolistAll = getYumRepolistAsSet("all");
  		for (EntitlementCert entitlementCert : entitlementCerts) {
  			for (ContentNamespace contentNamespace : entitlementCert.contentNamespaces) {
  				
  				// Note: When the repo id and repo name are really long, the repo name in the yum repolist all gets crushed (hence the reason for .* in the regex)
  				boolean isReported = yumRepolistAll.contains(contentNamespace.label.trim());
  				
-				boolean areAllRequiredTagsInstalled = areAllRequiredTagsInContentNamespaceProvidedByProductCerts(contentNamespace,currentProductCerts);
+				boolean areAllRequiredTagsInstalled = currentProvidedTagIndex.areAllRequiredTagsProvided(contentNamespace);
 				if (!contentNamespace.type.equalsIgnoreCase("yum")) {
 					Assert.assertTrue(!isReported, "ContentNamespace label '"+contentNamespace.label.trim()+"' from EntitlementCert '"+entitlementCert.serialNumber+"' is NOT reported in yum repolist all since its type '"+contentNamespace.type+"' is non-yum.");
 				} else if (areReported && areAllRequiredTagsInstalled) {
@@ -5371,6 +5559,14 @@ public class SubscriptionManagerTasks {
 		//Assert.assertContainsNoMatch(result.getStderr(), "HTTP Error \\d+", "HTTP Errors were encountered when runnning yum repolist all.");
 	}
 	
+	/**
+	 * @param options [all|enabled|disabled] [--option=...]
+	 * @return set of repo labels returned from a call to yum repolist [options] (use when asserting the presence of many labels)
+	 */
+	public Set<String> getYumRepolistAsSet(String options){
+		return new LinkedHashSet<String>(getYumRepolist(options));
+	}
+	
 	/**
 	 * @param options [all|enabled|disabled] [--option=...]
 	 * @return array of repo labels returned from a call to yum repolist [options]
@@ -5385,7 +5581,7 @@ public class SubscriptionManagerTasks {
 		if (this.redhatReleaseX.equals("5")) {
 			boolean invokeWorkaroundWhileBugIsOpen = true;
 			String bugId="697087"; // Bug 697087 - yum repolist is not producing a list when one of the repo baseurl causes a forbidden 403
-			try {if (invokeWorkaroundWhileBugIsOpen && BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+			try {if (invokeWorkaroundWhileBugIsOpen && BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 			if (invokeWorkaroundWhileBugIsOpen) {
 				
 				// avoid "yum repolist" and assemble the list of repos directly from the redhat repo file
@@ -5406,7 +5602,7 @@ public class SubscriptionManagerTasks {
 //		if (this.redhatReleaseX.equals("7") && (options.startsWith("all") || options.startsWith("disabled"))) {
 //			boolean invokeWorkaroundWhileBugIsOpen = true;
 //			String bugId="905546"; // Bug 905546 - yum repolist all|disabled is throwing a traceback 
-//			try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+//			try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 //			if (invokeWorkaroundWhileBugIsOpen) {
 //				throw new SkipException("There is no workaround for yum repolist "+options+" bug "+bugId+".");
 //			}
@@ -6577,7 +6773,7 @@ public class SubscriptionManagerTasks {
 		// Bug 895447 - the count of subscriptions removed is zero,for the certs that have been imported
 		// subscription-manager commit 46cbbe61713f5e9b43ff54793e2d1897d56191fd
 		// subscription-manager commit 8e10e76fb5951e0b5d6c867c6c7209d8ec80dead
-		//try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		//try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			// Any local-only certificates have been deleted.
 			String subString = "Any local-only certificates have been deleted.";
@@ -6618,7 +6814,7 @@ public class SubscriptionManagerTasks {
 		if (entitlementFiles.size()>tooManyEntitlements) { 
 			boolean invokeWorkaroundWhileBugIsOpen = true;
 			String bugId="844455";	// Bug 844455 - when consuming many entitlements, subscription-manager unsubscribe --all throws SSLTimeoutError: timed out
-			try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+			try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 			if (invokeWorkaroundWhileBugIsOpen) {
 				log.warning("The workaround to avoid an SSLTimeoutError during an unregister or unsubscribe --all is to incrementally unsubscribe reducing the current entitlements to approximately "+tooManyEntitlements+".  Then resume the unregister or unsubscribe --all.");
 				for (int i=entitlementFiles.size()-1; i>=tooManyEntitlements; i--) {
@@ -6635,7 +6831,7 @@ public class SubscriptionManagerTasks {
 		if (entitlementFiles.size()>tooManyEntitlements) { 
 			boolean invokeWorkaroundWhileBugIsOpen = true;
 			String bugId="844455";	// Bug 844455 - when consuming many entitlements, subscription-manager unsubscribe --all throws SSLTimeoutError: timed out
-			try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+			try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 			if (invokeWorkaroundWhileBugIsOpen) {
 				log.warning("The workaround to avoid an SSLTimeoutError during an unregister or unsubscribe --all is to reduced the total consumed entitlements by unsubscribing from multiple serials until we are under "+tooManyEntitlements+" remaining.  Then resume the unregister or unsubscribe --all.");
 				int avoidInfiniteLoopSize=entitlementFiles.size();
@@ -6665,7 +6861,7 @@ public class SubscriptionManagerTasks {
 		if (jsonPools.length()>tooManyPools) { 
 			boolean invokeWorkaroundWhileBugIsOpen = true;
 			String bugId="844455";	// Bug 844455 - when consuming many entitlements, subscription-manager unsubscribe --all throws SSLTimeoutError: timed out
-			try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+			try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 			if (invokeWorkaroundWhileBugIsOpen) {
 				log.warning("The workaround is to reducing the number of multiple pools approximately "+tooManyPools+".  Then resume the unregister or unsubscribe --all.");
 				for (int i=jsonPools.length()-1; i>=30; i--) {
@@ -6688,7 +6884,7 @@ public class SubscriptionManagerTasks {
 		if (jsonPools.length()>tooManyPools) { 
 			boolean invokeWorkaroundWhileBugIsOpen = true;
 			String bugId="1040101";	// Bug 1040101 - consequence of an SSLTimeoutError when registering with activation keys
-			try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+			try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 			if (invokeWorkaroundWhileBugIsOpen) {
 				log.warning("The workaround is to reduce the number of multiple pools to approximately "+tooManyPools+".  Then resume testing with multiple pools.");
 				for (int i=jsonPools.length()-1; i>=30; i--) {
@@ -0,0 +1,425 @@
+package rhsm.cli.tasks;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import com.trilead.ssh2.ChannelCondition;
+import com.trilead.ssh2.Connection;
+import com.trilead.ssh2.Session;
+import com.trilead.ssh2.StreamGobbler;
+
+/**
+ * Transfers a whole set of files as one tar stream over a single ssh channel instead of one scp
+ * session per file (RemoteFileTasks.getFile/putFile).  The tar stream is read and written in Java
+ * so that the files can be renamed (or filtered) in-stream:
+ * <ul>
+ * <li>get(...) - remote directory &rarr; local directory</li>
+ * <li>put(...) - local files &rarr; remote directory</li>
+ * <li>copy(...) - remote directory &rarr; remote directory on another host without touching the local disk</li>
+ * </ul>
+ * Each transfer returns a Report of the files, bytes, and time it took.
+ * <br>Example:
+ * <pre>
+ *	TarTransfer.Report report = TarTransfer.get(server.getConnection(), "/root/candlepin/server/generated_certs", "-name '*.pem'", new File("tmp"), null);
+ *	TarTransfer.put(client.getConnection(), report.files, "/etc/pki/product", "0644", null);
+ * </pre>
+ * The remote hosts must have GNU tar.
+ */
+public class TarTransfer {
+
+	protected static Logger log = Logger.getLogger(TarTransfer.class.getName());
+	protected static final int blockSize = 512;
+	protected static final int bufferSize = 64*1024;
+	public static long timeoutMillis = 10*60*1000;
+
+	/**
+	 * Renames (or filters) the files while they are transferred.
+	 */
+	public interface Renamer {
+		/**
+		 * @param name - the relative path of the file in the source directory (e.g. "product/37060.pem")
+		 * @return the relative path of the file in the destination (null to skip the file)
+		 */
+		public String rename(String name);
+	}
+
+	/**
+	 * What was transferred and how long it took.
+	 */
+	public static class Report {
+		public final String description;
+		public final List<File> files = new ArrayList<File>();	// the destination files
+		public long bytes = 0;	// the size of the tar stream
+		public long millis = 0;
+
+		Report(String description) {
+			this.description = description;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s: %d files (%d bytes) in %.1f seconds (%.1f KB/s)", description, files.size(), bytes, millis/1000.0, millis==0? 0.0:bytes/1.024/millis);
+		}
+	}
+
+	/**
+	 * Transfer the files found in a remote directory to a local directory.
+	 * @param source - an authenticated ssh connection to the remote host
+	 * @param sourceDir - remote directory
+	 * @param findArguments - find expression that selects the files in sourceDir (e.g. "-name '*.pem'"); null for all files
+	 * @param localDir - created when it does not exist
+	 * @param renamer - null to keep the names
+	 * @return the Report whose files are the local files
+	 * @throws IOException
+	 */
+	public static Report get(Connection source, String sourceDir, String findArguments, File localDir, Renamer renamer) throws IOException {
+		Report report = new Report("Transferred "+source.getHostname()+":"+sourceDir+" to "+localDir);
+		long start = System.currentTimeMillis();
+		Session session = source.openSession();
+		try {
+			session.execCommand(getCreateCommand(sourceDir, findArguments));
+			InputStream stderr = new StreamGobbler(session.getStderr());
+			CountingInputStream in = new CountingInputStream(new BufferedInputStream(session.getStdout(), bufferSize));
+			for (Header header; (header = readHeader(in)) != null;) {
+				String name = renamer==null? header.name:renamer.rename(header.name);
+				if (name==null) {skip(in, header.size); continue;}
+				File file = new File(localDir, name);
+				file.getParentFile().mkdirs();
+				OutputStream out = new BufferedOutputStream(new FileOutputStream(file), bufferSize);
+				try {
+					copy(in, out, header.size);
+				} finally {
+					out.close();
+				}
+				skipPadding(in, header.size);
+				file.setLastModified(header.mtime*1000);
+				report.files.add(file);
+			}
+			copy(in, null, -1);	// the end of archive blocks and the record padding
+			waitForExit(session, "tar -c of "+source.getHostname()+":"+sourceDir, stderr);
+			report.bytes = in.count;
+		} finally {
+			session.close();
+		}
+		report.millis = System.currentTimeMillis()-start;
+		log.info(report.toString());
+		return report;
+	}
+
+	/**
+	 * Transfer local files to a remote directory.
+	 * @param target - an authenticated ssh connection to the remote host
+	 * @param localFiles
+	 * @param targetDir - remote directory (created when it does not exist)
+	 * @param mode - e.g. "0644"
+	 * @param renamer - renames the file names (not paths) of the localFiles; null to keep the names
+	 * @return the Report whose files are the remote files
+	 * @throws IOException
+	 */
+	public static Report put(Connection target, List<File> localFiles, String targetDir, String mode, Renamer renamer) throws IOException {
+		Report report = new Report("Transferred "+localFiles.size()+" local files to "+target.getHostname()+":"+targetDir);
+		long start = System.currentTimeMillis();
+		int permissions = Integer.parseInt(mode, 8);
+		Session session = target.openSession();
+		try {
+			session.execCommand(getExtractCommand(targetDir));
+			InputStream stdout = new StreamGobbler(session.getStdout());
+			InputStream stderr = new StreamGobbler(session.getStderr());
+			CountingOutputStream out = new CountingOutputStream(new BufferedOutputStream(session.getStdin(), bufferSize));
+			for (File localFile : localFiles) {
+				String name = renamer==null? localFile.getName():renamer.rename(localFile.getName());
+				if (name==null) continue;
+				writeHeader(out, name, permissions, localFile.length(), localFile.lastModified()/1000);
+				InputStream in = new BufferedInputStream(new FileInputStream(localFile), bufferSize);
+				try {
+					copy(in, out, localFile.length());
+				} finally {
+					in.close();
+				}
+				writePadding(out, localFile.length());
+				report.files.add(new File(targetDir, name));
+			}
+			writeEnd(out);
+			out.close();	// sends EOF to tar -x
+			waitForExit(session, "tar -x to "+target.getHostname()+":"+targetDir, stderr);
+			stdout.close();
+			report.bytes = out.count;
+		} finally {
+			session.close();
+		}
+		report.millis = System.currentTimeMillis()-start;
+		log.info(report.toString());
+		return report;
+	}
+
+	/**
+	 * Transfer the files found in a directory on one remote host directly to a directory on another remote host.
+	 * @param source - an authenticated ssh connection to the source host
+	 * @param sourceDir
+	 * @param findArguments - find expression that selects the files in sourceDir (e.g. "-name '*.pem'"); null for all files
+	 * @param target - an authenticated ssh connection to the target host
+	 * @param targetDir - created when it does not exist
+	 * @param mode - e.g. "0644"; null to keep the mode of the source files
+	 * @param renamer - null to keep the names
+	 * @return the Report whose files are the target files
+	 * @throws IOException
+	 */
+	public static Report copy(Connection source, String sourceDir, String findArguments, Connection target, String targetDir, String mode, Renamer renamer) throws IOException {
+		Report report = new Report("Transferred "+source.getHostname()+":"+sourceDir+" to "+target.getHostname()+":"+targetDir);
+		long start = System.currentTimeMillis();
+		Session sourceSession = source.openSession();
+		Session targetSession = null;
+		try {
+			sourceSession.execCommand(getCreateCommand(sourceDir, findArguments));
+			InputStream sourceStderr = new StreamGobbler(sourceSession.getStderr());
+			CountingInputStream in = new CountingInputStream(new BufferedInputStream(sourceSession.getStdout(), bufferSize));
+			targetSession = target.openSession();
+			targetSession.execCommand(getExtractCommand(targetDir));
+			InputStream targetStdout = new StreamGobbler(targetSession.getStdout());
+			InputStream targetStderr = new StreamGobbler(targetSession.getStderr());
+			OutputStream out = new BufferedOutputStream(targetSession.getStdin(), bufferSize);
+			for (Header header; (header = readHeader(in)) != null;) {
+				String name = renamer==null? header.name:renamer.rename(header.name);
+				if (name==null) {skip(in, header.size); continue;}
+				writeHeader(out, name, mode==null? header.mode:Integer.parseInt(mode, 8), header.size, header.mtime);
+				copy(in, out, header.size);
+				skipPadding(in, header.size);
+				writePadding(out, header.size);
+				report.files.add(new File(targetDir, name));
+			}
+			writeEnd(out);
+			out.close();	// sends EOF to tar -x
+			copy(in, null, -1);	// the end of archive blocks and the record padding
+			waitForExit(sourceSession, "tar -c of "+source.getHostname()+":"+sourceDir, sourceStderr);
+			waitForExit(targetSession, "tar -x to "+target.getHostname()+":"+targetDir, targetStderr);
+			targetStdout.close();
+			report.bytes = in.count;
+		} finally {
+			sourceSession.close();
+			if (targetSession!=null) targetSession.close();
+		}
+		report.millis = System.currentTimeMillis()-start;
+		log.info(report.toString());
+		return report;
+	}
+
+
+
+	// protected methods ************************************************************
+
+	protected static String getCreateCommand(String sourceDir, String findArguments) {
+		// %P is the path relative to sourceDir; --no-recursion since find already selected the files
+		return "cd "+sourceDir+" && find . -type f "+(findArguments==null? "":findArguments+" ")+"-printf '%P\\n' | tar -cf - --no-recursion -T -";
+	}
+
+	protected static String getExtractCommand(String targetDir) {
+		return "mkdir -p "+targetDir+" && tar -C "+targetDir+" -xf - --no-same-owner";
+	}
+
+	protected static void waitForExit(Session session, String description, InputStream stderr) throws IOException {
+		int conditions = session.waitForCondition(ChannelCondition.EXIT_STATUS, timeoutMillis);
+		if ((conditions & ChannelCondition.TIMEOUT) != 0) throw new IOException("Timed out after "+timeoutMillis+" milliseconds waiting for "+description);
+		Integer exitCode = session.getExitStatus();
+		if (exitCode==null || exitCode!=0) {
+			ByteArrayOutputStream error = new ByteArrayOutputStream();
+			copy(stderr, error, -1);
+			throw new IOException("Failed "+description+" (exit code "+exitCode+"): "+error.toString().trim());
+		}
+		stderr.close();
+	}
+
+	protected static class Header {
+		String name;
+		int mode;
+		long size;
+		long mtime;
+	}
+
+	/**
+	 * @return the header of the next regular file in the tar stream or null at the end of the archive
+	 */
+	protected static Header readHeader(InputStream in) throws IOException {
+		byte[] block = new byte[blockSize];
+		String longName = null;
+		while (true) {
+			if (!readBlock(in, block)) return null;
+			if (isZero(block)) return null;	// end of archive
+			char type = (char)block[156];
+			long size = parseOctal(block, 124, 12);
+			if (type=='L') {	// GNU long name of the next entry
+				ByteArrayOutputStream name = new ByteArrayOutputStream();
+				copy(in, name, size);
+				skipPadding(in, size);
+				longName = name.toString("UTF-8").replaceAll("\0+$", "");
+				continue;
+			}
+			if (type!='0' && type!='\0') {	// only regular files are transferred (skip directories, links, pax headers, ...)
+				skip(in, size);
+				longName = null;
+				continue;
+			}
+			Header header = new Header();
+			header.name = longName;
+			if (header.name==null) {
+				header.name = parseString(block, 0, 100);
+				String prefix = new String(block, 257, 5, "US-ASCII").equals("ustar")? parseString(block, 345, 155):"";
+				if (!prefix.isEmpty()) header.name = prefix+"/"+header.name;
+			}
+			header.mode = (int)parseOctal(block, 100, 8);
+			header.size = size;
+			header.mtime = parseOctal(block, 136, 12);
+			return header;
+		}
+	}
+
+	protected static void writeHeader(OutputStream out, String name, int mode, long size, long mtime) throws IOException {
+		byte[] nameBytes = name.getBytes("UTF-8");
+		if (nameBytes.length>100) {	// GNU long name entry
+			byte[] longName = new byte[nameBytes.length+1];
+			System.arraycopy(nameBytes, 0, longName, 0, nameBytes.length);
+			out.write(createHeader("././@LongLink".getBytes("US-ASCII"), 'L', 0644, longName.length, 0));
+			out.write(longName);
+			writePadding(out, longName.length);
+		}
+		out.write(createHeader(nameBytes, '0', mode, size, mtime));
+	}
+
+	protected static byte[] createHeader(byte[] name, char type, int mode, long size, long mtime) throws IOException {
+		byte[] block = new byte[blockSize];
+		System.arraycopy(name, 0, block, 0, Math.min(name.length, 100));
+		putString(block, 100, String.format("%07o", mode));
+		putString(block, 108, "0000000");	// uid
+		putString(block, 116, "0000000");	// gid
+		putString(block, 124, String.format("%011o", size));
+		putString(block, 136, String.format("%011o", mtime));
+		putString(block, 148, "        ");	// checksum is computed with spaces in its place
+		block[156] = (byte)type;
+		putString(block, 257, "ustar");
+		putString(block, 263, "00");
+		putString(block, 265, "root");	// uname
+		putString(block, 297, "root");	// gname
+		long checksum = 0;
+		for (byte b : block) checksum += b & 0xff;
+		putString(block, 148, String.format("%06o", checksum));
+		block[154] = 0;
+		block[155] = ' ';
+		return block;
+	}
+
+	protected static void writeEnd(OutputStream out) throws IOException {
+		out.write(new byte[2*blockSize]);
+	}
+
+	protected static void writePadding(OutputStream out, long size) throws IOException {
+		int padding = (int)((blockSize-size%blockSize)%blockSize);
+		if (padding>0) out.write(new byte[padding]);
+	}
+
+	protected static void skipPadding(InputStream in, long size) throws IOException {
+		skip(in, (blockSize-size%blockSize)%blockSize);
+	}
+
+	protected static void skip(InputStream in, long size) throws IOException {
+		copy(in, null, size);
+	}
+
+	/**
+	 * Copy exactly size bytes (all of the bytes when size is negative) from in to out (discard them when out is null).
+	 */
+	protected static void copy(InputStream in, OutputStream out, long size) throws IOException {
+		byte[] buffer = new byte[bufferSize];
+		long remaining = size;
+		while (size<0 || remaining>0) {
+			int n = in.read(buffer, 0, size<0? buffer.length:(int)Math.min(buffer.length, remaining));
+			if (n==-1) {
+				if (size<0) return;
+				throw new EOFException("Unexpected end of tar stream with "+remaining+" bytes remaining.");
+			}
+			if (out!=null) out.write(buffer, 0, n);
+			remaining -= n;
+		}
+	}
+
+	protected static boolean readBlock(InputStream in, byte[] block) throws IOException {
+		int read = 0;
+		while (read<block.length) {
+			int n = in.read(block, read, block.length-read);
+			if (n==-1) {
+				if (read==0) return false;
+				throw new EOFException("Unexpected end of tar stream in a header.");
+			}
+			read += n;
+		}
+		return true;
+	}
+
+	protected static boolean isZero(byte[] block) {
+		for (byte b : block) if (b!=0) return false;
+		return true;
+	}
+
+	protected static String parseString(byte[] block, int offset, int length) throws IOException {
+		int end = offset;
+		while (end<offset+length && block[end]!=0) end++;
+		return new String(block, offset, end-offset, "UTF-8");
+	}
+
+	protected static long parseOctal(byte[] block, int offset, int length) throws IOException {
+		String octal = parseString(block, offset, length).trim();
+		return octal.isEmpty()? 0:Long.parseLong(octal, 8);
+	}
+
+	protected static void putString(byte[] block, int offset, String string) throws IOException {
+		byte[] bytes = string.getBytes("US-ASCII");
+		System.arraycopy(bytes, 0, block, offset, bytes.length);
+	}
+
+	protected static class CountingInputStream extends FilterInputStream {
+		long count = 0;
+		CountingInputStream(InputStream in) {
+			super(in);
+		}
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b!=-1) count++;
+			return b;
+		}
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n>0) count += n;
+			return n;
+		}
+	}
+
+	protected static class CountingOutputStream extends FilterOutputStream {
+		long count = 0;
+		CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+	}
+}
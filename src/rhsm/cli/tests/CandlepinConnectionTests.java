@@ -0,0 +1,100 @@
+package rhsm.cli.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.json.JSONArray;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import com.redhat.qe.Assert;
+import rhsm.base.SubscriptionManagerCLITestScript;
+import rhsm.cli.tasks.CandlepinTasks;
+
+/**
+ * Tests of the pooled keep-alive HTTP connections that CandlepinTasks shares across all REST calls.
+ * @author agent
+ *
+ */
+@Test(groups={"CandlepinConnectionTests"})
+public class CandlepinConnectionTests extends SubscriptionManagerCLITestScript {
+
+
+	// Test Methods ***********************************************************************
+
+	@Test(	description="verify that interleaved REST calls with different credentials over the pooled candlepin connections never authenticate with each other's credentials",
+			groups={},
+			enabled=true)
+	public void PooledConnectionsDoNotShareCredentials_Test() throws Exception {
+		final String path = "/users/"+sm_clientUsername+"/owners";
+		final String wrongPassword = sm_clientPassword+"-wrong";
+
+		// confirm the resource requires authentication before relying on it
+		Assert.assertTrue(isAuthorized(sm_clientUsername, sm_clientPassword, path), "User '"+sm_clientUsername+"' is authorized to GET '"+path+"'.");
+		Assert.assertTrue(!isAuthorized(sm_clientUsername, wrongPassword, path), "User '"+sm_clientUsername+"' with a wrong password is not authorized to GET '"+path+"'.");
+
+		// serially alternate credentials so that each request is likely to reuse the connection released by the request before it
+		for (int i=0; i<5; i++) {
+			Assert.assertTrue(isAuthorized(sm_clientUsername, sm_clientPassword, path), "Round "+i+": user '"+sm_clientUsername+"' is authorized to GET '"+path+"'.");
+			Assert.assertTrue(!isAuthorized(sm_clientUsername, wrongPassword, path), "Round "+i+": a request with a wrong password after an authorized request on the pooled connections is not authorized.");
+			Assert.assertTrue(isAuthorized(sm_clientUsername, sm_clientPassword, path), "Round "+i+": user '"+sm_clientUsername+"' is authorized again after a request with a wrong password.");
+			Assert.assertTrue(!isAuthorized("", "", path), "Round "+i+": a request without credentials after an authorized request on the pooled connections is not authorized.");
+		}
+
+		// concurrently interleave the same credentials so that the requests are spread across several pooled connections
+		ExecutorService executor = Executors.newFixedThreadPool(6);
+		List<Future<Boolean>> authorizedFutures = new ArrayList<Future<Boolean>>();
+		List<Future<Boolean>> unauthorizedFutures = new ArrayList<Future<Boolean>>();
+		try {
+			for (int i=0; i<10; i++) {
+				authorizedFutures.add(executor.submit(new Callable<Boolean>() {
+					public Boolean call() throws Exception {
+						return isAuthorized(sm_clientUsername, sm_clientPassword, path);
+					}
+				}));
+				unauthorizedFutures.add(executor.submit(new Callable<Boolean>() {
+					public Boolean call() throws Exception {
+						return isAuthorized(sm_clientUsername, wrongPassword, path);
+					}
+				}));
+				unauthorizedFutures.add(executor.submit(new Callable<Boolean>() {
+					public Boolean call() throws Exception {
+						return isAuthorized("", "", path);
+					}
+				}));
+			}
+			for (Future<Boolean> future : authorizedFutures) Assert.assertTrue(future.get(), "A concurrent request with the credentials of user '"+sm_clientUsername+"' is authorized.");
+			for (Future<Boolean> future : unauthorizedFutures) Assert.assertTrue(!future.get(), "A concurrent request with a wrong password or without credentials is not authorized.");
+		} finally {
+			executor.shutdownNow();
+		}
+
+		// the requests were served by a bounded pool of reused connections rather than one connection per request
+		int requests = 2+5*4+authorizedFutures.size()+unauthorizedFutures.size();
+		int connectionsInPool = CandlepinTasks.connectionManager.getConnectionsInPool();
+		log.info("After "+requests+" requests, the candlepin connection pool holds "+connectionsInPool+" connections.");
+		Assert.assertTrue(connectionsInPool>0, "The candlepin connection pool holds the connections released by the requests.");
+		Assert.assertTrue(connectionsInPool<requests, "The candlepin connections were reused across the "+requests+" requests ("+connectionsInPool+" connections in the pool).");
+	}
+
+
+
+	// Protected methods ***********************************************************
+
+	/**
+	 * @return true when the GET of path with these credentials succeeds; false when the server responds Unauthorized
+	 */
+	protected boolean isAuthorized(String username, String password, String path) throws Exception {
+		try {
+			new JSONArray(CandlepinTasks.getResourceUsingRESTfulAPI(username, password, sm_serverUrl, path));
+			return true;
+		} catch (SkipException e) {
+			// getResourceUsingRESTfulAPI throws a SkipException when the server responds Unauthorized
+			return false;
+		}
+	}
+}
@@ -424,6 +424,32 @@ public class ConfigTests extends SubscriptionManagerCLITestScript {
 	protected String serverPrefixConfigured = null;
 	
 	
+	@Test(	description="subscription-manager: use config to set a parameter and then remove it; the removal should report the value that was just set as removed",
+			groups={"ConfigSetThenRemoveSectionNameValue_Test"},
+			enabled=true)
+	//@ImplementsNitrateTest(caseId=)
+	public void ConfigSetThenRemoveSectionNameValue_Test() {
+		String section = "server";
+		String name = "proxy_port";
+		String value = "3128";
+		serverProxyPortConfigured = clienttasks.getConfFileParameter(clienttasks.rhsmConfFile, section, name);
+		
+		// set the parameter and assert that the contents of the config file (as seen by the config task) include the new value
+		clienttasks.config(null, null, true, new String[]{section, name, value});
+		Assert.assertTrue(Pattern.compile("^"+name+"\\s*[=:]\\s*"+value+"\\s*$", Pattern.MULTILINE).matcher(clienttasks.rhsmConfFileSnapshot.getContents()).find(), "After executing subscription-manager config to set '"+section+"."+name+"', the contents of config file '"+clienttasks.rhsmConfFile+"' include the new value.");
+		
+		// remove the parameter (config(...) asserts that the stdout reports the removal of a value that is set)
+		SSHCommandResult removeResult = clienttasks.config(null, true, null, new String[]{section, name});
+		Assert.assertTrue(removeResult.getStdout().contains(String.format("You have removed the value for section %s and name %s.",section,name)), "The stdout indicates the removal of config parameter name '"+name+"' from section '"+section+"' that was just set.");
+		Assert.assertTrue(!value.equals(clienttasks.getConfFileParameter(clienttasks.rhsmConfFile, section, name)), "After executing subscription-manager config to remove '"+section+"."+name+"', the value that was set is no longer in config file '"+clienttasks.rhsmConfFile+"'.");
+	}
+	@AfterGroups(value={"ConfigSetThenRemoveSectionNameValue_Test"},groups={"setup"})
+	public void afterConfigSetThenRemoveSectionNameValue_Test() {
+		if (serverProxyPortConfigured!=null) clienttasks.config(null,null,true, new String[]{"server","proxy_port",serverProxyPortConfigured});
+	}
+	protected String serverProxyPortConfigured = null;
+	
+	
 	@Test(	description="verify that only the expected configration parameters are present in the rhsm config file; useful for detecting newly added configurations by the subscription-manager developers",
 			groups={},
 			enabled=true)
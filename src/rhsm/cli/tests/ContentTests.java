@@ -34,6 +34,7 @@ import rhsm.data.ContentNamespace;
 import rhsm.data.EntitlementCert;
 import rhsm.data.ProductCert;
 import rhsm.data.ProductSubscription;
+import rhsm.data.ProvidedTagIndex;
 import rhsm.data.SubscriptionPool;
 import rhsm.data.YumRepo;
 import com.redhat.qe.tools.RemoteFileTasks;
@@ -58,7 +59,7 @@ public class ContentTests extends SubscriptionManagerCLITestScript{
 	public void EnableDisableManageReposAndVerifyContentAvailable_Test(SubscriptionPool pool) throws JSONException, Exception {
 
 		// get the currently installed product certs to be used when checking for conditional content tagging
-		List<ProductCert> currentProductCerts = clienttasks.getCurrentProductCerts();
+		ProvidedTagIndex currentProvidedTagIndex = clienttasks.getCurrentProvidedTagIndex();
 
 		log.info("Before beginning this test, we will stop the rhsmcertd so that it does not interfere with this test and make sure we are not subscribed...");
 		clienttasks.stop_rhsmcertd();
@@ -74,10 +75,10 @@ public class ContentTests extends SubscriptionManagerCLITestScript{
 		
 		// 1. Run a 'yum repolist' and get a list of all of the available repositories corresponding to your entitled products
 		// 1. Repolist contains repositories corresponding to your entitled products
-		ArrayList<String> repolist = clienttasks.getYumRepolist("enabled");
+		Set<String> repolist = clienttasks.getYumRepolistAsSet("enabled");
 		for (ContentNamespace contentNamespace : entitlementCert.contentNamespaces) {
 			if (!contentNamespace.type.equalsIgnoreCase("yum")) continue;
-			if (!clienttasks.areAllRequiredTagsInContentNamespaceProvidedByProductCerts(contentNamespace, currentProductCerts)) {
+			if (!currentProvidedTagIndex.areAllRequiredTagsProvided(contentNamespace)) {
 				Assert.assertFalse(repolist.contains(contentNamespace.label),
 					"Yum repolist enabled excludes repo id/label '"+contentNamespace.label+"' after having subscribed to Subscription ProductId '"+entitlementCert.orderNamespace.productId+"' with the manage_repos configuration enabled because not all requiredTags ("+contentNamespace.requiredTags+") in the contentNamespace are provided by the currently installed productCerts.");
 				continue;
@@ -90,10 +91,10 @@ public class ContentTests extends SubscriptionManagerCLITestScript{
 					"Yum repolist enabled excludes disabled repo id/label '"+contentNamespace.label+"' after having subscribed to Subscription ProductId '"+entitlementCert.orderNamespace.productId+"' with manage_repos configuration enabled.");
 			}
 		}
-		repolist = clienttasks.getYumRepolist("disabled");
+		repolist = clienttasks.getYumRepolistAsSet("disabled");
 		for (ContentNamespace contentNamespace : entitlementCert.contentNamespaces) {
 			if (!contentNamespace.type.equalsIgnoreCase("yum")) continue;
-			if (!clienttasks.areAllRequiredTagsInContentNamespaceProvidedByProductCerts(contentNamespace, currentProductCerts)) {
+			if (!currentProvidedTagIndex.areAllRequiredTagsProvided(contentNamespace)) {
 				Assert.assertFalse(repolist.contains(contentNamespace.label),
 					"Yum repolist disabled excludes repo id/label '"+contentNamespace.label+"' after having subscribed to Subscription ProductId '"+entitlementCert.orderNamespace.productId+"' with manage_repos configuration enabled because not all requiredTags ("+contentNamespace.requiredTags+") in the contentNamespace are provided by the currently installed productCerts.");
 				continue;
@@ -106,10 +107,10 @@ public class ContentTests extends SubscriptionManagerCLITestScript{
 					"Yum repolist disabled includes disabled repo id/label '"+contentNamespace.label+"' after having subscribed to Subscription ProductId '"+entitlementCert.orderNamespace.productId+"' with manage_repos configuration enabled.");
 			}
 		}
-		repolist = clienttasks.getYumRepolist("all");
+		repolist = clienttasks.getYumRepolistAsSet("all");
 		for (ContentNamespace contentNamespace : entitlementCert.contentNamespaces) {
 			if (!contentNamespace.type.equalsIgnoreCase("yum")) continue;
-			if (clienttasks.areAllRequiredTagsInContentNamespaceProvidedByProductCerts(contentNamespace, currentProductCerts)) {
+			if (currentProvidedTagIndex.areAllRequiredTagsProvided(contentNamespace)) {
 				Assert.assertTrue(repolist.contains(contentNamespace.label),
 					"Yum repolist all includes repo id/label '"+contentNamespace.label+"' after having subscribed to Subscription ProductId '"+entitlementCert.orderNamespace.productId+"' with manage_repos configuration enabled.");
 			} else {
@@ -121,7 +122,7 @@ public class ContentTests extends SubscriptionManagerCLITestScript{
 		log.info("Unsubscribe from the pool and verify that yum repolist no longer reports the expected repo id/labels...");
 		clienttasks.unsubscribeFromSerialNumber(entitlementCert.serialNumber);
 		
-		repolist = clienttasks.getYumRepolist("all");
+		repolist = clienttasks.getYumRepolistAsSet("all");
 		for (ContentNamespace contentNamespace : entitlementCert.contentNamespaces) {
 			if (!contentNamespace.type.equalsIgnoreCase("yum")) continue;
 			Assert.assertFalse(repolist.contains(contentNamespace.label),
@@ -139,7 +140,7 @@ public class ContentTests extends SubscriptionManagerCLITestScript{
 	
 		// 2. Run a 'yum repolist' and get a list of all of the available repositories corresponding to your entitled products
 		// 2. Repolist does not contain repositories corresponding to your entitled products
-		repolist = clienttasks.getYumRepolist("all");
+		repolist = clienttasks.getYumRepolistAsSet("all");
 		for (ContentNamespace contentNamespace : entitlementCert.contentNamespaces) {
 			if (!contentNamespace.type.equalsIgnoreCase("yum")) continue;
 			Assert.assertFalse(repolist.contains(contentNamespace.label),
@@ -148,10 +149,10 @@ public class ContentTests extends SubscriptionManagerCLITestScript{
 		
 		log.info("Now we will enable manage_repos and expect the repo list to be updated");
 		clienttasks.config(null, null, true, new String[]{"rhsm","manage_repos","1"});
-		repolist = clienttasks.getYumRepolist("all");
+		repolist = clienttasks.getYumRepolistAsSet("all");
 		for (ContentNamespace contentNamespace : entitlementCert.contentNamespaces) {
 			if (!contentNamespace.type.equalsIgnoreCase("yum")) continue;
-			if (clienttasks.areAllRequiredTagsInContentNamespaceProvidedByProductCerts(contentNamespace, currentProductCerts)) {
+			if (currentProvidedTagIndex.areAllRequiredTagsProvided(contentNamespace)) {
 				Assert.assertTrue(repolist.contains(contentNamespace.label),
 					"Yum repolist all now includes repo id/label '"+contentNamespace.label+"' after having subscribed to Subscription ProductId '"+entitlementCert.orderNamespace.productId+"' followed by manage_repos configuration enabled.");
 			} else {
@@ -185,7 +186,7 @@ public class ContentTests extends SubscriptionManagerCLITestScript{
 //	    				"Yum reports enabled content subscribed to repo: " + cert.label);
 //	    }
 		
-		List<ProductCert> currentProductCerts = clienttasks.getCurrentProductCerts();
+		ProvidedTagIndex currentProvidedTagIndex = clienttasks.getCurrentProvidedTagIndex();
 		
 		clienttasks.unregister(null, null, null);
 	    clienttasks.register(sm_clientUsername, sm_clientPassword, sm_clientOrg, null, null, null, null, null, null, null, (String)null, null, null, null, null, false, null, null, null);
@@ -193,12 +194,12 @@ public class ContentTests extends SubscriptionManagerCLITestScript{
 	    	throw new SkipException("No available subscriptions were found.  Therefore we cannot perform this test.");
 	    List<EntitlementCert> entitlementCerts = clienttasks.getCurrentEntitlementCerts();
 	    Assert.assertTrue(!entitlementCerts.isEmpty(),"After subscribing to all available subscription pools, there must be some entitlements."); // or maybe we should skip when nothing is consumed 
-		ArrayList<String> repolist = clienttasks.getYumRepolist("enabled");
+		Set<String> repolist = clienttasks.getYumRepolistAsSet("enabled");
 		for (EntitlementCert entitlementCert : entitlementCerts) {
 			for (ContentNamespace contentNamespace : entitlementCert.contentNamespaces) {
 				if (!contentNamespace.type.equalsIgnoreCase("yum")) continue;
 				if (contentNamespace.enabled) {
-					if (clienttasks.areAllRequiredTagsInContentNamespaceProvidedByProductCerts(contentNamespace, currentProductCerts)) {
+					if (currentProvidedTagIndex.areAllRequiredTagsProvided(contentNamespace)) {
 						Assert.assertTrue(repolist.contains(contentNamespace.label),
 								"Yum repolist enabled includes enabled repo id/label '"+contentNamespace.label+"' after having subscribed to Subscription ProductId '"+entitlementCert.orderNamespace.productId+"'.");
 					} else {
@@ -252,7 +253,7 @@ public class ContentTests extends SubscriptionManagerCLITestScript{
 		//	    1.3.6.1.4.1.2312.9.2.<content_hash>.1.9 (Metadata Expire Seconds): 604800
 		//	    1.3.6.1.4.1.2312.9.2.<content_hash>.1.10 (Required Tags): TAG1,TAG2,TAG3
 		
-		List<ProductCert> currentProductCerts = clienttasks.getCurrentProductCerts();
+		ProvidedTagIndex currentProvidedTagIndex = clienttasks.getCurrentProvidedTagIndex();
 		
 	    clienttasks.register(sm_clientUsername, sm_clientPassword, sm_clientOrg, null, null, null, null, null, null, null, (String)null, null, null, null, true, false, null, null, null);
 	    if (clienttasks.subscribeToTheCurrentlyAvailableSubscriptionPoolsCollectively().size()<=0)
@@ -261,13 +262,13 @@ public class ContentTests extends SubscriptionManagerCLITestScript{
 	    Assert.assertTrue(!entitlementCerts.isEmpty(),"After subscribing to all available subscription pools, there must be some entitlements."); // or maybe we should skip when nothing is consumed 
 
 	    
-	    ArrayList<String> repolist = clienttasks.getYumRepolist("enabled");
+	    Set<String> repolist = clienttasks.getYumRepolistAsSet("enabled");
 	    List<YumRepo> yumRepos = clienttasks.getCurrentlySubscribedYumRepos();
 		for (EntitlementCert entitlementCert : entitlementCerts) {
 			for (ContentNamespace contentNamespace : entitlementCert.contentNamespaces) {
 				if (!contentNamespace.type.equalsIgnoreCase("yum")) continue;
 				if (contentNamespace.enabled) {
-					if (!clienttasks.areAllRequiredTagsInContentNamespaceProvidedByProductCerts(contentNamespace, currentProductCerts)) continue;
+					if (!currentProvidedTagIndex.areAllRequiredTagsProvided(contentNamespace)) continue;
 					YumRepo yumRepo = YumRepo.findFirstInstanceWithMatchingFieldFromList("id"/*label*/, contentNamespace.label, yumRepos);
 					Assert.assertNotNull(yumRepo, "Found the yum repo within '"+clienttasks.redhatRepoFile+"' corresponding to the entitled content namespace label '"+contentNamespace.label+"'.");
 					
@@ -829,9 +830,9 @@ public class ContentTests extends SubscriptionManagerCLITestScript{
 		}
 				
 		// adjust the expectedContentNamespaces for requiredTags that are not provided by the installed productCerts' providedTags before checking the YumRepos
-		List<ProductCert> installedProductCerts = clienttasks.getCurrentProductCerts();
+		ProvidedTagIndex installedProvidedTagIndex = clienttasks.getCurrentProvidedTagIndex();
 		for (ContentNamespace contentNamespace : new HashSet<ContentNamespace>(expectedContentNamespaceSet)) {
-			if (!clienttasks.areAllRequiredTagsProvidedByProductCerts(contentNamespace.requiredTags, installedProductCerts)) {
+			if (!installedProvidedTagIndex.areAllRequiredTagsProvided(contentNamespace.requiredTags)) {
 				log.warning("Entitled contentNamespace label '"+contentNamespace.label+"' defined for arches '"+contentNamespace.arches+"' has requiredTags '"+contentNamespace.requiredTags+"' that are NOT provided by the currently installed product certs.  This expected contentNamespace will be moved to the unexpected list when asserting the YumRepos next.");
 				unexpectedContentNamespaceSet.add(contentNamespace);
 				expectedContentNamespaceSet.remove(contentNamespace);
@@ -839,7 +840,7 @@ public class ContentTests extends SubscriptionManagerCLITestScript{
 		}
 		
 		// YumRepo asserts
-		List<String> actualYumRepoLabels = new ArrayList<String>();
+		Set<String> actualYumRepoLabels = new HashSet<String>();
 		for (YumRepo yumRepo : clienttasks.getCurrentlySubscribedYumRepos()) actualYumRepoLabels.add(yumRepo.id);
 		for (ContentNamespace contentNamespace : expectedContentNamespaceSet) {
 			Assert.assertTrue(actualYumRepoLabels.contains(contentNamespace.label), "As expected, yum repo label '"+contentNamespace.label+"' defined for arches '"+contentNamespace.arches+"' requiredTags '"+contentNamespace.requiredTags+"' is included in "+clienttasks.redhatRepoFile+" after subscribing to '"+pool.subscriptionName+"' on a '"+clienttasks.arch+"' system.");
@@ -1207,7 +1208,7 @@ public class ContentTests extends SubscriptionManagerCLITestScript{
 		if (sm_clientPassword==null) return ll;
 		
 		// get the currently installed product certs to be used when checking for conditional content tagging
-		List<ProductCert> currentProductCerts = clienttasks.getCurrentProductCerts();
+		ProvidedTagIndex currentProvidedTagIndex = clienttasks.getCurrentProvidedTagIndex();
 		
 		// assure we are freshly registered and process all available subscription pools
 		clienttasks.register(sm_clientUsername, sm_clientPassword, sm_clientOrg, null, ConsumerType.system, null, null, null, null, null, (String)null, null, null, null, Boolean.TRUE, false, null, null, null);
@@ -1218,7 +1219,7 @@ public class ContentTests extends SubscriptionManagerCLITestScript{
 			EntitlementCert entitlementCert = clienttasks.getEntitlementCertFromEntitlementCertFile(entitlementCertFile);
 			for (ContentNamespace contentNamespace : entitlementCert.contentNamespaces) {
 				if (!contentNamespace.type.equalsIgnoreCase("yum")) continue;
-				if (contentNamespace.enabled && clienttasks.areAllRequiredTagsInContentNamespaceProvidedByProductCerts(contentNamespace, currentProductCerts)) {
+				if (contentNamespace.enabled && currentProvidedTagIndex.areAllRequiredTagsProvided(contentNamespace)) {
 					String repoLabel = contentNamespace.label;
 					
 					// find an available package that is uniquely provided by repo
@@ -1253,7 +1254,7 @@ public class ContentTests extends SubscriptionManagerCLITestScript{
 		if (sm_clientPassword==null) return ll;
 		
 		// get the currently installed product certs to be used when checking for conditional content tagging
-		List<ProductCert> currentProductCerts = clienttasks.getCurrentProductCerts();
+		ProvidedTagIndex currentProvidedTagIndex = clienttasks.getCurrentProvidedTagIndex();
 		
 		// assure we are freshly registered and process all available subscription pools
 		clienttasks.register(sm_clientUsername, sm_clientPassword, sm_clientOrg, null, ConsumerType.system, null, null, null, null, null, (String)null, null, null, null, Boolean.TRUE, false, null, null, null);
@@ -1264,7 +1265,7 @@ public class ContentTests extends SubscriptionManagerCLITestScript{
 			EntitlementCert entitlementCert = clienttasks.getEntitlementCertFromEntitlementCertFile(entitlementCertFile);
 			for (ContentNamespace contentNamespace : entitlementCert.contentNamespaces) {
 				if (!contentNamespace.type.equalsIgnoreCase("yum")) continue;
-				if (contentNamespace.enabled && clienttasks.areAllRequiredTagsInContentNamespaceProvidedByProductCerts(contentNamespace, currentProductCerts)) {
+				if (contentNamespace.enabled && currentProvidedTagIndex.areAllRequiredTagsProvided(contentNamespace)) {
 					String repoLabel = contentNamespace.label;
 
 					// find first available group provided by this repo
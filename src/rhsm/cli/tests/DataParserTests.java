@@ -0,0 +1,352 @@
+package rhsm.cli.tests;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.redhat.qe.Assert;
+import com.redhat.qe.auto.testng.TestNGUtils;
+import com.redhat.qe.tools.RemoteFileTasks;
+import com.redhat.qe.tools.SSHCommandResult;
+import rhsm.base.SubscriptionManagerCLITestScript;
+import rhsm.data.CertDecoder;
+import rhsm.data.ContentNamespace;
+import rhsm.data.EntitlementCert;
+import rhsm.data.MoFileReader;
+import rhsm.data.PatternRegistry;
+import rhsm.data.ProductNamespace;
+import rhsm.data.SubscriptionPool;
+import rhsm.data.Translation;
+
+/**
+ * Tests of the rhsm.data parsers (and their PatternRegistry) against the checked in samples of command output,
+ * and of the local CertDecoder against rct cat-cert of the checked in certificate PEM files.
+ * These do not depend on the state of the client or the server (the CertDecoder tests only use the client's rct).
+ * @author agent
+ *
+ */
+@Test(groups={"DataParserTests"})
+public class DataParserTests extends SubscriptionManagerCLITestScript {
+
+
+	// Test Methods ***********************************************************************
+
+	@Test(	description="verify the single pass EntitlementCert.parse(rctCatCertOutput) produces the same entitlement certs as the original multi pass regex parser",
+			groups={},
+			enabled=true)
+	public void EntitlementCertParseMatchesRegexParser_Test() {
+		List<EntitlementCert> entitlementCerts = EntitlementCert.parse(rctCatCertSample);
+		List<EntitlementCert> expectedEntitlementCerts = parseEntitlementCertsUsingRegexes(rctCatCertSample);
+
+		Assert.assertEquals(entitlementCerts.size(), expectedEntitlementCerts.size(), "The number of entitlement certs parsed from sample '"+rctCatCertSampleFile+"'.");
+		Assert.assertTrue(entitlementCerts.size()>0, "Parsed at least one entitlement cert from sample '"+rctCatCertSampleFile+"'.");
+		for (int i=0; i<entitlementCerts.size(); i++) {
+			EntitlementCert entitlementCert = entitlementCerts.get(i);
+			EntitlementCert expectedEntitlementCert = expectedEntitlementCerts.get(i);
+			Assert.assertEquals(entitlementCert.toString(), expectedEntitlementCert.toString(), "The fields of entitlement cert "+i+" parsed from sample '"+rctCatCertSampleFile+"'.");
+			Assert.assertEquals(entitlementCert.rawCertificate, expectedEntitlementCert.rawCertificate, "The rawCertificate of entitlement cert "+i+".");
+			Assert.assertEquals(entitlementCert.orderNamespace.toString(), expectedEntitlementCert.orderNamespace.toString(), "The order namespace of entitlement cert "+i+".");
+			Assert.assertEquals(entitlementCert.productNamespaces.toString(), expectedEntitlementCert.productNamespaces.toString(), "The product namespaces of entitlement cert "+i+".");
+			Assert.assertEquals(entitlementCert.contentNamespaces.toString(), expectedEntitlementCert.contentNamespaces.toString(), "The content namespaces of entitlement cert "+i+".");
+			Assert.assertEquals(entitlementCert, expectedEntitlementCert, "Entitlement cert "+i+" equals the entitlement cert parsed using regexes.");
+		}
+	}
+
+	@Test(	description="benchmark the single pass EntitlementCert.parse(rctCatCertOutput) against the original multi pass regex parser",
+			groups={},
+			dependsOnMethods={"EntitlementCertParseMatchesRegexParser_Test"},
+			enabled=true)
+	public void EntitlementCertParseBenchmark_Test() {
+		StringBuilder rawCertificates = new StringBuilder();
+		for (int i=0; i<benchmarkRepetitions; i++) rawCertificates.append(rctCatCertSample);
+		int expectedSize = EntitlementCert.parse(rctCatCertSample).size()*benchmarkRepetitions;
+
+		long start = System.currentTimeMillis();
+		List<EntitlementCert> expectedEntitlementCerts = parseEntitlementCertsUsingRegexes(rawCertificates.toString());
+		long regexMillis = System.currentTimeMillis()-start;
+		start = System.currentTimeMillis();
+		List<EntitlementCert> entitlementCerts = EntitlementCert.parse(rawCertificates.toString());
+		long parseMillis = System.currentTimeMillis()-start;
+
+		log.info(String.format("Parsed %d entitlement certs in %d ms using EntitlementCert.parse(...) versus %d ms using the regex parser.", entitlementCerts.size(), parseMillis, regexMillis));
+		Assert.assertEquals(entitlementCerts.size(), expectedSize, "The number of entitlement certs parsed by EntitlementCert.parse(...).");
+		Assert.assertEquals(expectedEntitlementCerts.size(), expectedSize, "The number of entitlement certs parsed by the regex parser.");
+	}
+
+	@Test(	description="verify PatternRegistry.getFieldPatterns(...) compiles the regexes of a parser once and reuses the same Patterns on later lookups",
+			groups={},
+			enabled=true)
+	public void PatternRegistryReusesFieldPatterns_Test() {
+		Map<String,Pattern> fieldPatterns = PatternRegistry.getFieldPatterns(DataParserTests.class, "PatternRegistryReusesFieldPatterns_Test", getSampleRegexes("Name"));
+		Assert.assertEquals(fieldPatterns.keySet(), getSampleRegexes("Name").keySet(), "The fields of the registered Patterns.");
+		Assert.assertEquals(fieldPatterns.get("name").pattern(), getSampleRegexes("Name").get("name"), "The registered Pattern for field 'name' was compiled from its regex.");
+		Assert.assertEquals(fieldPatterns.get("name").flags(), Pattern.MULTILINE, "The registered Pattern for field 'name' was compiled with Pattern.MULTILINE.");
+		Assert.assertTrue(fieldPatterns.get("name").matcher("Product:\n\tName: Awesome OS\n").find(), "The registered Pattern for field 'name' matches.");
+
+		// a later lookup by the same parser returns the same Patterns without reading (or comparing) its regexes
+		Assert.assertTrue(PatternRegistry.getFieldPatterns(DataParserTests.class, "PatternRegistryReusesFieldPatterns_Test", getSampleRegexes("Name"))==fieldPatterns, "A second lookup of the same parser returns the same map of Patterns.");
+
+		// a different parser in the same class gets its own Patterns
+		Map<String,Pattern> otherFieldPatterns = PatternRegistry.getFieldPatterns(DataParserTests.class, "PatternRegistryReusesFieldPatterns_Test:other", getSampleRegexes("Label"));
+		Assert.assertTrue(otherFieldPatterns!=fieldPatterns, "A different parser in the same class gets a different map of Patterns.");
+		Assert.assertEquals(otherFieldPatterns.get("name").pattern(), getSampleRegexes("Label").get("name"), "The Pattern registered for the other parser was compiled from its own regex.");
+
+		// the same parser name in a different class gets its own Patterns
+		Assert.assertTrue(PatternRegistry.getFieldPatterns(EntitlementCert.class, "PatternRegistryReusesFieldPatterns_Test", getSampleRegexes("Label"))!=fieldPatterns, "The same parser name in a different class gets a different map of Patterns.");
+	}
+
+	@Test(	description="benchmark a PatternRegistry.getFieldPatterns(...) lookup against compiling the regexes of a parser on every call",
+			groups={},
+			dependsOnMethods={"PatternRegistryReusesFieldPatterns_Test"},
+			enabled=true)
+	public void PatternRegistryBenchmark_Test() {
+		Map<String,String> regexes = getSampleRegexes("Name");
+		int lookups = 100000;
+
+		long start = System.currentTimeMillis();
+		for (int i=0; i<lookups; i++) {
+			for (String field : regexes.keySet()) Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+		}
+		long compileMillis = System.currentTimeMillis()-start;
+		start = System.currentTimeMillis();
+		Map<String,Pattern> fieldPatterns = null;
+		for (int i=0; i<lookups; i++) {
+			fieldPatterns = PatternRegistry.getFieldPatterns(DataParserTests.class, "PatternRegistryBenchmark_Test", regexes);
+		}
+		long lookupMillis = System.currentTimeMillis()-start;
+
+		log.info(String.format("Looked up the %d Patterns of a parser %d times in %d ms using PatternRegistry versus %d ms compiling them on every call.", regexes.size(), lookups, lookupMillis, compileMillis));
+		Assert.assertEquals(fieldPatterns.size(), regexes.size(), "The number of Patterns looked up from PatternRegistry.");
+	}
+	
+	
+	@Test(	description="benchmark SubscriptionPool.parse of a list --available listing of 2,000 pools against the cost of compiling its field Patterns on every call (as it did before PatternRegistry); timings are only logged",
+			groups={},
+			enabled=true)
+	public void SubscriptionPoolParseBenchmark_Test() {
+		String listing = getAvailableSubscriptionsListing(subscriptionPoolBenchmarkPools);
+		List<SubscriptionPool> subscriptionPools = SubscriptionPool.parse(listing);	// also registers the field Patterns of SubscriptionPool.parse
+		Assert.assertEquals(subscriptionPools.size(), subscriptionPoolBenchmarkPools, "The number of SubscriptionPools parsed from a generated listing of available subscriptions.");
+		Map<String,Pattern> fieldPatterns = PatternRegistry.getFieldPatterns(SubscriptionPool.class, "parse", null);
+		
+		long start = System.currentTimeMillis();
+		for (int i=0; i<subscriptionPoolBenchmarkRepetitions; i++) SubscriptionPool.parse(listing);
+		long parseMillis = System.currentTimeMillis()-start;
+		start = System.nanoTime();
+		for (int i=0; i<subscriptionPoolBenchmarkRepetitions; i++) {
+			for (Pattern pattern : fieldPatterns.values()) Pattern.compile(pattern.pattern(), pattern.flags());
+		}
+		long compileMicros = (System.nanoTime()-start)/1000;
+		
+		log.info(String.format("SubscriptionPool.parse of %d pools took %.1f ms per call using PatternRegistry; compiling its %d field Patterns on every call would add %.1f us per call.", subscriptionPoolBenchmarkPools, (double)parseMillis/subscriptionPoolBenchmarkRepetitions, fieldPatterns.size(), (double)compileMicros/subscriptionPoolBenchmarkRepetitions));
+	}
+
+
+	@Test(	description="verify CertDecoder (sm.client.certDecoder=java) renders a checked in entitlement cert PEM file into the same fields that rct cat-cert of the same file on the client prints",
+			groups={},
+			dataProvider="getEntitlementCertPemFileData",
+			enabled=true)
+	public void CertDecoderMatchesRctCatCert_Test(File pemFile) throws Exception {
+		if (client==null) throw new SkipException("This test needs a client with rct to decode '"+pemFile+"'.");
+		String remoteFile = "/tmp/"+pemFile.getName();
+		RemoteFileTasks.putFile(client.getConnection(), pemFile.getPath(), "/tmp/", "0644");
+		SSHCommandResult result = client.runCommandAndWait("rct cat-cert "+remoteFile);
+		Assert.assertEquals(result.getExitCode(), Integer.valueOf(0), "The exit code from rct cat-cert "+remoteFile);
+		
+		List<EntitlementCert> expectedEntitlementCerts = EntitlementCert.parse(result.getStdout());
+		List<EntitlementCert> entitlementCerts = EntitlementCert.parse(CertDecoder.catCert(readFile(pemFile), remoteFile, "Entitlement Certificate"));
+		Assert.assertEquals(expectedEntitlementCerts.size(), 1, "The number of entitlement certs parsed from rct cat-cert "+remoteFile);
+		Assert.assertEquals(entitlementCerts.size(), 1, "The number of entitlement certs parsed from CertDecoder.catCert of '"+pemFile+"'.");
+		EntitlementCert entitlementCert = entitlementCerts.get(0);
+		EntitlementCert expectedEntitlementCert = expectedEntitlementCerts.get(0);
+		
+		// compare field by field so that a mismatch names the field
+		Assert.assertEquals(entitlementCert.toString(), expectedEntitlementCert.toString(), "The certificate fields decoded from '"+pemFile+"'.");
+		Assert.assertEquals(String.valueOf(entitlementCert.orderNamespace), String.valueOf(expectedEntitlementCert.orderNamespace), "The order namespace decoded from '"+pemFile+"'.");
+		Assert.assertEquals(entitlementCert.productNamespaces.size(), expectedEntitlementCert.productNamespaces.size(), "The number of product namespaces decoded from '"+pemFile+"'.");
+		for (ProductNamespace expectedProductNamespace : expectedEntitlementCert.productNamespaces) {
+			ProductNamespace productNamespace = null;
+			for (ProductNamespace p : entitlementCert.productNamespaces) if (p.id.equals(expectedProductNamespace.id)) productNamespace = p;
+			Assert.assertEquals(String.valueOf(productNamespace), String.valueOf(expectedProductNamespace), "The product namespace '"+expectedProductNamespace.id+"' decoded from '"+pemFile+"'.");
+		}
+		Assert.assertEquals(entitlementCert.contentNamespaces.size(), expectedEntitlementCert.contentNamespaces.size(), "The number of content namespaces decoded from '"+pemFile+"'.");
+		for (ContentNamespace expectedContentNamespace : expectedEntitlementCert.contentNamespaces) {
+			ContentNamespace contentNamespace = null;
+			for (ContentNamespace c : entitlementCert.contentNamespaces) if (c.label.equals(expectedContentNamespace.label)) contentNamespace = c;
+			Assert.assertEquals(String.valueOf(contentNamespace), String.valueOf(expectedContentNamespace), "The content namespace '"+expectedContentNamespace.label+"' decoded from '"+pemFile+"'.");
+		}
+		Assert.assertEquals(CertDecoder.describe(entitlementCert), CertDecoder.describe(expectedEntitlementCert), "Everything CertDecoder decoded from '"+pemFile+"' matches rct cat-cert.");
+	}
+	
+	
+	@Test(	description="verify MoFileReader decodes the checked in .mo sample into the same msgids and msgstrs that Translation.parse(...) gets from the msgunfmt output of the same catalog, plus the msgctxt, msgid_plural and plural msgstrs",
+			groups={},
+			enabled=true)
+	public void MoFileReaderMatchesMsgunfmtParse_Test() throws IOException {
+		List<Translation> translations = MoFileReader.read(moSampleFile);
+		List<Translation> expectedTranslations = Translation.parse(readFile(msgunfmtSampleFile));
+		Assert.assertEquals(translations.size(), expectedTranslations.size(), "The number of translations read from '"+moSampleFile+"'.");
+		
+		// msgunfmt writes the entries in the order of the catalog
+		for (int i=0; i<translations.size(); i++) {
+			Translation translation = translations.get(i);
+			Translation expectedTranslation = expectedTranslations.get(i);
+			Assert.assertEquals(translation.msgid, expectedTranslation.msgid, "The msgid of translation "+i+" read from '"+moSampleFile+"'.");
+			Assert.assertEquals(translation.msgstr, expectedTranslation.msgstr, "The msgstr of translation "+i+" ("+expectedTranslation.msgid+") read from '"+moSampleFile+"'.");
+		}
+		
+		// the fields that Translation.parse(...) does not decode
+		Translation pluralTranslation = null, contextTranslation = null;
+		for (Translation translation : translations) {
+			if (translation.msgid_plural!=null) pluralTranslation = translation;
+			if (translation.msgctxt!=null) contextTranslation = translation;
+		}
+		Assert.assertNotNull(pluralTranslation, "Read a translation with a msgid_plural from '"+moSampleFile+"'.");
+		Assert.assertEquals(pluralTranslation.msgid_plural, "Consumed %s subscriptions", "The msgid_plural of '"+pluralTranslation.msgid+"'.");
+		Assert.assertEquals(pluralTranslation.msgstr_plural, Arrays.asList(new String[]{"%s Subskription verbraucht", "%s Subskriptionen verbraucht"}), "The plural msgstrs of '"+pluralTranslation.msgid+"'.");
+		Assert.assertEquals(pluralTranslation.msgstr, pluralTranslation.msgstr_plural.get(0), "The msgstr of '"+pluralTranslation.msgid+"' is its msgstr[0].");
+		Assert.assertNotNull(contextTranslation, "Read a translation with a msgctxt from '"+moSampleFile+"'.");
+		Assert.assertEquals(contextTranslation.msgctxt, "button", "The msgctxt of '"+contextTranslation.msgid+"'.");
+	}
+	
+	
+	// Configuration methods ***********************************************************
+
+	@BeforeClass(groups={"setup"})
+	public void readSamplesBeforeClass() throws IOException {
+		rctCatCertSample = readFile(rctCatCertSampleFile);
+	}
+
+
+
+	// Protected methods ***********************************************************
+
+	protected File rctCatCertSampleFile = new File(System.getProperty("automation.dir", null)+"/samples/rct-cat-cert-entitlements.txt");
+	protected String rctCatCertSample = null;
+	protected int benchmarkRepetitions = 200;
+
+	protected int subscriptionPoolBenchmarkPools = 2000;
+	protected int subscriptionPoolBenchmarkRepetitions = 10;
+	protected File moSampleFile = new File(System.getProperty("automation.dir", null)+"/samples/msgfmt-de.mo");
+	protected File msgunfmtSampleFile = new File(System.getProperty("automation.dir", null)+"/samples/msgunfmt-de.txt");	// msgunfmt output of moSampleFile
+	protected File pemFilesDir = new File(System.getProperty("automation.dir", null)+"/expiredcerts");
+	
+	protected String readFile(File file) throws IOException {
+		Reader reader = new InputStreamReader(new FileInputStream(file), "UTF-8");
+		StringBuilder string = new StringBuilder();
+		char[] buffer = new char[4096];
+		for (int n; (n = reader.read(buffer)) != -1;) string.append(buffer, 0, n);
+		reader.close();
+		return string.toString();
+	}
+
+	/**
+	 * @param pools
+	 * @return stdout of subscription-manager list --available listing the given number of distinct pools
+	 */
+	protected String getAvailableSubscriptionsListing(int pools) {
+		StringBuilder listing = new StringBuilder();
+		listing.append("+-------------------------------------------+\n    Available Subscriptions\n+-------------------------------------------+\n");
+		for (int i=0; i<pools; i++) {
+			listing.append("Subscription Name: Awesome OS with up to "+i+" virtual guests\n");
+			listing.append("Provides:          Awesome OS Server Bits\n");
+			listing.append("                   Awesome OS Modifier Bits\n");
+			listing.append("SKU:               awesomeos-virt-"+i+"\n");
+			listing.append("Contract:          "+i+"\n");
+			listing.append(String.format("Pool ID:           8a90874042fc428e%016x\n", i));
+			listing.append("Available:         5\n");
+			listing.append("Suggested:         1\n");
+			listing.append("Service Level:     Standard\n");
+			listing.append("Service Type:      L1-L3\n");
+			listing.append("Subscription Type: Multi-Entitleable\n");
+			listing.append("Ends:              12/15/2014\n");
+			listing.append("System Type:       Physical\n");
+			listing.append("\n");
+		}
+		return listing.toString();
+	}
+
+	protected Map<String,String> getSampleRegexes(String nameLabel) {
+		Map<String,String> regexes = new HashMap<String,String>();
+		regexes.put("name",		"^\\s+"+nameLabel+": (.+)");
+		regexes.put("version",	"^\\s+Version: (.+)");
+		regexes.put("arch",		"^\\s+Arch: (.+)");
+		regexes.put("tags",		"^\\s+Tags: (.*)");
+		return regexes;
+	}
+
+	/**
+	 * The original parser of rct cat-cert stdout that EntitlementCert.parse(String) replaced.  It rescans
+	 * each rawCertificate once per field and then again within OrderNamespace.parse, ProductNamespace.parse,
+	 * and ContentNamespace.parse (by way of the EntitlementCert(rawCertificate, certData) constructor).
+	 * Kept here only as the reference for EntitlementCertParseMatchesRegexParser_Test.
+	 * @param rawCertificates - stdout from: # find /etc/pki/entitlement/ -regex "/.+/[0-9]+.pem" -exec rct cat-cert {} \;
+	 * @return
+	 */
+	protected List<EntitlementCert> parseEntitlementCertsUsingRegexes(String rawCertificates) {
+		Map<String,String> regexes = new HashMap<String,String>();
+
+		// abstraction field				regex pattern (with a capturing group) Note: the captured group will be trim()ed
+		regexes.put("id",					"Subject:(?:(?:\\n.+)+)CN: (.+)");
+		regexes.put("issuer",				"Issuer:(?:(?:\\n.+)+)CN: (.+)");
+		regexes.put("serialString",			"Certificate:(?:(?:\\n.+)+)Serial: (.+)");
+		regexes.put("validityNotBefore",	"Certificate:(?:(?:\\n.+)+)Start Date: (.+)");
+		regexes.put("validityNotAfter",		"Certificate:(?:(?:\\n.+)+)End Date: (.+)");
+		regexes.put("file",					"Certificate:(?:(?:\\n.+)+)Path: (.+)");
+		regexes.put("version",				"Certificate:(?:(?:\\n.+)+)Version: (.+)");
+
+		// split the rawCertificates process each individual rawCertificate
+		String rawCertificateRegex = "\\+-+\\+\\n\\s+Entitlement Certificate\\n\\+-+\\+";
+		List<EntitlementCert> entitlementCerts = new ArrayList<EntitlementCert>();
+		for (String rawCertificate : rawCertificates.split(rawCertificateRegex)) {
+
+			// strip leading and trailing blank lines and skip blank rawCertificates
+			rawCertificate = rawCertificate.replaceAll("^\\n*","").replaceAll("\\n*$", "");
+			if (rawCertificate.length()==0) continue;
+
+			Map<String,String> certData = new HashMap<String,String>();
+			for (String field : regexes.keySet()) {
+				Matcher matcher = Pattern.compile(regexes.get(field), Pattern.MULTILINE).matcher(rawCertificate);
+				if (matcher.find()) certData.put(field, matcher.group(1).trim());
+			}
+			Assert.assertTrue(!certData.isEmpty(), "Parsed a group of certificate data from:\n"+rawCertificate);
+
+			// create a new EntitlementCert
+			entitlementCerts.add(new EntitlementCert(rawCertificate, certData));
+		}
+		return entitlementCerts;
+	}
+
+	
+	
+	// Data Providers ***********************************************************************
+	
+	@DataProvider(name="getEntitlementCertPemFileData")
+	public Object[][] getEntitlementCertPemFileDataAs2dArray() {
+		return TestNGUtils.convertListOfListsTo2dArray(getEntitlementCertPemFileDataAsListOfLists());
+	}
+	/**
+	 * @return List of [File pemFile] for each checked in entitlement cert (a v1 and two v3 certs)
+	 */
+	protected List<List<Object>> getEntitlementCertPemFileDataAsListOfLists() {
+		List<List<Object>> ll = new ArrayList<List<Object>>();
+		for (String name : new String[]{"Expiredcert.pem", "CertV3.pem", "certv3.pem"}) {
+			ll.add(Arrays.asList(new Object[]{new File(pemFilesDir, name)}));
+		}
+		return ll;
+	}
+}
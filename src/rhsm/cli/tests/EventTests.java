@@ -18,18 +18,18 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import com.redhat.qe.Assert;
-import com.redhat.qe.auto.bugzilla.BzChecker;
+import rhsm.base.BugzillaStateCache;
 import com.redhat.qe.auto.tcms.ImplementsNitrateTest;
 import rhsm.base.ConsumerType;
 import rhsm.base.SubscriptionManagerBaseTestScript;
 import rhsm.base.SubscriptionManagerCLITestScript;
 import rhsm.cli.tasks.CandlepinTasks;
+import rhsm.cli.tasks.EventFeedCursor;
 import rhsm.data.ConsumerCert;
 import rhsm.data.EntitlementCert;
 import rhsm.data.ProductSubscription;
 import rhsm.data.SubscriptionPool;
 import com.redhat.qe.tools.SSHCommandResult;
-import com.sun.syndication.feed.synd.SyndEntryImpl;
 import com.sun.syndication.feed.synd.SyndFeed;
 import com.sun.syndication.io.FeedException;
 
@@ -125,8 +125,8 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		
 		// get the owner and consumer feeds before we test the firing of a new event
 		String ownerKey = sm_clientOrg;
-		SyndFeed oldFeed = CandlepinTasks.getSyndFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
-        SyndFeed oldOwnerFeed = CandlepinTasks.getSyndFeedForOwner(ownerKey,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor oldFeed = EventFeedCursor.forFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+        EventFeedCursor oldOwnerFeed = EventFeedCursor.forOwner(ownerKey,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
  
         // fire a register event
 		clienttasks.register(sm_clientUsername,sm_clientPassword,ownerKey,null,null,null,null, null, null, null, (String)null, null, null, null, null, null, null, null, null);
@@ -135,7 +135,7 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		// TEMPORARY WORKAROUND FOR BUG: https://bugzilla.redhat.com/show_bug.cgi?id=721136 - jsefler 07/14/2011
 		boolean invokeWorkaroundWhileBugIsOpen = true;
 		String bugId="721136"; 
-		try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			newEventTitles = new String[]{sm_clientUsername+" created new consumer "+clienttasks.hostname};
 		}
@@ -169,9 +169,9 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 
 		// get the owner and consumer feeds before we test the firing of a new event
 		String ownerKey = CandlepinTasks.getOwnerKeyOfConsumerId(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,consumerCert.consumerid);
-        SyndFeed oldFeed = CandlepinTasks.getSyndFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
-		SyndFeed oldOwnerFeed = CandlepinTasks.getSyndFeedForOwner(ownerKey,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
-        SyndFeed oldConsumerFeed = CandlepinTasks.getSyndFeedForConsumer(/*ownerKey,*/consumerCert.consumerid,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+        EventFeedCursor oldFeed = EventFeedCursor.forFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor oldOwnerFeed = EventFeedCursor.forOwner(ownerKey,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+        EventFeedCursor oldConsumerFeed = EventFeedCursor.forConsumer(/*ownerKey,*/consumerCert.consumerid,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
  
         // fire a subscribe event
 		//SubscriptionPool pool = pools.get(0); // pick the first pool
@@ -187,7 +187,7 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		// TEMPORARY WORKAROUND FOR BUG
 		boolean invokeWorkaroundWhileBugIsOpen = false;	// Status: 	CLOSED CURRENTRELEASE
 		String bugId="721136"; // jsefler 07/14/2011 Bug 721136 - the content of the atom feeds has the same value for title and description
-		try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			newEventTitles.clear(); newEventTitles.add(clienttasks.hostname+" consumed a subscription for product "+testPool.subscriptionName);
 		}
@@ -236,9 +236,9 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		EntitlementCert originalEntitlementCert = clienttasks.getEntitlementCertCorrespondingToProductSubscription(originalConsumedProductSubscription);
 		originalStartDate = (Calendar) originalEntitlementCert.validityNotBefore.clone();
 		
-        SyndFeed oldFeed = CandlepinTasks.getSyndFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
-		SyndFeed oldOwnerFeed = CandlepinTasks.getSyndFeedForOwner(ownerKey,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
-        SyndFeed oldConsumerFeed = CandlepinTasks.getSyndFeedForConsumer(/*ownerKey,*/consumerCert.consumerid,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+        EventFeedCursor oldFeed = EventFeedCursor.forFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor oldOwnerFeed = EventFeedCursor.forOwner(ownerKey,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+        EventFeedCursor oldConsumerFeed = EventFeedCursor.forConsumer(/*ownerKey,*/consumerCert.consumerid,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
         
 		// fire an modified pool event (and subsequently a modified entitlement event because the pool was modified thereby requiring an entitlement update dropped to the consumer)
 		log.info("To fire a modified pool event (and subsequently a modified entitlement event because the pool is already subscribed too), we will modify pool '"+testPool.poolId+"' by subtracting one month from startdate...");
@@ -283,7 +283,7 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		// TEMPORARY WORKAROUND FOR BUG	
 		boolean invokeWorkaroundWhileBugIsOpen = true;
 		Calendar now = Calendar.getInstance();
-		try {String bugId = "883486"; if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {String bugId = "883486"; if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			log.warning("The workaround while this bug is open is to compensate the expected consumed product subscription start date for daylight savings.");
 			// adjust the expected entitlement dates for daylight savings time (changed by https://github.com/candlepin/subscription-manager/pull/385)
@@ -311,9 +311,9 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		// get the owner and consumer feeds before we test the firing of a new event
 		ConsumerCert consumerCert = clienttasks.getCurrentConsumerCert();
 		String ownerKey = CandlepinTasks.getOwnerKeyOfConsumerId(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,consumerCert.consumerid);
-        SyndFeed oldFeed = CandlepinTasks.getSyndFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
-		SyndFeed oldOwnerFeed = CandlepinTasks.getSyndFeedForOwner(ownerKey,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
-        SyndFeed oldConsumerFeed = CandlepinTasks.getSyndFeedForConsumer(/*ownerKey,*/consumerCert.consumerid,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+        EventFeedCursor oldFeed = EventFeedCursor.forFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor oldOwnerFeed = EventFeedCursor.forOwner(ownerKey,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+        EventFeedCursor oldConsumerFeed = EventFeedCursor.forConsumer(/*ownerKey,*/consumerCert.consumerid,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
  
         // fire an unsubscribe event
 		clienttasks.unsubscribeFromAllOfTheCurrentlyConsumedProductSubscriptions();
@@ -322,7 +322,7 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		// TEMPORARY WORKAROUND FOR BUG: https://bugzilla.redhat.com/show_bug.cgi?id=721136 - jsefler 07/14/2011
 		boolean invokeWorkaroundWhileBugIsOpen = true;
 		String bugId="721136"; 
-		try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			newEventTitles = new String[]{clienttasks.hostname+" returned the subscription for "+testPool.subscriptionName};
 		}
@@ -354,9 +354,9 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		// get the owner and consumer feeds before we test the firing of a new event
 		ConsumerCert consumerCert = clienttasks.getCurrentConsumerCert();
 		String ownerKey = CandlepinTasks.getOwnerKeyOfConsumerId(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,consumerCert.consumerid);
-        SyndFeed oldFeed = CandlepinTasks.getSyndFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
-		SyndFeed oldOwnerFeed = CandlepinTasks.getSyndFeedForOwner(ownerKey,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
-        SyndFeed oldConsumerFeed = CandlepinTasks.getSyndFeedForConsumer(/*ownerKey,*/consumerCert.consumerid,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+        EventFeedCursor oldFeed = EventFeedCursor.forFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor oldOwnerFeed = EventFeedCursor.forOwner(ownerKey,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+        EventFeedCursor oldConsumerFeed = EventFeedCursor.forConsumer(/*ownerKey,*/consumerCert.consumerid,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
  
         // fire an facts update event by overriding a fact in /etc/rhsm/facts/event_tests.facts
 		Map<String,String> eventFacts = new HashMap<String,String>();
@@ -387,8 +387,8 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		// get the owner and consumer feeds before we test the firing of a new event
 		ConsumerCert consumerCert = clienttasks.getCurrentConsumerCert();
 		String ownerKey = CandlepinTasks.getOwnerKeyOfConsumerId(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,consumerCert.consumerid);
-		SyndFeed oldFeed = CandlepinTasks.getSyndFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
-        SyndFeed oldOwnerFeed = CandlepinTasks.getSyndFeedForOwner(ownerKey,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor oldFeed = EventFeedCursor.forFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+        EventFeedCursor oldOwnerFeed = EventFeedCursor.forOwner(ownerKey,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
  
         // fire an unregister event
 		clienttasks.unregister(null, null, null);
@@ -411,7 +411,7 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		if (sm_serverAdminUsername.equals("")||sm_serverAdminPassword.equals("")) throw new SkipException("This test requires the candlepin server admin username and password credentials.");
 		
 		// get the owner and consumer feeds before we test the firing of a new event
-		SyndFeed oldFeed = CandlepinTasks.getSyndFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor oldFeed = EventFeedCursor.forFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
  
         // do something that will fire a create owner event
 		testJSONOwner = servertasks.createOwnerUsingCPC(testOwnerKey);
@@ -420,7 +420,7 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		// TEMPORARY WORKAROUND FOR BUG: https://bugzilla.redhat.com/show_bug.cgi?id=721136 - jsefler 07/14/2011
 		boolean invokeWorkaroundWhileBugIsOpen = true;
 		String bugId="721136"; 
-		try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			newEventTitles = new String[]{sm_serverAdminUsername+" created new owner "+testOwnerKey};
 		}
@@ -442,7 +442,7 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		if (server==null) throw new SkipException("This test requires an SSH connection to the candlepin server."); 
 		
 		// get the owner and consumer feeds before we test the firing of a new event
-		SyndFeed oldFeed = CandlepinTasks.getSyndFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor oldFeed = EventFeedCursor.forFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
 
         // do something that will fire a create product event
 		testJSONProduct = servertasks.createProductUsingCPC(testProductId, testProductId+" Test Product");
@@ -465,7 +465,7 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		if (sm_serverAdminUsername.equals("")||sm_serverAdminPassword.equals("")) throw new SkipException("This test requires the candlepin server admin username and password credentials.");
 
 		// get the owner and consumer feeds before we test the firing of a new event
-		SyndFeed oldFeed = CandlepinTasks.getSyndFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor oldFeed = EventFeedCursor.forFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
 
         // do something that will fire a create pool event
 		if (servertasks.branch.equals("ALPHA") || servertasks.branch.equals("BETA") || servertasks.branch.matches("^candlepin-0\\.[012]\\..*$")) {
@@ -482,7 +482,7 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		// TEMPORARY WORKAROUND FOR BUG: https://bugzilla.redhat.com/show_bug.cgi?id=721136 - jsefler 07/14/2011
 		boolean invokeWorkaroundWhileBugIsOpen = true;
 		String bugId="721136"; 
-		try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			newEventTitles = new String[]{"System created a pool for product "+testJSONProduct.getString("name")};
 		}
@@ -507,7 +507,7 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		if (sm_serverAdminUsername.equals("")||sm_serverAdminPassword.equals("")) throw new SkipException("This test requires the candlepin server admin username and password credentials.");
 
 		// get the owner and consumer feeds before we test the firing of a new event
-		SyndFeed oldFeed = CandlepinTasks.getSyndFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor oldFeed = EventFeedCursor.forFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
 
         // do something that will fire a delete pool event
 		if (servertasks.branch.equals("ALPHA") || servertasks.branch.equals("BETA") || servertasks.branch.matches("^candlepin-0\\.[012]\\..*$")) {
@@ -524,7 +524,7 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		// TEMPORARY WORKAROUND FOR BUG: https://bugzilla.redhat.com/show_bug.cgi?id=721136 - jsefler 07/14/2011
 		boolean invokeWorkaroundWhileBugIsOpen = true;
 		String bugId="721136"; 
-		try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			newEventTitles = new String[]{"System deleted a pool for product "+testJSONProduct.getString("name")};
 		}
@@ -554,7 +554,7 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		if (true) throw new SkipException("09/02/2010 Events for PRODUCT DELETED and the cpc delete_product are not yet dev complete.");
 		
 		// get the owner and consumer feeds before we test the firing of a new event
-		SyndFeed oldFeed = CandlepinTasks.getSyndFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor oldFeed = EventFeedCursor.forFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
 
         // do something that will fire a delete product event
 		//servertasks.cpc_delete_product(testProduct.getString("id"));
@@ -586,9 +586,9 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		// get the owner and consumer feeds before we test the firing of a new event
 		ConsumerCert consumerCert = clienttasks.getCurrentConsumerCert();
 		String ownerKey = CandlepinTasks.getOwnerKeyOfConsumerId(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,consumerCert.consumerid);
-        SyndFeed oldFeed = CandlepinTasks.getSyndFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
-		SyndFeed oldOwnerFeed = CandlepinTasks.getSyndFeedForOwner(ownerKey,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
-        SyndFeed oldConsumerFeed = CandlepinTasks.getSyndFeedForConsumer(/*ownerKey,*/consumerCert.consumerid,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+        EventFeedCursor oldFeed = EventFeedCursor.forFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor oldOwnerFeed = EventFeedCursor.forOwner(ownerKey,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+        EventFeedCursor oldConsumerFeed = EventFeedCursor.forConsumer(/*ownerKey,*/consumerCert.consumerid,sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
         
         // do something that will fire a exported created event
 		CandlepinTasks.exportConsumerUsingRESTfulAPI(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,consumerCert.consumerid,"/tmp/export.zip");
@@ -597,7 +597,7 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		// TEMPORARY WORKAROUND FOR BUG: https://bugzilla.redhat.com/show_bug.cgi?id=721136 - jsefler 07/14/2011
 		boolean invokeWorkaroundWhileBugIsOpen = true;
 		String bugId="721136"; 
-		try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			newEventTitles = new String[]{ownerKey+" created an export for consumer "+consumerCert.name};
 		}
@@ -622,8 +622,8 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		
 		// get the owner and consumer feeds before we test the firing of a new event
 		String ownerKey = testJSONOwner.getString("key");
-        SyndFeed oldFeed = CandlepinTasks.getSyndFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
-		SyndFeed oldOwnerFeed = CandlepinTasks.getSyndFeedForOwner(ownerKey, sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+        EventFeedCursor oldFeed = EventFeedCursor.forFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor oldOwnerFeed = EventFeedCursor.forOwner(ownerKey, sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
         
         // do something that will fire an import created event
 		CandlepinTasks.importConsumerUsingRESTfulAPI(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,ownerKey,"/tmp/export.zip");
@@ -633,7 +633,7 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		// TEMPORARY WORKAROUND FOR BUG: https://bugzilla.redhat.com/show_bug.cgi?id=721136 - jsefler 07/14/2011
 		boolean invokeWorkaroundWhileBugIsOpen = true;
 		String bugId="721136"; 
-		try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			newEventTitles = new String[]{
 					sm_clientOrg+" imported a manifest for owner "+ownerKey,
@@ -665,7 +665,7 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		String ownerKey = sm_clientOrg;
 		
 		// get the owner and consumer feeds before we test the firing of a new event
-		SyndFeed oldFeed = CandlepinTasks.getSyndFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor oldFeed = EventFeedCursor.forFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
  
 		// do something that will fire a delete owner event
 		servertasks.deleteOwnerUsingCPC(testOwnerKey);
@@ -674,7 +674,7 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		// TEMPORARY WORKAROUND FOR BUG: https://bugzilla.redhat.com/show_bug.cgi?id=721136 - jsefler 07/14/2011
 		boolean invokeWorkaroundWhileBugIsOpen = true;
 		String bugId="721136"; 
-		try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+		try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 		if (invokeWorkaroundWhileBugIsOpen) {
 			newEventTitles = new String[]{ownerKey+" deleted the owner "+testOwnerKey};
 		}
@@ -792,12 +792,13 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 	
 	// Protected Methods ***********************************************************************
 	
-	protected void assertTheNewOwnerFeed(String ownerKey, SyndFeed oldOwnerFeed, String[] newEventTitles) throws JSONException, Exception {
+	protected void assertTheNewOwnerFeed(String ownerKey, EventFeedCursor oldOwnerFeed, String[] newEventTitles) throws JSONException, Exception {
 		
 		// assert the owner feed...
-		SyndFeed newOwnerFeed = CandlepinTasks.getSyndFeedForOwner(ownerKey, sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor newOwnerFeed = oldOwnerFeed!=null? oldOwnerFeed:new EventFeedCursor(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,"/owners/"+ownerKey);
+		List<EventFeedCursor.Entry> newOwnerFeedEntries = newOwnerFeed.getNewEntries();
 		Assert.assertEquals(newOwnerFeed.getTitle(),"Event feed for owner "+CandlepinTasks.getOrgDisplayNameForOrgKey(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,ownerKey));
-		assertFeedContainsNoUnknownEvents(newOwnerFeed);
+		assertFeedContainsNoUnknownEvents(newOwnerFeed.getTitle(), newOwnerFeedEntries);
 		
 		log.info("Expecting the new feed for owner ("+ownerKey+") to have grown by ("+newEventTitles.length+") events:");
 		int e=0;
@@ -809,32 +810,33 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 //		} else {
 //			Assert.assertEquals(newOwnerFeed.getEntries().size(), feedLimit, "The event feed length for owner '"+ownerKey+"' has hit the max entry count as set by the Candlepin class AtomResource/ConsumerResource/OwnerResource hard-coded variable feedlimit.");			
 //		}
-		Assert.assertEquals(getFeedGrowthCount(newOwnerFeed,oldOwnerFeed), newEventTitles.length, newEventTitles.length+" new event feed entries for owner '"+ownerKey+"' has been pushed onto the stack.");
+		Assert.assertEquals(newOwnerFeedEntries.size(), newEventTitles.length, newEventTitles.length+" new event feed entries for owner '"+ownerKey+"' has been pushed onto the stack.");
 
 		int i=0;
 		for (String newEventTitle : newEventTitles) {
-			String actualEventTitle = ((SyndEntryImpl) newOwnerFeed.getEntries().get(i)).getTitle();
+			String actualEventTitle = newOwnerFeedEntries.get(i).title;
 			Assert.assertEquals(actualEventTitle,newEventTitle, "The next ("+i+") newest event feed entry for owner '"+ownerKey+"' is '"+newEventTitle+"'.");
 			i++;
 		}
 	}
-	protected void assertTheNewOwnerFeedIgnoringEventTitles(String ownerKey, SyndFeed oldOwnerFeed, String[] newEventTitles, Set<String> ignoreEventTitles) throws JSONException, Exception {
+	protected void assertTheNewOwnerFeedIgnoringEventTitles(String ownerKey, EventFeedCursor oldOwnerFeed, String[] newEventTitles, Set<String> ignoreEventTitles) throws JSONException, Exception {
 		
 		// assert the owner feed...
-		SyndFeed newOwnerFeed = CandlepinTasks.getSyndFeedForOwner(ownerKey, sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor newOwnerFeed = oldOwnerFeed!=null? oldOwnerFeed:new EventFeedCursor(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,"/owners/"+ownerKey);
+		List<EventFeedCursor.Entry> newOwnerFeedEntries = newOwnerFeed.getNewEntries();
 		Assert.assertEquals(newOwnerFeed.getTitle(),"Event feed for owner "+CandlepinTasks.getOrgDisplayNameForOrgKey(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,ownerKey));
-		assertFeedContainsNoUnknownEvents(newOwnerFeed);
+		assertFeedContainsNoUnknownEvents(newOwnerFeed.getTitle(), newOwnerFeedEntries);
 		
 		log.info("Expecting the new feed for owner ("+ownerKey+") to have grown by at least ("+newEventTitles.length+") events ("+ignoreEventTitles+" events will be ignored):");
 		int e=0;
 		for (String newEventTitle : newEventTitles) log.info(String.format("  Expecting entry[%d].title %s",e++,newEventTitle));
 		
-		int feedGrowthCount = getFeedGrowthCount(newOwnerFeed,oldOwnerFeed);
+		int feedGrowthCount = newOwnerFeedEntries.size();
 		Assert.assertTrue(feedGrowthCount>=newEventTitles.length, "At least "+newEventTitles.length+" new event feed entries for owner '"+ownerKey+"' has been pushed onto the stack (actual="+feedGrowthCount+").");
 
 		int i=0;
 		for (String newEventTitle : newEventTitles) {
-			String actualEventTitle = ((SyndEntryImpl) newOwnerFeed.getEntries().get(i)).getTitle();
+			String actualEventTitle = newOwnerFeedEntries.get(i).title;
 			if (ignoreEventTitles.contains(actualEventTitle)) {
 				log.warning("The next ("+i+") newest event feed entry for owner '"+ownerKey+" is '"+actualEventTitle+"', and will be ignored.");
 			} else {
@@ -844,14 +846,15 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		}
 	}
 	/**
-	 * Same as assertTheNewOwnerFeed(String ownerKey, SyndFeed oldOwnerFeed, String[] newEventTitles), but without regard to order of newEventTitles
+	 * Same as assertTheNewOwnerFeed(String ownerKey, EventFeedCursor oldOwnerFeed, String[] newEventTitles), but without regard to order of newEventTitles
 	 */
-	protected void assertTheNewOwnerFeed(String ownerKey, SyndFeed oldOwnerFeed, List<String> newEventTitles) throws JSONException, Exception {
+	protected void assertTheNewOwnerFeed(String ownerKey, EventFeedCursor oldOwnerFeed, List<String> newEventTitles) throws JSONException, Exception {
 		
 		// assert the owner feed...
-		SyndFeed newOwnerFeed = CandlepinTasks.getSyndFeedForOwner(ownerKey, sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor newOwnerFeed = oldOwnerFeed!=null? oldOwnerFeed:new EventFeedCursor(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,"/owners/"+ownerKey);
+		List<EventFeedCursor.Entry> newOwnerFeedEntries = newOwnerFeed.getNewEntries();
 		Assert.assertEquals(newOwnerFeed.getTitle(),"Event feed for owner "+CandlepinTasks.getOrgDisplayNameForOrgKey(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,ownerKey));
-		assertFeedContainsNoUnknownEvents(newOwnerFeed);
+		assertFeedContainsNoUnknownEvents(newOwnerFeed.getTitle(), newOwnerFeedEntries);
 		
 		log.info("Expecting the new feed for owner ("+ownerKey+") to have grown by the following "+newEventTitles.size()+" events (in no particular order): ");
 		for (String newEventTitle : newEventTitles) log.info("    "+newEventTitle);
@@ -862,31 +865,32 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 //		} else {
 //			Assert.assertEquals(newOwnerFeed.getEntries().size(), feedLimit, "The event feed length for owner '"+ownerKey+"' has hit the max entry count as set by the Candlepin class AtomResource/ConsumerResource/OwnerResource hard-coded variable feedlimit.");			
 //		}
-		Assert.assertEquals(getFeedGrowthCount(newOwnerFeed,oldOwnerFeed), newEventTitles.size(), +newEventTitles.size()+" new event feed entries for owner '"+ownerKey+"' has been pushed onto the stack.");
+		Assert.assertEquals(newOwnerFeedEntries.size(), newEventTitles.size(), +newEventTitles.size()+" new event feed entries for owner '"+ownerKey+"' has been pushed onto the stack.");
 
 		List<String> newEventTitlesCloned = new ArrayList<String>(); for (String newEventTitle : newEventTitles) newEventTitlesCloned.add(newEventTitle);
 		for (int i=0; i<newEventTitles.size(); i++) {
-			String actualEventTitle = ((SyndEntryImpl) newOwnerFeed.getEntries().get(i)).getTitle();
+			String actualEventTitle = newOwnerFeedEntries.get(i).title;
 			Assert.assertTrue(newEventTitlesCloned.remove(actualEventTitle), "The next ("+i+") newest event feed entry ("+actualEventTitle+") for owner '"+ownerKey+"' is among the expected list of event titles.");
 		}
 	}
 
-	protected void assertTheNewOwnerFeedContains(String ownerKey, SyndFeed oldOwnerFeed, List<String> newEventTitles) throws JSONException, Exception {
+	protected void assertTheNewOwnerFeedContains(String ownerKey, EventFeedCursor oldOwnerFeed, List<String> newEventTitles) throws JSONException, Exception {
 		
 		// assert the owner feed...
-		SyndFeed newOwnerFeed = CandlepinTasks.getSyndFeedForOwner(ownerKey, sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor newOwnerFeed = oldOwnerFeed!=null? oldOwnerFeed:new EventFeedCursor(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,"/owners/"+ownerKey);
+		List<EventFeedCursor.Entry> newOwnerFeedEntries = newOwnerFeed.getNewEntries();
 		Assert.assertEquals(newOwnerFeed.getTitle(),"Event feed for owner "+CandlepinTasks.getOrgDisplayNameForOrgKey(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,ownerKey));
-		assertFeedContainsNoUnknownEvents(newOwnerFeed);
+		assertFeedContainsNoUnknownEvents(newOwnerFeed.getTitle(), newOwnerFeedEntries);
 		
 		log.info("Expecting the new feed for owner ("+ownerKey+") to have grown by events that contain (at a minimum) the following events: ");
 		for (String newEventTitle : newEventTitles) log.info("    "+newEventTitle);
 		
 //		int newOwnerFeedGrowthCount = newOwnerFeed.getEntries().size() - oldOwnerFeed_EntriesSize;
-		int newOwnerFeedGrowthCount = getFeedGrowthCount(newOwnerFeed,oldOwnerFeed);
+		int newOwnerFeedGrowthCount = newOwnerFeedEntries.size();
 		log.info(newOwnerFeedGrowthCount+" new events for owner '"+ownerKey+"' have been pushed onto the atom feed stack.");
 		List<String> actualNewEventTitles = new ArrayList<String>();
 		for (int i=0; i<newOwnerFeedGrowthCount; i++) {
-			actualNewEventTitles.add(((SyndEntryImpl) newOwnerFeed.getEntries().get(i)).getTitle());
+			actualNewEventTitles.add(newOwnerFeedEntries.get(i).title);
 		}
 		Assert.assertTrue(actualNewEventTitles.containsAll(newEventTitles), "The newest event feed entries for owner '"+ownerKey+"' contains (at a minimum) all of the expected new event titles.");
 	}
@@ -895,12 +899,13 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 	
 	
 	
-	protected void assertTheNewConsumerFeed(String ownerKey, String consumerUuid, SyndFeed oldConsumerFeed, String[] newEventTitles) throws IllegalArgumentException, IOException, FeedException {
+	protected void assertTheNewConsumerFeed(String ownerKey, String consumerUuid, EventFeedCursor oldConsumerFeed, String[] newEventTitles) throws IOException {
 		
 		// assert the consumer feed...
-		SyndFeed newConsumerFeed = CandlepinTasks.getSyndFeedForConsumer(/*ownerKey,*/ consumerUuid, sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor newConsumerFeed = oldConsumerFeed!=null? oldConsumerFeed:new EventFeedCursor(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,"/consumers/"+consumerUuid);
+		List<EventFeedCursor.Entry> newConsumerFeedEntries = newConsumerFeed.getNewEntries();
 		Assert.assertEquals(newConsumerFeed.getTitle(),"Event feed for consumer "+consumerUuid);
-		assertFeedContainsNoUnknownEvents(newConsumerFeed);
+		assertFeedContainsNoUnknownEvents(newConsumerFeed.getTitle(), newConsumerFeedEntries);
 		
 		log.info("Expecting the new feed for consumer ("+consumerUuid+") to have grown by ("+newEventTitles.length+") events:");
 		int e=0;
@@ -912,32 +917,33 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 //		} else {
 //			Assert.assertEquals(newConsumerFeed.getEntries().size(), feedLimit, "The event feed length for consumer '"+consumerUuid+"' has hit the max entry count as set by the Candlepin class AtomResource/ConsumerResource/OwnerResource hard-coded variable feedlimit.");			
 //		}
-		Assert.assertEquals(getFeedGrowthCount(newConsumerFeed,oldConsumerFeed), newEventTitles.length, newEventTitles.length+" new event feed entries for consumer '"+consumerUuid+"' has been pushed onto the stack.");
+		Assert.assertEquals(newConsumerFeedEntries.size(), newEventTitles.length, newEventTitles.length+" new event feed entries for consumer '"+consumerUuid+"' has been pushed onto the stack.");
 
 		int i=0;
 		for (String newEventTitle : newEventTitles) {
-			String actualEventTitle = ((SyndEntryImpl) newConsumerFeed.getEntries().get(i)).getTitle();
+			String actualEventTitle = newConsumerFeedEntries.get(i).title;
 			Assert.assertEquals(actualEventTitle,newEventTitle, "The next ("+i+") newest event feed entry for consumer "+consumerUuid+" is '"+newEventTitle+"'.");
 			i++;
 		}
 	}
-	protected void assertTheNewConsumerFeedIgnoringEventTitles(String ownerKey, String consumerUuid, SyndFeed oldConsumerFeed, String[] newEventTitles, Set<String> ignoreEventTitles) throws IllegalArgumentException, IOException, FeedException {
+	protected void assertTheNewConsumerFeedIgnoringEventTitles(String ownerKey, String consumerUuid, EventFeedCursor oldConsumerFeed, String[] newEventTitles, Set<String> ignoreEventTitles) throws IOException {
 		
 		// assert the consumer feed...
-		SyndFeed newConsumerFeed = CandlepinTasks.getSyndFeedForConsumer(/*ownerKey,*/ consumerUuid, sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor newConsumerFeed = oldConsumerFeed!=null? oldConsumerFeed:new EventFeedCursor(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,"/consumers/"+consumerUuid);
+		List<EventFeedCursor.Entry> newConsumerFeedEntries = newConsumerFeed.getNewEntries();
 		Assert.assertEquals(newConsumerFeed.getTitle(),"Event feed for consumer "+consumerUuid);
-		assertFeedContainsNoUnknownEvents(newConsumerFeed);
+		assertFeedContainsNoUnknownEvents(newConsumerFeed.getTitle(), newConsumerFeedEntries);
 		
 		log.info("Expecting the new feed for consumer ("+consumerUuid+") to have grown by at least ("+newEventTitles.length+") events ("+ignoreEventTitles+" events will be ignored):");
 		int e=0;
 		for (String newEventTitle : newEventTitles) log.info(String.format("  Expecting entry[%d].title %s",e++,newEventTitle));
 
-		int feedGrowthCount = getFeedGrowthCount(newConsumerFeed,oldConsumerFeed);
+		int feedGrowthCount = newConsumerFeedEntries.size();
 		Assert.assertTrue(feedGrowthCount>=newEventTitles.length, "At least "+newEventTitles.length+" new event feed entries for consumer '"+consumerUuid+"' have been pushed onto the stack (actual="+feedGrowthCount+").");
 
 		int i=0;
 		for (String newEventTitle : newEventTitles) {
-			String actualEventTitle = ((SyndEntryImpl) newConsumerFeed.getEntries().get(i)).getTitle();
+			String actualEventTitle = newConsumerFeedEntries.get(i).title;
 			if (ignoreEventTitles.contains(actualEventTitle)) {
 				log.warning("The next ("+i+") newest event feed entry for consumer "+consumerUuid+" is '"+actualEventTitle+"', and will be ignored.");
 			} else {
@@ -947,14 +953,15 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		}
 	}
 	/**
-	 * Same as assertTheNewConsumerFeed(String ownerKey, String consumerUuid, SyndFeed oldConsumerFeed, String[] newEventTitles), but without regard to order of newEventTitles
+	 * Same as assertTheNewConsumerFeed(String ownerKey, String consumerUuid, EventFeedCursor oldConsumerFeed, String[] newEventTitles), but without regard to order of newEventTitles
 	 */
-	protected void assertTheNewConsumerFeed(String ownerKey, String consumerUuid, SyndFeed oldConsumerFeed, List<String> newEventTitles) throws IllegalArgumentException, IOException, FeedException {
+	protected void assertTheNewConsumerFeed(String ownerKey, String consumerUuid, EventFeedCursor oldConsumerFeed, List<String> newEventTitles) throws IOException {
 		
 		// assert the consumer feed...
-		SyndFeed newConsumerFeed = CandlepinTasks.getSyndFeedForConsumer(/*ownerKey,*/ consumerUuid, sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);
+		EventFeedCursor newConsumerFeed = oldConsumerFeed!=null? oldConsumerFeed:new EventFeedCursor(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,"/consumers/"+consumerUuid);
+		List<EventFeedCursor.Entry> newConsumerFeedEntries = newConsumerFeed.getNewEntries();
 		Assert.assertEquals(newConsumerFeed.getTitle(),"Event feed for consumer "+consumerUuid);
-		assertFeedContainsNoUnknownEvents(newConsumerFeed);
+		assertFeedContainsNoUnknownEvents(newConsumerFeed.getTitle(), newConsumerFeedEntries);
 		
 		log.info("Expecting the new feed for consumer ("+consumerUuid+") to have grown by the following "+newEventTitles.size()+" events (in no particular order): ");
 		for (String newEventTitle : newEventTitles) log.info("    "+newEventTitle);
@@ -965,11 +972,11 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 //		} else {
 //			Assert.assertEquals(newConsumerFeed.getEntries().size(), feedLimit, "The event feed length for consumer '"+consumerUuid+"' has hit the max entry count as set by the Candlepin class AtomResource/ConsumerResource/OwnerResource hard-coded variable feedlimit.");			
 //		}
-		Assert.assertEquals(getFeedGrowthCount(newConsumerFeed,oldConsumerFeed), newEventTitles.size(), newEventTitles.size()+" new event feed entries for consumer '"+consumerUuid+"' has been pushed onto the stack.");
+		Assert.assertEquals(newConsumerFeedEntries.size(), newEventTitles.size(), newEventTitles.size()+" new event feed entries for consumer '"+consumerUuid+"' has been pushed onto the stack.");
 
 		List<String> newEventTitlesCloned = new ArrayList<String>(); for (String newEventTitle : newEventTitles) newEventTitlesCloned.add(newEventTitle);
 		for (int i=0; i<newEventTitles.size(); i++) {
-			String actualEventTitle = ((SyndEntryImpl) newConsumerFeed.getEntries().get(i)).getTitle();
+			String actualEventTitle = newConsumerFeedEntries.get(i).title;
 			Assert.assertTrue(newEventTitlesCloned.remove(actualEventTitle), "The next ("+i+") newest event feed entry ("+actualEventTitle+") for consumer "+consumerUuid+" is among the expected list of event titles.");
 		}
 	}
@@ -979,12 +986,13 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 	
 
 	
-	protected void assertTheNewFeed(SyndFeed oldFeed, String[] newEventTitles) throws IllegalArgumentException, IOException, FeedException {
+	protected void assertTheNewFeed(EventFeedCursor oldFeed, String[] newEventTitles) throws IOException {
 		
 		// assert the feed...
-		SyndFeed newFeed = CandlepinTasks.getSyndFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);		
+		EventFeedCursor newFeed = oldFeed!=null? oldFeed:new EventFeedCursor(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,"");
+		List<EventFeedCursor.Entry> newFeedEntries = newFeed.getNewEntries();		
 		Assert.assertEquals(newFeed.getTitle(),"Event Feed");
-		assertFeedContainsNoUnknownEvents(newFeed);
+		assertFeedContainsNoUnknownEvents(newFeed.getTitle(), newFeedEntries);
 
 		log.info("Expecting the new feed to have grown by ("+newEventTitles.length+") events:");
 		int e=0;
@@ -996,32 +1004,33 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 //		} else {
 //			Assert.assertEquals(newFeed.getEntries().size(), feedLimit, "The event feed has hit the max entry count as set by the Candlepin class AtomResource/ConsumerResource/OwnerResource hard-coded variable feedlimit.");			
 //		}
-		Assert.assertEquals(getFeedGrowthCount(newFeed,oldFeed), newEventTitles.length, newEventTitles.length+" new event feed entries has been pushed onto the stack.");
+		Assert.assertEquals(newFeedEntries.size(), newEventTitles.length, newEventTitles.length+" new event feed entries has been pushed onto the stack.");
 
 		int i=0;
 		for (String newEventTitle : newEventTitles) {
-			String actualEventTitle = ((SyndEntryImpl) newFeed.getEntries().get(i)).getTitle();
+			String actualEventTitle = newFeedEntries.get(i).title;
 			Assert.assertEquals(actualEventTitle,newEventTitle, "The next ("+i+") newest event feed entry is '"+newEventTitle+"'.");
 			i++;
 		}
 	}
-	protected void assertTheNewFeedIgnoringEventTitles(SyndFeed oldFeed, String[] newEventTitles, Set<String> ignoreEventTitles) throws IllegalArgumentException, IOException, FeedException {
+	protected void assertTheNewFeedIgnoringEventTitles(EventFeedCursor oldFeed, String[] newEventTitles, Set<String> ignoreEventTitles) throws IOException {
 		
 		// assert the feed...
-		SyndFeed newFeed = CandlepinTasks.getSyndFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);		
+		EventFeedCursor newFeed = oldFeed!=null? oldFeed:new EventFeedCursor(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,"");
+		List<EventFeedCursor.Entry> newFeedEntries = newFeed.getNewEntries();		
 		Assert.assertEquals(newFeed.getTitle(),"Event Feed");
-		assertFeedContainsNoUnknownEvents(newFeed);
+		assertFeedContainsNoUnknownEvents(newFeed.getTitle(), newFeedEntries);
 
 		log.info("Expecting the new feed to have grown by ("+newEventTitles.length+") events:");
 		int e=0;
 		for (String newEventTitle : newEventTitles) log.info(String.format("  Expecting entry[%d].title %s",e++,newEventTitle));
 
-		int feedGrowthCount = getFeedGrowthCount(newFeed,oldFeed);
+		int feedGrowthCount = newFeedEntries.size();
 		Assert.assertTrue(feedGrowthCount>=newEventTitles.length, "At least "+newEventTitles.length+" new event feed entries has been pushed onto the stack (actual="+feedGrowthCount+").");
 
 		int i=0;
 		for (String newEventTitle : newEventTitles) {
-			String actualEventTitle = ((SyndEntryImpl) newFeed.getEntries().get(i)).getTitle();
+			String actualEventTitle = newFeedEntries.get(i).title;
 			if (ignoreEventTitles.contains(actualEventTitle)) {
 				log.warning("The next ("+i+") newest event feed entry is '"+actualEventTitle+"', and will be ignored.");
 			} else {
@@ -1031,14 +1040,15 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 		}
 	}
 	/**
-	 * Same as assertTheNewFeed(SyndFeed oldFeed, String[] newEventTitles), but without regard to order of newEventTitles
+	 * Same as assertTheNewFeed(EventFeedCursor oldFeed, String[] newEventTitles), but without regard to order of newEventTitles
 	 */
-	protected void assertTheNewFeed(SyndFeed oldFeed, List<String> newEventTitles) throws IllegalArgumentException, IOException, FeedException {
+	protected void assertTheNewFeed(EventFeedCursor oldFeed, List<String> newEventTitles) throws IOException {
 		
 		// assert the feed...
-		SyndFeed newFeed = CandlepinTasks.getSyndFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);		
+		EventFeedCursor newFeed = oldFeed!=null? oldFeed:new EventFeedCursor(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,"");
+		List<EventFeedCursor.Entry> newFeedEntries = newFeed.getNewEntries();		
 		Assert.assertEquals(newFeed.getTitle(),"Event Feed");
-		assertFeedContainsNoUnknownEvents(newFeed);
+		assertFeedContainsNoUnknownEvents(newFeed.getTitle(), newFeedEntries);
 
 		log.info("Expecting the new feed to have grown by the following "+newEventTitles.size()+" events (in no particular order): ");
 		for (String newEventTitle : newEventTitles) log.info("    "+newEventTitle);
@@ -1049,31 +1059,32 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 //		} else {
 //			Assert.assertEquals(newFeed.getEntries().size(), feedLimit, "The event feed has hit the max entry count as set by the Candlepin class AtomResource/ConsumerResource/OwnerResource hard-coded variable feedlimit.");			
 //		}
-		Assert.assertEquals(getFeedGrowthCount(newFeed,oldFeed), newEventTitles.size(), newEventTitles.size()+" new event feed entries has been pushed onto the stack.");
+		Assert.assertEquals(newFeedEntries.size(), newEventTitles.size(), newEventTitles.size()+" new event feed entries has been pushed onto the stack.");
 
 		List<String> newEventTitlesCloned = new ArrayList<String>(); for (String newEventTitle : newEventTitles) newEventTitlesCloned.add(newEventTitle);
 		for (int i=0; i<newEventTitles.size(); i++) {
-			String actualEventTitle = ((SyndEntryImpl) newFeed.getEntries().get(i)).getTitle();
+			String actualEventTitle = newFeedEntries.get(i).title;
 			Assert.assertTrue(newEventTitlesCloned.remove(actualEventTitle), "The next ("+i+") newest event feed entry ("+actualEventTitle+") is among the expected list of event titles.");
 		}
 	}
 	
-	protected void assertTheNewFeedContains(SyndFeed oldFeed, List<String> newEventTitles) throws IllegalArgumentException, IOException, FeedException {
+	protected void assertTheNewFeedContains(EventFeedCursor oldFeed, List<String> newEventTitles) throws IOException {
 		
 		// assert the feed...
-		SyndFeed newFeed = CandlepinTasks.getSyndFeed(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl);		
+		EventFeedCursor newFeed = oldFeed!=null? oldFeed:new EventFeedCursor(sm_serverAdminUsername,sm_serverAdminPassword,sm_serverUrl,"");
+		List<EventFeedCursor.Entry> newFeedEntries = newFeed.getNewEntries();		
 		Assert.assertEquals(newFeed.getTitle(),"Event Feed");
-		assertFeedContainsNoUnknownEvents(newFeed);
+		assertFeedContainsNoUnknownEvents(newFeed.getTitle(), newFeedEntries);
 		
 		log.info("Expecting the new feed to have grown by events that contain (at a minimum) the following events: ");
 		for (String newEventTitle : newEventTitles) log.info("    "+newEventTitle);
 		
 //		int newFeedGrowthCount = newFeed.getEntries().size() - oldFeed_EntriesSize;
-		int newFeedGrowthCount = getFeedGrowthCount(newFeed,oldFeed);
+		int newFeedGrowthCount = newFeedEntries.size();
 		log.info(newFeedGrowthCount+" new events have been pushed onto the atom feed stack.");
 		List<String> actualNewEventTitles = new ArrayList<String>();
 		for (int i=0; i<newFeedGrowthCount; i++) {
-			actualNewEventTitles.add(((SyndEntryImpl) newFeed.getEntries().get(i)).getTitle());
+			actualNewEventTitles.add(newFeedEntries.get(i).title);
 		}
 		Assert.assertTrue(actualNewEventTitles.containsAll(newEventTitles), "The newest event feed entries contains (at a minimum) all of the expected new event titles.");
 	}
@@ -1082,18 +1093,18 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 	
 	
 	
-	protected void assertFeedContainsNoUnknownEvents(SyndFeed feed) {
+	protected void assertFeedContainsNoUnknownEvents(String feedTitle, List<EventFeedCursor.Entry> entries) {
 	
 		// assert that there are no "Unknown event"s in the feed - reference https://bugzilla.redhat.com/show_bug.cgi?id=721141
-		for (int i=0;  i<feed.getEntries().size(); i++) {
-			String entryTitle = ((SyndEntryImpl) feed.getEntries().get(i)).getTitle();
-			String entryDescription = ((SyndEntryImpl) feed.getEntries().get(i)).getDescription()==null?"null":((SyndEntryImpl) feed.getEntries().get(i)).getDescription().getValue();
-			String entryAsString = String.format("%s entries[%d].getTitle()=%s   .getDescription()=%s", feed.getTitle(), i, entryTitle, entryDescription);
+		for (int i=0;  i<entries.size(); i++) {
+			String entryTitle = entries.get(i).title;
+			String entryDescription = entries.get(i).description;
+			String entryAsString = String.format("%s entries[%d].getTitle()=%s   .getDescription()=%s", feedTitle, i, entryTitle, entryDescription);
 			
 			// TEMPORARY WORKAROUND FOR BUG
 			if (entryDescription.equals("Unknown event for user admin and target 4.4")) {
 				String bugId = "1023187"; boolean invokeWorkaroundWhileBugIsOpen = true;
-				try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+				try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 				if (invokeWorkaroundWhileBugIsOpen) {
 					log.warning("Encountered an atom feed entry with an unknown event: "+entryAsString);
 					log.warning("Skipping assertion failure while Bug '"+bugId+"' is already opened to handle this unknown event description.");
@@ -1109,87 +1120,7 @@ public class EventTests extends SubscriptionManagerCLITestScript{
 				Assert.fail("Encountered an atom feed entry with a null description: "+entryAsString);			
 			}
 		}
-		Assert.assertTrue(true,"None of the entries in feed '"+feed.getTitle()+"' contain an unknown event description.");
-	}
-	
-	
-	protected int getFeedGrowthCount(SyndFeed newFeed, SyndFeed oldFeed) {
-		int g=0; // growth
-		int x=10; // number of entries in a sequential match
-		
-		if (oldFeed==null || oldFeed.getEntries()==null || oldFeed.getEntries().isEmpty()) {
-			g = newFeed.getEntries().size();
-		} else {
-			x = Math.min(10, oldFeed.getEntries().size());
-		}
-		
-		if (g==0) {
-			boolean sequenceMatches;
-			do {
-				sequenceMatches = true;	// assume the next sequence of x feed entries match between old and new
-				for (int i=0; i<x; i++) {
-					String newFeedTitle = ((SyndEntryImpl) newFeed.getEntries().get(i+g)).getTitle();
-					String newFeedDescription = ((SyndEntryImpl) newFeed.getEntries().get(i+g)).getDescription()==null?"null":((SyndEntryImpl) newFeed.getEntries().get(i+g)).getDescription().getValue();
-					String oldFeedTitle = ((SyndEntryImpl) oldFeed.getEntries().get(i)).getTitle();
-					String oldFeedDescription = ((SyndEntryImpl) oldFeed.getEntries().get(i)).getDescription()==null?"null":((SyndEntryImpl) oldFeed.getEntries().get(i)).getDescription().getValue();
-					if (!(newFeedTitle.equals(oldFeedTitle) && newFeedDescription.equals(oldFeedDescription))) {
-						sequenceMatches = false;
-						g++;
-						break;
-					}
-				}
-			} while (!sequenceMatches);
-		}
-		
-		// log the newest feed entries pushed onto the stack
-		for (int i=0; i<g; i++) {
-			log.info(String.format("Newest %s entries[%d]: title='%s'  description='%s'", newFeed.getTitle(), i, ((SyndEntryImpl) newFeed.getEntries().get(i)).getTitle(), ((SyndEntryImpl) newFeed.getEntries().get(i)).getDescription()==null?"null":((SyndEntryImpl) newFeed.getEntries().get(i)).getDescription().getValue()));
-		}
-
-		return g;
-	}
-	
-	@Deprecated // 10/24/2013 re-implemented this method with a faster algorithm above.  this algorithm is too complicated!
-	protected int getFeedGrowthCount_DEPRECATED(SyndFeed newFeed, SyndFeed oldFeed) {
-		
-		int g=newFeed.getEntries().size();	// assume all of the entries represent new growth
-		
-		if (oldFeed!=null) {
-			// make sure we are not accidently comparing two feeds that represent two different stacks
-			if (!newFeed.getTitle().equals(oldFeed.getTitle())) Assert.fail("getFeedGrowthCount(oldFeed,newFeed) do not have equivalent SyndEntryImpl titles.  We should probably not be comparing these two feeds.");
-
-			int n=newFeed.getEntries().size()-1;
-			int o=oldFeed.getEntries().size()-1;
-			g=0;	// feed growth 
-			while (g<o+1) {
-				int c=0;	// backward feed index count of newFeed
-				while (o-c-g>=0 &&
-						// newFeedTitle == oldFeedTitle
-						(((SyndEntryImpl) newFeed.getEntries().get(n-c)).getTitle()).equals(((SyndEntryImpl) oldFeed.getEntries().get(o-c-g)).getTitle()) &&
-						// newFeedDescription == oldFeedDescription
-						(((SyndEntryImpl) newFeed.getEntries().get(n-c)).getDescription()==null?"null":((SyndEntryImpl) newFeed.getEntries().get(n-c)).getDescription().getValue()).equals(((SyndEntryImpl) oldFeed.getEntries().get(o-c-g)).getDescription()==null?"null":((SyndEntryImpl) oldFeed.getEntries().get(o-c-g)).getDescription().getValue()) ) {
-/*debugging*/
-//					log.info("newFeed entry["+(n-c)+"].getTitle()= "+((SyndEntryImpl) newFeed.getEntries().get(n-c)).getTitle());
-//					log.info("oldFeed entry["+(o-c-g)+"].getTitle()= "+((SyndEntryImpl) oldFeed.getEntries().get(o-c-g)).getTitle());
-//					log.info("newFeed entry["+(n-c)+"].getDescription()= "+(((SyndEntryImpl) newFeed.getEntries().get(n-c)).getDescription()==null?"null":((SyndEntryImpl) newFeed.getEntries().get(n-c)).getDescription().getValue())  );
-//					log.info("oldFeed entry["+(o-c-g)+"].getDescription()= "+(((SyndEntryImpl) oldFeed.getEntries().get(o-c-g)).getDescription()==null?"null":((SyndEntryImpl) oldFeed.getEntries().get(o-c-g)).getDescription().getValue())  );
-//					log.info("");
-					c++;
-				}
-				if (o-c-g<0) {
-					g+=n-o;
-					break;
-				}
-				g++;
-			}
-		}
-		
-		// log the newest feed entries pushed onto the stack
-		for (int i=0; i<g; i++) {
-			log.info(String.format("Newest %s entries[%d]: title='%s'  description='%s'", newFeed.getTitle(), i, ((SyndEntryImpl) newFeed.getEntries().get(i)).getTitle(), ((SyndEntryImpl) newFeed.getEntries().get(i)).getDescription()==null?"null":((SyndEntryImpl) newFeed.getEntries().get(i)).getDescription().getValue()));
-		}
-
-		return g;
+		Assert.assertTrue(true,"None of the new entries in feed '"+feedTitle+"' contain an unknown event description.");
 	}
 	
 	protected String testOwnerKey = "newOwner"+System.currentTimeMillis();
@@ -1,10 +1,13 @@
 package rhsm.cli.tests;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -20,9 +23,10 @@ import org.testng.annotations.Test;
 
 import com.redhat.qe.Assert;
 import com.redhat.qe.auto.bugzilla.BlockedByBzBug;
-import com.redhat.qe.auto.bugzilla.BzChecker;
+import rhsm.base.BugzillaStateCache;
 import com.redhat.qe.auto.testng.TestNGUtils;
 import rhsm.base.SubscriptionManagerCLITestScript;
+import rhsm.cli.tasks.PofilterBatch;
 import rhsm.data.Translation;
 import com.redhat.qe.tools.RemoteFileTasks;
 import com.redhat.qe.tools.SSHCommandResult;
@@ -183,10 +187,16 @@ public class PofilterTranslationTests extends SubscriptionManagerCLITestScript {
 			Assert.assertTrue(RemoteFileTasks.testExists(sshCommandRunner, notranslateFile),"The pofilter notranslate file '"+notranslateFile+"' has been created on the client.");
 		}
 		
-		// execute the pofilter test
+		// execute the pofilter test (all of the other pofilter tests queued by the data providers are run in the same batch)
 		String pofilterCommand = "pofilter --gnome -t "+pofilterTest;
-		if (pofilterTest.equals("notranslatewords")) pofilterCommand += " --notranslatefile="+notranslateFile;
-		SSHCommandResult pofilterResult = sshCommandRunner.runCommandAndWait(pofilterCommand+" "+translationPoFile);
+		SSHCommandResult pofilterResult;
+		if (pofilterTest.equals("notranslatewords")) {	// depends on the notranslateFile that was just created
+			pofilterCommand += " --notranslatefile="+notranslateFile;
+			pofilterResult = sshCommandRunner.runCommandAndWait(pofilterCommand+" "+translationPoFile);
+		} else {
+			pofilterResult = getBatchedPofilterResult(sshCommandRunner, pofilterTest, translationPoFile);
+			log.info("Batched result of '"+pofilterCommand+" "+translationPoFile+"' (ExitCode="+pofilterResult.getExitCode()+"):\n"+pofilterResult.getStdout());
+		}
 		Assert.assertEquals(pofilterResult.getExitCode(), new Integer(0), "Successfully executed the pofilter tests.");
 		
 		// convert the pofilter test results into a list of failed Translation objects for simplified handling of special cases 
@@ -239,7 +249,7 @@ public class PofilterTranslationTests extends SubscriptionManagerCLITestScript {
 			// TEMPORARY WORKAROUND FOR BUG
 			if (failedTranslation!=null) {
 				String bugId = "928401"; boolean invokeWorkaroundWhileBugIsOpen = true;
-				try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+				try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 				if (invokeWorkaroundWhileBugIsOpen) {
 					log.warning("Ignoring this failed pofilter newlines test translation while bug '"+bugId+"' is open. "+failedTranslation);
 					ignorableMsgIds.add(msgId);
@@ -268,7 +278,7 @@ public class PofilterTranslationTests extends SubscriptionManagerCLITestScript {
 			// TEMPORARY WORKAROUND FOR BUG
 			if (failedTranslation!=null) {
 				String bugId = "928401"; boolean invokeWorkaroundWhileBugIsOpen = true;
-				try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+				try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 				if (invokeWorkaroundWhileBugIsOpen) {
 					log.warning("Ignoring this failed pofilter newlines test translation while bug '"+bugId+"' is open. "+failedTranslation);
 					ignorableMsgIds.add(msgId);
@@ -281,7 +291,7 @@ public class PofilterTranslationTests extends SubscriptionManagerCLITestScript {
 			// TEMPORARY WORKAROUND FOR BUG
 			if (failedTranslation!=null) {
 				String bugId = "928401"; boolean invokeWorkaroundWhileBugIsOpen = true;
-				try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+				try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 				if (invokeWorkaroundWhileBugIsOpen) {
 					log.warning("Ignoring this failed pofilter newlines test translation while bug '"+bugId+"' is open. "+failedTranslation);
 					ignorableMsgIds.add(msgId);
@@ -412,7 +422,7 @@ public class PofilterTranslationTests extends SubscriptionManagerCLITestScript {
 			// TEMPORARY WORKAROUND FOR BUG 984206 - def friendly_join(items): in utils.py should not use string " and "
 			else if (failedTranslation!=null) {
 				String bugId = "984206"; boolean invokeWorkaroundWhileBugIsOpen = true;
-				try {if (invokeWorkaroundWhileBugIsOpen&&BzChecker.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BzChecker.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
+				try {if (invokeWorkaroundWhileBugIsOpen&&BugzillaStateCache.getInstance().isBugOpen(bugId)) {log.fine("Invoking workaround for "+BugzillaStateCache.getInstance().getBugState(bugId).toString()+" Bugzilla "+bugId+".  (https://bugzilla.redhat.com/show_bug.cgi?id="+bugId+")");SubscriptionManagerCLITestScript.addInvokedWorkaround(bugId);} else {invokeWorkaroundWhileBugIsOpen=false;}} catch (XmlRpcException xre) {/* ignore exception */} catch (RuntimeException re) {/* ignore exception */}
 				if (invokeWorkaroundWhileBugIsOpen) {
 					log.warning("Ignoring this failed pofilter short test translation while bug '"+bugId+"' is open. "+failedTranslation);
 					ignorableMsgIds.add(msgId);
@@ -513,6 +523,43 @@ public class PofilterTranslationTests extends SubscriptionManagerCLITestScript {
 	}
 	
 	
+	protected Map<SSHCommandRunner,Set<List<String>>> queuedPofilterTests = new HashMap<SSHCommandRunner,Set<List<String>>>();	// sshCommandRunner => {pofilterTest, translationPoFile} pairs that have not been run yet
+	protected Map<String,SSHCommandResult> batchedPofilterResults = new HashMap<String,SSHCommandResult>();	// "hostname pofilterTest translationPoFile" => result
+	
+	/**
+	 * Queue a pofilter test to be run in the batch of the first pofilter_Test on this sshCommandRunner
+	 * (called by the data providers for each of their rows).
+	 */
+	protected synchronized void queuePofilterTest(SSHCommandRunner sshCommandRunner, String pofilterTest, File translationFile) {
+		if (pofilterTest.equals("notranslatewords")) return;	// runs on its own after its notranslateFile is created
+		if (!queuedPofilterTests.containsKey(sshCommandRunner)) queuedPofilterTests.put(sshCommandRunner, new LinkedHashSet<List<String>>());
+		queuedPofilterTests.get(sshCommandRunner).add(Arrays.asList(pofilterTest, translationFile.getPath().replaceFirst(".mo$", ".po")));
+	}
+	
+	/**
+	 * @return the result of "pofilter --gnome -t pofilterTest translationPoFile" on sshCommandRunner; when it has not been run yet,
+	 * it is run together with all of the pofilter tests that are queued for sshCommandRunner in one remote invocation of PofilterBatch
+	 */
+	protected synchronized SSHCommandResult getBatchedPofilterResult(SSHCommandRunner sshCommandRunner, String pofilterTest, File translationPoFile) {
+		String hostname = sshCommandRunner.getConnection().getHostname();
+		String key = hostname+" "+PofilterBatch.key(pofilterTest, translationPoFile);
+		if (!batchedPofilterResults.containsKey(key)) {
+			PofilterBatch batch = new PofilterBatch(sshCommandRunner, Integer.valueOf(getProperty("sm.translate.pofilterParallelism", "0")));
+			batch.add(pofilterTest, translationPoFile);
+			if (queuedPofilterTests.containsKey(sshCommandRunner)) {
+				for (List<String> queued : queuedPofilterTests.remove(sshCommandRunner)) batch.add(queued.get(0), new File(queued.get(1)));
+			}
+			File localDir = new File((getProperty("automation.dir", "/tmp")+"/tmp/"+hostname+"/pofilterBatch").replace("tmp/tmp", "tmp"));
+			try {
+				for (Map.Entry<String,SSHCommandResult> result : batch.runAndWait(localDir).entrySet()) batchedPofilterResults.put(hostname+" "+result.getKey(), result.getValue());
+			} catch (IOException e) {
+				Assert.fail("Failed to fetch the results of the batched pofilter tests from "+hostname+": "+e);
+			}
+		}
+		return batchedPofilterResults.remove(key);	// each result is used by one test
+	}
+	
+	
 	/**
 	 * @param str
 	 * @return the tag character (Eg: <b> or </b> return_val = 'b')
@@ -869,6 +916,7 @@ public class PofilterTranslationTests extends SubscriptionManagerCLITestScript {
 				
 				BlockedByBzBug blockedByBzBug = new BlockedByBzBug(bugIds.toArray(new String[]{}));
 				ll.add(Arrays.asList(new Object[] {blockedByBzBug, pofilterTest, translationFile}));
+				queuePofilterTest(client, pofilterTest, translationFile);
 				 
 			}
 		}
@@ -931,6 +979,7 @@ public class PofilterTranslationTests extends SubscriptionManagerCLITestScript {
 				
 				BlockedByBzBug blockedByBzBug = new BlockedByBzBug(bugIds.toArray(new String[]{}));
 				ll.add(Arrays.asList(new Object[] {blockedByBzBug, pofilterTest, translationFile}));
+				queuePofilterTest(server, pofilterTest, translationFile);
 			}
 		}
 		
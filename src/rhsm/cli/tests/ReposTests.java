@@ -25,7 +25,7 @@ import rhsm.cli.tasks.CandlepinTasks;
 import rhsm.data.ContentNamespace;
 import rhsm.data.EntitlementCert;
 import rhsm.data.ProductCert;
-import rhsm.data.ProductSubscription;
+import rhsm.data.ProvidedTagIndex;
 import rhsm.data.Repo;
 import rhsm.data.SubscriptionPool;
 import rhsm.data.YumRepo;
@@ -111,7 +111,7 @@ public class ReposTests extends SubscriptionManagerCLITestScript {
 			Repo expectedRepo = new Repo(contentNamespace.name,contentNamespace.label,expectedRepoUrl,contentNamespace.enabled);
 			
 			// assert the subscription-manager repos --list reports the expectedRepo (unless it requires tags that are not found in the installed product certs)
-			if (clienttasks.areAllRequiredTagsInContentNamespaceProvidedByProductCerts(contentNamespace,currentProductCerts)) {
+			if (currentProvidedTagIndex.areAllRequiredTagsProvided(contentNamespace)) {
 				Assert.assertTrue(actualRepos.contains(expectedRepo),"The newly entitled contentNamespace '"+contentNamespace+"' is represented in the subscription-manager repos --list by: "+expectedRepo);
 				
 				if (!priorRepos.contains(expectedRepo)) numNewRepos++;	// also count the number of NEW contentNamespaces
@@ -690,7 +690,7 @@ public class ReposTests extends SubscriptionManagerCLITestScript {
 	
 	@BeforeClass(groups={"setup"})
 	public void setupBeforeClass() throws JSONException, Exception {
-		currentProductCerts = clienttasks.getCurrentProductCerts();
+		currentProvidedTagIndex = clienttasks.getCurrentProvidedTagIndex();
 		modifierSubscriptionData = getModifierSubscriptionDataAsListOfLists(null);
 	}
 	
@@ -709,7 +709,7 @@ public class ReposTests extends SubscriptionManagerCLITestScript {
 	
 	// Protected methods ***********************************************************************
 
-	List<ProductCert> currentProductCerts=new ArrayList<ProductCert>();
+	ProvidedTagIndex currentProvidedTagIndex = null;
 	List<List<Object>> modifierSubscriptionData = null;
 
 	/**
@@ -0,0 +1,86 @@
+package rhsm.cli.tests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.redhat.qe.Assert;
+import com.redhat.qe.tools.SSHCommandResult;
+import rhsm.base.SubscriptionManagerCLITestScript;
+import rhsm.cli.tasks.SSHCommandExecutor;
+
+/**
+ * Tests of the SSHCommandExecutor that runs independent commands concurrently over channels of one ssh connection to the client.
+ * @author agent
+ *
+ */
+@Test(groups={"SSHCommandExecutorTests"})
+public class SSHCommandExecutorTests extends SubscriptionManagerCLITestScript {
+
+
+	// Test Methods ***********************************************************************
+
+	@Test(	description="verify SSHCommandExecutor never runs more than maxChannels commands at the same time and returns the results in the order of the commands",
+			groups={},
+			enabled=true)
+	public void MaxChannelsLimitsConcurrentCommands_Test() {
+		int maxChannels = 2;
+		int sleepSeconds = 2;
+		SSHCommandExecutor executor = new SSHCommandExecutor(client.getConnection(), maxChannels, 60*1000);
+		try {
+			// each command reports the nanosecond times it started and ended its sleep and then its own index
+			List<String> commands = new ArrayList<String>();
+			for (int i=0; i<maxChannels*3; i++) commands.add("date +%s%N; sleep "+sleepSeconds+"; date +%s%N; echo "+i);
+			List<SSHCommandResult> results = executor.runCommandsAndWait(commands);
+
+			Assert.assertEquals(results.size(), commands.size(), "The number of results from SSHCommandExecutor.runCommandsAndWait(...).");
+			List<long[]> intervals = new ArrayList<long[]>();
+			for (int i=0; i<results.size(); i++) {
+				SSHCommandResult result = results.get(i);
+				Assert.assertEquals(result.getExitCode(), Integer.valueOf(0), "The exit code from command: "+commands.get(i));
+				String[] lines = result.getStdout().trim().split("\\n");
+				Assert.assertEquals(lines.length, 3, "The number of stdout lines from command: "+commands.get(i));
+				Assert.assertEquals(lines[2].trim(), String.valueOf(i), "The result of command "+i+" is returned in the same order as the commands.");
+				intervals.add(new long[]{Long.valueOf(lines[0].trim()), Long.valueOf(lines[1].trim())});
+			}
+
+			// the most commands that were sleeping at the same time
+			int maxOverlap = 0;
+			for (long[] interval : intervals) {
+				int overlap = 0;
+				for (long[] other : intervals) if (other[0]<=interval[0] && interval[0]<other[1]) overlap++;
+				maxOverlap = Math.max(maxOverlap, overlap);
+			}
+			log.info("At most "+maxOverlap+" of "+commands.size()+" commands ran at the same time with maxChannels="+maxChannels+".");
+			Assert.assertTrue(maxOverlap<=maxChannels, "No more than maxChannels="+maxChannels+" commands ran at the same time (at most "+maxOverlap+" did).");
+			Assert.assertEquals(maxOverlap, maxChannels, "The commands ran concurrently on all maxChannels="+maxChannels+" channels.");
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test(	description="verify SSHCommandExecutor abandons a command that has not exited within its timeout and returns a result with a null exit code",
+			groups={},
+			enabled=true)
+	public void TimeoutReturnsNullExitCode_Test() {
+		long timeoutMillis = 3000;
+		SSHCommandExecutor executor = new SSHCommandExecutor(client.getConnection(), 2, timeoutMillis);
+		try {
+			String timeoutCommand = "sleep 30; echo finished";
+			String exitCommand = "echo exiting; exit 3";
+			long start = System.currentTimeMillis();
+			List<SSHCommandResult> results = executor.runCommandsAndWait(Arrays.asList(timeoutCommand, exitCommand));
+			long elapsedMillis = System.currentTimeMillis()-start;
+
+			Assert.assertNull(results.get(0).getExitCode(), "The exit code from command '"+timeoutCommand+"' that was abandoned after "+timeoutMillis+" milliseconds.");
+			Assert.assertTrue(!results.get(0).getStdout().contains("finished"), "The abandoned command '"+timeoutCommand+"' did not finish.");
+			Assert.assertTrue(elapsedMillis<30*1000, "SSHCommandExecutor returned ("+elapsedMillis+" ms) without waiting for the abandoned command to finish.");
+			Assert.assertEquals(results.get(1).getExitCode(), Integer.valueOf(3), "The exit code from command '"+exitCommand+"' that exited within the timeout.");
+			Assert.assertEquals(results.get(1).getStdout().trim(), "exiting", "The stdout from command '"+exitCommand+"'.");
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
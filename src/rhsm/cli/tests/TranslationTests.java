@@ -4,6 +4,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -21,6 +22,7 @@ import com.redhat.qe.auto.testng.TestNGUtils;
 import rhsm.base.CandlepinType;
 import rhsm.base.SubscriptionManagerCLITestScript;
 import rhsm.data.Translation;
+import rhsm.data.TranslationCatalog;
 import com.redhat.qe.tools.RemoteFileTasks;
 import com.redhat.qe.tools.SSHCommandResult;
 
@@ -209,17 +211,13 @@ public class TranslationTests extends SubscriptionManagerCLITestScript {
 			enabled=true)
 	//@ImplementsNitrateTest(caseId=)
 	public void VerifyTranslationFileContainsAllMsgids_Test(Object bugzilla, File translationFile) {
-		List<Translation> translationList = translationFileMapForSubscriptionManager.get(translationFile);
 		boolean translationFilePassed=true;
-		for (String msgid : translationMsgidSet) {
-			int numMsgidOccurances=0;
-			for (Translation translation : translationList) {
-				if (translation.msgid.equals(msgid)) numMsgidOccurances++;
-			}
-			if (numMsgidOccurances!=1) {
-				log.warning("Expected 1 occurance (actual='"+numMsgidOccurances+"') of the following msgid in translation file '"+translationFile+"':  msgid \""+msgid+"\"");
-				translationFilePassed=false;
-			}
+		Set<String> unexpectedMsgids = new LinkedHashSet<String>();
+		unexpectedMsgids.addAll(translationCatalogForSubscriptionManager.getMissingMsgids(translationFile, translationMsgidSet));
+		unexpectedMsgids.addAll(translationCatalogForSubscriptionManager.getDuplicatedMsgids(translationFile));
+		for (String msgid : unexpectedMsgids) {
+			log.warning("Expected 1 occurance (actual='"+translationCatalogForSubscriptionManager.getOccurrences(translationFile, msgid)+"') of the following msgid in translation file '"+translationFile+"':  msgid \""+msgid+"\"");
+			translationFilePassed=false;
 		}
 		Assert.assertTrue(translationFilePassed,"Exactly 1 occurance of all the expected translation msgids ("+translationMsgidSet.size()+") were found in translation file '"+translationFile+"'.");
 	}
@@ -316,11 +314,9 @@ public class TranslationTests extends SubscriptionManagerCLITestScript {
 		boolean warningsFound = false;
 		String paragraphChar = "¶";
 		//for (File translationFile: translationFileMapForSubscriptionManager.keySet()) {	// use dataProvider="getTranslationFileData",
-			for (Translation translation: translationFileMapForSubscriptionManager.get(translationFile)) {
-				if (translation.msgstr.contains(paragraphChar) && !translation.msgid.contains(paragraphChar)) {
-					log.warning("Paragraph character \""+paragraphChar+"\" should not be used in the "+translationFile+" translation: "+translation);
-					warningsFound = true;
-				}
+			for (Translation translation: translationCatalogForSubscriptionManager.getTranslationsWithMsgstrOnlyContaining(translationFile, paragraphChar)) {
+				log.warning("Paragraph character \""+paragraphChar+"\" should not be used in the "+translationFile+" translation: "+translation);
+				warningsFound = true;
 			}
 		//}
 		Assert.assertTrue(!warningsFound,"No translations found containing unexpected paragraph character \""+paragraphChar+"\".");
@@ -361,11 +357,9 @@ public class TranslationTests extends SubscriptionManagerCLITestScript {
 		boolean warningsFound = false;
 		String overEscapedNewlineChar = "\\\n";
 		//for (File translationFile: translationFileMapForSubscriptionManager.keySet()) {	// use dataProvider="getTranslationFileData",
-			for (Translation translation: translationFileMapForSubscriptionManager.get(translationFile)) {
-				if (translation.msgstr.contains(overEscapedNewlineChar) && !translation.msgid.contains(overEscapedNewlineChar)) {
-					log.warning("Over-escaped newline character \""+overEscapedNewlineChar.replaceAll("\\n", "\\\\n")+"\" should not be used in the "+translationFile+" translation: "+translation);
-					warningsFound = true;
-				}
+			for (Translation translation: translationCatalogForSubscriptionManager.getTranslationsWithMsgstrOnlyContaining(translationFile, overEscapedNewlineChar)) {
+				log.warning("Over-escaped newline character \""+overEscapedNewlineChar.replaceAll("\\n", "\\\\n")+"\" should not be used in the "+translationFile+" translation: "+translation);
+				warningsFound = true;
 			}
 		//}
 		Assert.assertTrue(!warningsFound,"No translations found containing over-escaped newline character \""+overEscapedNewlineChar+"\".");
@@ -407,16 +401,14 @@ public class TranslationTests extends SubscriptionManagerCLITestScript {
 		ignoreTheseExceptionalCases.add("list subscription-manager plugins");
 		
 		//for (File translationFile: translationFileMapForSubscriptionManager.keySet()) {	// use dataProvider="getTranslationFileData",
-			for (Translation translation: translationFileMapForSubscriptionManager.get(translationFile)) {
-				for (String subString : doNotTranslateSubStrings) {
-					if (translation.msgid.contains(subString) && !translation.msgstr.contains(subString)) {
-						if (ignoreTheseExceptionalCases.contains(translation.msgid)) {
-							log.info("Exceptional case: Ignoring translated substring \""+subString+"\" in translation: "+translation);
-							continue;
-						}
-						log.warning("Substring \""+subString+"\" should remain untranslated in the "+translationFile+" translation: "+translation);
-						warningsFound = true;
+			for (String subString : doNotTranslateSubStrings) {
+				for (Translation translation: translationCatalogForSubscriptionManager.getTranslationsWithMsgidOnlyContaining(translationFile, subString)) {
+					if (ignoreTheseExceptionalCases.contains(translation.msgid)) {
+						log.info("Exceptional case: Ignoring translated substring \""+subString+"\" in translation: "+translation);
+						continue;
 					}
+					log.warning("Substring \""+subString+"\" should remain untranslated in the "+translationFile+" translation: "+translation);
+					warningsFound = true;
 				}
 			}
 		//}
@@ -527,8 +519,10 @@ public class TranslationTests extends SubscriptionManagerCLITestScript {
 	@BeforeClass (groups="setup")
 	public void buildTranslationFileMapForSubscriptionManagerBeforeClass() {
 		translationFileMapForSubscriptionManager = buildTranslationFileMapForSubscriptionManager();
+		translationCatalogForSubscriptionManager = new TranslationCatalog(translationFileMapForSubscriptionManager);
 	}
 	Map<File,List<Translation>> translationFileMapForSubscriptionManager = null;
+	TranslationCatalog translationCatalogForSubscriptionManager = null;	// an index of translationFileMapForSubscriptionManager by msgid
 
 //	@BeforeClass (groups="setup")
 //	public void buildTranslationFileMapForCandlepinBeforeClass() {
@@ -545,12 +539,7 @@ public class TranslationTests extends SubscriptionManagerCLITestScript {
 		//       the currently extracted message ids from the source code is probably incorrect.
 		//       There could be extra msgids in the translation files that were left over from the last round
 		//       of translations and are no longer applicable (should be excluded from this union algorithm).
-		for (File translationFile : translationFileMapForSubscriptionManager.keySet()) {
-			List<Translation> translationList = translationFileMapForSubscriptionManager.get(translationFile);
-			for (Translation translation : translationList) {
-				translationMsgidSet.add(translation.msgid);
-			}
-		}
+		translationMsgidSet.addAll(translationCatalogForSubscriptionManager.getMsgids());
 	}
 	Set<String> translationMsgidSet = new HashSet<String>(500);  // 500 is an estimated size
 
@@ -571,7 +560,7 @@ public class TranslationTests extends SubscriptionManagerCLITestScript {
 		if (!translationMsgidSet.contains(msgid)) Assert.fail("Could not find expected msgid \""+msgid+"\".  Has this msgid changed?");
 		boolean warningsFound = false;
 		for (File translationFile: translationFileMapForSubscriptionManager.keySet()) {
-			Translation translation = Translation.findFirstInstanceWithMatchingFieldFromList("msgid", msgid, translationFileMapForSubscriptionManager.get(translationFile));
+			Translation translation = translationCatalogForSubscriptionManager.getTranslation(translationFile, msgid);
 			if (translation==null) {log.warning("Translation file '"+translationFile+"' does not yet have a translation for msgid '"+msgid+"'."); continue;}
 			if (translation.msgstr.contains(subString)) {
 				Assert.assertTrue(translation.msgstr.contains(subString),"\""+subString+"\" remains correctly untranslated in "+translationFile+" translation: "+translation);
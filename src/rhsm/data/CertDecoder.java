@@ -0,0 +1,439 @@
+package rhsm.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.InflaterInputStream;
+
+import javax.security.auth.x500.X500Principal;
+import javax.xml.bind.DatatypeConverter;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Decodes entitlement and product certificate PEM files locally (in-process) instead of running
+ * "rct cat-cert" on the client once per file.  The Red Hat extensions (1.3.6.1.4.1.2312.9.*) of v1
+ * certificates and the zlib compressed JSON payload of v2 (extension 1.3.6.1.4.1.2312.9.7) and v3
+ * (the "ENTITLEMENT DATA" block of the PEM file) certificates are rendered in the same layout that
+ * rct cat-cert prints so that EntitlementCert.parse(...) and ProductCert.parse(...) build the model
+ * exactly as they do from the real rct output.
+ *
+ * The PEM files are transferred in one ssh round trip using the command from getCatPemFilesCommand(...).
+ * @author agent
+ */
+public class CertDecoder {
+
+	public static final String redhatOid = "1.3.6.1.4.1.2312.9";
+	protected static final String fileMarker = "# File: ";	// '#' cannot appear in a PEM file
+	protected static final String certificateBorder = "+-------------------------------------------+";
+	protected static final Pattern productOidPattern = Pattern.compile("^1\\.3\\.6\\.1\\.4\\.1\\.2312\\.9\\.1\\.(\\d+)\\.(\\d+)$");
+	protected static final Pattern contentOidPattern = Pattern.compile("^1\\.3\\.6\\.1\\.4\\.1\\.2312\\.9\\.2\\.(\\d+)\\.(\\d+)(?:\\.(\\d+))?$");
+	protected static final Pattern orderOidPattern = Pattern.compile("^1\\.3\\.6\\.1\\.4\\.1\\.2312\\.9\\.4\\.(\\d+)$");
+
+
+	/**
+	 * @param findArguments - e.g. /etc/pki/entitlement -regex "/.+/[0-9]+.pem"
+	 * @return a command whose stdout is each found PEM file preceded by a "# File: path" line (input for decodeEntitlementCerts(...) and decodeProductCerts(...))
+	 */
+	public static String getCatPemFilesCommand(String findArguments) {
+		return "find "+findArguments+" -printf '"+fileMarker+"%p\\n' -exec cat {} \\;";
+	}
+
+	/**
+	 * @param pemFiles - stdout from getCatPemFilesCommand(...)
+	 * @return map of path to PEM file contents in the order they were found
+	 */
+	public static Map<String,String> splitPemFiles(String pemFiles) {
+		Map<String,String> map = new java.util.LinkedHashMap<String,String>();
+		String path = null;
+		StringBuilder pem = new StringBuilder();
+		for (String line : pemFiles.split("\\n")) {
+			if (line.startsWith(fileMarker)) {
+				if (path!=null) map.put(path, pem.toString());
+				path = line.substring(fileMarker.length()).trim();
+				pem = new StringBuilder();
+			} else {
+				pem.append(line).append("\n");
+			}
+		}
+		if (path!=null) map.put(path, pem.toString());
+		return map;
+	}
+
+	/**
+	 * @param pemFiles - stdout from getCatPemFilesCommand(...)
+	 * @return the same as EntitlementCert.parse(stdout from rct cat-cert of each file)
+	 */
+	public static List<EntitlementCert> decodeEntitlementCerts(String pemFiles) throws CertificateException, IOException, JSONException {
+		StringBuilder rct = new StringBuilder();
+		Map<String,String> map = splitPemFiles(pemFiles);
+		for (String path : map.keySet()) rct.append(catCert(map.get(path), path, "Entitlement Certificate"));
+		return EntitlementCert.parse(rct.toString());
+	}
+
+	/**
+	 * @param pemFiles - stdout from getCatPemFilesCommand(...)
+	 * @return the same as ProductCert.parse(stdout from rct cat-cert of each file)
+	 */
+	public static List<ProductCert> decodeProductCerts(String pemFiles) throws CertificateException, IOException, JSONException {
+		StringBuilder rct = new StringBuilder();
+		Map<String,String> map = splitPemFiles(pemFiles);
+		for (String path : map.keySet()) rct.append(catCert(map.get(path), path, "Product Certificate"));
+		return ProductCert.parse(rct.toString());
+	}
+
+
+	/**
+	 * @param pem - contents of a certificate PEM file
+	 * @param path - the path to print
+	 * @param title - "Entitlement Certificate" or "Product Certificate"
+	 * @return the equivalent of: rct cat-cert path
+	 */
+	public static String catCert(String pem, String path, String title) throws CertificateException, IOException, JSONException {
+		int certificate = Math.max(pem.indexOf("-----BEGIN CERTIFICATE-----"), 0);	// skip anything before the certificate block (e.g. a private key)
+		X509Certificate x509 = (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(new ByteArrayInputStream(pem.substring(certificate).getBytes("UTF-8")));
+		Map<String,String> extensions = getRedHatExtensions(x509);
+		String version = extensions.containsKey(redhatOid+".6")? extensions.get(redhatOid+".6"):"1.0";
+
+		StringBuilder rct = new StringBuilder();
+		rct.append("\n").append(certificateBorder).append("\n\t").append(title).append("\n").append(certificateBorder).append("\n\n");
+		rct.append("Certificate:\n");
+		append(rct, "Path", path);
+		append(rct, "Version", version);
+		append(rct, "Serial", x509.getSerialNumber().toString());
+		append(rct, "Start Date", formatDate(x509.getNotBefore()));
+		append(rct, "End Date", formatDate(x509.getNotAfter()));
+		rct.append("\n");
+		rct.append("Subject:\n");
+		appendPrincipal(rct, x509.getSubjectX500Principal());
+		rct.append("\n");
+		rct.append("Issuer:\n");
+		appendPrincipal(rct, x509.getIssuerX500Principal());
+		rct.append("\n");
+
+		JSONObject payload = null;
+		if (version.startsWith("3.")) {
+			// the v3 payload is only available on the client in the ENTITLEMENT DATA block of the PEM file
+			int begin = pem.indexOf("-----BEGIN ENTITLEMENT DATA-----"), end = pem.indexOf("-----END ENTITLEMENT DATA-----");
+			if (begin>=0 && end>begin) payload = decompressPayload(DatatypeConverter.parseBase64Binary(pem.substring(begin+"-----BEGIN ENTITLEMENT DATA-----".length(), end).replaceAll("\\s", "")));
+		} else if (version.startsWith("2.")) {
+			byte[] bytes = getExtensionValue(x509, redhatOid+".7");
+			if (bytes!=null) payload = decompressPayload(bytes);
+		}
+		if (payload!=null) appendPayload(rct, payload);
+		else appendV1Extensions(rct, extensions);
+		return rct.toString();
+	}
+
+
+	protected static void appendV1Extensions(StringBuilder rct, Map<String,String> extensions) {
+
+		// group the extensions by namespace
+		Map<BigInteger,Map<String,String>> products = new TreeMap<BigInteger,Map<String,String>>();
+		Map<BigInteger,Map<String,String>> contents = new TreeMap<BigInteger,Map<String,String>>();
+		Map<String,String> order = new TreeMap<String,String>();
+		for (String oid : extensions.keySet()) {
+			Matcher matcher = productOidPattern.matcher(oid);
+			if (matcher.matches()) {
+				get(products, new BigInteger(matcher.group(1))).put(matcher.group(2), extensions.get(oid));
+				continue;
+			}
+			matcher = contentOidPattern.matcher(oid);
+			if (matcher.matches()) {
+				// 1.3.6.1.4.1.2312.9.2.<hash>.<type> = yum|file|kickstart and 1.3.6.1.4.1.2312.9.2.<hash>.<type>.<field>
+				get(contents, new BigInteger(matcher.group(1))).put(matcher.group(3)==null? "type":matcher.group(3), extensions.get(oid));
+				continue;
+			}
+			matcher = orderOidPattern.matcher(oid);
+			if (matcher.matches()) {
+				order.put(matcher.group(1), extensions.get(oid));
+			}
+		}
+
+		for (Map<String,String> product : products.values()) {
+			rct.append("Product:\n");
+			append(rct, "ID", getKey(products, product).toString());
+			append(rct, "Name", product.get("1"));
+			append(rct, "Version", product.get("2"));
+			append(rct, "Arch", product.get("3"));
+			append(rct, "Tags", product.get("4"));
+			if (product.containsKey("5")) append(rct, "Brand Type", product.get("5"));
+			rct.append("\n");
+		}
+
+		if (!order.isEmpty()) {
+			rct.append("Order:\n");
+			append(rct, "Name", order.get("1"));
+			append(rct, "Number", order.get("2"));
+			append(rct, "SKU", order.get("3"));
+			append(rct, "Contract", order.get("10"));
+			append(rct, "Account", order.get("13"));
+			append(rct, "Service Level", order.get("15"));
+			append(rct, "Service Type", order.get("16"));
+			append(rct, "Quantity", order.get("5"));
+			append(rct, "Quantity Used", order.get("11"));
+			append(rct, "Socket Limit", order.get("9"));
+			append(rct, "Virt Limit", order.get("8"));
+			append(rct, "Virt Only", formatBoolean(order.get("18")));
+			append(rct, "Subscription", order.get("4"));
+			append(rct, "Stacking ID", order.get("17"));
+			append(rct, "Warning Period", order.get("12"));
+			append(rct, "Provides Management", formatBoolean(order.get("14")));
+			rct.append("\n");
+		}
+
+		for (Map<String,String> content : contents.values()) {
+			rct.append("Content:\n");
+			append(rct, "Type", content.get("type"));
+			append(rct, "Name", content.get("1"));
+			append(rct, "Label", content.get("2"));
+			append(rct, "Vendor", content.get("5"));
+			append(rct, "URL", content.get("6"));
+			append(rct, "GPG", content.get("7"));
+			append(rct, "Enabled", formatBoolean(content.get("8")));
+			append(rct, "Expires", content.get("9"));
+			append(rct, "Required Tags", content.get("10")==null? null:join(Arrays.asList(content.get("10").split("\\s*,\\s*")), ", "));
+			rct.append("\n");
+		}
+	}
+
+	protected static void appendPayload(StringBuilder rct, JSONObject payload) throws JSONException {
+		JSONArray products = payload.optJSONArray("products");
+		if (products==null) products = new JSONArray();
+		for (int i=0; i<products.length(); i++) {
+			JSONObject product = products.getJSONObject(i);
+			rct.append("Product:\n");
+			append(rct, "ID", optString(product, "id"));
+			append(rct, "Name", optString(product, "name"));
+			append(rct, "Version", optString(product, "version"));
+			append(rct, "Arch", join(product.optJSONArray("architectures"), ","));
+			append(rct, "Tags", join(product.optJSONArray("provides"), ","));
+			if (product.has("brand_type")) append(rct, "Brand Type", optString(product, "brand_type"));
+			rct.append("\n");
+		}
+
+		JSONObject subscription = payload.optJSONObject("subscription");
+		JSONObject order = payload.optJSONObject("order");
+		if (subscription==null) subscription = new JSONObject();
+		if (order==null) order = new JSONObject();
+		JSONObject service = subscription.optJSONObject("service");
+		if (service==null) service = new JSONObject();
+		rct.append("Order:\n");
+		append(rct, "Name", optString(subscription, "name"));
+		append(rct, "Number", optString(order, "number"));
+		append(rct, "SKU", optString(subscription, "sku"));
+		append(rct, "Contract", optString(order, "contract"));
+		append(rct, "Account", optString(order, "account"));
+		append(rct, "Service Level", optString(service, "level"));
+		append(rct, "Service Type", optString(service, "type"));
+		append(rct, "Quantity", optString(order, "quantity"));
+		append(rct, "Quantity Used", optString(payload, "quantity"));
+		append(rct, "Socket Limit", optString(subscription, "sockets"));
+		append(rct, "RAM Limit", optString(subscription, "ram"));
+		append(rct, "Core Limit", optString(subscription, "cores"));
+		append(rct, "Virt Limit", optString(subscription, "virt_limit"));
+		append(rct, "Virt Only", formatBoolean(optString(subscription, "virt_only")));
+		append(rct, "Subscription", optString(order, "subscription"));
+		append(rct, "Stacking ID", optString(subscription, "stacking_id"));
+		append(rct, "Warning Period", optString(subscription, "warning"));
+		append(rct, "Provides Management", formatBoolean(optString(subscription, "management")));
+		rct.append("\n");
+
+		for (int i=0; i<products.length(); i++) {
+			JSONArray contents = products.getJSONObject(i).optJSONArray("content");
+			if (contents==null) continue;
+			for (int j=0; j<contents.length(); j++) {
+				JSONObject content = contents.getJSONObject(j);
+				rct.append("Content:\n");
+				append(rct, "Type", optString(content, "type"));
+				append(rct, "Name", optString(content, "name"));
+				append(rct, "Label", optString(content, "label"));
+				append(rct, "Vendor", optString(content, "vendor"));
+				append(rct, "URL", optString(content, "path"));
+				append(rct, "GPG", optString(content, "gpg_url"));
+				append(rct, "Enabled", content.has("enabled")? formatBoolean(optString(content, "enabled")):"True");
+				append(rct, "Expires", optString(content, "metadata_expire"));
+				append(rct, "Required Tags", join(content.optJSONArray("required_tags"), ", "));
+				append(rct, "Arches", join(content.optJSONArray("arches"), ", "));
+				rct.append("\n");
+			}
+		}
+	}
+
+
+	/**
+	 * @return map of each Red Hat extension oid to its decoded String value
+	 */
+	protected static Map<String,String> getRedHatExtensions(X509Certificate x509) throws IOException {
+		Set<String> oids = new HashSet<String>();
+		if (x509.getNonCriticalExtensionOIDs()!=null) oids.addAll(x509.getNonCriticalExtensionOIDs());
+		if (x509.getCriticalExtensionOIDs()!=null) oids.addAll(x509.getCriticalExtensionOIDs());
+		Map<String,String> extensions = new TreeMap<String,String>();
+		for (String oid : oids) {
+			if (!oid.startsWith(redhatOid+".")) continue;
+			if (oid.equals(redhatOid+".7")) continue;	// compressed payload; not a String
+			extensions.put(oid, new String(getExtensionValue(x509, oid), "UTF-8"));
+		}
+		return extensions;
+	}
+
+	/**
+	 * @return the value of the extension with its DER OCTET STRING wrapper (and DER string wrapper when present) removed
+	 */
+	protected static byte[] getExtensionValue(X509Certificate x509, String oid) throws IOException {
+		byte[] der = x509.getExtensionValue(oid);
+		if (der==null) return null;
+		byte[] value = getDerContents(der);
+
+		// the Red Hat extensions are usually encoded as a DER UTF8String (or other string type) inside the OCTET STRING
+		if (value.length>=2) {
+			switch (value[0]) {
+			case 0x04:	// OCTET STRING
+			case 0x0C:	// UTF8String
+			case 0x13:	// PrintableString
+			case 0x16:	// IA5String
+				try {return getDerContents(value);} catch (IOException e) {/* not DER; use the raw value */}
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * @param tlv - one DER encoded tag-length-value
+	 * @return value
+	 */
+	protected static byte[] getDerContents(byte[] tlv) throws IOException {
+		if (tlv.length<2) throw new IOException("DER value is too short.");
+		int i = 1;
+		int length = tlv[i++] & 0xff;
+		if (length==0x80) throw new IOException("DER does not allow indefinite lengths.");
+		if (length>0x80) {
+			int n = length & 0x7f;
+			if (n>4 || i+n>tlv.length) throw new IOException("Invalid DER length.");
+			length = 0;
+			for (int j=0; j<n; j++) length = (length<<8) | (tlv[i++] & 0xff);
+		}
+		if (length<0 || i+length!=tlv.length) throw new IOException("Expected exactly one DER value.");
+		return Arrays.copyOfRange(tlv, i, i+length);
+	}
+
+	protected static JSONObject decompressPayload(byte[] compressed) throws IOException, JSONException {
+		InputStream inflater = new InflaterInputStream(new ByteArrayInputStream(compressed));
+		ByteArrayOutputStream json = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		for (int n; (n = inflater.read(buffer)) != -1;) json.write(buffer, 0, n);
+		inflater.close();
+		return new JSONObject(json.toString("UTF-8"));
+	}
+
+
+	protected static void append(StringBuilder rct, String label, String value) {
+		rct.append("\t").append(label).append(": ").append(value==null? "":value).append("\n");
+	}
+
+	protected static void appendPrincipal(StringBuilder rct, X500Principal principal) {
+		// rct cat-cert prints the relative distinguished names sorted by name
+		List<String> rdns = new ArrayList<String>();
+		for (String rdn : principal.getName(X500Principal.RFC2253).split("(?<!\\\\),")) {
+			String[] name_value = rdn.split("=", 2);
+			if (name_value.length<2) continue;
+			String name = name_value[0].equals("1.2.840.113549.1.9.1")? "emailAddress":name_value[0];
+			String value = name_value[1].replaceAll("\\\\(.)", "$1");
+			if (value.startsWith("#")) value = value.substring(1);	// hex encoded value; left as is
+			rdns.add(name+": "+value);
+		}
+		Collections.sort(rdns, new Comparator<String>() {
+			public int compare(String a, String b) {
+				return a.compareTo(b);
+			}
+		});
+		for (String rdn : rdns) rct.append("\t").append(rdn).append("\n");
+	}
+
+	protected static String formatDate(Date date) {
+		DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+		dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+		return dateFormat.format(date)+"+00:00";	// 2012-09-11 00:00:00+00:00
+	}
+
+	protected static String formatBoolean(String value) {
+		if (value==null || value.length()==0) return "False";
+		return (value.equals("1") || value.equalsIgnoreCase("true"))? "True":"False";
+	}
+
+	protected static String optString(JSONObject jsonObject, String name) {
+		if (!jsonObject.has(name) || jsonObject.isNull(name)) return null;
+		return jsonObject.optString(name);
+	}
+
+	protected static String join(JSONArray jsonArray, String separator) throws JSONException {
+		if (jsonArray==null) return null;
+		List<String> strings = new ArrayList<String>();
+		for (int i=0; i<jsonArray.length(); i++) strings.add(jsonArray.getString(i));
+		return join(strings, separator);
+	}
+
+	protected static String join(List<String> strings, String separator) {
+		StringBuilder sb = new StringBuilder();
+		for (String string : strings) {
+			if (sb.length()>0) sb.append(separator);
+			sb.append(string);
+		}
+		return sb.toString();
+	}
+
+	protected static Map<String,String> get(Map<BigInteger,Map<String,String>> namespaces, BigInteger key) {
+		Map<String,String> namespace = namespaces.get(key);
+		if (namespace==null) {
+			namespace = new TreeMap<String,String>();
+			namespaces.put(key, namespace);
+		}
+		return namespace;
+	}
+
+	protected static BigInteger getKey(Map<BigInteger,Map<String,String>> namespaces, Map<String,String> namespace) {
+		for (BigInteger key : namespaces.keySet()) if (namespaces.get(key)==namespace) return key;
+		return null;
+	}
+
+
+	/**
+	 * @return a description of all the fields parsed for an EntitlementCert including its namespaces (useful to compare decoders)
+	 */
+	public static String describe(EntitlementCert entitlementCert) {
+		List<String> namespaces = new ArrayList<String>();
+		for (ProductNamespace productNamespace : entitlementCert.productNamespaces) namespaces.add(String.valueOf(productNamespace));
+		for (ContentNamespace contentNamespace : entitlementCert.contentNamespaces) namespaces.add(String.valueOf(contentNamespace));
+		Collections.sort(namespaces);	// rct does not guarantee the order of the namespaces
+		return entitlementCert+" "+entitlementCert.orderNamespace+" "+namespaces;
+	}
+
+	/**
+	 * @return a description of all the fields parsed for a ProductCert (useful to compare decoders)
+	 */
+	public static String describe(ProductCert productCert) {
+		return String.valueOf(productCert);
+	}
+}
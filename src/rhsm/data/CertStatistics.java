@@ -70,8 +70,9 @@ public class CertStatistics extends AbstractCommandLineData {
 		regexes.put("contentSets",			"Content sets: (.+)");
 		
 		List<Map<String,String>> statisticsDataList = new ArrayList<Map<String,String>>();
-		for(String field : regexes.keySet()){
-			Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+		Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(CertStatistics.class, "parse", regexes);
+		for(String field : patterns.keySet()){
+			Pattern pat = patterns.get(field);
 			addRegexMatchesToList(pat, rawStatistics, statisticsDataList, field);
 		}
 		
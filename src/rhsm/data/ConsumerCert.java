@@ -187,8 +187,9 @@ Certificate:
 		regexes.put("validityNotAfter",		"Validity[\\n\\s\\w:]*Not After\\s*:\\s*(.*)");
 
 		List<Map<String,String>> listMaps = new ArrayList<Map<String,String>>();
-		for(String field : regexes.keySet()){
-			Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+		Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(ConsumerCert.class, "parseStdoutFromOpensslX509", regexes);
+		for(String field : patterns.keySet()){
+			Pattern pat = patterns.get(field);
 			addRegexMatchesToList(pat, stdoutFromOpensslx509, listMaps, field);
 		}
 		
@@ -245,8 +246,9 @@ Certificate:
 		regexes.put("version",				"Certificate:(?:(?:\\n.+)+)Version: (.+)");
 		
 		List<Map<String,String>> certDataList = new ArrayList<Map<String,String>>();
-		for(String field : regexes.keySet()){
-			Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+		Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(ConsumerCert.class, "parse", regexes);
+		for(String field : patterns.keySet()){
+			Pattern pat = patterns.get(field);
 			addRegexMatchesToList(pat, rawCertificate, certDataList, field);
 		}
 		
@@ -268,8 +268,9 @@ public class ContentNamespace extends AbstractCommandLineData {
 			regexes.put("requiredTags",			"1\\.3\\.6\\.1\\.4\\.1\\.2312\\.9\\.2\\.(\\d+)\\."+type+"\\.10:[\\s\\cM]*\\.(?:.|\\s)(.*)");
 			
 			Map<String, Map<String,String>> productMap = new HashMap<String, Map<String,String>>();
-			for(String field : regexes.keySet()){
-				Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+			Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(ContentNamespace.class, type==1? "parseStdoutFromOpensslX509:yum" : "parseStdoutFromOpensslX509:file", regexes);
+			for(String field : patterns.keySet()){
+				Pattern pat = patterns.get(field);
 				addRegexMatchesToMap(pat, rawCertificate, productMap, field);
 			}
 			
@@ -481,14 +482,15 @@ public class ContentNamespace extends AbstractCommandLineData {
 		// find all the raw "Content:" groupings and then create one ContentNamespace per raw "Content:" grouping
 		String rawContentRegex = "Content:((\\n.+)+)";
 		List<ContentNamespace> contentNamespaces = new ArrayList<ContentNamespace>();
-		Matcher m = Pattern.compile(rawContentRegex, Pattern.MULTILINE).matcher(rawCertificate);
+		Matcher m = PatternRegistry.getPattern(rawContentRegex, Pattern.MULTILINE).matcher(rawCertificate);
 		while (m.find()) {
 			String rawContent = m.group(1);
 			
 			// find a list of all the certData matching the content fields in the map of regexes
 			List<Map<String,String>> certDataList = new ArrayList<Map<String,String>>();
-			for(String field : regexes.keySet()){
-				Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+			Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(ContentNamespace.class, "parseStdoutFromRctCatCert", regexes);
+			for(String field : patterns.keySet()){
+				Pattern pat = patterns.get(field);
 				addRegexMatchesToList(pat, rawContent, certDataList, field);
 			}
 			
@@ -39,16 +39,20 @@ public class EntitlementCert extends AbstractCommandLineData {
 
 
 	public EntitlementCert(String rawCertificate, Map<String, String> certData){
-		super(certData);		
+		this(rawCertificate, certData, OrderNamespace.parse(rawCertificate), ProductNamespace.parse(rawCertificate), ContentNamespace.parse(rawCertificate));
+	}
+
+	public EntitlementCert(String rawCertificate, Map<String, String> certData, OrderNamespace orderNamespace, List<ProductNamespace> productNamespaces, List<ContentNamespace> contentNamespaces){
+		super(certData);
 		this.rawCertificate = rawCertificate;
 		if (this.serialString.contains(":")) {	// 28:18:c4:bc:b0:34:68
 			this.serialNumber = new BigInteger(serialString.replaceAll(":", ""),16);	// strip out the colons and convert to a number
 		} else {
 			this.serialNumber = new BigInteger(serialString);
 		}
-		this.orderNamespace = OrderNamespace.parse(rawCertificate);
-		this.productNamespaces = ProductNamespace.parse(rawCertificate);
-		this.contentNamespaces = ContentNamespace.parse(rawCertificate);
+		this.orderNamespace = orderNamespace;
+		this.productNamespaces = productNamespaces;
+		this.contentNamespaces = contentNamespaces;
 	}
 	
 	
@@ -477,8 +481,9 @@ public class EntitlementCert extends AbstractCommandLineData {
 			regexes.put("file",					"File: (.+)");
 
 			List<Map<String,String>> certDataList = new ArrayList<Map<String,String>>();
-			for(String field : regexes.keySet()){
-				Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+			Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(EntitlementCert.class, "parseStdoutFromOpensslX509", regexes);
+			for(String field : patterns.keySet()){
+				Pattern pat = patterns.get(field);
 				addRegexMatchesToList(pat, rawCertificate, certDataList, field);
 			}
 			
@@ -496,12 +501,71 @@ public class EntitlementCert extends AbstractCommandLineData {
 	
 	
 	
+	// maps of the "Label: " printed by rct cat-cert within each section to the abstraction field it populates
+	protected static final Map<String,String> rctCertificateFields = new HashMap<String,String>();
+	protected static final Map<String,String> rctSubjectFields = new HashMap<String,String>();
+	protected static final Map<String,String> rctIssuerFields = new HashMap<String,String>();
+	protected static final Map<String,String> rctOrderFields = new HashMap<String,String>();
+	protected static final Map<String,String> rctProductFields = new HashMap<String,String>();
+	protected static final Map<String,String> rctContentFields = new HashMap<String,String>();
+	static {
+		// rct label						abstraction field
+		rctCertificateFields.put("Path",			"file");
+		rctCertificateFields.put("Version",			"version");
+		rctCertificateFields.put("Serial",			"serialString");
+		rctCertificateFields.put("Start Date",		"validityNotBefore");
+		rctCertificateFields.put("End Date",		"validityNotAfter");
+
+		rctSubjectFields.put("CN",					"id");
+
+		rctIssuerFields.put("CN",					"issuer");	// added by bug 968364
+
+		rctOrderFields.put("Name",					"productName");
+		rctOrderFields.put("Number",				"orderNumber");
+		rctOrderFields.put("SKU",					"productId");
+		rctOrderFields.put("Subscription",			"subscriptionNumber");
+		rctOrderFields.put("Quantity",				"quantity");
+		rctOrderFields.put("RAM Limit",				"ramLimit");	// Bug 861993 - Include RAM value in certificates
+		rctOrderFields.put("Core Limit",			"coreLimit");	// Bug 955142 - Core limit info is not added to the entitlement certs
+		rctOrderFields.put("Virt Limit",			"virtualizationLimit");
+		rctOrderFields.put("Socket Limit",			"socketLimit");
+		rctOrderFields.put("Contract",				"contractNumber");
+		rctOrderFields.put("Quantity Used",			"quantityUsed");
+		rctOrderFields.put("Warning Period",		"warningPeriod");
+		rctOrderFields.put("Account",				"accountNumber");
+		rctOrderFields.put("Provides Management",	"providesManagement");
+		rctOrderFields.put("Service Level",			"supportLevel");
+		rctOrderFields.put("Service Type",			"supportType");
+		rctOrderFields.put("Stacking ID",			"stackingId");
+		rctOrderFields.put("Virt Only",				"virtOnly");
+
+		rctProductFields.put("ID",					"id");
+		rctProductFields.put("Name",				"name");
+		rctProductFields.put("Version",				"version");
+		rctProductFields.put("Arch",				"arch");
+		rctProductFields.put("Tags",				"providedTags");
+		rctProductFields.put("Brand Type",			"brandType");
+
+		rctContentFields.put("Name",				"name");
+		rctContentFields.put("Label",				"label");
+		rctContentFields.put("Vendor",				"vendorId");
+		rctContentFields.put("URL",					"downloadUrl");
+		rctContentFields.put("GPG",					"gpgKeyUrl");
+		rctContentFields.put("Enabled",				"enabled");
+		rctContentFields.put("Expires",				"metadataExpire");
+		rctContentFields.put("Required Tags",		"requiredTags");
+		rctContentFields.put("Arches",				"arches");
+		rctContentFields.put("Type",				"type");	// Bug 856349 - rct cat-cert tool should report Content for "file" repo types as well as "yum" repos types
+	}
+
 	/**
+	 * Parses the stdout from rct cat-cert in a single line by line sweep building the EntitlementCert,
+	 * OrderNamespace, ProductNamespaces, and ContentNamespaces together rather than rescanning every
+	 * rawCertificate once per field.
 	 * @param rawCertificates - stdout from: # find /etc/pki/entitlement/ -regex "/.+/[0-9]+.pem" -exec rct cat-cert {} \;
 	 * @return
 	 */
 	static public List<EntitlementCert> parse(String rawCertificates) {
-		
 		//	[root@jsefler-rhel59 ~]# find /etc/pki/entitlement/ -regex "/.+/[0-9]+.pem" -exec rct cat-cert {} \;
 		//
 		//	+-------------------------------------------+
@@ -715,42 +779,111 @@ public class EntitlementCert extends AbstractCommandLineData {
 		//		ST: North Carolina
 		//		emailAddress: ca-support@redhat.com
 
-		
-		Map<String,String> regexes = new HashMap<String,String>();
-		
-		// abstraction field				regex pattern (with a capturing group) Note: the captured group will be trim()ed
-		regexes.put("id",					"Subject:(?:(?:\\n.+)+)CN: (.+)");
-		regexes.put("issuer",				"Issuer:(?:(?:\\n.+)+)CN: (.+)");	// added by bug 968364
-		regexes.put("serialString",			"Certificate:(?:(?:\\n.+)+)Serial: (.+)");
-		regexes.put("validityNotBefore",	"Certificate:(?:(?:\\n.+)+)Start Date: (.+)");
-		regexes.put("validityNotAfter",		"Certificate:(?:(?:\\n.+)+)End Date: (.+)");
-		regexes.put("file",					"Certificate:(?:(?:\\n.+)+)Path: (.+)");
-		regexes.put("version",				"Certificate:(?:(?:\\n.+)+)Version: (.+)");
-		
-		// split the rawCertificates process each individual rawCertificate
-		String rawCertificateRegex = "\\+-+\\+\\n\\s+Entitlement Certificate\\n\\+-+\\+";
 		List<EntitlementCert> entitlementCerts = new ArrayList<EntitlementCert>();
-		for (String rawCertificate : rawCertificates.split(rawCertificateRegex)) {
-			
-			// strip leading and trailing blank lines and skip blank rawCertificates
-			rawCertificate = rawCertificate.replaceAll("^\\n*","").replaceAll("\\n*$", "");
-			if (rawCertificate.length()==0) continue;
-			
-			List<Map<String,String>> certDataList = new ArrayList<Map<String,String>>();
-			for(String field : regexes.keySet()){
-				Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
-				addRegexMatchesToList(pat, rawCertificate, certDataList, field);
+
+		int certStart = 0;				// offset in rawCertificates where the current rawCertificate begins
+		int delimiterStart = -1;		// offset of the first line of a "+---+ Entitlement Certificate +---+" delimiter in progress
+		int delimiterLines = 0;			// number of delimiter lines matched so far
+		Map<String,String> sectionFields = null;	// rct labels expected in the current section
+		Map<String,String> sectionData = null;		// certData being populated by the current section
+		Map<String,String> certData = new HashMap<String,String>();
+		Map<String,String> orderData = new HashMap<String,String>();
+		List<Map<String,String>> productDataList = new ArrayList<Map<String,String>>();
+		List<Map<String,String>> contentDataList = new ArrayList<Map<String,String>>();
+
+		int lineStart = 0;
+		while (lineStart <= rawCertificates.length()) {
+			int lineEnd = rawCertificates.indexOf('\n', lineStart);
+			if (lineEnd < 0) lineEnd = rawCertificates.length();
+			String line = rawCertificates.substring(lineStart, lineEnd);
+
+			// detect the three line delimiter that separates each rawCertificate
+			if (isRctBorderLine(line)) {
+				if (delimiterLines==2) {
+					addEntitlementCert(entitlementCerts, rawCertificates.substring(certStart, delimiterStart), certData, orderData, productDataList, contentDataList);
+					certStart = lineEnd;
+					certData = new HashMap<String,String>();
+					orderData = new HashMap<String,String>();
+					productDataList = new ArrayList<Map<String,String>>();
+					contentDataList = new ArrayList<Map<String,String>>();
+					sectionFields = null; sectionData = null;
+					delimiterLines = 0;
+				} else {
+					delimiterStart = lineStart;
+					delimiterLines = 1;
+				}
+			} else if (delimiterLines==1 && line.length()>line.trim().length() && line.trim().equals("Entitlement Certificate")) {
+				delimiterLines = 2;
+			} else {
+				delimiterLines = 0;
+
+				if (line.length()==0) {
+					// a blank line ends the current section
+					sectionFields = null; sectionData = null;
+				} else if (line.equals("Certificate:") || line.equals("Subject:") || line.equals("Issuer:") || line.equals("Order:")) {
+					sectionData = line.equals("Order:")? orderData : certData;
+					sectionFields = line.equals("Certificate:")? rctCertificateFields : line.equals("Subject:")? rctSubjectFields : line.equals("Issuer:")? rctIssuerFields : rctOrderFields;
+				} else if (line.equals("Product:")) {
+					sectionData = new HashMap<String,String>(); productDataList.add(sectionData);
+					sectionFields = rctProductFields;
+				} else if (line.equals("Content:")) {
+					sectionData = new HashMap<String,String>(); contentDataList.add(sectionData);
+					sectionFields = rctContentFields;
+				} else if (sectionFields != null) {
+					int i = line.indexOf(": ");
+					if (i > 0) {
+						String field = sectionFields.get(line.substring(0, i).trim());
+						String value = line.substring(i+2);
+						// only the requiredTags and arches fields are populated when their value is empty
+						if (field != null && (value.length()>0 || field.equals("requiredTags") || field.equals("arches"))) {
+							sectionData.put(field, value.trim());
+							if (sectionFields==rctCertificateFields && field.equals("validityNotBefore"))	orderData.put("startDate", value.trim());
+							if (sectionFields==rctCertificateFields && field.equals("validityNotAfter"))	orderData.put("endDate", value.trim());
+						}
+					}
+				}
 			}
-			
-			// assert that there is only one group of certData found in the list
-			if (certDataList.size()!=1) Assert.fail("Error when parsing raw entitlement certificate.  Expected to parse only one group of certificate data.");
-			Map<String,String> certData = certDataList.get(0);
-			
-			// create a new EntitlementCert
-			entitlementCerts.add(new EntitlementCert(rawCertificate, certData));
+			lineStart = lineEnd+1;
 		}
+		addEntitlementCert(entitlementCerts, rawCertificates.substring(certStart), certData, orderData, productDataList, contentDataList);
+
 		return entitlementCerts;
 	}
+
+	static protected boolean isRctBorderLine(String line) {
+		// +-------------------------------------------+
+		if (line.length()<3 || line.charAt(0)!='+' || line.charAt(line.length()-1)!='+') return false;
+		for (int i=1; i<line.length()-1; i++) if (line.charAt(i)!='-') return false;
+		return true;
+	}
+
+	static protected void addEntitlementCert(List<EntitlementCert> entitlementCerts, String rawCertificate, Map<String,String> certData, Map<String,String> orderData, List<Map<String,String>> productDataList, List<Map<String,String>> contentDataList) {
+
+		// strip leading and trailing blank lines and skip blank rawCertificates
+		int begin = 0, end = rawCertificate.length();
+		while (begin<end && rawCertificate.charAt(begin)=='\n') begin++;
+		while (end>begin && rawCertificate.charAt(end-1)=='\n') end--;
+		rawCertificate = rawCertificate.substring(begin, end);
+		if (rawCertificate.length()==0) return;
+
+		// assert that certificate and order data was found
+		if (certData.isEmpty()) Assert.fail("Error when parsing raw entitlement certificate.  Expected to parse only one group of certificate data.");
+		if (orderData.isEmpty()) Assert.fail("Error when parsing raw certificate.  Expected to parse only one group of order namespace data");
+
+		List<ProductNamespace> productNamespaces = new ArrayList<ProductNamespace>();
+		for (Map<String,String> productData : productDataList) {
+			if (productData.isEmpty()) Assert.fail("Error when parsing raw product group.  Expected to parse only one group of product data from:\n"+rawCertificate);
+			productNamespaces.add(new ProductNamespace(productData));
+		}
+		List<ContentNamespace> contentNamespaces = new ArrayList<ContentNamespace>();
+		for (Map<String,String> contentData : contentDataList) {
+			if (contentData.isEmpty()) Assert.fail("Error when parsing raw content group.  Expected to parse only one group of content data from:\n"+rawCertificate);
+			contentNamespaces.add(new ContentNamespace(contentData));
+		}
+
+		// create a new EntitlementCert
+		entitlementCerts.add(new EntitlementCert(rawCertificate, certData, new OrderNamespace(orderData), productNamespaces, contentNamespaces));
+	}
 }
 
 
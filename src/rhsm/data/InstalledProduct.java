@@ -161,8 +161,9 @@ public class InstalledProduct extends AbstractCommandLineData {
 		regexes.put("endDate",		"^Ends:(.*)");		// Bug 812373 - Terminology Change to Subscription-Manager list --installed & --consumed
 		
 		List<Map<String,String>> productCertList = new ArrayList<Map<String,String>>();
-		for(String field : regexes.keySet()){
-			Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+		Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(InstalledProduct.class, "parse", regexes);
+		for(String field : patterns.keySet()){
+			Pattern pat = patterns.get(field);
 			addRegexMatchesToList(pat, stdoutListingOfInstalledProducts, productCertList, field);
 		}
 		
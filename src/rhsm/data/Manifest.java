@@ -184,8 +184,9 @@ public class Manifest extends AbstractCommandLineData {
 			if (rawManifest.length()==0) continue;
 			
 			List<Map<String,String>> manifestDataList = new ArrayList<Map<String,String>>();
-			for(String field : regexes.keySet()){
-				Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+			Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(Manifest.class, "parse", regexes);
+			for(String field : patterns.keySet()){
+				Pattern pat = patterns.get(field);
 				addRegexMatchesToList(pat, rawManifest, manifestDataList, field);
 			}
 			
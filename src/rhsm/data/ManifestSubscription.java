@@ -197,8 +197,9 @@ public class ManifestSubscription extends AbstractCommandLineData {
 		regexes.put("contentSets",			"Subscription:(?:(?:\\n.+)+)Content Sets:(.*(\\n.*?)+?)\\n(?:\\n|$)");	// assumes one or more content set values.  FIXME this will fail if there are no content sets
 		
 		List<Map<String,String>> productList = new ArrayList<Map<String,String>>();
-		for(String field : regexes.keySet()){
-			Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+		Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(ManifestSubscription.class, "parse", regexes);
+		for(String field : patterns.keySet()){
+			Pattern pat = patterns.get(field);
 			addRegexMatchesToList(pat, rawManifest, productList, field);
 		}
 		
@@ -231,14 +232,15 @@ public class ManifestSubscription extends AbstractCommandLineData {
 		// find all the raw "Subscription:" groupings and then create one ManifestSubscription per raw "Subscription:" grouping
 		String rawSubscrtionRegex = "Subscription:((\\n.+)+)";
 		List<ManifestSubscription> manifestSubscriptions = new ArrayList<ManifestSubscription>();
-		Matcher m = Pattern.compile(rawSubscrtionRegex, Pattern.MULTILINE).matcher(rawManifest);
+		Matcher m = PatternRegistry.getPattern(rawSubscrtionRegex, Pattern.MULTILINE).matcher(rawManifest);
 		while (m.find()) {
 			String rawSubscription = m.group(1);
 			
 			// find a list of all the certData matching the subscription fields in the map of regexes
 			List<Map<String,String>> certDataList = new ArrayList<Map<String,String>>();
-			for(String field : regexes.keySet()){
-				Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+			Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(ManifestSubscription.class, "parse", regexes);
+			for(String field : patterns.keySet()){
+				Pattern pat = patterns.get(field);
 				addRegexMatchesToList(pat, rawSubscription, certDataList, field);
 			}
 			
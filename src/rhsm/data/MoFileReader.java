@@ -0,0 +1,137 @@
+package rhsm.data;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads a compiled GNU gettext message catalog (e.g. /usr/share/locale/de/LC_MESSAGES/rhsm.mo)
+ * directly into Translation objects without running msgunfmt on the client.
+ * The msgids and msgstrs are escaped the same way as Translation.parse(msgunfmt output) leaves
+ * them (e.g. a tab is "\t" and a double quote is "\"" while a newline is a real newline), so the
+ * results are interchangeable with those of Translation.parse(...).  Unlike Translation.parse(...),
+ * the msgid_plural and all of the plural msgstrs are also decoded.
+ * <br>
+ * Format: http://www.gnu.org/software/gettext/manual/html_node/MO-Files.html
+ */
+public class MoFileReader {
+
+	protected static final int magic = 0x950412de;
+	protected static final char contextSeparator = '\u0004';
+	protected static final Pattern charsetPattern = Pattern.compile("Content-Type:.*charset=([^\\s;]+)", Pattern.CASE_INSENSITIVE);
+
+	/**
+	 * @param moFile - a local .mo file
+	 * @return the translations in the order of the catalog (sorted by msgid; the first has the empty msgid of the header)
+	 * @throws IOException
+	 */
+	public static List<Translation> read(File moFile) throws IOException {
+		InputStream in = new FileInputStream(moFile);
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream((int)moFile.length());
+			byte[] buffer = new byte[8192];
+			for (int n; (n = in.read(buffer)) != -1;) bytes.write(buffer, 0, n);
+			return read(bytes.toByteArray());
+		} catch (IOException e) {
+			throw new IOException("Failed to read message catalog '"+moFile+"': "+e.getMessage(), e);
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * @param mo - the bytes of a .mo file
+	 * @return the translations in the order of the catalog (sorted by msgid; the first has the empty msgid of the header)
+	 * @throws IOException
+	 */
+	public static List<Translation> read(byte[] mo) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(mo).order(ByteOrder.LITTLE_ENDIAN);
+		if (mo.length<28) throw new IOException("Too short ("+mo.length+" bytes) to be a message catalog.");
+		if (buffer.getInt(0)!=magic) {
+			buffer.order(ByteOrder.BIG_ENDIAN);
+			if (buffer.getInt(0)!=magic) throw new IOException("Not a message catalog (bad magic number "+Integer.toHexString(buffer.getInt(0))+").");
+		}
+		int revision = buffer.getInt(4);
+		if ((revision>>16)>1) throw new IOException("Unsupported message catalog major revision "+(revision>>16)+".");
+		int count = buffer.getInt(8);
+		int originalsOffset = buffer.getInt(12);
+		int translationsOffset = buffer.getInt(16);
+		// the hash table (size at 20, offset at 24) only speeds up single lookups; every entry is decoded here
+
+		// the charset is declared in the header (the translation of the empty msgid) which sorts first
+		Charset charset = Charset.forName("UTF-8");
+		if (count>0 && getLength(buffer, originalsOffset, 0)==0) {
+			Matcher matcher = charsetPattern.matcher(new String(getBytes(buffer, mo, translationsOffset, 0), "US-ASCII"));
+			if (matcher.find() && Charset.isSupported(matcher.group(1))) charset = Charset.forName(matcher.group(1));
+		}
+
+		List<Translation> translations = new ArrayList<Translation>(count);
+		for (int i=0; i<count; i++) {
+			String original = new String(getBytes(buffer, mo, originalsOffset, i), charset);
+			String translated = new String(getBytes(buffer, mo, translationsOffset, i), charset);
+
+			String msgctxt = null;
+			int c = original.indexOf(contextSeparator);
+			if (c>=0) {
+				msgctxt = original.substring(0, c);
+				original = original.substring(c+1);
+			}
+			String[] msgids = original.split("\0", -1);		// msgid and msgid_plural
+			String[] msgstrs = translated.split("\0", -1);	// msgstr or msgstr[0], msgstr[1], ...
+
+			Translation translation = new Translation(escape(msgids[0]), escape(msgstrs[0]));
+			translation.msgctxt = msgctxt==null? null:escape(msgctxt);
+			if (msgids.length>1) {
+				translation.msgid_plural = escape(msgids[1]);
+				translation.msgstr_plural = new ArrayList<String>();
+				for (String msgstr : Arrays.asList(msgstrs)) translation.msgstr_plural.add(escape(msgstr));
+			}
+			translations.add(translation);
+		}
+		return translations;
+	}
+
+	protected static int getLength(ByteBuffer buffer, int tableOffset, int index) {
+		return buffer.getInt(tableOffset+index*8);
+	}
+
+	protected static byte[] getBytes(ByteBuffer buffer, byte[] mo, int tableOffset, int index) throws IOException {
+		int length = buffer.getInt(tableOffset+index*8);
+		int offset = buffer.getInt(tableOffset+index*8+4);
+		if (length<0 || offset<0 || offset+length>mo.length) throw new IOException("Corrupt message catalog: string "+index+" at offset "+offset+" with length "+length+" is outside of the "+mo.length+" bytes.");
+		return Arrays.copyOfRange(mo, offset, offset+length);
+	}
+
+	/**
+	 * @return the string as it appears between the quotes of msgunfmt output except that a newline remains a newline (the same as Translation.parse(...))
+	 */
+	protected static String escape(String string) {
+		StringBuilder escaped = new StringBuilder(string.length()+16);
+		for (char c : string.toCharArray()) {
+			switch (c) {
+				case '\\':		escaped.append("\\\\"); break;
+				case '"':		escaped.append("\\\""); break;
+				case '\t':		escaped.append("\\t"); break;
+				case '\r':		escaped.append("\\r"); break;
+				case '\f':		escaped.append("\\f"); break;
+				case '\b':		escaped.append("\\b"); break;
+				case '\u0007':	escaped.append("\\a"); break;
+				case '\u000B':	escaped.append("\\v"); break;
+				case '\n':		escaped.append("\\n"); break;
+				default:		escaped.append(c);
+			}
+		}
+		// Translation.parse(...) converts every "\n" escape back to a newline
+		return escaped.toString().replaceAll("\\\\n", "\n");
+	}
+}
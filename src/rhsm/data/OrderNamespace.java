@@ -323,8 +323,9 @@ public class OrderNamespace extends AbstractCommandLineData {
 	
 
 		List<Map<String,String>> listMaps = new ArrayList<Map<String,String>>();
-		for(String field : regexes.keySet()){
-			Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+		Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(OrderNamespace.class, "parseStdoutFromOpensslX509", regexes);
+		for(String field : patterns.keySet()){
+			Pattern pat = patterns.get(field);
 			addRegexMatchesToList(pat, rawCertificate, listMaps, field);
 		}
 		
@@ -420,8 +421,9 @@ public class OrderNamespace extends AbstractCommandLineData {
 		regexes.put("virtOnly",				"Order:(?:(?:\\n.+)+)Virt Only: (.+)");
 
 		List<Map<String,String>> certDataList = new ArrayList<Map<String,String>>();
-		for(String field : regexes.keySet()){
-			Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+		Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(OrderNamespace.class, "parseStdoutFromRctCatCert", regexes);
+		for(String field : patterns.keySet()){
+			Pattern pat = patterns.get(field);
 			addRegexMatchesToList(pat, rawCertificate, certDataList, field);
 		}
 		
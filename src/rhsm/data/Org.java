@@ -78,8 +78,9 @@ public class Org extends AbstractCommandLineData {
 		regexes.put("orgName",				"Name:(.*)");
 		
 		List<Map<String,String>> orgsList = new ArrayList<Map<String,String>>();
-		for(String field : regexes.keySet()){
-			Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+		Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(Org.class, "parse", regexes);
+		for(String field : patterns.keySet()){
+			Pattern pat = patterns.get(field);
 			addRegexMatchesToList(pat, stdoutOrgsList, orgsList, field);
 		}
 		
@@ -0,0 +1,69 @@
+package rhsm.data;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * A shared registry of the precompiled regex Patterns used by the static parse methods in rhsm.data.
+ * Every parse method declares a map of abstraction field to regex pattern and previously compiled each
+ * regex on every invocation.  Since these parsers are called from data providers and polling loops,
+ * the same patterns were recompiled thousands of times per suite run.  Now the regexes of each parse
+ * method are compiled only once and the immutable map of compiled Patterns is reused.  The registry is
+ * keyed on the parse method's class and name (rather than on the map of regexes itself) so that a lookup
+ * costs only a String hash and never a deep comparison of the regexes.
+ */
+public class PatternRegistry {
+
+	// class => (parser name => unmodifiable map of field compiled Patterns)
+	protected static final Map<Class<?>, Map<String,Map<String,Pattern>>> fieldPatternsRegistry = new ConcurrentHashMap<Class<?>, Map<String,Map<String,Pattern>>>();
+
+	// flags => (regex => compiled Pattern)
+	protected static final Map<Integer, Map<String,Pattern>> patternRegistry = new ConcurrentHashMap<Integer, Map<String,Pattern>>();
+
+	/**
+	 * @param clazz - the rhsm.data class whose parse method owns the regexes
+	 * @param parser - name of the parse method that owns the regexes (e.g. "parse" or "parseStdoutFromOpensslX509");
+	 * a parse method whose regexes vary with its inputs must include those inputs in the name
+	 * @param regexes - map of abstraction field to regex pattern (with a capturing group); only read the first time parser is registered
+	 * @return an unmodifiable map of abstraction field to its Pattern compiled with Pattern.MULTILINE
+	 */
+	static public Map<String,Pattern> getFieldPatterns(Class<?> clazz, String parser, Map<String,String> regexes) {
+		Map<String,Map<String,Pattern>> classPatterns = fieldPatternsRegistry.get(clazz);
+		if (classPatterns==null) {
+			classPatterns = new ConcurrentHashMap<String,Map<String,Pattern>>();
+			fieldPatternsRegistry.put(clazz, classPatterns);
+		}
+		Map<String,Pattern> fieldPatterns = classPatterns.get(parser);
+		if (fieldPatterns==null) {
+			fieldPatterns = new LinkedHashMap<String,Pattern>();
+			for (String field : regexes.keySet()) {
+				fieldPatterns.put(field, getPattern(regexes.get(field), Pattern.MULTILINE));
+			}
+			fieldPatterns = Collections.unmodifiableMap(fieldPatterns);
+			classPatterns.put(parser, fieldPatterns);
+		}
+		return fieldPatterns;
+	}
+
+	/**
+	 * @param regex
+	 * @param flags - Pattern match flags such as Pattern.MULTILINE
+	 * @return the cached Pattern compiled from regex with flags
+	 */
+	static public Pattern getPattern(String regex, int flags) {
+		Map<String,Pattern> patterns = patternRegistry.get(flags);
+		if (patterns==null) {
+			patterns = new ConcurrentHashMap<String,Pattern>();
+			patternRegistry.put(flags, patterns);
+		}
+		Pattern pattern = patterns.get(regex);
+		if (pattern==null) {
+			pattern = Pattern.compile(regex, flags);
+			patterns.put(regex, pattern);
+		}
+		return pattern;
+	}
+}
@@ -330,8 +330,9 @@ public class ProductCert extends AbstractCommandLineData {
 			regexes.put("file",					"File: (.+)");
 
 			List<Map<String,String>> certDataList = new ArrayList<Map<String,String>>();
-			for(String field : regexes.keySet()){
-				Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+			Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(ProductCert.class, "parseStdoutFromOpensslX509", regexes);
+			for(String field : patterns.keySet()){
+				Pattern pat = patterns.get(field);
 				addRegexMatchesToList(pat, rawCertificate, certDataList, field);
 			}
 			
@@ -446,8 +447,9 @@ public class ProductCert extends AbstractCommandLineData {
 			if (rawCertificate.trim().length()==0) continue;
 			
 			List<Map<String,String>> certDataList = new ArrayList<Map<String,String>>();
-			for(String field : regexes.keySet()){
-				Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+			Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(ProductCert.class, "parse", regexes);
+			for(String field : patterns.keySet()){
+				Pattern pat = patterns.get(field);
 				addRegexMatchesToList(pat, rawCertificate, certDataList, field);
 			}
 			
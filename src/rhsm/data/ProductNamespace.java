@@ -236,8 +236,9 @@ public class ProductNamespace extends AbstractCommandLineData {
 		regexes.put("brandType",			"1\\.3\\.6\\.1\\.4\\.1\\.2312\\.9\\.1\\.(\\d+)\\.5:[\\s\\cM]*\\.(?:.|\\s)(.*)");
 		
 		Map<String, Map<String,String>> productMap = new HashMap<String, Map<String,String>>();
-		for(String field : regexes.keySet()){
-			Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+		Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(ProductNamespace.class, "parseStdoutFromOpensslX509", regexes);
+		for(String field : patterns.keySet()){
+			Pattern pat = patterns.get(field);
 			addRegexMatchesToMap(pat, rawCertificate, productMap, field);
 		}
 		
@@ -365,13 +366,14 @@ public class ProductNamespace extends AbstractCommandLineData {
 		// find all the raw "Product:" groupings and then create one ProductNamespace per raw "Product:" grouping
 		String rawProductRegex = "Product:((\\n.+)+)";
 		List<ProductNamespace> productNamespaces = new ArrayList<ProductNamespace>();
-		Matcher m = Pattern.compile(rawProductRegex, Pattern.MULTILINE).matcher(rawCertificate);
+		Matcher m = PatternRegistry.getPattern(rawProductRegex, Pattern.MULTILINE).matcher(rawCertificate);
 		while (m.find()) {
 			String rawProduct = m.group(1);
 			// find a list of all the certData matching the product fields in the map of regexes
 			List<Map<String,String>> certDataList = new ArrayList<Map<String,String>>();
-			for(String field : regexes.keySet()){
-				Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+			Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(ProductNamespace.class, "parseStdoutFromRctCatCert", regexes);
+			for(String field : patterns.keySet()){
+				Pattern pat = patterns.get(field);
 				addRegexMatchesToList(pat, rawProduct, certDataList, field);
 			}
 			
@@ -236,8 +236,9 @@ public class ProductSubscription extends AbstractCommandLineData {
 		regexes.put("poolId",				"Pool ID:(.*)");	// Bug 908671 - RFE: include pool id in list --consumed
 		
 		List<Map<String,String>> productList = new ArrayList<Map<String,String>>();
-		for(String field : regexes.keySet()){
-			Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+		Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(ProductSubscription.class, "parse", regexes);
+		for(String field : patterns.keySet()){
+			Pattern pat = patterns.get(field);
 			addRegexMatchesToList(pat, stdoutListOfConsumedProducts, productList, field);
 		}
 		
@@ -0,0 +1,109 @@
+package rhsm.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A hashed index of the tags provided by a list of ProductCerts (usually the currently installed
+ * product certs).  Build it once and reuse it to decide whether the requiredTags of many
+ * ContentNamespaces are provided instead of re-splitting the providedTags of every ProductCert for
+ * every ContentNamespace.
+ * <br>Example:
+ * <pre>
+ *	ProvidedTagIndex providedTagIndex = new ProvidedTagIndex(clienttasks.getCurrentProductCerts());
+ *	Set&lt;String&gt; yumRepolistAll = clienttasks.getYumRepolistAsSet("all");
+ *	for (ContentNamespace contentNamespace : entitlementCert.contentNamespaces) {
+ *		if (providedTagIndex.areAllRequiredTagsProvided(contentNamespace)) Assert.assertTrue(yumRepolistAll.contains(contentNamespace.label));
+ *	}
+ * </pre>
+ */
+public class ProvidedTagIndex {
+
+	protected final List<ProductCert> productCerts;
+	protected final Map<String,List<ProductCert>> productCertsByProvidedTag = new LinkedHashMap<String,List<ProductCert>>();
+	protected final Map<String,Boolean> areAllRequiredTagsProvidedCache = new HashMap<String,Boolean>();	// requiredTagsAsString => result
+
+	public ProvidedTagIndex(List<ProductCert> productCerts) {
+		this.productCerts = Collections.unmodifiableList(new ArrayList<ProductCert>(productCerts));
+		for (ProductCert productCert : this.productCerts) {
+			if (productCert.productNamespace==null || productCert.productNamespace.providedTags==null) continue;
+			// dedup the tags of this product cert rather than the product certs of a tag (ProductCert.equals ignores the file, so two installed copies of a product are equal)
+			Set<String> providedTags = new LinkedHashSet<String>(Arrays.asList(productCert.productNamespace.providedTags.split("\\s*,\\s*")));
+			for (String providedTag : providedTags) {
+				List<ProductCert> productCertsProvidingTag = productCertsByProvidedTag.get(providedTag);
+				if (productCertsProvidingTag==null) {
+					productCertsProvidingTag = new ArrayList<ProductCert>();
+					productCertsByProvidedTag.put(providedTag, productCertsProvidingTag);
+				}
+				productCertsProvidingTag.add(productCert);
+			}
+		}
+	}
+
+	public List<ProductCert> getProductCerts() {
+		return productCerts;
+	}
+
+	/**
+	 * @return all of the distinct tags provided by the product certs
+	 */
+	public Set<String> getProvidedTags() {
+		return Collections.unmodifiableSet(productCertsByProvidedTag.keySet());
+	}
+
+	public boolean isTagProvided(String tag) {
+		return productCertsByProvidedTag.containsKey(tag);
+	}
+
+	/**
+	 * @param requiredTagsAsString - comma separated tags (e.g. ContentNamespace.requiredTags)
+	 * @return true when ALL of the requiredTags are provided (also true when requiredTagsAsString is null or empty)
+	 */
+	public synchronized boolean areAllRequiredTagsProvided(String requiredTagsAsString) {
+		// save some time...  if requiredTagsAsString is null, then the requiredTags are effectively provided
+		if (requiredTagsAsString==null) return true;
+		Boolean areAllRequiredTagsProvided = areAllRequiredTagsProvidedCache.get(requiredTagsAsString);
+		if (areAllRequiredTagsProvided==null) {
+			areAllRequiredTagsProvided = true;
+			for (String requiredTag : requiredTagsAsString.split("\\s*,\\s*")) {
+				if (!requiredTag.isEmpty() && !isTagProvided(requiredTag)) {
+					areAllRequiredTagsProvided = false;
+					break;
+				}
+			}
+			areAllRequiredTagsProvidedCache.put(requiredTagsAsString, areAllRequiredTagsProvided);
+		}
+		return areAllRequiredTagsProvided;
+	}
+
+	public boolean areAllRequiredTagsProvided(ContentNamespace contentNamespace) {
+		return areAllRequiredTagsProvided(contentNamespace.requiredTags);
+	}
+
+	/**
+	 * @param providingTagRegex - examples: rhel5 rhel6 rhel-5-client-workstation rhel-7-client rhel-7-server rhel-7-*
+	 * @return the product certs (in their original order) that provide a tag matching the regex
+	 */
+	public List<ProductCert> getProductCertsProvidingTag(String providingTagRegex) {
+		// keyed on identity since ProductCert.equals ignores the file and ProductCert does not override hashCode
+		Map<ProductCert,Boolean> matchingProductCerts = new IdentityHashMap<ProductCert,Boolean>();
+		for (String providedTag : productCertsByProvidedTag.keySet()) {
+			if (providedTag.matches(providingTagRegex)) {
+				for (ProductCert productCert : productCertsByProvidedTag.get(providedTag)) matchingProductCerts.put(productCert, Boolean.TRUE);
+			}
+		}
+		List<ProductCert> productCertsProvidingTag = new ArrayList<ProductCert>();
+		for (ProductCert productCert : productCerts) {
+			if (matchingProductCerts.containsKey(productCert)) productCertsProvidingTag.add(productCert);
+		}
+		return productCertsProvidingTag;
+	}
+}
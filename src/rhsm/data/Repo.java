@@ -109,8 +109,9 @@ public class Repo extends AbstractCommandLineData {
 		regexes.put("enabled",				"Enabled:(.*)");
 		
 		List<Map<String,String>> reposList = new ArrayList<Map<String,String>>();
-		for(String field : regexes.keySet()){
-			Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+		Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(Repo.class, "parse", regexes);
+		for(String field : patterns.keySet()){
+			Pattern pat = patterns.get(field);
 			addRegexMatchesToList(pat, stdoutReposList, reposList, field);
 		}
 		
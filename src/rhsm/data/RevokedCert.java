@@ -168,8 +168,9 @@ No Revoked Certificates.
 		regexes.put("reasonCode",			"X509v3 CRL Reason Code:[\\s\\cM]*(.*)");
 
 		List<Map<String,String>> listRevokedCertMaps = new ArrayList<Map<String,String>>();
-		for(String field : regexes.keySet()){
-			Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+		Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(RevokedCert.class, "parse", regexes);
+		for(String field : patterns.keySet()){
+			Pattern pat = patterns.get(field);
 			addRegexMatchesToList(pat, stdoutFromOpensslCrl, listRevokedCertMaps, field);
 		}
 		
@@ -292,8 +292,9 @@ public class SubscriptionPool extends AbstractCommandLineData {
 		regexes.put("machineType",				"System Type:(.*)");	// changed by bug 874760	"Machine Type:(.*)");
 	
 		List<Map<String,String>> listOfAvailableSubscriptionMaps = new ArrayList<Map<String,String>>();
-		for(String field : regexes.keySet()){
-			Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+		Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(SubscriptionPool.class, "parse", regexes);
+		for(String field : patterns.keySet()){
+			Pattern pat = patterns.get(field);
 			addRegexMatchesToList(pat, stdoutListingOfAvailableSubscriptions, listOfAvailableSubscriptionMaps, field);
 		}
 		
@@ -18,6 +18,11 @@ public class Translation extends AbstractCommandLineData {
 	public String msgid;
 	public String msgstr;
 	
+	// fields that are only decoded by MoFileReader
+	public String msgctxt = null;
+	public String msgid_plural = null;
+	public List<String> msgstr_plural = null;	// msgstr[0], msgstr[1], ... when msgid_plural is not null
+	
 	
 	public Translation(Map<String, String> translationMap) {
 		super(translationMap);
@@ -33,8 +38,11 @@ public class Translation extends AbstractCommandLineData {
 	public String toString() {
 		
 		String string = "";
-		if (msgid != null)	string += String.format(" %s='%s'", "msgid",msgid);
-		if (msgstr != null)	string += String.format(" %s='%s'", "msgstr",msgstr);
+		if (msgctxt != null)		string += String.format(" %s='%s'", "msgctxt",msgctxt);
+		if (msgid != null)			string += String.format(" %s='%s'", "msgid",msgid);
+		if (msgid_plural != null)	string += String.format(" %s='%s'", "msgid_plural",msgid_plural);
+		if (msgstr_plural != null)	string += String.format(" %s=%s", "msgstr_plural",msgstr_plural);
+		else if (msgstr != null)	string += String.format(" %s='%s'", "msgstr",msgstr);
 
 		return string.trim();
 	}
@@ -152,11 +160,12 @@ public class Translation extends AbstractCommandLineData {
 		regexes.put("msgid",	"msgid (\".*\"(\\n\".*\")*)");
 		regexes.put("msgstr",	"(?:msgstr|msgstr\\[0\\]) (\".*\"(\\n\".*\")*)");		//"msgstr (\".*\"(\\n\".*\")*)"); THIS FAILED TO CAPTURE THE msgstr[0] WHEN THERE WAS A PLURAL
 		
-		// TODO CURRENTLY THIS ROUTINE FAILS TO FIND THE msgid_plural AND msgstr[1]
+		// TODO CURRENTLY THIS ROUTINE FAILS TO FIND THE msgid_plural AND msgstr[1]	(use MoFileReader.read(...) to decode them from a .mo file)
 		
 		List<Map<String,String>> translationMapList = new ArrayList<Map<String,String>>();
-		for(String field : regexes.keySet()){
-			Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+		Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(Translation.class, "parse", regexes);
+		for(String field : patterns.keySet()){
+			Pattern pat = patterns.get(field);
 			addRegexMatchesToList(pat, msgunfmtString, translationMapList, field);
 		}
 		
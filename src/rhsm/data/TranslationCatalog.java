@@ -0,0 +1,179 @@
+package rhsm.data;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index over the translations of every translation file (e.g. the map returned by
+ * buildTranslationFileMapForSubscriptionManager()) so that assertions on the msgids can be answered
+ * without scanning the List&lt;Translation&gt; of a translation file once per msgid.
+ * <br>
+ * The index is built in one pass over all of the translations:
+ * <ul>
+ * <li>per translation file: msgid -> the translations with that msgid (the number of occurrences is the size of that list)</li>
+ * <li>across all translation files: msgid -> the translation files containing that msgid</li>
+ * </ul>
+ * The catalog is a snapshot; it does not follow later changes to the lists it was built from.
+ * <br>Example:
+ * <pre>
+ *	TranslationCatalog catalog = new TranslationCatalog(translationFileMapForSubscriptionManager);
+ *	Set&lt;String&gt; missingMsgids = catalog.getMissingMsgids(translationFile, catalog.getMsgids());
+ *	Set&lt;String&gt; duplicatedMsgids = catalog.getDuplicatedMsgids(translationFile);
+ * </pre>
+ */
+public class TranslationCatalog {
+
+	protected final Map<File,Map<String,List<Translation>>> indexes = new LinkedHashMap<File,Map<String,List<Translation>>>();	// in the order of the translation file map
+	protected final Map<File,List<Translation>> translations = new LinkedHashMap<File,List<Translation>>();
+	protected final Map<String,Set<File>> translationFilesByMsgid = new LinkedHashMap<String,Set<File>>();	// the union of all msgids in the order they were first seen
+
+	/**
+	 * @param translationFileMap - translation file -> the translations it contains (e.g. from buildTranslationFileMapForSubscriptionManager())
+	 */
+	public TranslationCatalog(Map<File,List<Translation>> translationFileMap) {
+		for (File translationFile : translationFileMap.keySet()) {
+			List<Translation> translationList = translationFileMap.get(translationFile);
+			Map<String,List<Translation>> index = new HashMap<String,List<Translation>>(translationList.size()*4/3+1);
+			for (Translation translation : translationList) {
+				List<Translation> entries = index.get(translation.msgid);
+				if (entries==null) {
+					entries = new ArrayList<Translation>(1);
+					index.put(translation.msgid, entries);
+				}
+				entries.add(translation);
+
+				Set<File> translationFiles = translationFilesByMsgid.get(translation.msgid);
+				if (translationFiles==null) {
+					translationFiles = new LinkedHashSet<File>();
+					translationFilesByMsgid.put(translation.msgid, translationFiles);
+				}
+				translationFiles.add(translationFile);
+			}
+			indexes.put(translationFile, index);
+			translations.put(translationFile, Collections.unmodifiableList(new ArrayList<Translation>(translationList)));
+		}
+	}
+
+	/**
+	 * @return the translation files in this catalog
+	 */
+	public Set<File> getTranslationFiles() {
+		return Collections.unmodifiableSet(indexes.keySet());
+	}
+
+	/**
+	 * @return the union of the msgids from all of the translation files
+	 */
+	public Set<String> getMsgids() {
+		return Collections.unmodifiableSet(translationFilesByMsgid.keySet());
+	}
+
+	/**
+	 * @return all of the translations from translationFile in their original order (empty when translationFile is not in this catalog)
+	 */
+	public List<Translation> getTranslations(File translationFile) {
+		List<Translation> translationList = translations.get(translationFile);
+		if (translationList==null) return Collections.emptyList();
+		return translationList;
+	}
+
+	/**
+	 * @return all of the translations from translationFile with this msgid (empty when there are none)
+	 */
+	public List<Translation> getTranslations(File translationFile, String msgid) {
+		Map<String,List<Translation>> index = indexes.get(translationFile);
+		if (index==null || !index.containsKey(msgid)) return Collections.emptyList();
+		return Collections.unmodifiableList(index.get(msgid));
+	}
+
+	/**
+	 * @return the first translation from translationFile with this msgid; null when there is none
+	 */
+	public Translation getTranslation(File translationFile, String msgid) {
+		List<Translation> entries = getTranslations(translationFile, msgid);
+		return entries.isEmpty()? null:entries.get(0);
+	}
+
+	/**
+	 * @return the number of times that msgid occurs in translationFile
+	 */
+	public int getOccurrences(File translationFile, String msgid) {
+		return getTranslations(translationFile, msgid).size();
+	}
+
+	/**
+	 * @return the translation files that contain this msgid
+	 */
+	public Set<File> getTranslationFiles(String msgid) {
+		Set<File> translationFiles = translationFilesByMsgid.get(msgid);
+		if (translationFiles==null) return Collections.emptySet();
+		return Collections.unmodifiableSet(translationFiles);
+	}
+
+	/**
+	 * @param translationFile
+	 * @param expectedMsgids - e.g. getMsgids()
+	 * @return the expectedMsgids that do not occur in translationFile (in the order of expectedMsgids)
+	 */
+	public Set<String> getMissingMsgids(File translationFile, Collection<String> expectedMsgids) {
+		Map<String,List<Translation>> index = indexes.get(translationFile);
+		Set<String> missingMsgids = new LinkedHashSet<String>();
+		for (String msgid : expectedMsgids) {
+			if (index==null || !index.containsKey(msgid)) missingMsgids.add(msgid);
+		}
+		return missingMsgids;
+	}
+
+	/**
+	 * @return the msgids that occur more than once in translationFile
+	 */
+	public Set<String> getDuplicatedMsgids(File translationFile) {
+		Set<String> duplicatedMsgids = new LinkedHashSet<String>();
+		for (Translation translation : getTranslations(translationFile)) {
+			if (getOccurrences(translationFile, translation.msgid)>1) duplicatedMsgids.add(translation.msgid);
+		}
+		return duplicatedMsgids;
+	}
+
+	/**
+	 * @return the msgids whose msgstr is empty in translationFile (the header with the empty msgid is excluded)
+	 */
+	public Set<String> getUntranslatedMsgids(File translationFile) {
+		Set<String> untranslatedMsgids = new LinkedHashSet<String>();
+		for (Translation translation : getTranslations(translationFile)) {
+			if (translation.msgid.isEmpty()) continue;
+			if (translation.msgstr==null || translation.msgstr.isEmpty()) untranslatedMsgids.add(translation.msgid);
+		}
+		return untranslatedMsgids;
+	}
+
+	/**
+	 * @return the translations from translationFile whose msgstr contains subString while its msgid does not (e.g. a paragraph character introduced by the translator)
+	 */
+	public List<Translation> getTranslationsWithMsgstrOnlyContaining(File translationFile, String subString) {
+		List<Translation> found = new ArrayList<Translation>();
+		for (Translation translation : getTranslations(translationFile)) {
+			if (translation.msgstr.contains(subString) && !translation.msgid.contains(subString)) found.add(translation);
+		}
+		return found;
+	}
+
+	/**
+	 * @return the translations from translationFile whose msgid contains subString while its msgstr does not (e.g. a "Red Hat" that was translated)
+	 */
+	public List<Translation> getTranslationsWithMsgidOnlyContaining(File translationFile, String subString) {
+		List<Translation> found = new ArrayList<Translation>();
+		for (Translation translation : getTranslations(translationFile)) {
+			if (translation.msgid.contains(subString) && !translation.msgstr.contains(subString)) found.add(translation);
+		}
+		return found;
+	}
+}
@@ -162,7 +162,7 @@ public class YumRepo extends AbstractCommandLineData {
 		
 		// begin by finding all the yumRepoIds
 		List<String> yumRepoIds = new ArrayList<String>();
-		Matcher m = Pattern.compile("^(\\[.*\\])", Pattern.MULTILINE).matcher(stdoutCatOfRedhatRepoFile);
+		Matcher m = PatternRegistry.getPattern("^(\\[.*\\])", Pattern.MULTILINE).matcher(stdoutCatOfRedhatRepoFile);
 		while (m.find()) yumRepoIds.add(m.group(1));
 		
 		// if no yumRepoIds, then no yumRepos
@@ -172,11 +172,11 @@ public class YumRepo extends AbstractCommandLineData {
 		// begin by splitting the yumRepos and processing each yumRepo individually
 
 		// trim off leading redhat.repo comments from stdoutCatOfRedhatRepoFile
-		stdoutCatOfRedhatRepoFile = Pattern.compile("^.*?(\\[.*?\\])", Pattern.DOTALL).matcher(stdoutCatOfRedhatRepoFile).replaceAll("$1");
+		stdoutCatOfRedhatRepoFile = PatternRegistry.getPattern("^.*?(\\[.*?\\])", Pattern.DOTALL).matcher(stdoutCatOfRedhatRepoFile).replaceAll("$1");
 
 		// split the stdoutCatOfRedhatRepoFile by the [id] and processing each yumRepo individually
 		int y=0;
-		for (String rawYumRepo : stdoutCatOfRedhatRepoFile.split("\\[.*\\]")) {
+		for (String rawYumRepo : PatternRegistry.getPattern("\\[.*\\]", 0).split(stdoutCatOfRedhatRepoFile)) {
 			if (rawYumRepo.trim().length()==0) continue;	// skip leading split
 			rawYumRepo = yumRepoIds.get(y++)+rawYumRepo;	// tac the yumRepo [id] back on
 	
@@ -221,8 +221,9 @@ public class YumRepo extends AbstractCommandLineData {
 			
 			
 			List<Map<String,String>> yumRepoDataList = new ArrayList<Map<String,String>>();
-			for(String field : regexes.keySet()){
-				Pattern pat = Pattern.compile(regexes.get(field), Pattern.MULTILINE);
+			Map<String,Pattern> patterns = PatternRegistry.getFieldPatterns(YumRepo.class, "parse", regexes);
+			for(String field : patterns.keySet()){
+				Pattern pat = patterns.get(field);
 				addRegexMatchesToList(pat, rawYumRepo, yumRepoDataList, field);
 			}
 			
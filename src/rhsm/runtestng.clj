@@ -44,5 +44,8 @@ Example: lein run 'GUI: REGISTRATION' 'GUI: FACTS' suites/sm-gui-testng-suite.xm
        (doseq [s suites] (println (str "\n" s ":")) (pprint (get-test-names s)))
        :else (do
                (when psuite (.setXmlSuites testng psuite))
+               ;; rhsm.testng.StreamingReporterForRHSM writes the testng-results.xml; the suite.xml
+               ;; registers the other default reporters (html, testng-failed.xml, emailable, junit)
+               (.setUseDefaultListeners testng false)
                (if-not (empty? tests) (.setTestNames testng tests))
                (when psuite (.run testng)))))))
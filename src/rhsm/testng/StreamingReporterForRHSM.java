@@ -0,0 +1,458 @@
+package rhsm.testng;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.logging.Logger;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.testng.IConfigurationListener;
+import org.testng.IReporter;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import org.testng.xml.XmlSuite;
+
+/**
+ * A replacement for org.testng.reporters.XMLReporter and org.uncommons.reportng.HTMLReporter which
+ * both build the entire report in memory when the suite ends (see the OutOfMemoryError in
+ * TestNGReportHandlerForRHSM).  This reporter writes each test method result (including its
+ * Reporter output) with StAX through a fixed size buffer to a per suite part file as soon as the
+ * result is known, and appends a row to a lightweight HTML summary (rhsm-summary.html).  When the
+ * suites end, generateReport(...) only has to wrap the part files in a testng-results.xml with the
+ * final counts which is a sequential file copy.
+ * <br>
+ * Register it in place of the XMLReporter and HTMLReporter listeners in the suite xml:
+ * <pre>
+ *	&lt;listener class-name="rhsm.testng.StreamingReporterForRHSM" /&gt;
+ * </pre>
+ * and run TestNG with -usedefaultlisteners false so that the default XMLReporter does not also
+ * build (and overwrite) the testng-results.xml.  (lein run sets this through rhsm.runtestng.)
+ * That also turns off the other default reporters, so the suite xml registers the ones that are
+ * still wanted (SuiteHTMLReporter, jq.Main, FailedReporter, EmailableReporter, JUnitReportReporter).
+ * <br>
+ * Note: Test methods are grouped into &lt;test&gt; and &lt;class&gt; elements in the order they
+ * finish, so the same class may appear more than once within a &lt;test&gt;.
+ *
+ * @author agent
+ */
+public class StreamingReporterForRHSM implements IReporter, ISuiteListener, ITestListener, IConfigurationListener {
+
+	protected static Logger log = Logger.getLogger(StreamingReporterForRHSM.class.getName());
+	public static final String resultsFileName = "testng-results.xml";
+	public static final String summaryFileName = "rhsm-summary.html";
+	protected static final int bufferSize = 64*1024;
+
+	protected final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newInstance();
+	protected final SimpleDateFormat timestampFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
+	protected final Map<String,SuitePart> suiteParts = new LinkedHashMap<String,SuitePart>();	// suite name => part
+	protected File outputDirectory = null;
+	protected Summary summary = null;
+	protected int passed=0, failed=0, skipped=0;
+
+	/**
+	 * The test method results of one suite streamed to a part file.
+	 */
+	protected class SuitePart {
+		final String name;
+		final File file;
+		final OutputStream stream;
+		final XMLStreamWriter writer;
+		Date startedAt = new Date();
+		Date finishedAt = null;
+		String openTest = null;		// name of the open <test> element
+		String openClass = null;	// name of the open <class> element
+		int passed=0, failed=0, skipped=0;
+
+		SuitePart(String name, File file) throws IOException, XMLStreamException {
+			this.name = name;
+			this.file = file;
+			this.stream = new BufferedOutputStream(new FileOutputStream(file), bufferSize);
+			this.writer = xmlOutputFactory.createXMLStreamWriter(stream, "UTF-8");
+		}
+
+		void open(String testName, String className) throws XMLStreamException {
+			if (!testName.equals(openTest)) {
+				close();
+				writer.writeStartElement("test");
+				writer.writeAttribute("name", testName);
+				openTest = testName;
+			}
+			if (!className.equals(openClass)) {
+				if (openClass!=null) writer.writeEndElement();	// </class>
+				writer.writeStartElement("class");
+				writer.writeAttribute("name", className);
+				openClass = className;
+			}
+		}
+
+		void close() throws XMLStreamException {
+			if (openClass!=null) writer.writeEndElement();	// </class>
+			if (openTest!=null) writer.writeEndElement();	// </test>
+			openClass = null;
+			openTest = null;
+		}
+	}
+
+	/**
+	 * The HTML summary with one row per test method result.
+	 */
+	protected class Summary {
+		final OutputStream stream;
+		final XMLStreamWriter writer;
+		boolean tableOpen = false;
+
+		Summary(File file) throws IOException, XMLStreamException {
+			this.stream = new BufferedOutputStream(new FileOutputStream(file), bufferSize);
+			this.writer = xmlOutputFactory.createXMLStreamWriter(stream, "UTF-8");
+			writer.writeDTD("<!DOCTYPE html>");
+			writer.writeStartElement("html");
+			writer.writeStartElement("head");
+			writer.writeStartElement("title"); writer.writeCharacters("RHSM Test Results"); writer.writeEndElement();
+			writer.writeStartElement("style");
+			writer.writeCharacters("table {border-collapse:collapse} td,th {border:1px solid #ccc; padding:2px 6px; text-align:left; vertical-align:top} .PASS {background:#cfc} .FAIL {background:#fcc} .SKIP {background:#ffc}");
+			writer.writeEndElement();
+			writer.writeEndElement();	// </head>
+			writer.writeStartElement("body");
+			writer.writeStartElement("h1"); writer.writeCharacters("RHSM Test Results"); writer.writeEndElement();
+			writer.flush();
+		}
+	}
+
+
+
+	// ISuiteListener
+
+	public synchronized void onStart(ISuite suite) {
+		try {
+			if (outputDirectory==null) {
+				outputDirectory = new File(suite.getOutputDirectory()).getParentFile();
+				outputDirectory.mkdirs();
+				// without a summary the results are still streamed to the testng-results.xml
+				try {
+					summary = new Summary(new File(outputDirectory, summaryFileName));
+				} catch (IOException e) {
+					log.warning("Failed to create '"+summaryFileName+"': "+e);
+				} catch (XMLStreamException e) {
+					log.warning("Failed to create '"+summaryFileName+"': "+e);
+				}
+			}
+			if (!suiteParts.containsKey(suite.getName())) {
+				suiteParts.put(suite.getName(), new SuitePart(suite.getName(), File.createTempFile(resultsFileName+".", ".part", outputDirectory)));
+			}
+			if (summary==null) return;	// the summary could not be created
+			closeSummaryTable();
+			summary.writer.writeStartElement("h2"); summary.writer.writeCharacters(suite.getName()); summary.writer.writeEndElement();
+			summary.writer.writeStartElement("table");
+			summary.writer.writeStartElement("tr");
+			for (String heading : new String[]{"Status","Test","Class","Method","Duration (s)","Exception"}) {
+				summary.writer.writeStartElement("th"); summary.writer.writeCharacters(heading); summary.writer.writeEndElement();
+			}
+			summary.writer.writeEndElement();	// </tr>
+			summary.tableOpen = true;
+			summary.writer.flush();
+		} catch (IOException e) {
+			log.warning("Failed to start streaming the results of suite '"+suite.getName()+"': "+e);
+		} catch (XMLStreamException e) {
+			log.warning("Failed to start streaming the results of suite '"+suite.getName()+"': "+e);
+		}
+	}
+
+	public synchronized void onFinish(ISuite suite) {
+		SuitePart part = suiteParts.get(suite.getName());
+		if (part==null) return;
+		part.finishedAt = new Date();
+		if (summary==null) return;
+		try {
+			closeSummaryTable();
+			summary.writer.writeStartElement("p");
+			summary.writer.writeCharacters(String.format("%s: %d passed, %d failed, %d skipped", suite.getName(), part.passed, part.failed, part.skipped));
+			summary.writer.writeEndElement();
+			summary.writer.flush();
+		} catch (XMLStreamException e) {
+			log.warning("Failed to write the summary of suite '"+suite.getName()+"': "+e);
+		}
+	}
+
+
+
+	// ITestListener
+
+	public void onTestStart(ITestResult result) {
+	}
+
+	public void onTestSuccess(ITestResult result) {
+		write(result, false);
+	}
+
+	public void onTestFailure(ITestResult result) {
+		write(result, false);
+	}
+
+	public void onTestSkipped(ITestResult result) {
+		write(result, false);
+	}
+
+	public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+		write(result, false);
+	}
+
+	public void onStart(ITestContext context) {
+	}
+
+	public void onFinish(ITestContext context) {
+	}
+
+
+
+	// IConfigurationListener
+
+	public void onConfigurationSuccess(ITestResult result) {
+		write(result, true);
+	}
+
+	public void onConfigurationFailure(ITestResult result) {
+		write(result, true);
+	}
+
+	public void onConfigurationSkip(ITestResult result) {
+		write(result, true);
+	}
+
+
+
+	// IReporter
+
+	/**
+	 * Wrap the streamed suite parts in the testng-results.xml and finish the HTML summary.
+	 */
+	public synchronized void generateReport(List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
+		File resultsFile = new File(outputDirectory, resultsFileName);
+		OutputStream stream = null;
+		try {
+			stream = new BufferedOutputStream(new FileOutputStream(resultsFile), bufferSize);
+			XMLStreamWriter writer = xmlOutputFactory.createXMLStreamWriter(stream, "UTF-8");
+			writer.writeStartDocument("UTF-8", "1.0");
+			writer.writeStartElement("testng-results");
+			writer.writeAttribute("skipped", String.valueOf(skipped));
+			writer.writeAttribute("failed", String.valueOf(failed));
+			writer.writeAttribute("total", String.valueOf(passed+failed+skipped));
+			writer.writeAttribute("passed", String.valueOf(passed));
+			writer.writeEmptyElement("reporter-output");
+			for (SuitePart part : suiteParts.values()) {
+				part.close();
+				part.writer.close();
+				part.stream.close();
+				Date finishedAt = part.finishedAt==null? new Date():part.finishedAt;
+				writer.writeStartElement("suite");
+				writer.writeAttribute("name", part.name);
+				writer.writeAttribute("duration-ms", String.valueOf(finishedAt.getTime()-part.startedAt.getTime()));
+				writer.writeAttribute("started-at", formatTimestamp(part.startedAt));
+				writer.writeAttribute("finished-at", formatTimestamp(finishedAt));
+				writer.writeCharacters("");	// closes the start tag
+				writer.flush();
+				copy(part.file, stream);
+				writer.writeEndElement();	// </suite>
+				part.file.delete();
+			}
+			writer.writeEndElement();	// </testng-results>
+			writer.writeEndDocument();
+			writer.close();
+			log.fine("Wrote "+resultsFile);
+		} catch (IOException e) {
+			log.warning("Failed to write '"+resultsFile+"': "+e);
+		} catch (XMLStreamException e) {
+			log.warning("Failed to write '"+resultsFile+"': "+e);
+		} finally {
+			if (stream!=null) try {stream.close();} catch (IOException e) {}
+		}
+		suiteParts.clear();
+
+		if (summary!=null) {
+			try {
+				closeSummaryTable();
+				summary.writer.writeStartElement("p");
+				summary.writer.writeStartElement("b");
+				summary.writer.writeCharacters(String.format("Total: %d passed, %d failed, %d skipped", passed, failed, skipped));
+				summary.writer.writeEndElement();
+				summary.writer.writeEndElement();
+				summary.writer.writeEndElement();	// </body>
+				summary.writer.writeEndElement();	// </html>
+				summary.writer.close();
+				summary.stream.close();
+			} catch (IOException e) {
+				log.warning("Failed to finish '"+summaryFileName+"': "+e);
+			} catch (XMLStreamException e) {
+				log.warning("Failed to finish '"+summaryFileName+"': "+e);
+			}
+			summary = null;
+		}
+	}
+
+
+
+	// protected methods ************************************************************
+
+	/**
+	 * Stream one test (or configuration) method result to its suite part and the summary.
+	 */
+	protected synchronized void write(ITestResult result, boolean isConfig) {
+		SuitePart part = suiteParts.get(result.getTestContext().getSuite().getName());
+		if (part==null) {log.warning("Cannot report result '"+result.getName()+"' from an unknown suite."); return;}
+
+		String status;
+		switch (result.getStatus()) {
+			case ITestResult.SUCCESS:	status = "PASS"; break;
+			case ITestResult.SKIP:		status = "SKIP"; break;
+			default:					status = "FAIL"; break;
+		}
+		if (!isConfig) {
+			if (status.equals("PASS"))	{passed++; part.passed++;}
+			if (status.equals("FAIL"))	{failed++; part.failed++;}
+			if (status.equals("SKIP"))	{skipped++; part.skipped++;}
+		}
+		String testName = result.getTestContext().getName();
+		String className = result.getTestClass().getName();
+		String methodName = result.getMethod().getMethodName();
+		long durationMs = result.getEndMillis()-result.getStartMillis();
+		Throwable throwable = result.getThrowable();
+
+		try {
+			XMLStreamWriter writer = part.writer;
+			part.open(testName, className);
+			writer.writeStartElement("test-method");
+			writer.writeAttribute("status", status);
+			if (isConfig) writer.writeAttribute("is-config", "true");
+			writer.writeAttribute("signature", result.getMethod().getMethod().toString());
+			writer.writeAttribute("name", methodName);
+			if (result.getMethod().getDescription()!=null) writer.writeAttribute("description", clean(result.getMethod().getDescription()));
+			writer.writeAttribute("duration-ms", String.valueOf(durationMs));
+			writer.writeAttribute("started-at", formatTimestamp(new Date(result.getStartMillis())));
+			writer.writeAttribute("finished-at", formatTimestamp(new Date(result.getEndMillis())));
+
+			Object[] parameters = result.getParameters();
+			if (parameters!=null && parameters.length>0) {
+				writer.writeStartElement("params");
+				for (int i=0; i<parameters.length; i++) {
+					writer.writeStartElement("param");
+					writer.writeAttribute("index", String.valueOf(i));
+					if (parameters[i]==null) {
+						writer.writeEmptyElement("value");
+						writer.writeAttribute("is-null", "true");
+					} else {
+						writer.writeStartElement("value");
+						writeCData(writer, String.valueOf(parameters[i]));
+						writer.writeEndElement();
+					}
+					writer.writeEndElement();	// </param>
+				}
+				writer.writeEndElement();	// </params>
+			}
+
+			if (throwable!=null) {
+				writer.writeStartElement("exception");
+				writer.writeAttribute("class", throwable.getClass().getName());
+				if (throwable.getMessage()!=null) {
+					writer.writeStartElement("message");
+					writeCData(writer, throwable.getMessage());
+					writer.writeEndElement();
+				}
+				StringWriter stackTrace = new StringWriter();
+				throwable.printStackTrace(new PrintWriter(stackTrace));
+				writer.writeStartElement("full-stacktrace");
+				writeCData(writer, stackTrace.toString());
+				writer.writeEndElement();
+				writer.writeEndElement();	// </exception>
+			}
+
+			List<String> output = Reporter.getOutput(result);
+			if (!output.isEmpty()) {
+				writer.writeStartElement("reporter-output");
+				for (String line : output) {
+					writer.writeStartElement("line");
+					writeCData(writer, line);
+					writer.writeEndElement();
+				}
+				writer.writeEndElement();	// </reporter-output>
+			}
+			writer.writeEndElement();	// </test-method>
+			writer.flush();
+		} catch (XMLStreamException e) {
+			log.warning("Failed to stream the result of '"+className+"."+methodName+"': "+e);
+		}
+
+		if (summary==null) return;
+		if (isConfig && status.equals("PASS")) return;	// keep the summary to the test methods and the configuration problems
+		try {
+			XMLStreamWriter writer = summary.writer;
+			writer.writeStartElement("tr");
+			writer.writeAttribute("class", status);
+			for (String cell : new String[]{status, testName, className, (isConfig? "@":"")+methodName, String.format("%.3f", durationMs/1000.0), throwable==null? "":clean(String.valueOf(throwable.getMessage()).split("\\n")[0])}) {
+				writer.writeStartElement("td");
+				writer.writeCharacters(cell);
+				writer.writeEndElement();
+			}
+			writer.writeEndElement();	// </tr>
+			writer.flush();
+		} catch (XMLStreamException e) {
+			log.warning("Failed to summarize the result of '"+className+"."+methodName+"': "+e);
+		}
+	}
+
+	protected void closeSummaryTable() throws XMLStreamException {
+		if (summary==null) return;
+		if (summary.tableOpen) summary.writer.writeEndElement();	// </table>
+		summary.tableOpen = false;
+	}
+
+	protected String formatTimestamp(Date date) {
+		timestampFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+		return timestampFormat.format(date);
+	}
+
+	/**
+	 * Write text as CDATA splitting it around any "]]>" which would otherwise end the CDATA section.
+	 */
+	protected static void writeCData(XMLStreamWriter writer, String text) throws XMLStreamException {
+		String[] pieces = clean(text).split("\\]\\]>", -1);
+		for (int i=0; i<pieces.length; i++) {
+			writer.writeCData(pieces[i]+(i<pieces.length-1? "]]":""));
+			if (i<pieces.length-1) writer.writeCharacters(">");
+		}
+	}
+
+	/**
+	 * @return text without the control characters that are not allowed in XML (e.g. the color escapes in command output)
+	 */
+	protected static String clean(String text) {
+		return text.replaceAll("[\\x00-\\x08\\x0B\\x0C\\x0E-\\x1F]", "");
+	}
+
+	protected static void copy(File file, OutputStream out) throws IOException {
+		InputStream in = new FileInputStream(file);
+		try {
+			byte[] buffer = new byte[bufferSize];
+			for (int n; (n = in.read(buffer)) != -1;) out.write(buffer, 0, n);
+		} finally {
+			in.close();
+		}
+	}
+}
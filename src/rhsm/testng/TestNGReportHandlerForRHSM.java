@@ -1,7 +1,24 @@
 package rhsm.testng;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.PrintWriter;
+import java.io.Serializable;
+import java.io.StringWriter;
+import java.util.ArrayDeque;
+import java.util.logging.ErrorManager;
+import java.util.logging.Level;
 import java.util.logging.LogRecord;
 
 import rhsm.base.SubscriptionManagerBaseTestScript;
@@ -29,6 +46,13 @@ import com.redhat.qe.auto.testng.TestNGReportHandler;
  * The solution used in this class attempts reduce the amount of logging by excluding log records
  * published from within a test that PASSED.  Afterall, the logs are useful when a test
  * does not PASS.
+ * 
+ * The records of the running test are held in a bounded in-memory ring (property
+ * sm.testNGReportHandlerForRHSM.bufferCapacity) of compact BufferedRecords; when the ring is full,
+ * the oldest records are spilled to a per-test temp file.  When the test passes, the ring and the
+ * spill file are discarded; when it fails or is skipped, the spill file and then the ring are
+ * streamed into the report.  Hence the heap used for buffering stays flat no matter how much a
+ * test logs.
  *
  * @author jsefler
  *
@@ -36,9 +60,72 @@ import com.redhat.qe.auto.testng.TestNGReportHandler;
 public class TestNGReportHandlerForRHSM extends TestNGReportHandler {
 	
 	// used as a state machine
-	private List<LogRecord> logRecordBuffer = new ArrayList<LogRecord>();
+	private ArrayDeque<BufferedRecord> logRecordBuffer = null;
+	private int logRecordBufferCapacity;
+	private File spillFile = null;	// the oldest buffered records of the running test that did not fit in the logRecordBuffer
+	private DataOutputStream spillStream = null;
+	private int spillCount = 0;
 	private boolean buffering = false;
 	
+	/**
+	 * A compact copy of a LogRecord.  The logger and source names are interned, the parameters are
+	 * reduced to Strings (so that no references to the objects of a test are retained), and the
+	 * message is not formatted until the record is published.
+	 */
+	protected static class BufferedRecord implements Serializable {
+		private static final long serialVersionUID = 1L;
+		Level level;
+		String loggerName;
+		String message;
+		String[] parameters;
+		long millis;
+		long sequenceNumber;
+		String sourceClassName;
+		String sourceMethodName;
+		int threadID;
+		Throwable thrown;
+		
+		BufferedRecord(LogRecord logRecord) {
+			level = logRecord.getLevel();
+			loggerName = intern(logRecord.getLoggerName());
+			message = logRecord.getMessage();
+			if (logRecord.getParameters()!=null) {
+				parameters = new String[logRecord.getParameters().length];
+				for (int i=0; i<parameters.length; i++) parameters[i] = String.valueOf(logRecord.getParameters()[i]);
+			}
+			millis = logRecord.getMillis();
+			sequenceNumber = logRecord.getSequenceNumber();
+			sourceClassName = intern(logRecord.getSourceClassName());
+			sourceMethodName = intern(logRecord.getSourceMethodName());
+			threadID = logRecord.getThreadID();
+			thrown = logRecord.getThrown();
+		}
+		
+		LogRecord toLogRecord() {
+			LogRecord logRecord = new LogRecord(level, message);
+			logRecord.setLoggerName(loggerName);
+			logRecord.setParameters(parameters);
+			logRecord.setMillis(millis);
+			logRecord.setSequenceNumber(sequenceNumber);
+			logRecord.setSourceClassName(sourceClassName);
+			logRecord.setSourceMethodName(sourceMethodName);
+			logRecord.setThreadID(threadID);
+			logRecord.setThrown(thrown);
+			return logRecord;
+		}
+		
+		private Object readResolve() {
+			loggerName = intern(loggerName);
+			sourceClassName = intern(sourceClassName);
+			sourceMethodName = intern(sourceMethodName);
+			return this;
+		}
+		
+		private static String intern(String string) {
+			return string==null? null:string.intern();
+		}
+	}
+	
 	@Override
 	public void publish(LogRecord logRecord) {
 		
@@ -47,44 +134,146 @@ public class TestNGReportHandlerForRHSM extends TestNGReportHandler {
 			super.publish(logRecord);
 			return;
 		}
+		if (logRecordBuffer==null) {
+			logRecordBufferCapacity = Integer.valueOf(SubscriptionManagerBaseTestScript.getProperty("sm.testNGReportHandlerForRHSM.bufferCapacity", "1000"));
+			logRecordBuffer = new ArrayDeque<BufferedRecord>(Math.min(logRecordBufferCapacity, 1000));
+		}
+		String message = logRecord.getMessage()==null? "":logRecord.getMessage();
 		
 		// Note: The success of the following logic stack depends on the fixed strings below
 		// matching the fixed strings used in com.redhat.qe.auto.testng.TestNGListener.java 
 		
-		if (logRecord.getMessage().startsWith("Test Passed")) { // must match string used in com.redhat.qe.auto.testng.TestNGListener.onTestSuccess(ITestResult result)
-			logRecordBuffer.clear();	// this is key call that purges all the logs from a passed test
+		if (message.startsWith("Test Passed")) { // must match string used in com.redhat.qe.auto.testng.TestNGListener.onTestSuccess(ITestResult result)
+			discardBuffer();	// this is key call that purges all the logs from a passed test
 			buffering = false;
 		}
 		
-		if (logRecord.getMessage().startsWith("Test Failed")) { // must match string used in com.redhat.qe.auto.testng.TestNGListener.onTestFailure(ITestResult result)  com.redhat.qe.auto.testng.TestNGListener.onTestFailedButWithinSuccessPercentage(ITestResult result)
+		if (message.startsWith("Test Failed")) { // must match string used in com.redhat.qe.auto.testng.TestNGListener.onTestFailure(ITestResult result)  com.redhat.qe.auto.testng.TestNGListener.onTestFailedButWithinSuccessPercentage(ITestResult result)
 			buffering = false;
 		}
 		
-		if (logRecord.getMessage().startsWith("Skipping Test") ||
-			logRecord.getMessage().startsWith("Skipping test")) { // must match string used in com.redhat.qe.auto.testng.TestNGListener.onTestSkipped(ITestResult result)
+		if (message.startsWith("Skipping Test") ||
+			message.startsWith("Skipping test")) { // must match string used in com.redhat.qe.auto.testng.TestNGListener.onTestSkipped(ITestResult result)
 			buffering = false;
 		}
 		
 		// this if block is insurance to make sure that we are not buffering for these event
 		// this if block should be unnecessary because a Test Passed/Failed/Skip event should already have turned off buffering
-		if (logRecord.getMessage().startsWith("Starting TestNG Script:") ||
-			logRecord.getMessage().startsWith("Finished TestNG Script:") ||
-			logRecord.getMessage().startsWith("Skipping configuration:") ||
-			logRecord.getMessage().startsWith("Configuration completed:") ||
-			logRecord.getMessage().startsWith("Starting TestNG Suite:") ||
-			logRecord.getMessage().startsWith("Finishing TestNG Suite:") ||
-			logRecord.getMessage().startsWith("Configuration Failed:")) {
+		if (message.startsWith("Starting TestNG Script:") ||
+			message.startsWith("Finished TestNG Script:") ||
+			message.startsWith("Skipping configuration:") ||
+			message.startsWith("Configuration completed:") ||
+			message.startsWith("Starting TestNG Suite:") ||
+			message.startsWith("Finishing TestNG Suite:") ||
+			message.startsWith("Configuration Failed:")) {
 			buffering = false;
 		}
 		
-		logRecordBuffer.add(logRecord);
-		if (!buffering) { // publish the entire logRecordBuffer
-			for (LogRecord record : logRecordBuffer) super.publish(record);
-			logRecordBuffer.clear();
+		if (buffering) {
+			buffer(logRecord);
+		} else { // publish the entire buffer followed by this logRecord
+			publishBuffer();
+			super.publish(logRecord);
 		}
 		
-		if (logRecord.getMessage().startsWith("Starting Test:")) { // must match string used in com.redhat.qe.auto.testng.TestNGListener.onTestStart(ITestResult result)
+		if (message.startsWith("Starting Test:")) { // must match string used in com.redhat.qe.auto.testng.TestNGListener.onTestStart(ITestResult result)
 			buffering = true;
 		}
 	}
+	
+	/**
+	 * Add the logRecord to the logRecordBuffer spilling the oldest buffered record when the logRecordBuffer is full.
+	 */
+	protected void buffer(LogRecord logRecord) {
+		if (logRecordBuffer.size()>=logRecordBufferCapacity) {
+			BufferedRecord oldest = logRecordBuffer.removeFirst();
+			try {
+				spill(oldest);
+			} catch (IOException e) {
+				// without a spill file, the oldest records of this test are lost from the report
+				reportError("TestNGReportHandlerForRHSM failed to spill a log record to '"+spillFile+"'.", e, ErrorManager.WRITE_FAILURE);
+			}
+		}
+		logRecordBuffer.addLast(new BufferedRecord(logRecord));
+	}
+	
+	protected void spill(BufferedRecord record) throws IOException {
+		if (spillStream==null) {
+			// discardBuffer() deletes the spill file once its records are published or discarded
+			spillFile = File.createTempFile("TestNGReportHandlerForRHSM", ".spill");
+			try {
+				spillStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(spillFile)));
+			} catch (IOException e) {
+				spillFile.delete();
+				spillFile = null;
+				throw e;
+			}
+		}
+		byte[] bytes;
+		try {
+			bytes = serialize(record);
+		} catch (IOException e) {
+			if (record.thrown==null) throw e;
+			// the thrown Throwable (or something it references) is not serializable; keep its stack trace instead
+			StringWriter stackTrace = new StringWriter();
+			record.thrown.printStackTrace(new PrintWriter(stackTrace));
+			record.thrown = new Throwable(stackTrace.toString().trim());
+			record.thrown.setStackTrace(new StackTraceElement[]{});
+			bytes = serialize(record);
+		}
+		spillStream.writeInt(bytes.length);
+		spillStream.write(bytes);
+		spillCount++;
+	}
+	
+	protected static byte[] serialize(BufferedRecord record) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(record);
+		out.close();
+		return bytes.toByteArray();
+	}
+	
+	/**
+	 * Publish the spilled records followed by the records in the logRecordBuffer (in the order they were logged) and empty the buffer.
+	 */
+	protected void publishBuffer() {
+		if (spillStream!=null) {
+			DataInputStream in = null;
+			try {
+				spillStream.close();
+				in = new DataInputStream(new BufferedInputStream(new FileInputStream(spillFile)));
+				for (int i=0; i<spillCount; i++) {
+					byte[] bytes = new byte[in.readInt()];
+					in.readFully(bytes);
+					ObjectInputStream record = new ObjectInputStream(new ByteArrayInputStream(bytes));
+					super.publish(((BufferedRecord)record.readObject()).toLogRecord());
+				}
+			} catch (EOFException e) {
+				reportError("TestNGReportHandlerForRHSM found fewer than "+spillCount+" log records in '"+spillFile+"'.", e, ErrorManager.WRITE_FAILURE);
+			} catch (IOException e) {
+				reportError("TestNGReportHandlerForRHSM failed to read the log records spilled to '"+spillFile+"'.", e, ErrorManager.WRITE_FAILURE);
+			} catch (ClassNotFoundException e) {
+				reportError("TestNGReportHandlerForRHSM failed to read the log records spilled to '"+spillFile+"'.", e, ErrorManager.WRITE_FAILURE);
+			} finally {
+				if (in!=null) try {in.close();} catch (IOException e) {}
+			}
+		}
+		for (BufferedRecord record : logRecordBuffer) super.publish(record.toLogRecord());
+		discardBuffer();
+	}
+	
+	/**
+	 * Empty the logRecordBuffer and delete the spill file.
+	 */
+	protected void discardBuffer() {
+		logRecordBuffer.clear();
+		if (spillStream!=null) {
+			try {spillStream.close();} catch (IOException e) {}
+			spillFile.delete();
+		}
+		spillStream = null;
+		spillFile = null;
+		spillCount = 0;
+	}
 }